@@ -0,0 +1,108 @@
+package com.example.minecraftplugin.chat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Chat moderation throughput: the compiled keyword matcher against the regexes it
+ * replaced, and concurrent scoring as the async chat threads do it. The target is
+ * at least 10k messages per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatModerationBenchmark {
+
+    // The default chat_moderation.keywords from config.yml
+    private static final List<String> KEYWORDS = Arrays.asList(
+        "noob", "scrub", "trash", "garbage", "suck", "terrible", "ez", "easy", "rekt", "owned",
+        "destroyed", "kys", "kill yourself", "hacker", "cheater", "exploiter");
+
+    private static final Pattern[] REGEXES = {
+        Pattern.compile("(?i).*\\b(noob|scrub|trash|garbage|suck|terrible)\\b.*"),
+        Pattern.compile("(?i).*\\b(ez|easy|rekt|owned|destroyed)\\b.*"),
+        Pattern.compile("(?i).*\\b(kys|kill yourself)\\b.*"),
+        Pattern.compile("(?i).*\\b(hacker|cheater|exploiter)\\b.*")
+    };
+
+    private static final String[] MESSAGES = {
+        "anyone want to go mining at the nether fortress later tonight?",
+        "gg that raid was close, nice heals everyone",
+        "lol ez, you are all n00bs",
+        "where is the altar for the sylvan god again",
+        "that guy is a hacker for sure",
+        "does the forge god altar spawn in badlands or only in mountains? been looking for an hour"
+    };
+
+    private ChatKeywordMatcher matcher;
+    private ToxicityTracker tracker;
+    private UUID[] senders;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        matcher = ChatKeywordMatcher.compile(KEYWORDS);
+        tracker = new ToxicityTracker(TimeUnit.HOURS.toMillis(24));
+        senders = new UUID[1024];
+        for (int i = 0; i < senders.length; i++) {
+            senders[i] = UUID.randomUUID();
+        }
+    }
+
+    private String nextMessage() {
+        next = (next + 1) % MESSAGES.length;
+        return MESSAGES[next];
+    }
+
+    @Benchmark
+    public boolean compiledMatcher() {
+        return matcher.matches(nextMessage());
+    }
+
+    @Benchmark
+    public boolean regexBaseline() {
+        String message = nextMessage().toLowerCase();
+        for (Pattern pattern : REGEXES) {
+            if (pattern.matcher(message).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Match and score from several chat threads at once
+     */
+    @Benchmark
+    @Threads(4)
+    public int matchAndScoreConcurrently(ThreadCursor cursor) {
+        String message = MESSAGES[cursor.next % MESSAGES.length];
+        UUID sender = senders[cursor.next % senders.length];
+        cursor.next++;
+        return matcher.matches(message) ? tracker.record(sender, System.currentTimeMillis()) : 0;
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+        private int next;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.minecraftplugin.data;
+
+import com.example.minecraftplugin.enums.GodType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packed fragment progress against the map-of-sets layout it replaced, for a
+ * cache of 100k players.
+ *
+ * The query benchmarks time the checks made on every chest break and mob kill.
+ * The build benchmarks create the whole cache once per call; run them with
+ * -prof gc and divide gc.alloc.rate.norm by the player count for the bytes each
+ * cached player costs.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class FragmentProgressBenchmark {
+
+    private static final GodType[] GODS = GodType.values();
+    private static final List<Integer> ALL_FRAGMENTS = Arrays.asList(1, 2, 3, 4, 5, 6, 7);
+
+    @Param("100000")
+    public int players;
+
+    private int[][] masks; // Per player: a fragment mask per god, then the testament mask
+    private FragmentProgress[] packed;
+    private List<Map<GodType, Set<Integer>>> legacy;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Each god started by roughly one player in three
+        Random random = new Random(37L);
+        masks = new int[players][GODS.length + 1];
+        for (int[] player : masks) {
+            for (int g = 0; g < GODS.length; g++) {
+                player[g] = random.nextInt(3) == 0 ? random.nextInt(1 << FragmentProgress.FRAGMENTS_PER_GOD) : 0;
+            }
+            player[GODS.length] = random.nextInt(1 << GODS.length) & random.nextInt(1 << GODS.length);
+        }
+
+        packed = buildPackedCache();
+        legacy = buildLegacyCache();
+    }
+
+    private int nextPlayer() {
+        next = next + 1 == players ? 0 : next + 1;
+        return next;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int packedCompleteGods() {
+        FragmentProgress progress = packed[nextPlayer()];
+        int complete = 0;
+        for (GodType god : GODS) {
+            if (progress.hasAllFragments(god)) {
+                complete++;
+            }
+        }
+        return complete;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int legacyCompleteGods() {
+        Map<GodType, Set<Integer>> fragments = legacy.get(nextPlayer());
+        int complete = 0;
+        for (GodType god : GODS) {
+            Set<Integer> numbers = fragments.getOrDefault(god, Collections.emptySet());
+            if (numbers.size() == FragmentProgress.FRAGMENTS_PER_GOD && numbers.containsAll(ALL_FRAGMENTS)) {
+                complete++;
+            }
+        }
+        return complete;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int packedIncompleteGods() {
+        return packed[nextPlayer()].getIncompleteGodMask();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int legacyIncompleteGods() {
+        Map<GodType, Set<Integer>> fragments = legacy.get(nextPlayer());
+        int mask = 0;
+        for (GodType god : GODS) {
+            if (fragments.getOrDefault(god, Collections.emptySet()).size() < FragmentProgress.FRAGMENTS_PER_GOD) {
+                mask |= 1 << god.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 3)
+    public FragmentProgress[] buildPackedCache() {
+        FragmentProgress[] cache = new FragmentProgress[players];
+        for (int i = 0; i < players; i++) {
+            FragmentProgress progress = new FragmentProgress();
+            for (int g = 0; g < GODS.length; g++) {
+                for (int f = 1; f <= FragmentProgress.FRAGMENTS_PER_GOD; f++) {
+                    if ((masks[i][g] & (1 << (f - 1))) != 0) {
+                        progress.addFragment(GODS[g], f);
+                    }
+                }
+            }
+            for (GodType god : FragmentProgress.godsIn(masks[i][GODS.length])) {
+                progress.addTestament(god);
+            }
+            cache[i] = progress;
+        }
+        return cache;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 3)
+    public List<Map<GodType, Set<Integer>>> buildLegacyCache() {
+        Map<GodType, Set<Integer>>[] cache = newLegacyArray(players);
+        for (int i = 0; i < players; i++) {
+            Map<GodType, Set<Integer>> fragments = new HashMap<>();
+            for (int g = 0; g < GODS.length; g++) {
+                if (masks[i][g] != 0) {
+                    Set<Integer> numbers = new HashSet<>();
+                    for (int f = 1; f <= FragmentProgress.FRAGMENTS_PER_GOD; f++) {
+                        if ((masks[i][g] & (1 << (f - 1))) != 0) {
+                            numbers.add(f);
+                        }
+                    }
+                    fragments.put(GODS[g], numbers);
+                }
+            }
+            cache[i] = fragments;
+        }
+        return Arrays.asList(cache);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<GodType, Set<Integer>>[] newLegacyArray(int size) {
+        return new Map[size];
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.minecraftplugin.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guild rankings kept in a RankedIndex against sorting every guild on each
+ * read, for 50k guilds.
+ *
+ * Each update takes a guild out of the ranking, raises its score the way a
+ * raid completion does and puts it back. The read benchmarks follow an update
+ * with what /guild top shows: the first page, and then the rank of one guild.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RankedIndexBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    // Same shape as the guild score ranking: highest score first, ties by name
+    private static final Comparator<Entry> BY_SCORE = Comparator.comparingInt((Entry e) -> e.score).reversed()
+        .thenComparing(e -> e.name);
+
+    @Param("50000")
+    public int guilds;
+
+    private Entry[] entries;
+    private RankedIndex<Entry> index;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(48L);
+        entries = new Entry[guilds];
+        index = new RankedIndex<>(BY_SCORE);
+        for (int i = 0; i < guilds; i++) {
+            entries[i] = new Entry("guild-" + i, random.nextInt(10_000));
+            index.add(entries[i]);
+        }
+    }
+
+    private Entry update() {
+        Entry entry = entries[random.nextInt(guilds)];
+        index.remove(entry);
+        entry.score += 1 + random.nextInt(50);
+        index.add(entry);
+        return entry;
+    }
+
+    @Benchmark
+    public Entry updateOnly() {
+        return update();
+    }
+
+    @Benchmark
+    public List<Entry> updateThenTopPage() {
+        update();
+        return index.page(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public int updateThenTopPageAndRank() {
+        Entry entry = update();
+        return index.page(0, PAGE_SIZE).size() + index.rankOf(entry);
+    }
+
+    @Benchmark
+    public List<Entry> updateThenFullSort() {
+        update();
+        List<Entry> sorted = new ArrayList<>(guilds);
+        for (Entry entry : entries) {
+            sorted.add(entry);
+        }
+        sorted.sort(BY_SCORE);
+        return sorted.subList(0, PAGE_SIZE);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private int score;
+
+        private Entry(String name, int score) {
+            this.name = name;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.minecraftplugin.managers;
+
+import com.example.minecraftplugin.enums.GodType;
+import com.example.minecraftplugin.enums.ItemRarity;
+import com.example.minecraftplugin.items.combinations.DivineItemCombination;
+import com.example.minecraftplugin.items.upgrades.DivineItemUpgrade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The lookups behind DivineForgeManager.upgradeItem and combineItems, against
+ * the lookups they replaced.
+ *
+ * Reading an item's god and rarity and building the result item need
+ * ItemStack and ItemMeta, which only a running server can create, so those
+ * steps are not measured here. What is measured is the rest of each operation:
+ * finding the combination for a set of gods, and the next rarity, requirement
+ * and default success chance of an upgrade.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DivineForgeBenchmark {
+
+    private static final ItemRarity[] RARITIES = ItemRarity.values();
+
+    private List<List<GodType>> godPairs; // Every pair of gods, most of which do not combine
+    private Map<Set<GodType>, DivineItemCombination.CombinationResult> combinationsBySet;
+    private Map<ItemRarity, DivineItemUpgrade.UpgradeRequirement> requirementsByRarity;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GodType[] gods = GodType.values();
+        godPairs = new ArrayList<>();
+        for (int a = 0; a < gods.length; a++) {
+            for (int b = a + 1; b < gods.length; b++) {
+                godPairs.add(List.of(gods[a], gods[b]));
+            }
+        }
+        Collections.shuffle(godPairs, new Random(50L));
+
+        combinationsBySet = DivineItemCombination.getAllCombinations();
+        requirementsByRarity = new HashMap<>();
+        for (ItemRarity rarity : RARITIES) {
+            DivineItemUpgrade.UpgradeRequirement requirement = DivineItemUpgrade.getUpgradeRequirement(rarity);
+            if (requirement != null) {
+                requirementsByRarity.put(rarity, requirement);
+            }
+        }
+    }
+
+    private int nextIndex(int size) {
+        next = next + 1 >= size ? 0 : next + 1;
+        return next;
+    }
+
+    @Benchmark
+    public DivineItemCombination.CombinationResult combinationTable() {
+        return DivineItemCombination.getCombinationResultForGods(godPairs.get(nextIndex(godPairs.size())));
+    }
+
+    @Benchmark
+    public DivineItemCombination.CombinationResult combinationSetLookup() {
+        // Previously: gather the gods into a set, then look the set up
+        Set<GodType> gods = new HashSet<>(godPairs.get(nextIndex(godPairs.size())));
+        return combinationsBySet.get(gods);
+    }
+
+    @Benchmark
+    public void upgradeTables(Blackhole blackhole) {
+        ItemRarity current = RARITIES[nextIndex(RARITIES.length - 1)];
+        ItemRarity target = DivineItemUpgrade.getNextRarity(current);
+        blackhole.consume(DivineItemUpgrade.getUpgradeRequirement(target));
+        blackhole.consume(DivineItemUpgrade.getUpgradeSuccessChance(current, target));
+    }
+
+    @Benchmark
+    public void upgradeScan(Blackhole blackhole) {
+        // Previously: scan the rarities for the next one, a HashMap and a switch
+        ItemRarity current = RARITIES[nextIndex(RARITIES.length - 1)];
+        ItemRarity target = null;
+        ItemRarity[] rarities = ItemRarity.values();
+        for (int i = 0; i < rarities.length - 1; i++) {
+            if (rarities[i] == current) {
+                target = rarities[i + 1];
+                break;
+            }
+        }
+        blackhole.consume(requirementsByRarity.get(target));
+        blackhole.consume(legacySuccessChance(target));
+    }
+
+    private static double legacySuccessChance(ItemRarity targetRarity) {
+        switch (targetRarity) {
+            case ENHANCED:
+                return 0.9;
+            case LEGENDARY:
+                return 0.7;
+            case MYTHIC:
+                return 0.5;
+            case TRANSCENDENT:
+                return 0.3;
+            default:
+                return 1.0;
+        }
+    }
+}
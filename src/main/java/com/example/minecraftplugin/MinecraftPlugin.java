@@ -11,6 +11,7 @@ import com.example.minecraftplugin.commands.TranscendenceCommand;
 import com.example.minecraftplugin.commands.CouncilCommand;
 import com.example.minecraftplugin.commands.BountyCommand;
 import com.example.minecraftplugin.commands.GuildCommand;
+import com.example.minecraftplugin.listeners.InteractionRouter;
 import com.example.minecraftplugin.listeners.PlayerListener;
 import com.example.minecraftplugin.listeners.FragmentListener;
 import com.example.minecraftplugin.listeners.AltarListener;
@@ -40,11 +41,16 @@ import com.example.minecraftplugin.listeners.DivineForgeListener;
 import com.example.minecraftplugin.database.DatabaseManager;
 import com.example.minecraftplugin.database.DataMigrationTool;
 import com.example.minecraftplugin.crossserver.CrossServerManager;
+import com.example.minecraftplugin.crossserver.NetworkLeaderboardManager;
 import com.example.minecraftplugin.transcendence.TranscendenceAbilityManager;
 import com.example.minecraftplugin.raids.CrossServerRaidManager;
 import com.example.minecraftplugin.effects.VisualEffectsManager;
+import com.example.minecraftplugin.effects.PotionEffectReconciler;
+import com.example.minecraftplugin.chat.ChatPrefixCache;
 import com.example.minecraftplugin.raids.RaidManager;
 import com.example.minecraftplugin.world.AltarGenerator;
+import com.example.minecraftplugin.world.BlockPlacementEngine;
+import com.example.minecraftplugin.world.SpatialEntityIndex;
 import com.example.minecraftplugin.config.ConfigManager;
 import com.example.minecraftplugin.effects.AltarEffectsManager;
 import com.example.minecraftplugin.effects.EnhancedAltarEffects;
@@ -78,6 +84,12 @@ public final class MinecraftPlugin extends JavaPlugin {
     private CrossServerManager crossServerManager;
     private TranscendenceAbilityManager transcendenceAbilityManager;
     private CrossServerRaidManager crossServerRaidManager;
+    private NetworkLeaderboardManager networkLeaderboardManager;
+    private BlockPlacementEngine blockPlacementEngine;
+    private InteractionRouter interactionRouter;
+    private PotionEffectReconciler potionEffectReconciler;
+    private SpatialEntityIndex spatialEntityIndex;
+    private ChatPrefixCache chatPrefixCache;
 
     @Override
     public void onEnable() {
@@ -93,6 +105,11 @@ public final class MinecraftPlugin extends JavaPlugin {
         // Initialize database system
         this.databaseManager = new DatabaseManager(this);
         this.dataMigrationTool = new DataMigrationTool(this, databaseManager);
+        if (!dataMigrationTool.applyPendingRestore()) {
+            getLogger().severe("A scheduled backup restore failed, disabling the plugin");
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
         
         // Initialize god management system
         initializeGodSystem();
@@ -116,6 +133,12 @@ public final class MinecraftPlugin extends JavaPlugin {
         if (raidManager != null) {
             raidManager.shutdown();
         }
+        if (blockPlacementEngine != null) {
+            blockPlacementEngine.shutdown();
+        }
+        if (transcendenceAbilityManager != null) {
+            transcendenceAbilityManager.shutdown();
+        }
         if (configManager != null) {
             configManager.shutdown();
         }
@@ -125,15 +148,21 @@ public final class MinecraftPlugin extends JavaPlugin {
         if (guildManager != null) {
             guildManager.shutdown();
         }
-        if (databaseManager != null) {
-            databaseManager.shutdown();
+        if (bountyManager != null) {
+            bountyManager.shutdown();
         }
-        if (crossServerManager != null) {
-            crossServerManager.shutdown();
+        if (divineCouncilManager != null) {
+            divineCouncilManager.shutdown();
         }
         if (crossServerRaidManager != null) {
             crossServerRaidManager.shutdown();
         }
+        if (crossServerManager != null) {
+            crossServerManager.shutdown();
+        }
+        if (databaseManager != null) {
+            databaseManager.shutdown();
+        }
         getLogger().info("MinecraftPlugin has been disabled!");
     }
     
@@ -144,9 +173,23 @@ public final class MinecraftPlugin extends JavaPlugin {
         // Initialize performance manager early
         this.performanceManager = new PerformanceManager(this);
         
+        // Initialize block placement before anything that builds structures
+        this.blockPlacementEngine = new BlockPlacementEngine(this);
+        
+        // Initialize effect reconciliation before anything that grants potion effects
+        this.potionEffectReconciler = new PotionEffectReconciler(this);
+        
+        // Initialize the entity index used by ability and raid area queries
+        this.spatialEntityIndex = new SpatialEntityIndex(this);
+        
         // Initialize the god manager
         this.godManager = new GodManager(this);
+        
+        // Interact/break routing, before any manager that registers routes
+        this.interactionRouter = new InteractionRouter(this, godManager, playerDataManager);
+        
         this.cooldownManager = new CooldownManager(this, playerDataManager);
+        this.chatPrefixCache = new ChatPrefixCache(this);
         this.playerTitleManager = new PlayerTitleManager(this, playerDataManager, godManager);
         this.altarGenerator = new AltarGenerator(this);
         this.tutorialManager = new TutorialManager(this, playerDataManager);
@@ -164,6 +207,7 @@ public final class MinecraftPlugin extends JavaPlugin {
         this.crossServerManager = new CrossServerManager(this, databaseManager);
         this.transcendenceAbilityManager = new TranscendenceAbilityManager(this);
         this.crossServerRaidManager = new CrossServerRaidManager(this, crossServerManager, databaseManager, raidManager);
+        this.networkLeaderboardManager = new NetworkLeaderboardManager(this, crossServerManager, raidManager.getLeaderboardManager());
         
         // Initialize raid leaderboard manager (will be created by RaidManager)
         // this.raidLeaderboardManager = new RaidLeaderboardManager(this);
@@ -377,6 +421,36 @@ public final class MinecraftPlugin extends JavaPlugin {
         return crossServerRaidManager;
     }
     
+    // Getter for network leaderboard manager
+    public NetworkLeaderboardManager getNetworkLeaderboardManager() {
+        return networkLeaderboardManager;
+    }
+    
+    // Getter for block placement engine
+    public BlockPlacementEngine getBlockPlacementEngine() {
+        return blockPlacementEngine;
+    }
+    
+    // Getter for potion effect reconciler
+    public PotionEffectReconciler getPotionEffectReconciler() {
+        return potionEffectReconciler;
+    }
+    
+    // Getter for spatial entity index
+    public SpatialEntityIndex getSpatialEntityIndex() {
+        return spatialEntityIndex;
+    }
+    
+    // Getter for chat prefix cache
+    public ChatPrefixCache getChatPrefixCache() {
+        return chatPrefixCache;
+    }
+    
+    // Getter for interaction router
+    public InteractionRouter getInteractionRouter() {
+        return interactionRouter;
+    }
+    
     // Method to check Divine Council configuration
     private void checkDivineCouncilConfiguration() {
         boolean councilEnabled = getConfig().getBoolean("divine_council.enabled", false);
@@ -0,0 +1,192 @@
+package com.example.minecraftplugin.chat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Compiled whole-word keyword matcher for chat moderation.
+ *
+ * Keywords are compiled once into an Aho-Corasick automaton with every failure
+ * transition resolved ahead of time, so a message is checked in a single pass
+ * with one table lookup per character regardless of how many keywords there are.
+ * Text is normalized on the fly: letters are lower-cased, common leetspeak digits
+ * and symbols are folded to the letters they stand for, and any run of other
+ * characters becomes a single word separator. Keywords are wrapped in separators,
+ * so they only match whole words or phrases.
+ *
+ * Instances are immutable and safe to share between the chat threads.
+ */
+public final class ChatKeywordMatcher {
+
+    // Symbols 0-25 are the letters a-z
+    private static final int OTHER = 26;     // Any other letter or digit
+    private static final int SEPARATOR = 27; // Whitespace and punctuation
+    private static final int ALPHABET = 28;
+
+    private final int[] transitions; // state * ALPHABET + symbol -> next state
+    private final boolean[] accepting;
+    private final int keywordCount;
+
+    private ChatKeywordMatcher(int[] transitions, boolean[] accepting, int keywordCount) {
+        this.transitions = transitions;
+        this.accepting = accepting;
+        this.keywordCount = keywordCount;
+    }
+
+    /**
+     * Compile the given keywords and phrases; blank entries are ignored
+     */
+    public static ChatKeywordMatcher compile(Collection<String> keywords) {
+        List<int[]> goTo = new ArrayList<>();
+        List<Boolean> accepts = new ArrayList<>();
+        goTo.add(newState());
+        accepts.add(false);
+
+        int compiled = 0;
+        for (String keyword : keywords) {
+            int[] symbols = normalize(keyword);
+            if (symbols.length <= 2) {
+                continue; // Only separators
+            }
+
+            int state = 0;
+            for (int symbol : symbols) {
+                int next = goTo.get(state)[symbol];
+                if (next < 0) {
+                    next = goTo.size();
+                    goTo.get(state)[symbol] = next;
+                    goTo.add(newState());
+                    accepts.add(false);
+                }
+                state = next;
+            }
+            accepts.set(state, true);
+            compiled++;
+        }
+
+        // Breadth-first pass turns the trie into a complete DFA
+        int stateCount = goTo.size();
+        int[] transitions = new int[stateCount * ALPHABET];
+        boolean[] accepting = new boolean[stateCount];
+        int[] failure = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int next = goTo.get(0)[symbol];
+            if (next > 0) {
+                transitions[symbol] = next;
+                failure[next] = 0;
+                queue.add(next);
+            } else {
+                transitions[symbol] = 0;
+            }
+        }
+        accepting[0] = accepts.get(0);
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepting[state] = accepts.get(state) || accepting[failure[state]];
+
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int next = goTo.get(state)[symbol];
+                if (next > 0) {
+                    failure[next] = transitions[failure[state] * ALPHABET + symbol];
+                    transitions[state * ALPHABET + symbol] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * ALPHABET + symbol] = transitions[failure[state] * ALPHABET + symbol];
+                }
+            }
+        }
+
+        return new ChatKeywordMatcher(transitions, accepting, compiled);
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    /**
+     * Check whether the message contains any keyword as a whole word or phrase
+     */
+    public boolean matches(CharSequence message) {
+        if (keywordCount == 0) {
+            return false;
+        }
+
+        int state = transitions[SEPARATOR];
+        int previous = SEPARATOR;
+        for (int i = 0, length = message.length(); i < length; i++) {
+            int symbol = symbol(message.charAt(i));
+            if (symbol == SEPARATOR && previous == SEPARATOR) {
+                continue; // Collapse runs of separators
+            }
+            previous = symbol;
+
+            state = transitions[state * ALPHABET + symbol];
+            if (accepting[state]) {
+                return true;
+            }
+        }
+
+        return previous != SEPARATOR && accepting[transitions[state * ALPHABET + SEPARATOR]];
+    }
+
+    public int getKeywordCount() {
+        return keywordCount;
+    }
+
+    public int getStateCount() {
+        return accepting.length;
+    }
+
+    /**
+     * Normalize a keyword into symbols, wrapped in separators
+     */
+    private static int[] normalize(String keyword) {
+        int[] symbols = new int[keyword.length() + 2];
+        int size = 0;
+        symbols[size++] = SEPARATOR;
+        for (int i = 0; i < keyword.length(); i++) {
+            int symbol = symbol(keyword.charAt(i));
+            if (symbol == SEPARATOR && symbols[size - 1] == SEPARATOR) {
+                continue;
+            }
+            symbols[size++] = symbol;
+        }
+        if (symbols[size - 1] != SEPARATOR) {
+            symbols[size++] = SEPARATOR;
+        }
+        return Arrays.copyOf(symbols, size);
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+
+        // Leetspeak folding
+        switch (c) {
+            case '0': return 'o' - 'a';
+            case '1': return 'i' - 'a';
+            case '3': return 'e' - 'a';
+            case '4':
+            case '@': return 'a' - 'a';
+            case '5':
+            case '$': return 's' - 'a';
+            case '7': return 't' - 'a';
+            default: break;
+        }
+
+        return Character.isLetterOrDigit(c) ? OTHER : SEPARATOR;
+    }
+}
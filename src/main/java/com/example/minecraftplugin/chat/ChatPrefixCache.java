@@ -0,0 +1,95 @@
+package com.example.minecraftplugin.chat;
+
+import com.example.minecraftplugin.MinecraftPlugin;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pre-rendered chat formats for online players.
+ *
+ * A player's title-prefixed name is rendered into their complete chat format
+ * string on the main thread when they join and again whenever their title
+ * changes. The async chat threads then only read
+ * the cached format.
+ */
+public class ChatPrefixCache {
+
+    // Bukkit chat format: %2$s is the message
+    private static final String MESSAGE = "§r: %2$s";
+
+    private final MinecraftPlugin plugin;
+    private final Map<UUID, String> chatFormats;
+
+    private final LongAdder renders;
+    private final LongAdder misses; // Counted on the async chat threads
+
+    public ChatPrefixCache(MinecraftPlugin plugin) {
+        this.plugin = plugin;
+        this.chatFormats = new ConcurrentHashMap<>();
+        this.renders = new LongAdder();
+        this.misses = new LongAdder();
+
+        plugin.getLogger().info("Chat Prefix Cache initialized");
+    }
+
+    /**
+     * Chat format for the player. Safe to call from the async chat threads; a
+     * player without a cached format gets their plain name and is rendered on
+     * the main thread for their next message.
+     */
+    public String getChatFormat(Player player) {
+        String format = chatFormats.get(player.getUniqueId());
+        if (format != null) {
+            return format;
+        }
+
+        misses.increment();
+        refresh(player.getUniqueId());
+        return player.getName() + MESSAGE;
+    }
+
+    /**
+     * Re-render a player's chat format after their title changed.
+     * Can be called from any thread; rendering always happens on the main thread.
+     */
+    public void refresh(UUID playerId) {
+        if (!plugin.getServer().isPrimaryThread()) {
+            plugin.getServer().getScheduler().runTask(plugin, () -> refresh(playerId));
+            return;
+        }
+
+        Player player = plugin.getServer().getPlayer(playerId);
+        if (player == null) {
+            chatFormats.remove(playerId);
+            return;
+        }
+
+        chatFormats.put(playerId, render(player));
+        renders.increment();
+    }
+
+    public void remove(UUID playerId) {
+        chatFormats.remove(playerId);
+    }
+
+    private String render(Player player) {
+        String name = plugin.getPlayerTitleManager().getDisplayNameWithTitle(player);
+        return name.replace("%", "%%") + MESSAGE;
+    }
+
+    /**
+     * Get cache statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cached_prefixes", chatFormats.size());
+        stats.put("renders", renders.sum());
+        stats.put("misses", misses.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.minecraftplugin.chat;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe toxicity scores that decay on their own.
+ *
+ * Each player's score is the number of toxic messages sent within the decay
+ * window, kept in a ring of time buckets. A bucket is reset when its slot comes
+ * round again, so old offences drop out as the window slides and no periodic
+ * sweep over every player is needed. Scores can be recorded from the async chat
+ * threads and read from the main thread at the same time.
+ */
+public class ToxicityTracker {
+
+    private static final int BUCKETS = 24;
+
+    private final Map<UUID, Score> scores;
+    private volatile long bucketMillis;
+
+    public ToxicityTracker(long windowMillis) {
+        this.scores = new ConcurrentHashMap<>();
+        setWindow(windowMillis);
+    }
+
+    /**
+     * Change the decay window; takes effect as buckets roll over
+     */
+    public void setWindow(long windowMillis) {
+        this.bucketMillis = Math.max(1L, windowMillis / BUCKETS);
+    }
+
+    /**
+     * Count a toxic message and return the player's score including it
+     */
+    public int record(UUID playerId, long now) {
+        long bucket = bucket(now);
+        // Counted inside compute so a concurrent getScore cannot drop the entry mid-update
+        Score score = scores.compute(playerId, (k, existing) -> {
+            Score updated = existing != null ? existing : new Score();
+            updated.add(bucket);
+            return updated;
+        });
+        return score.total(bucket);
+    }
+
+    /**
+     * Current score; players whose offences have all expired are forgotten
+     */
+    public int getScore(UUID playerId, long now) {
+        Score score = scores.get(playerId);
+        if (score == null) {
+            return 0;
+        }
+
+        int total = score.total(bucket(now));
+        if (total == 0) {
+            forgetIfDecayed(playerId, now);
+        }
+        return total;
+    }
+
+    /**
+     * Drop a player whose offences have all expired; a score with any live offence is kept
+     */
+    public void forgetIfDecayed(UUID playerId, long now) {
+        long bucket = bucket(now);
+        scores.computeIfPresent(playerId, (k, existing) -> existing.total(bucket) == 0 ? null : existing);
+    }
+
+    public void clear(UUID playerId) {
+        scores.remove(playerId);
+    }
+
+    public int getTrackedPlayerCount() {
+        return scores.size();
+    }
+
+    private long bucket(long now) {
+        return now / bucketMillis;
+    }
+
+    private static class Score {
+        private final int[] counts = new int[BUCKETS];
+        private final long[] epochs = new long[BUCKETS];
+
+        private synchronized void add(long epoch) {
+            int slot = (int) (epoch % BUCKETS);
+            if (epochs[slot] != epoch) {
+                epochs[slot] = epoch;
+                counts[slot] = 0;
+            }
+            counts[slot]++;
+        }
+
+        private synchronized int total(long epoch) {
+            int total = 0;
+            for (int slot = 0; slot < BUCKETS; slot++) {
+                if (epoch - epochs[slot] < BUCKETS) {
+                    total += counts[slot];
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -263,5 +263,16 @@ public class BountyCommand implements CommandExecutor, TabCompleter {
             admin.sendMessage("§7Most Wanted: §c" + stats.get("most_wanted") + 
                             " §7(§6" + stats.get("highest_bounty") + "§7)");
         }
+        
+        List<BountyManager.BountyRecord> claims = bountyManager.getRecentClaims();
+        if (!claims.isEmpty()) {
+            admin.sendMessage("§7Recent Claims:");
+            for (int i = claims.size() - 1; i >= Math.max(0, claims.size() - 5); i--) {
+                BountyManager.BountyRecord claim = claims.get(i);
+                BountyManager.BountyInfo bounty = claim.getOriginalBounty();
+                admin.sendMessage("§7• §c" + claim.getKillerName() + "§7 claimed §c" + bounty.getTargetName() + 
+                                "§7 for §6" + bounty.getTotalAmount() + " " + bounty.getCurrency().name().toLowerCase());
+            }
+        }
     }
 }
\ No newline at end of file
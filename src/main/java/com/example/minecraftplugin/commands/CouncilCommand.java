@@ -20,6 +20,8 @@ import java.util.HashMap;
 
 public class CouncilCommand implements CommandExecutor, TabCompleter {
     
+    private static final int HISTORY_PAGE_SIZE = 5;
+    
     private final MinecraftPlugin plugin;
     private final DivineCouncilManager councilManager;
     
@@ -111,7 +113,7 @@ public class CouncilCommand implements CommandExecutor, TabCompleter {
                 break;
                 
             case "history":
-                showProposalHistory(player);
+                showProposalHistory(player, args);
                 break;
                 
             case "help":
@@ -820,56 +822,84 @@ public class CouncilCommand implements CommandExecutor, TabCompleter {
     }
     
     /**
-     * Show proposal history
+     * Show proposal history: active proposals newest first, then decided ones,
+     * most recently decided first. Pages past the recent ones in memory are read
+     * from the history log, so the list is sent once that read completes.
      */
-    private void showProposalHistory(Player player) {
+    private void showProposalHistory(Player player, String[] args) {
         if (!councilManager.isCouncilMember(player)) {
             player.sendMessage("§c§lNot a council member! §r§cOnly Divine Council members can view proposal history.");
             return;
         }
         
-        List<CouncilProposal> allProposals = new ArrayList<>();
-        allProposals.addAll(councilManager.getActiveProposals().values());
-        
-        for (CouncilProposal.ProposalStatus status : CouncilProposal.ProposalStatus.values()) {
-            allProposals.addAll(councilManager.getProposalsByStatus(status));
+        int page = 1;
+        if (args.length > 1) {
+            try {
+                page = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                player.sendMessage("§cUsage: /council history [page]");
+                return;
+            }
         }
         
-        if (allProposals.isEmpty()) {
+        List<CouncilProposal> active = new ArrayList<>(councilManager.getActiveProposals().values());
+        int total = active.size() + councilManager.getHistorySize();
+        if (total == 0) {
             player.sendMessage("§7No proposals in council history yet.");
             return;
         }
         
-        // Sort by creation time (newest first)
-        allProposals.sort((p1, p2) -> Long.compare(p2.getCreatedTime(), p1.getCreatedTime()));
-        
-        player.sendMessage("§6§l=== COUNCIL PROPOSAL HISTORY ===§r");
-        player.sendMessage("§7Total proposals: §f" + allProposals.size());
-        player.sendMessage("");
-        
-        // Show statistics
-        Map<CouncilProposal.ProposalStatus, Integer> statusCounts = new HashMap<>();
-        for (CouncilProposal proposal : allProposals) {
-            statusCounts.merge(proposal.getStatus(), 1, Integer::sum);
-        }
-        
-        player.sendMessage("§e§lStatistics:§r");
-        for (Map.Entry<CouncilProposal.ProposalStatus, Integer> entry : statusCounts.entrySet()) {
-            String statusColor = getStatusColor(entry.getKey());
-            player.sendMessage("§7• " + statusColor + entry.getKey().name() + "§7: §f" + entry.getValue());
-        }
-        
-        player.sendMessage("");
-        player.sendMessage("§7Recent proposals (last 5):");
-        
-        int count = 0;
-        for (CouncilProposal proposal : allProposals) {
-            if (count >= 5) break;
-            showProposalSummary(player, proposal);
-            count++;
-        }
+        int pages = (total + HISTORY_PAGE_SIZE - 1) / HISTORY_PAGE_SIZE;
+        int shownPage = Math.max(1, Math.min(page, pages));
         
-        player.sendMessage("§7Use §f/council info <proposal_id>§7 for detailed information");
+        // Sort by creation time (newest first)
+        active.sort((p1, p2) -> Long.compare(p2.getCreatedTime(), p1.getCreatedTime()));
+        int start = (shownPage - 1) * HISTORY_PAGE_SIZE;
+        List<CouncilProposal> activeShown = active.subList(Math.min(start, active.size()),
+            Math.min(start + HISTORY_PAGE_SIZE, active.size()));
+        
+        // Statistics, counted over the whole history
+        Map<CouncilProposal.ProposalStatus, Integer> statusCounts = councilManager.getHistoryCounts();
+        if (!active.isEmpty()) {
+            statusCounts.merge(CouncilProposal.ProposalStatus.ACTIVE, active.size(), Integer::sum);
+        }
+        statusCounts.values().removeIf(count -> count <= 0);
+        
+        councilManager.getDecidedProposals(Math.max(0, start - active.size()), HISTORY_PAGE_SIZE - activeShown.size())
+            .thenAccept(decided -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (!player.isOnline()) {
+                    return;
+                }
+                
+                player.sendMessage("§6§l=== COUNCIL PROPOSAL HISTORY ===§r");
+                player.sendMessage("§7Total proposals: §f" + total);
+                player.sendMessage("§7Page §f" + shownPage + "§7 of §f" + pages);
+                player.sendMessage("");
+                
+                if (shownPage == 1) {
+                    player.sendMessage("§e§lStatistics:§r");
+                    for (Map.Entry<CouncilProposal.ProposalStatus, Integer> entry : statusCounts.entrySet()) {
+                        String statusColor = getStatusColor(entry.getKey());
+                        player.sendMessage("§7• " + statusColor + entry.getKey().name() + "§7: §f" + entry.getValue());
+                    }
+                    player.sendMessage("");
+                }
+                
+                if (activeShown.isEmpty() && decided.isEmpty()) {
+                    player.sendMessage("§7No older proposals are on record.");
+                }
+                for (CouncilProposal proposal : activeShown) {
+                    showProposalSummary(player, proposal);
+                }
+                for (CouncilProposal proposal : decided) {
+                    showProposalSummary(player, proposal);
+                }
+                
+                if (shownPage < pages) {
+                    player.sendMessage("§7Use §f/council history " + (shownPage + 1) + "§7 for the next page");
+                }
+                player.sendMessage("§7Use §f/council info <proposal_id>§7 for detailed information");
+            }));
     }
     
     /**
@@ -950,7 +980,7 @@ public class CouncilCommand implements CommandExecutor, TabCompleter {
             player.sendMessage("§7/council proposals [active|pending|completed|my] - View proposals");
             player.sendMessage("§7/council info <proposal_id> - View detailed proposal information");
             player.sendMessage("§7/council vote <proposal_id> <approve/reject/abstain> - Vote on proposal");
-            player.sendMessage("§7/council history - View council proposal history");
+            player.sendMessage("§7/council history [page] - View council proposal history");
             
             if (player.hasPermission("minecraftplugin.admin")) {
                 player.sendMessage("§c§lAdmin Commands:");
@@ -195,7 +195,7 @@ public class ForgeCommand implements CommandExecutor, TabCompleter {
         player.sendMessage("§7Target Rarity: " + targetRarity.getFormattedName());
         player.sendMessage("§7Required: §f" + requirement.getAmount() + "x " + requirement.getMaterialType().getDisplayName());
         
-        double successChance = DivineItemUpgrade.getUpgradeSuccessChance(currentRarity, targetRarity);
+        double successChance = forgeManager.getUpgradeSuccessChance(currentRarity, targetRarity);
         player.sendMessage("§7Success Chance: §f" + String.format("%.0f%%", successChance * 100));
         
         DivineForgeManager.UpgradeResult result = forgeManager.upgradeItem(player, heldItem);
@@ -18,6 +18,8 @@ import java.util.UUID;
 
 public class GuildCommand implements CommandExecutor, TabCompleter {
     
+    private static final int TOP_PAGE_SIZE = 10;
+    
     private final MinecraftPlugin plugin;
     private final GuildManager guildManager;
     
@@ -88,6 +90,10 @@ public class GuildCommand implements CommandExecutor, TabCompleter {
                 showGuildList(player);
                 break;
                 
+            case "top":
+                showGuildTop(player, args);
+                break;
+                
             case "stats":
                 if (player.hasPermission("minecraftplugin.admin")) {
                     showGuildStatistics(player);
@@ -114,7 +120,7 @@ public class GuildCommand implements CommandExecutor, TabCompleter {
         
         if (args.length == 1) {
             // Subcommands
-            List<String> subcommands = Arrays.asList("create", "invite", "join", "leave", "info", "list", "help");
+            List<String> subcommands = Arrays.asList("create", "invite", "join", "leave", "info", "list", "top", "help");
             if (sender.hasPermission("minecraftplugin.admin")) {
                 subcommands = new ArrayList<>(subcommands);
                 subcommands.add("stats");
@@ -134,6 +140,12 @@ public class GuildCommand implements CommandExecutor, TabCompleter {
                         completions.add(playerName);
                     }
                 }
+            } else if (args[0].equalsIgnoreCase("top")) {
+                for (String ranking : Arrays.asList("raids", "score", "time", "weekly")) {
+                    if (ranking.startsWith(args[1].toLowerCase())) {
+                        completions.add(ranking);
+                    }
+                }
             } else if (args[0].equalsIgnoreCase("join") || args[0].equalsIgnoreCase("info")) {
                 // Guild names
                 for (GuildManager.Guild guild : guildManager.getAllGuilds()) {
@@ -307,6 +319,83 @@ public class GuildCommand implements CommandExecutor, TabCompleter {
         player.sendMessage("§7Use §f/guild info <name>§7 for detailed information");
     }
     
+    private void showGuildTop(Player player, String[] args) {
+        GuildManager.GuildRanking ranking = GuildManager.GuildRanking.RAIDS;
+        int page = 1;
+        
+        // Both arguments are optional: /guild top [raids|score|time|weekly] [page]
+        for (int i = 1; i < args.length; i++) {
+            GuildManager.GuildRanking parsed = parseRanking(args[i]);
+            if (parsed != null) {
+                ranking = parsed;
+                continue;
+            }
+            try {
+                page = Integer.parseInt(args[i]);
+            } catch (NumberFormatException e) {
+                player.sendMessage("§cUsage: /guild top [raids|score|time|weekly] [page]");
+                return;
+            }
+        }
+        
+        int size = guildManager.getRankingSize(ranking);
+        if (size == 0) {
+            player.sendMessage("§7No guilds are ranked by " + ranking.getDisplayName().toLowerCase() + " yet.");
+            return;
+        }
+        
+        int pages = (size + TOP_PAGE_SIZE - 1) / TOP_PAGE_SIZE;
+        page = Math.max(1, Math.min(page, pages));
+        
+        player.sendMessage("§6§l=== TOP GUILDS: " + ranking.getDisplayName().toUpperCase() + " ===§r");
+        player.sendMessage("§7Page §f" + page + "§7 of §f" + pages);
+        
+        int rank = (page - 1) * TOP_PAGE_SIZE;
+        for (GuildManager.Guild guild : guildManager.getRankingPage(ranking, page - 1, TOP_PAGE_SIZE)) {
+            rank++;
+            player.sendMessage("§e#" + rank + " §f" + guild.getName() + " §7- §f" + formatRankingValue(ranking, guild));
+        }
+        
+        GuildManager.Guild own = guildManager.getPlayerGuild(player);
+        if (own != null) {
+            int ownRank = guildManager.getGuildRank(ranking, own);
+            player.sendMessage("");
+            player.sendMessage("§7Your guild: " + (ownRank > 0 ? "§e#" + ownRank + " §7- §f" + formatRankingValue(ranking, own) : "§7not ranked"));
+        }
+        if (page < pages) {
+            player.sendMessage("§7Use §f/guild top " + ranking.name().toLowerCase() + " " + (page + 1) + "§7 for the next page");
+        }
+    }
+    
+    private GuildManager.GuildRanking parseRanking(String name) {
+        switch (name.toLowerCase()) {
+            case "raids":
+                return GuildManager.GuildRanking.RAIDS;
+            case "score":
+                return GuildManager.GuildRanking.SCORE;
+            case "time":
+            case "best_time":
+                return GuildManager.GuildRanking.BEST_TIME;
+            case "weekly":
+                return GuildManager.GuildRanking.WEEKLY;
+            default:
+                return null;
+        }
+    }
+    
+    private String formatRankingValue(GuildManager.GuildRanking ranking, GuildManager.Guild guild) {
+        switch (ranking) {
+            case SCORE:
+                return guild.getTotalScore() + " points";
+            case BEST_TIME:
+                return formatTime(guild.getBestTime() / 1000);
+            case WEEKLY:
+                return guildManager.getWeeklyScore(guild) + " points this week";
+            default:
+                return guild.getRaidsCompleted() + " raids";
+        }
+    }
+    
     private void showGuildStatistics(Player admin) {
         Map<String, Object> stats = guildManager.getGuildStatistics();
         
@@ -330,6 +419,7 @@ public class GuildCommand implements CommandExecutor, TabCompleter {
         player.sendMessage("§7/guild leave - Leave your current guild");
         player.sendMessage("§7/guild info [guild_name] - Show guild information");
         player.sendMessage("§7/guild list - List all guilds");
+        player.sendMessage("§7/guild top [raids|score|time|weekly] [page] - Show guild rankings");
         player.sendMessage("§7/guild help - Show this help");
         
         if (player.hasPermission("minecraftplugin.admin")) {
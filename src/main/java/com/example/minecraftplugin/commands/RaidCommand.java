@@ -377,7 +377,7 @@ public class RaidCommand implements CommandExecutor, TabCompleter {
     }
     
     private void showGlobalLeaderboard(Player player) {
-        List<com.example.minecraftplugin.raids.RaidCompletionRecord> topRecords = raidManager.getLeaderboardManager().getTopCompletionsByScore(10);
+        List<com.example.minecraftplugin.raids.RaidCompletionRecord> topRecords = plugin.getNetworkLeaderboardManager().getTopCompletionsByScore(10);
         
         if (topRecords.isEmpty()) {
             player.sendMessage("§e§lNo raid completions recorded yet!");
@@ -386,7 +386,7 @@ public class RaidCommand implements CommandExecutor, TabCompleter {
         }
         
         player.sendMessage("§6§l=== GLOBAL RAID LEADERBOARD ===§r");
-        player.sendMessage("§7Top 10 raid completions by score:");
+        player.sendMessage("§7Top 10 raid completions by score across all servers:");
         player.sendMessage("");
         
         for (int i = 0; i < topRecords.size(); i++) {
@@ -448,7 +448,7 @@ public class RaidCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        List<com.example.minecraftplugin.raids.RaidCompletionRecord> tierRecords = raidManager.getLeaderboardManager().getTopCompletionsByTier(tier, 10);
+        List<com.example.minecraftplugin.raids.RaidCompletionRecord> tierRecords = plugin.getNetworkLeaderboardManager().getTopCompletionsByTier(tier, 10);
         
         if (tierRecords.isEmpty()) {
             player.sendMessage("§e§lNo " + tier.getDisplayName() + " raid completions yet!");
@@ -468,7 +468,7 @@ public class RaidCommand implements CommandExecutor, TabCompleter {
     }
     
     private void showRaidLeaderboard(Player player, String raidId) {
-        List<com.example.minecraftplugin.raids.RaidCompletionRecord> raidRecords = raidManager.getLeaderboardManager().getTopCompletions(raidId, 10);
+        List<com.example.minecraftplugin.raids.RaidCompletionRecord> raidRecords = plugin.getNetworkLeaderboardManager().getTopCompletions(raidId, 10);
         
         if (raidRecords.isEmpty()) {
             player.sendMessage("§e§lNo completions for raid: " + raidId);
@@ -488,7 +488,7 @@ public class RaidCommand implements CommandExecutor, TabCompleter {
     }
     
     private void showWeeklyChallengeLeaderboard(Player player) {
-        List<com.example.minecraftplugin.raids.RaidCompletionRecord> weeklyRecords = raidManager.getLeaderboardManager().getWeeklyChallengeCompletions(10);
+        List<com.example.minecraftplugin.raids.RaidCompletionRecord> weeklyRecords = plugin.getNetworkLeaderboardManager().getWeeklyChallengeCompletions(10);
         
         if (weeklyRecords.isEmpty()) {
             player.sendMessage("§e§lNo weekly challenge completions yet!");
@@ -496,7 +496,7 @@ public class RaidCommand implements CommandExecutor, TabCompleter {
         }
         
         player.sendMessage("§e§l=== WEEKLY CHALLENGE LEADERBOARD ===§r");
-        player.sendMessage("§7Top 10 weekly challenge completions by score:");
+        player.sendMessage("§7Top 10 weekly challenge completions this week by score:");
         player.sendMessage("");
         
         for (int i = 0; i < weeklyRecords.size(); i++) {
@@ -523,7 +523,7 @@ public class RaidCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(challenge.getFormattedDisplay());
         
         // Show current leaderboard for this challenge
-        List<com.example.minecraftplugin.raids.RaidCompletionRecord> weeklyRecords = raidManager.getLeaderboardManager().getWeeklyChallengeCompletions(3);
+        List<com.example.minecraftplugin.raids.RaidCompletionRecord> weeklyRecords = plugin.getNetworkLeaderboardManager().getWeeklyChallengeCompletions(3);
         if (!weeklyRecords.isEmpty()) {
             player.sendMessage("");
             player.sendMessage("§e§lCurrent Weekly Challenge Leaders:");
@@ -1,6 +1,7 @@
 package com.example.minecraftplugin.commands;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.crossserver.CrossServerManager;
 import com.example.minecraftplugin.enums.GodType;
 import com.example.minecraftplugin.enums.AscensionLevel;
 import com.example.minecraftplugin.enums.PlayerTitle;
@@ -24,6 +25,7 @@ import java.util.Set;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Map;
 
 public class TestamentCommand implements CommandExecutor, TabCompleter {
     
@@ -133,7 +135,7 @@ public class TestamentCommand implements CommandExecutor, TabCompleter {
             } else if (args[0].equalsIgnoreCase("admin") && sender.hasPermission("minecraftplugin.admin")) {
                 // Admin subcommands
                 List<String> adminCommands = Arrays.asList("setdeaths", "setvoid", "resetplayer", "give-fragment", 
-                    "complete", "reset", "cooldown", "debug", "convergence", "give-shard", "give-key", "title");
+                    "complete", "reset", "cooldown", "debug", "convergence", "give-shard", "give-key", "title", "snapshot", "transfer");
                 for (String adminCmd : adminCommands) {
                     if (adminCmd.toLowerCase().startsWith(args[1].toLowerCase())) {
                         completions.add(adminCmd);
@@ -144,7 +146,7 @@ public class TestamentCommand implements CommandExecutor, TabCompleter {
             if (args[0].equalsIgnoreCase("admin") && sender.hasPermission("minecraftplugin.admin")) {
                 // Player names for admin commands
                 if (Arrays.asList("setdeaths", "setvoid", "resetplayer", "give-fragment", "complete", 
-                    "reset", "cooldown", "debug", "convergence", "give-shard", "give-key", "title").contains(args[1].toLowerCase())) {
+                    "reset", "cooldown", "debug", "convergence", "give-shard", "give-key", "title", "transfer").contains(args[1].toLowerCase())) {
                     for (Player player : plugin.getServer().getOnlinePlayers()) {
                         String playerName = player.getName();
                         if (playerName.toLowerCase().startsWith(args[2].toLowerCase())) {
@@ -152,6 +154,13 @@ public class TestamentCommand implements CommandExecutor, TabCompleter {
                         }
                     }
                 }
+                if (args[1].equalsIgnoreCase("snapshot")) {
+                    for (String action : Arrays.asList("export", "import")) {
+                        if (action.startsWith(args[2].toLowerCase())) {
+                            completions.add(action);
+                        }
+                    }
+                }
             }
         } else if (args.length == 4) {
             if (args[0].equalsIgnoreCase("admin") && sender.hasPermission("minecraftplugin.admin")) {
@@ -307,7 +316,7 @@ public class TestamentCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(summary);
         
         // Additional context
-        int deathThreshold = plugin.getConfig().getInt("testament.lives_system.death_threshold", 3);
+        int deathThreshold = plugin.getConfigManager().getSnapshot().main().getDeathThreshold();
         int currentDeaths = playerDataManager.getDeathCount(player);
         
         if (playerDataManager.isPrisonerOfTheVoid(player)) {
@@ -566,6 +575,8 @@ public class TestamentCommand implements CommandExecutor, TabCompleter {
             player.sendMessage("§7/testament admin give-shard <player> <shard_number>");
             player.sendMessage("§7/testament admin give-key <player>");
             player.sendMessage("§7/testament admin title <player> <title|clear>");
+            player.sendMessage("§7/testament admin snapshot <export|import> [name]");
+            player.sendMessage("§7/testament admin transfer <player> <server>");
             return;
         }
         
@@ -669,6 +680,22 @@ public class TestamentCommand implements CommandExecutor, TabCompleter {
                 handleSetTitle(player, args[2], args[3]);
                 break;
                 
+            case "snapshot":
+                if (args.length < 3 || args.length > 4) {
+                    player.sendMessage("§cUsage: /testament admin snapshot <export|import> [name]");
+                    return;
+                }
+                handleSnapshot(player, args[2], args.length == 4 ? args[3] : null);
+                break;
+                
+            case "transfer":
+                if (args.length != 4) {
+                    player.sendMessage("§cUsage: /testament admin transfer <player> <server>");
+                    return;
+                }
+                handleTransfer(player, args[2], args[3]);
+                break;
+                
             default:
                 player.sendMessage("§cUnknown admin command: " + subCommand);
                 break;
@@ -863,6 +890,66 @@ public class TestamentCommand implements CommandExecutor, TabCompleter {
         target.sendMessage("§eYour cooldowns have been cleared by an administrator.");
     }
     
+    private void handleSnapshot(Player admin, String action, String name) {
+        if (name != null && !name.matches("[A-Za-z0-9_-]+")) {
+            admin.sendMessage("§cSnapshot names may only use letters, digits, - and _");
+            return;
+        }
+        
+        if (action.equalsIgnoreCase("export")) {
+            String backupName = name != null ? name
+                : "snapshot-" + new java.text.SimpleDateFormat("yyyyMMdd-HHmmss").format(new java.util.Date());
+            
+            // Write out what is only in memory so the data files are current
+            playerDataManager.saveAllPlayerData();
+            plugin.getGuildManager().saveGuildData();
+            
+            admin.sendMessage("§7Exporting snapshot §f" + backupName + "§7...");
+            plugin.getDataMigrationTool().createBackup(backupName).thenAccept(success -> admin.sendMessage(success
+                ? "§aSnapshot saved to backups/" + backupName + ".snapshot.zip"
+                : "§cSnapshot export failed; see the console for details"));
+            
+        } else if (action.equalsIgnoreCase("import")) {
+            if (name == null) {
+                admin.sendMessage("§cUsage: /testament admin snapshot import <name>");
+                return;
+            }
+            if (plugin.getDataMigrationTool().scheduleRestore(name)) {
+                admin.sendMessage("§aSnapshot §f" + name + "§a will be restored the next time the server starts.");
+            } else {
+                admin.sendMessage("§cNo snapshot named " + name + " in backups/");
+            }
+            
+        } else {
+            admin.sendMessage("§cUsage: /testament admin snapshot <export|import> [name]");
+        }
+    }
+    
+    private void handleTransfer(Player admin, String targetName, String serverName) {
+        Player target = plugin.getServer().getPlayer(targetName);
+        if (target == null) {
+            admin.sendMessage("§cPlayer not found: " + targetName);
+            return;
+        }
+        
+        String serverId = null;
+        for (CrossServerManager.ServerInfo server : plugin.getCrossServerManager().getRegisteredServers().values()) {
+            if (server.getName().equalsIgnoreCase(serverName) || server.getServerId().equals(serverName)) {
+                serverId = server.getServerId();
+                break;
+            }
+        }
+        if (serverId == null) {
+            admin.sendMessage("§cNo online server named " + serverName);
+            return;
+        }
+        
+        admin.sendMessage("§7Handing §f" + target.getName() + "§7 off to §f" + serverName + "§7...");
+        plugin.getCrossServerManager().transferPlayer(target, serverId).thenAccept(sent -> admin.sendMessage(sent
+            ? "§a" + target.getName() + " was sent to " + serverName
+            : "§cCould not transfer " + target.getName() + " to " + serverName));
+    }
+    
     private void handleDebugPlayer(Player admin, String targetName) {
         Player target = plugin.getServer().getPlayer(targetName);
         if (target == null) {
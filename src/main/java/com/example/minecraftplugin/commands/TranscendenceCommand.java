@@ -78,6 +78,10 @@ public class TranscendenceCommand implements CommandExecutor, TabCompleter {
                 handleRealmCreation(player, args[1], args[2]);
                 break;
                 
+            case "undo":
+                handleUndo(player, args.length > 1 && args[1].equalsIgnoreCase("all"));
+                break;
+                
             case "life":
                 if (args.length < 2) {
                     player.sendMessage("§cUsage: /transcendence life <peaceful|guardian|elemental|spirit>");
@@ -129,7 +133,7 @@ public class TranscendenceCommand implements CommandExecutor, TabCompleter {
         if (args.length == 1) {
             // Subcommands
             List<String> subcommands = Arrays.asList("status", "challenges", "abilities", 
-                "reality", "realm", "life", "travel", "points", "help");
+                "reality", "realm", "undo", "life", "travel", "points", "help");
             if (sender.hasPermission("minecraftplugin.admin")) {
                 subcommands = new ArrayList<>(subcommands);
                 subcommands.add("complete");
@@ -167,6 +171,10 @@ public class TranscendenceCommand implements CommandExecutor, TabCompleter {
                         completions.add(type);
                     }
                 }
+            } else if (args[0].equalsIgnoreCase("undo")) {
+                if ("all".startsWith(args[1].toLowerCase())) {
+                    completions.add("all");
+                }
             } else if (args[0].equalsIgnoreCase("travel")) {
                 List<String> dimensions = Arrays.asList("overworld", "nether", "end");
                 for (String dim : dimensions) {
@@ -337,6 +345,15 @@ public class TranscendenceCommand implements CommandExecutor, TabCompleter {
         }
     }
     
+    private void handleUndo(Player player, boolean all) {
+        if (!transcendenceManager.canAccessTranscendence(player)) {
+            player.sendMessage("§c§lTranscendence locked! Achieve Divine Convergence first.");
+            return;
+        }
+        
+        abilityManager.undoManipulations(player, all);
+    }
+    
     private void handleLifeCreation(Player player, String lifeType) {
         if (!transcendenceManager.canAccessTranscendence(player)) {
             player.sendMessage("§c§lTranscendence locked! Achieve Divine Convergence first.");
@@ -405,6 +422,7 @@ public class TranscendenceCommand implements CommandExecutor, TabCompleter {
         player.sendMessage("§7/transcendence abilities - See unlocked abilities");
         player.sendMessage("§7/transcendence reality <type> <target> - Manipulate reality");
         player.sendMessage("§7/transcendence realm <name> <size> - Create pocket realm");
+        player.sendMessage("§7/transcendence undo [all] - Undo your last manipulation or realm");
         player.sendMessage("§7/transcendence life <type> - Create life");
         player.sendMessage("§7/transcendence travel <dimension> - Travel dimensions");
         player.sendMessage("§7/transcendence points - Show reality points");
@@ -0,0 +1,140 @@
+package com.example.minecraftplugin.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Watches the plugin data folder for configuration file changes.
+ * Editors often write a file several times per save (truncate, write, rename),
+ * so events for the same file are coalesced until it has been quiet for the
+ * debounce window before the change is handed to ConfigManager.
+ */
+class ConfigFileWatcher {
+
+    private final Path directory;
+    private final Map<String, String> watchedFiles; // file name -> config name
+    private final long debounceMillis;
+    private final BiConsumer<String, Long> onFileSettled; // config name, first event nanos
+    private final Logger logger;
+
+    private final ScheduledExecutorService debouncer;
+    private final Map<String, ScheduledFuture<?>> pendingReloads;
+    private final Map<String, Long> firstEventTimes;
+
+    private WatchService watchService;
+    private Thread watchThread;
+
+    ConfigFileWatcher(Path directory, Map<String, String> watchedFiles, long debounceMillis,
+                      BiConsumer<String, Long> onFileSettled, Logger logger) {
+        this.directory = directory;
+        this.watchedFiles = watchedFiles;
+        this.debounceMillis = debounceMillis;
+        this.onFileSettled = onFileSettled;
+        this.logger = logger;
+        this.pendingReloads = new ConcurrentHashMap<>();
+        this.firstEventTimes = new ConcurrentHashMap<>();
+        this.debouncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Testament-ConfigReload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Register with the file system and start the watch thread
+     */
+    void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watchThread = new Thread(this::watchLoop, "Testament-ConfigWatcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private void watchLoop() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // Events were dropped; re-check every file
+                    watchedFiles.values().forEach(this::schedule);
+                    continue;
+                }
+
+                Path changed = (Path) event.context();
+                String configName = watchedFiles.get(changed.getFileName().toString());
+                if (configName != null) {
+                    schedule(configName);
+                }
+            }
+
+            if (!key.reset()) {
+                logger.warning("Configuration folder is no longer accessible; hot reload stopped");
+                return;
+            }
+        }
+    }
+
+    /**
+     * (Re)start the quiet-period timer for a file, keeping the time of the first event in the burst
+     */
+    private void schedule(String configName) {
+        firstEventTimes.putIfAbsent(configName, System.nanoTime());
+
+        ScheduledFuture<?> previous = pendingReloads.put(configName, debouncer.schedule(() -> {
+            pendingReloads.remove(configName);
+            Long firstEvent = firstEventTimes.remove(configName);
+            try {
+                onFileSettled.accept(configName, firstEvent != null ? firstEvent : System.nanoTime());
+            } catch (Exception e) {
+                logger.warning("Error processing change to " + configName + ".yml: " + e.getMessage());
+            }
+        }, debounceMillis, TimeUnit.MILLISECONDS));
+
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Stop watching and discard any pending reloads
+     */
+    void shutdown() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warning("Could not close configuration watcher: " + e.getMessage());
+            }
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+        debouncer.shutdownNow();
+        pendingReloads.clear();
+        firstEventTimes.clear();
+    }
+}
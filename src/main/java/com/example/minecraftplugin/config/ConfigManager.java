@@ -1,14 +1,19 @@
 package com.example.minecraftplugin.config;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
 
 /**
  * Advanced configuration management system with hot reloading and validation
@@ -27,17 +32,26 @@ public class ConfigManager {
     
     // Hot reload tracking
     private final Map<String, Long> lastModified;
+    private final Map<String, Long> checksums;
+    private ConfigFileWatcher fileWatcher;
+    private volatile long lastReloadLatencyNanos;
+    private volatile long hotReloadCount;
+    
+    // Parsed, immutable view of all files; replaced wholesale on every reload
+    private volatile ConfigSnapshot snapshot;
+    private long snapshotVersion;
     
     public ConfigManager(MinecraftPlugin plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
-        this.configFiles = new HashMap<>();
-        this.configFileObjects = new HashMap<>();
-        this.lastModified = new HashMap<>();
+        this.configFiles = new ConcurrentHashMap<>();
+        this.configFileObjects = new ConcurrentHashMap<>();
+        this.lastModified = new ConcurrentHashMap<>();
+        this.checksums = new ConcurrentHashMap<>();
         this.validator = new ConfigValidator(plugin);
         
         initializeConfigurations();
-        startHotReloadTask();
+        startFileWatcher();
         
         logger.info("Advanced Configuration Manager initialized");
     }
@@ -61,8 +75,18 @@ public class ConfigManager {
         // Performance configurations
         loadConfigFile("performance", "performance.yml");
         
+        // Divine Forge configurations
+        loadConfigFile("forge", "forge.yml");
+        
+        // Transcendence configurations
+        loadConfigFile("transcendence", "transcendence.yml");
+        
         // Validate all configurations
         validateAllConfigurations();
+        
+        // Publish the initial snapshot even if validation reported problems,
+        // so the plugin can start with defaults for anything missing
+        publishSnapshot();
     }
     
     /**
@@ -80,6 +104,7 @@ public class ConfigManager {
         configFiles.put(configName, config);
         configFileObjects.put(configName, configFile);
         lastModified.put(configName, configFile.lastModified());
+        checksums.put(configName, checksum(configFile));
         
         logger.info("Loaded configuration: " + fileName);
     }
@@ -88,6 +113,13 @@ public class ConfigManager {
      * Create default configuration files
      */
     private void createDefaultConfig(String configName, File configFile) {
+        // Prefer the bundled copy when the jar ships one
+        if (plugin.getResource(configFile.getName()) != null) {
+            plugin.saveResource(configFile.getName(), false);
+            logger.info("Created default configuration: " + configFile.getName());
+            return;
+        }
+        
         try {
             configFile.getParentFile().mkdirs();
             configFile.createNewFile();
@@ -239,6 +271,26 @@ public class ConfigManager {
         config.set("performance.monitoring.log_interval", 300); // 5 minutes
         config.set("performance.monitoring.track_slow_operations", true);
         config.set("performance.monitoring.slow_operation_threshold_ms", 100);
+        
+        config.set("performance.hot_reload.enabled", true);
+        config.set("performance.hot_reload.debounce_ms", 500);
+        
+        config.set("performance.block_placement.tick_budget_ms", 5.0);
+    }
+    
+    /**
+     * Get the current configuration snapshot. Hot paths should read typed values
+     * from here instead of walking a FileConfiguration on every call.
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Rebuild the snapshot from the currently loaded files and publish it
+     */
+    private synchronized void publishSnapshot() {
+        snapshot = ConfigSnapshot.build(++snapshotVersion, new HashMap<>(configFiles));
     }
     
     /**
@@ -284,6 +336,7 @@ public class ConfigManager {
         
         config.set(path, value);
         saveConfig(configName);
+        publishSnapshot();
     }
     
     /**
@@ -301,6 +354,8 @@ public class ConfigManager {
         try {
             config.save(configFile);
             lastModified.put(configName, configFile.lastModified());
+            // Record our own write so the watcher does not reload it back in
+            checksums.put(configName, checksum(configFile));
             logger.info("Saved configuration: " + configName);
         } catch (IOException e) {
             logger.severe("Could not save configuration " + configName + ": " + e.getMessage());
@@ -311,73 +366,151 @@ public class ConfigManager {
      * Reload a specific configuration file
      */
     public void reloadConfig(String configName) {
-        File configFile = configFileObjects.get(configName);
-        if (configFile == null) {
-            logger.warning("Configuration file not found: " + configName);
-            return;
+        if (stageReload(configName)) {
+            publishSnapshot();
+            logger.info("Reloaded configuration: " + configName);
         }
-        
-        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-        configFiles.put(configName, config);
-        lastModified.put(configName, configFile.lastModified());
-        
-        // Validate the reloaded configuration
-        validator.validateConfig(configName, config);
-        
-        logger.info("Reloaded configuration: " + configName);
     }
     
     /**
      * Reload all configuration files
      */
     public void reloadAllConfigs() {
+        // Stage every file first and publish once, so readers never observe
+        // a mix of old and new files
         for (String configName : configFiles.keySet()) {
-            reloadConfig(configName);
+            stageReload(configName);
         }
-        
-        // Update cached values in PerformanceManager
-        plugin.getPerformanceManager().cacheConfigurationValues();
+        publishSnapshot();
         
         logger.info("Reloaded all configurations");
     }
     
     /**
-     * Start hot reload monitoring task
+     * Load and validate a file from disk without publishing it.
+     * Returns false if the file was rejected and the previous settings kept.
      */
-    private void startHotReloadTask() {
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            checkForConfigChanges();
-        }, 100L, 100L); // Check every 5 seconds
+    private boolean stageReload(String configName) {
+        File configFile = configFileObjects.get(configName);
+        if (configFile == null) {
+            logger.warning("Configuration file not found: " + configName);
+            return false;
+        }
+        
+        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
+        lastModified.put(configName, configFile.lastModified());
+        checksums.put(configName, checksum(configFile));
+        
+        // Validate before publishing so readers never see a rejected file
+        if (!validator.validateConfig(configName, config)) {
+            logger.warning("Keeping previous " + configName + ".yml settings; fix the errors above and reload again");
+            return false;
+        }
+        
+        configFiles.put(configName, config);
+        return true;
     }
     
     /**
-     * Check for configuration file changes and hot reload
+     * Start watching the data folder for configuration edits
      */
-    private void checkForConfigChanges() {
+    private void startFileWatcher() {
+        ConfigSnapshot.PerformanceSettings settings = snapshot.performance();
+        if (!settings.isHotReloadEnabled()) {
+            logger.info("Configuration hot reload is disabled");
+            return;
+        }
+        
+        Map<String, String> watchedFiles = new HashMap<>();
         for (Map.Entry<String, File> entry : configFileObjects.entrySet()) {
-            String configName = entry.getKey();
-            File configFile = entry.getValue();
+            watchedFiles.put(entry.getValue().getName(), entry.getKey());
+        }
+        
+        fileWatcher = new ConfigFileWatcher(plugin.getDataFolder().toPath(), watchedFiles,
+            settings.getHotReloadDebounceMs(), this::handleFileChange, logger);
+        try {
+            fileWatcher.start();
+        } catch (IOException e) {
+            logger.warning("Could not start configuration watcher, hot reload disabled: " + e.getMessage());
+            fileWatcher = null;
+        }
+    }
+    
+    /**
+     * Handle a settled file change. Runs on the watcher thread: reading, parsing and
+     * validation happen here, and only the swap is handed to the main thread.
+     */
+    private void handleFileChange(String configName, long firstEventNanos) {
+        File configFile = configFileObjects.get(configName);
+        if (configFile == null || !configFile.exists()) {
+            return;
+        }
+        
+        byte[] content;
+        try {
+            content = Files.readAllBytes(configFile.toPath());
+        } catch (IOException e) {
+            logger.warning("Could not read " + configFile.getName() + " for hot reload: " + e.getMessage());
+            return;
+        }
+        
+        // Touching a file or saving it unchanged is not a change
+        long newChecksum = checksum(content);
+        Long previousChecksum = checksums.put(configName, newChecksum);
+        if (previousChecksum != null && previousChecksum == newChecksum) {
+            return;
+        }
+        
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString(new String(content, StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException e) {
+            logger.warning("Ignoring change to " + configFile.getName() + ", it is not valid YAML: " + e.getMessage());
+            return;
+        }
+        
+        if (!validator.validateConfig(configName, config)) {
+            logger.warning("Keeping previous " + configName + ".yml settings; fix the errors above and save again");
+            return;
+        }
+        
+        long modified = configFile.lastModified();
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            configFiles.put(configName, config);
+            lastModified.put(configName, modified);
+            publishSnapshot();
             
-            if (!configFile.exists()) {
-                continue;
+            long latency = System.nanoTime() - firstEventNanos;
+            lastReloadLatencyNanos = latency;
+            hotReloadCount++;
+            if (plugin.getPerformanceManager() != null) {
+                plugin.getPerformanceManager().recordOperation("config_hot_reload", latency);
             }
             
-            long currentModified = configFile.lastModified();
-            long lastKnownModified = lastModified.getOrDefault(configName, 0L);
+            logger.info("Hot reloaded " + configName + ".yml in " + String.format("%.1f", latency / 1_000_000.0) + "ms");
             
-            if (currentModified > lastKnownModified) {
-                // File has been modified, reload it
-                plugin.getServer().getScheduler().runTask(plugin, () -> {
-                    logger.info("Detected changes in " + configName + ".yml, hot reloading...");
-                    reloadConfig(configName);
-                    
-                    // Notify online admins
-                    notifyAdminsOfReload(configName);
-                });
-            }
+            // Notify online admins
+            notifyAdminsOfReload(configName);
+        });
+    }
+    
+    /**
+     * CRC32 of a file's contents, or -1 if it cannot be read
+     */
+    private long checksum(File file) {
+        try {
+            return checksum(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            return -1L;
         }
     }
     
+    private long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+    
     /**
      * Notify online administrators of configuration reload
      */
@@ -528,7 +661,10 @@ public class ConfigManager {
         Map<String, Object> stats = new HashMap<>();
         
         stats.put("total_configs", configFiles.size());
-        stats.put("hot_reload_enabled", true);
+        stats.put("hot_reload_enabled", fileWatcher != null);
+        stats.put("hot_reload_count", hotReloadCount);
+        stats.put("last_reload_latency_ms", lastReloadLatencyNanos / 1_000_000.0);
+        stats.put("snapshot_version", snapshot != null ? snapshot.getVersion() : 0L);
         
         Map<String, Long> fileSizes = new HashMap<>();
         for (Map.Entry<String, File> entry : configFileObjects.entrySet()) {
@@ -548,6 +684,12 @@ public class ConfigManager {
     public void shutdown() {
         logger.info("Configuration Manager shutting down...");
         
+        // Stop watching before our own saves touch the files
+        if (fileWatcher != null) {
+            fileWatcher.shutdown();
+            fileWatcher = null;
+        }
+        
         // Save all configurations
         for (String configName : configFiles.keySet()) {
             saveConfig(configName);
@@ -557,6 +699,7 @@ public class ConfigManager {
         configFiles.clear();
         configFileObjects.clear();
         lastModified.clear();
+        checksums.clear();
         
         logger.info("Configuration Manager shutdown complete");
     }
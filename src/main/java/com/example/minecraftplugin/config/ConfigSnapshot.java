@@ -0,0 +1,630 @@
+package com.example.minecraftplugin.config;
+
+import com.example.minecraftplugin.enums.GodType;
+import com.example.minecraftplugin.enums.ItemRarity;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, pre-parsed view of every configuration file.
+ * ConfigManager builds a new snapshot on each (re)load and publishes it through a
+ * volatile reference, so readers on any thread pay a single field read and never
+ * observe a partially reloaded configuration.
+ */
+public final class ConfigSnapshot {
+
+    private final long version;
+    private final MainSettings main;
+    private final BroadcastSettings broadcasts;
+    private final ModerationSettings moderation;
+    private final FragmentDropSettings fragmentDrops;
+    private final AltarSettings altars;
+    private final PerformanceSettings performance;
+    private final ForgeSettings forge;
+    private final TranscendenceSettings transcendence;
+
+    private ConfigSnapshot(long version, Map<String, FileConfiguration> files) {
+        FileConfiguration mainConfig = file(files, "config");
+
+        this.version = version;
+        this.main = new MainSettings(mainConfig);
+        this.broadcasts = new BroadcastSettings(mainConfig.getConfigurationSection("broadcasts"));
+        this.moderation = new ModerationSettings(mainConfig);
+        this.fragmentDrops = new FragmentDropSettings(mainConfig.getConfigurationSection("testament.fragments.drop_tables"));
+        this.altars = new AltarSettings(section(mainConfig, "testament"));
+        this.performance = new PerformanceSettings(file(files, "performance"));
+        this.forge = new ForgeSettings(file(files, "forge"));
+        this.transcendence = new TranscendenceSettings(file(files, "transcendence"));
+    }
+
+    /**
+     * Parse a full snapshot from the loaded configuration files
+     */
+    static ConfigSnapshot build(long version, Map<String, FileConfiguration> files) {
+        return new ConfigSnapshot(version, files);
+    }
+
+    private static FileConfiguration file(Map<String, FileConfiguration> files, String name) {
+        FileConfiguration config = files.get(name);
+        return config != null ? config : new YamlConfiguration();
+    }
+
+    private static ConfigurationSection section(FileConfiguration config, String path) {
+        ConfigurationSection section = config.getConfigurationSection(path);
+        return section != null ? section : new YamlConfiguration();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public MainSettings main() {
+        return main;
+    }
+
+    public BroadcastSettings broadcasts() {
+        return broadcasts;
+    }
+
+    public ModerationSettings moderation() {
+        return moderation;
+    }
+
+    public FragmentDropSettings fragmentDrops() {
+        return fragmentDrops;
+    }
+
+    public AltarSettings altars() {
+        return altars;
+    }
+
+    public PerformanceSettings performance() {
+        return performance;
+    }
+
+    public ForgeSettings forge() {
+        return forge;
+    }
+
+    public TranscendenceSettings transcendence() {
+        return transcendence;
+    }
+
+    /**
+     * Settings from config.yml
+     */
+    public static final class MainSettings {
+        private final boolean pluginEnabled;
+        private final boolean debug;
+
+        // Fragments
+        private final double chestSpawnChance;
+        private final double mobDropChance;
+        private final int chestCooldownHours;
+        private final int mobCooldownHours;
+
+        // Lives system
+        private final int deathThreshold;
+        private final String voidWorldName;
+        private final int voidX;
+        private final int voidY;
+        private final int voidZ;
+        private final String prisonerMessage;
+
+        // Redemption
+        private final boolean announceKeyCreation;
+        private final String redemptionAltarMaterial;
+        private final boolean broadcastRedemption;
+        private final String redemptionBroadcastMessage;
+        private final double xpLossPercentage;
+        private final boolean clearNonDivineItems;
+        private final double reducedMaxHearts;
+        private final String redemptionWorldName;
+        private final int redemptionX;
+        private final int redemptionY;
+        private final int redemptionZ;
+        private final String redemptionCostMessage;
+
+        // Ascension and conflicts
+        private final boolean ascensionEffectsEnabled;
+        private final boolean levelAnnouncements;
+        private final boolean conflictsEnabled;
+        private final boolean removeConflictingItems;
+        private final boolean announceConflicts;
+
+        // Feature toggles
+        private final boolean effectsEnabled;
+        private final boolean tutorialEnabled;
+        private final boolean performanceLoggingEnabled;
+        private final boolean divineCouncilEnabled;
+
+        MainSettings(FileConfiguration config) {
+            this.pluginEnabled = config.getBoolean("plugin.enabled", true);
+            this.debug = config.getBoolean("plugin.debug", false);
+
+            this.chestSpawnChance = config.getDouble("testament.fragments.chest_spawn_chance", 0.02);
+            this.mobDropChance = config.getDouble("testament.fragments.mob_drop_chance", 0.001);
+            this.chestCooldownHours = config.getInt("testament.fragments.chest_cooldown_hours", 2);
+            this.mobCooldownHours = config.getInt("testament.fragments.mob_cooldown_hours", 1);
+
+            this.deathThreshold = config.getInt("testament.lives_system.death_threshold", 3);
+            this.voidWorldName = config.getString("testament.lives_system.void_world_name", "world");
+            this.voidX = config.getInt("testament.lives_system.void_teleport_coords.x", 0);
+            this.voidY = config.getInt("testament.lives_system.void_teleport_coords.y", -60);
+            this.voidZ = config.getInt("testament.lives_system.void_teleport_coords.z", 0);
+            this.prisonerMessage = config.getString("testament.lives_system.prisoner_message",
+                "§c§lYou are a Prisoner of the Void. Only redemption can free you.");
+
+            String redemption = "testament.lives_system.redemption.";
+            this.announceKeyCreation = config.getBoolean(redemption + "announce_key_creation", true);
+            this.redemptionAltarMaterial = config.getString(redemption + "altar_material", "BEACON");
+            this.broadcastRedemption = config.getBoolean(redemption + "broadcast_redemption", true);
+            this.redemptionBroadcastMessage = config.getString(redemption + "broadcast_message",
+                "§b§l{redeemer} §r§bhas freed §b§l{prisoner} §r§bfrom the Void!");
+            this.xpLossPercentage = config.getDouble(redemption + "xp_loss_percentage", 0.5);
+            this.clearNonDivineItems = config.getBoolean(redemption + "clear_non_divine_items", false);
+            this.reducedMaxHearts = config.getDouble(redemption + "reduced_max_hearts", 10.0);
+            this.redemptionWorldName = config.getString(redemption + "teleport_world", "world");
+            this.redemptionX = config.getInt(redemption + "teleport_coords.x", 0);
+            this.redemptionY = config.getInt(redemption + "teleport_coords.y", 100);
+            this.redemptionZ = config.getInt(redemption + "teleport_coords.z", 0);
+            this.redemptionCostMessage = config.getString(redemption + "cost_message",
+                "§e§lRedemption comes with a price. Learn from this experience.");
+
+            this.ascensionEffectsEnabled = config.getBoolean("testament.ascension.effects_enabled", true);
+            this.levelAnnouncements = config.getBoolean("testament.ascension.level_announcements", true);
+            this.conflictsEnabled = config.getBoolean("testament.conflicts.enabled", true);
+            this.removeConflictingItems = config.getBoolean("testament.conflicts.remove_conflicting_items", true);
+            this.announceConflicts = config.getBoolean("testament.conflicts.announce_conflicts", true);
+
+            this.effectsEnabled = config.getBoolean("effects.enabled", true);
+            this.tutorialEnabled = config.getBoolean("tutorial.enabled", true);
+            this.performanceLoggingEnabled = config.getBoolean("performance.logging.enabled", false);
+            this.divineCouncilEnabled = config.getBoolean("divine_council.enabled", false);
+        }
+
+        public boolean isPluginEnabled() { return pluginEnabled; }
+        public boolean isDebug() { return debug; }
+
+        public double getChestSpawnChance() { return chestSpawnChance; }
+        public double getMobDropChance() { return mobDropChance; }
+        public int getChestCooldownHours() { return chestCooldownHours; }
+        public int getMobCooldownHours() { return mobCooldownHours; }
+
+        public int getDeathThreshold() { return deathThreshold; }
+        public String getVoidWorldName() { return voidWorldName; }
+        public int getVoidX() { return voidX; }
+        public int getVoidY() { return voidY; }
+        public int getVoidZ() { return voidZ; }
+        public String getPrisonerMessage() { return prisonerMessage; }
+
+        public boolean isAnnounceKeyCreation() { return announceKeyCreation; }
+        public String getRedemptionAltarMaterial() { return redemptionAltarMaterial; }
+        public boolean isBroadcastRedemption() { return broadcastRedemption; }
+        public String getRedemptionBroadcastMessage() { return redemptionBroadcastMessage; }
+        public double getXpLossPercentage() { return xpLossPercentage; }
+        public boolean isClearNonDivineItems() { return clearNonDivineItems; }
+        public double getReducedMaxHearts() { return reducedMaxHearts; }
+        public String getRedemptionWorldName() { return redemptionWorldName; }
+        public int getRedemptionX() { return redemptionX; }
+        public int getRedemptionY() { return redemptionY; }
+        public int getRedemptionZ() { return redemptionZ; }
+        public String getRedemptionCostMessage() { return redemptionCostMessage; }
+
+        public boolean isAscensionEffectsEnabled() { return ascensionEffectsEnabled; }
+        public boolean isLevelAnnouncements() { return levelAnnouncements; }
+        public boolean isConflictsEnabled() { return conflictsEnabled; }
+        public boolean isRemoveConflictingItems() { return removeConflictingItems; }
+        public boolean isAnnounceConflicts() { return announceConflicts; }
+
+        public boolean isEffectsEnabled() { return effectsEnabled; }
+        public boolean isTutorialEnabled() { return tutorialEnabled; }
+        public boolean isPerformanceLoggingEnabled() { return performanceLoggingEnabled; }
+        public boolean isDivineCouncilEnabled() { return divineCouncilEnabled; }
+    }
+
+    /**
+     * Settings for one broadcast type under broadcasts.* in config.yml
+     */
+    public static final class BroadcastEntry {
+        private static final BroadcastEntry DEFAULT = new BroadcastEntry(null);
+
+        private final boolean enabled;
+        private final boolean includeCoordinates;
+        private final boolean playSound;
+        private final String message;
+        private final List<String> messages;
+
+        BroadcastEntry(ConfigurationSection section) {
+            if (section == null) {
+                this.enabled = true;
+                this.includeCoordinates = true;
+                this.playSound = true;
+                this.message = null;
+                this.messages = Collections.emptyList();
+                return;
+            }
+
+            this.enabled = section.getBoolean("enabled", true);
+            this.includeCoordinates = section.getBoolean("include_coordinates", true);
+            this.playSound = section.getBoolean("play_sound", true);
+            this.message = section.getString("message");
+            this.messages = List.copyOf(section.getStringList("messages"));
+        }
+
+        public boolean isEnabled() { return enabled; }
+        public boolean isIncludeCoordinates() { return includeCoordinates; }
+        public boolean isPlaySound() { return playSound; }
+        public List<String> getMessages() { return messages; }
+
+        /**
+         * Configured message, or the supplied default when none is set
+         */
+        public String getMessage(String defaultMessage) {
+            return message != null ? message : defaultMessage;
+        }
+    }
+
+    /**
+     * Settings from the broadcasts section of config.yml
+     */
+    public static final class BroadcastSettings {
+        private final Map<String, BroadcastEntry> entries;
+
+        BroadcastSettings(ConfigurationSection section) {
+            Map<String, BroadcastEntry> parsed = new HashMap<>();
+            if (section != null) {
+                for (String key : section.getKeys(false)) {
+                    parsed.put(key, new BroadcastEntry(section.getConfigurationSection(key)));
+                }
+            }
+            this.entries = Collections.unmodifiableMap(parsed);
+        }
+
+        public BroadcastEntry get(String broadcastType) {
+            return entries.getOrDefault(broadcastType, BroadcastEntry.DEFAULT);
+        }
+    }
+
+    /**
+     * Settings from the chat_moderation section of config.yml
+     */
+    public static final class ModerationSettings {
+        private static final List<String> DEFAULT_KEYWORDS = List.of(
+            "noob", "scrub", "trash", "garbage", "suck", "terrible",
+            "ez", "easy", "rekt", "owned", "destroyed",
+            "kys", "kill yourself",
+            "hacker", "cheater", "exploiter");
+
+        private final boolean enabled;
+        private final List<String> keywords;
+        private final int scoreDecayHours;
+        private final int toxicThreshold;
+
+        ModerationSettings(FileConfiguration config) {
+            this.enabled = config.getBoolean("chat_moderation.enabled", true);
+            this.keywords = config.isList("chat_moderation.keywords")
+                ? List.copyOf(config.getStringList("chat_moderation.keywords"))
+                : DEFAULT_KEYWORDS;
+            this.scoreDecayHours = Math.max(1, config.getInt("chat_moderation.score_decay_hours", 24));
+            this.toxicThreshold = Math.max(1, config.getInt("chat_moderation.toxic_threshold", 5));
+        }
+
+        public boolean isEnabled() { return enabled; }
+        public List<String> getKeywords() { return keywords; }
+        public int getScoreDecayHours() { return scoreDecayHours; }
+        public int getToxicThreshold() { return toxicThreshold; }
+    }
+
+    /**
+     * Settings from testament.fragments.drop_tables in config.yml
+     */
+    public static final class FragmentDropSettings {
+        // Without a drop_tables section every listed source drops at the base chance, with all gods equally likely
+        private static final Set<EntityType> DEFAULT_MOBS = EnumSet.of(
+            EntityType.ZOMBIE, EntityType.SKELETON, EntityType.CREEPER, EntityType.SPIDER,
+            EntityType.ENDERMAN, EntityType.WITCH, EntityType.BLAZE, EntityType.GHAST,
+            EntityType.WITHER_SKELETON, EntityType.PIGLIN_BRUTE, EntityType.HOGLIN,
+            EntityType.ZOGLIN, EntityType.PHANTOM, EntityType.DROWNED, EntityType.HUSK,
+            EntityType.STRAY, EntityType.VEX, EntityType.VINDICATOR, EntityType.EVOKER,
+            EntityType.PILLAGER, EntityType.RAVAGER, EntityType.SHULKER, EntityType.GUARDIAN,
+            EntityType.ELDER_GUARDIAN, EntityType.WARDEN);
+        private static final Set<Material> DEFAULT_CONTAINERS = EnumSet.of(
+            Material.CHEST, Material.TRAPPED_CHEST, Material.ENDER_CHEST,
+            Material.BARREL, Material.SHULKER_BOX);
+
+        private final Map<EntityType, Double> mobs;
+        private final Map<Material, Double> containers;
+        private final Map<String, Map<GodType, Double>> godWeights;
+        private final double biomeBonus;
+
+        FragmentDropSettings(ConfigurationSection section) {
+            Map<EntityType, Double> mobMultipliers = new EnumMap<>(EntityType.class);
+            Map<Material, Double> containerMultipliers = new EnumMap<>(Material.class);
+            Map<String, Map<GodType, Double>> weights = new HashMap<>();
+
+            if (section == null) {
+                for (EntityType mob : DEFAULT_MOBS) {
+                    mobMultipliers.put(mob, 1.0);
+                }
+                for (Material container : DEFAULT_CONTAINERS) {
+                    containerMultipliers.put(container, 1.0);
+                }
+                this.biomeBonus = 1.0;
+            } else {
+                ConfigurationSection mobSection = section.getConfigurationSection("mobs");
+                if (mobSection != null) {
+                    for (String key : mobSection.getKeys(false)) {
+                        EntityType mob = parseEnum(EntityType.class, key);
+                        double multiplier = mobSection.getDouble(key, 0.0);
+                        if (mob != null && multiplier > 0) {
+                            mobMultipliers.put(mob, multiplier);
+                        }
+                    }
+                }
+
+                ConfigurationSection containerSection = section.getConfigurationSection("containers");
+                if (containerSection != null) {
+                    for (String key : containerSection.getKeys(false)) {
+                        Material container = Material.matchMaterial(key);
+                        double multiplier = containerSection.getDouble(key, 0.0);
+                        if (container != null && multiplier > 0) {
+                            containerMultipliers.put(container, multiplier);
+                        }
+                    }
+                }
+
+                ConfigurationSection weightSection = section.getConfigurationSection("god_weights");
+                if (weightSection != null) {
+                    for (String source : weightSection.getKeys(false)) {
+                        ConfigurationSection godSection = weightSection.getConfigurationSection(source);
+                        if (godSection == null) {
+                            continue;
+                        }
+                        Map<GodType, Double> sourceWeights = new EnumMap<>(GodType.class);
+                        for (String godName : godSection.getKeys(false)) {
+                            GodType god = GodType.fromString(godName);
+                            if (god != null) {
+                                sourceWeights.put(god, Math.max(0.0, godSection.getDouble(godName, 1.0)));
+                            }
+                        }
+                        weights.put(source.toUpperCase(Locale.ROOT), Collections.unmodifiableMap(sourceWeights));
+                    }
+                }
+
+                this.biomeBonus = Math.max(0.0, section.getDouble("biome_bonus", 1.0));
+            }
+
+            this.mobs = Collections.unmodifiableMap(mobMultipliers);
+            this.containers = Collections.unmodifiableMap(containerMultipliers);
+            this.godWeights = Collections.unmodifiableMap(weights);
+        }
+
+        private static <E extends Enum<E>> E parseEnum(Class<E> type, String name) {
+            try {
+                return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Mobs that can drop fragments, with their multiplier on the base drop chance
+         */
+        public Map<EntityType, Double> getMobs() { return mobs; }
+
+        /**
+         * Containers that can hold fragments, with their multiplier on the base spawn chance
+         */
+        public Map<Material, Double> getContainers() { return containers; }
+
+        /**
+         * Weight of each god's fragment for a source (entity or material name); unlisted gods weigh 1
+         */
+        public double getGodWeight(String source, GodType god) {
+            Map<GodType, Double> sourceWeights = godWeights.get(source);
+            return sourceWeights != null ? sourceWeights.getOrDefault(god, 1.0) : 1.0;
+        }
+
+        /**
+         * Weight multiplier for gods whose home biome the player is standing in
+         */
+        public double getBiomeBonus() { return biomeBonus; }
+    }
+
+    /**
+     * Natural altar generation settings from config.yml (testament.altars)
+     */
+    public static final class AltarSettings {
+        private final boolean naturalGenerationEnabled;
+        private final double baseSpawnChance;
+        private final int minDistance;
+        private final int maxPerChunk;
+
+        AltarSettings(ConfigurationSection config) {
+            this.naturalGenerationEnabled = config.getBoolean("altars.natural_generation.enabled", true);
+            this.baseSpawnChance = config.getDouble("altars.natural_generation.base_spawn_chance", 0.001);
+            this.minDistance = config.getInt("altars.natural_generation.min_distance", 500);
+            this.maxPerChunk = config.getInt("altars.natural_generation.max_per_chunk", 1);
+        }
+
+        public boolean isNaturalGenerationEnabled() { return naturalGenerationEnabled; }
+        public double getBaseSpawnChance() { return baseSpawnChance; }
+        public int getMinDistance() { return minDistance; }
+        public int getMaxPerChunk() { return maxPerChunk; }
+    }
+
+    /**
+     * Settings from performance.yml
+     */
+    public static final class PerformanceSettings {
+        private final boolean cachingEnabled;
+        private final int playerDataCacheSize;
+        private final boolean asyncOperationsEnabled;
+        private final int maxConcurrentTasks;
+        private final int batchSaveIntervalSeconds;
+        private final int cleanupIntervalSeconds;
+        private final int maxTrackedOperations;
+        private final boolean monitoringEnabled;
+        private final int slowOperationThresholdMs;
+        private final boolean hotReloadEnabled;
+        private final long hotReloadDebounceMs;
+        private final long blockPlacementBudgetNanos;
+
+        PerformanceSettings(FileConfiguration config) {
+            this.cachingEnabled = config.getBoolean("performance.caching.enabled", true);
+            this.playerDataCacheSize = config.getInt("performance.caching.player_data_cache_size", 1000);
+            this.asyncOperationsEnabled = config.getBoolean("performance.async_operations.enabled", true);
+            this.maxConcurrentTasks = config.getInt("performance.async_operations.max_concurrent_tasks", 10);
+            this.batchSaveIntervalSeconds = config.getInt("performance.optimization.batch_save_interval", 300);
+            this.cleanupIntervalSeconds = config.getInt("performance.optimization.cleanup_interval", 600);
+            this.maxTrackedOperations = config.getInt("performance.optimization.max_tracked_operations", 1000);
+            this.monitoringEnabled = config.getBoolean("performance.monitoring.enabled", false);
+            this.slowOperationThresholdMs = config.getInt("performance.monitoring.slow_operation_threshold_ms", 100);
+            this.hotReloadEnabled = config.getBoolean("performance.hot_reload.enabled", true);
+            this.hotReloadDebounceMs = config.getLong("performance.hot_reload.debounce_ms", 500L);
+            this.blockPlacementBudgetNanos = (long) (config.getDouble("performance.block_placement.tick_budget_ms", 5.0) * 1_000_000L);
+        }
+
+        public boolean isCachingEnabled() { return cachingEnabled; }
+        public int getPlayerDataCacheSize() { return playerDataCacheSize; }
+        public boolean isAsyncOperationsEnabled() { return asyncOperationsEnabled; }
+        public int getMaxConcurrentTasks() { return maxConcurrentTasks; }
+        public int getBatchSaveIntervalSeconds() { return batchSaveIntervalSeconds; }
+        public int getCleanupIntervalSeconds() { return cleanupIntervalSeconds; }
+        public int getMaxTrackedOperations() { return maxTrackedOperations; }
+        public boolean isMonitoringEnabled() { return monitoringEnabled; }
+        public int getSlowOperationThresholdMs() { return slowOperationThresholdMs; }
+        public boolean isHotReloadEnabled() { return hotReloadEnabled; }
+        public long getHotReloadDebounceMs() { return hotReloadDebounceMs; }
+        public long getBlockPlacementBudgetNanos() { return blockPlacementBudgetNanos; }
+    }
+
+    /**
+     * Settings from forge.yml
+     */
+    public static final class ForgeSettings {
+        private final boolean enabled;
+        private final boolean upgradesEnabled;
+        private final Map<String, Double> upgradeSuccessChances;
+        private final Map<ItemRarity, Double> upgradeSuccessChancesByRarity;
+        private final boolean combinationsEnabled;
+        private final boolean requireFusionCatalyst;
+        private final double combinationSuccessRate;
+        private final boolean legendaryVariantsEnabled;
+
+        ForgeSettings(FileConfiguration config) {
+            this.enabled = config.getBoolean("forge.enabled", true);
+            this.upgradesEnabled = config.getBoolean("forge.upgrades.enabled", true);
+
+            Map<String, Double> chances = new HashMap<>();
+            ConfigurationSection section = config.getConfigurationSection("forge.upgrades.success_chances");
+            if (section != null) {
+                for (String rarity : section.getKeys(false)) {
+                    chances.put(rarity.toUpperCase(Locale.ROOT), section.getDouble(rarity));
+                }
+            }
+            this.upgradeSuccessChances = Collections.unmodifiableMap(chances);
+
+            Map<ItemRarity, Double> byRarity = new EnumMap<>(ItemRarity.class);
+            for (ItemRarity rarity : ItemRarity.values()) {
+                Double chance = chances.get(rarity.name());
+                if (chance != null) {
+                    byRarity.put(rarity, chance);
+                }
+            }
+            this.upgradeSuccessChancesByRarity = Collections.unmodifiableMap(byRarity);
+
+            this.combinationsEnabled = config.getBoolean("forge.combinations.enabled", true);
+            this.requireFusionCatalyst = config.getBoolean("forge.combinations.require_fusion_catalyst", true);
+            this.combinationSuccessRate = config.getDouble("forge.combinations.success_rate", 1.0);
+            this.legendaryVariantsEnabled = config.getBoolean("forge.legendary_variants.enabled", true);
+        }
+
+        public boolean isEnabled() { return enabled; }
+        public boolean isUpgradesEnabled() { return upgradesEnabled; }
+        public boolean isCombinationsEnabled() { return combinationsEnabled; }
+        public boolean isRequireFusionCatalyst() { return requireFusionCatalyst; }
+        public double getCombinationSuccessRate() { return combinationSuccessRate; }
+        public boolean isLegendaryVariantsEnabled() { return legendaryVariantsEnabled; }
+
+        /**
+         * Configured upgrade success chance for a target rarity name, or the default
+         */
+        public double getUpgradeSuccessChance(String rarityName, double defaultValue) {
+            return upgradeSuccessChances.getOrDefault(rarityName.toUpperCase(Locale.ROOT), defaultValue);
+        }
+
+        /**
+         * Configured upgrade success chance for a target rarity, or the default
+         */
+        public double getUpgradeSuccessChance(ItemRarity rarity, double defaultValue) {
+            return upgradeSuccessChancesByRarity.getOrDefault(rarity, defaultValue);
+        }
+    }
+
+    /**
+     * Settings from transcendence.yml
+     */
+    public static final class TranscendenceSettings {
+        private final boolean enabled;
+        private final boolean realityManipulationEnabled;
+        private final int realityMaxRange;
+        private final Set<Material> protectedBlocks;
+        private final boolean realmCreationEnabled;
+        private final int maxRealmSize;
+        private final int maxRealmsPerPlayer;
+        private final int journalMaxEntries;
+        private final int journalMemoryEntries;
+        private final int journalLogoutExpirySeconds;
+
+        TranscendenceSettings(FileConfiguration config) {
+            this.enabled = config.getBoolean("transcendence.enabled", true);
+            this.realityManipulationEnabled = config.getBoolean("transcendence.reality_manipulation.enabled", true);
+            this.realityMaxRange = config.getInt("transcendence.reality_manipulation.max_range", 100);
+
+            Set<Material> blocks = EnumSet.noneOf(Material.class);
+            for (String name : config.getStringList("transcendence.reality_manipulation.protected_blocks")) {
+                Material material = Material.matchMaterial(name);
+                if (material != null) {
+                    blocks.add(material);
+                }
+            }
+            this.protectedBlocks = Collections.unmodifiableSet(blocks);
+
+            this.realmCreationEnabled = config.getBoolean("transcendence.realm_creation.enabled", true);
+            this.maxRealmSize = config.getInt("transcendence.realm_creation.max_realm_size", 100);
+            this.maxRealmsPerPlayer = config.getInt("transcendence.realm_creation.max_realms_per_player", 3);
+
+            this.journalMaxEntries = Math.max(1, config.getInt("transcendence.reality_manipulation.undo_journal.max_entries", 500000));
+            this.journalMemoryEntries = Math.max(0, config.getInt("transcendence.reality_manipulation.undo_journal.memory_entries", 50000));
+            this.journalLogoutExpirySeconds = Math.max(0, config.getInt("transcendence.reality_manipulation.undo_journal.logout_expiry_seconds", 300));
+        }
+
+        public boolean isEnabled() { return enabled; }
+        public boolean isRealityManipulationEnabled() { return realityManipulationEnabled; }
+        public int getRealityMaxRange() { return realityMaxRange; }
+        public boolean isRealmCreationEnabled() { return realmCreationEnabled; }
+        public int getMaxRealmSize() { return maxRealmSize; }
+        public int getMaxRealmsPerPlayer() { return maxRealmsPerPlayer; }
+        public int getJournalMaxEntries() { return journalMaxEntries; }
+        public int getJournalMemoryEntries() { return journalMemoryEntries; }
+        public int getJournalLogoutExpirySeconds() { return journalLogoutExpirySeconds; }
+
+        public boolean isProtected(Material material) {
+            return protectedBlocks.contains(material);
+        }
+    }
+}
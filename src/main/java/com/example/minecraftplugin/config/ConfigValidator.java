@@ -43,6 +43,12 @@ public class ConfigValidator {
             case "performance":
                 validatePerformanceConfig(config, errors);
                 break;
+            case "forge":
+                validateForgeConfig(config, errors);
+                break;
+            case "transcendence":
+                validateTranscendenceConfig(config, errors);
+                break;
         }
         
         if (!errors.isEmpty()) {
@@ -193,6 +199,42 @@ public class ConfigValidator {
         validateInteger(config, "performance.monitoring.slow_operation_threshold_ms", 10, 1000, errors);
     }
     
+    /**
+     * Validate forge configuration
+     */
+    private void validateForgeConfig(FileConfiguration config, List<String> errors) {
+        validateBoolean(config, "forge.enabled", errors);
+        
+        // Upgrades
+        validateBoolean(config, "forge.upgrades.enabled", errors);
+        validateDouble(config, "forge.upgrades.success_chances.enhanced", 0.0, 1.0, errors);
+        validateDouble(config, "forge.upgrades.success_chances.legendary", 0.0, 1.0, errors);
+        validateDouble(config, "forge.upgrades.success_chances.mythic", 0.0, 1.0, errors);
+        validateDouble(config, "forge.upgrades.success_chances.transcendent", 0.0, 1.0, errors);
+        
+        // Combinations
+        validateBoolean(config, "forge.combinations.enabled", errors);
+        validateBoolean(config, "forge.combinations.require_fusion_catalyst", errors);
+        validateDouble(config, "forge.combinations.success_rate", 0.0, 1.0, errors);
+    }
+    
+    /**
+     * Validate transcendence configuration
+     */
+    private void validateTranscendenceConfig(FileConfiguration config, List<String> errors) {
+        validateBoolean(config, "transcendence.enabled", errors);
+        
+        // Reality manipulation
+        validateBoolean(config, "transcendence.reality_manipulation.enabled", errors);
+        validateInteger(config, "transcendence.reality_manipulation.max_range", 1, 1000, errors);
+        validateStringList(config, "transcendence.reality_manipulation.protected_blocks", errors);
+        
+        // Realm creation
+        validateBoolean(config, "transcendence.realm_creation.enabled", errors);
+        validateInteger(config, "transcendence.realm_creation.max_realm_size", 5, 500, errors);
+        validateInteger(config, "transcendence.realm_creation.max_realms_per_player", 0, 100, errors);
+    }
+    
     /**
      * Validate boolean configuration value
      */
@@ -0,0 +1,56 @@
+package com.example.minecraftplugin.cooldowns;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns ability names as small dense integers.
+ *
+ * Callers resolve an ability's ID once, usually when they are constructed, and
+ * then index per-player cooldown arrays with it instead of building and hashing
+ * key strings on every interaction. IDs are never reused or removed, so the
+ * name-to-ID mapping is stable for the lifetime of the plugin.
+ */
+public final class AbilityIdRegistry {
+
+    private final Map<String, Integer> ids;
+    private volatile String[] names;
+
+    public AbilityIdRegistry() {
+        this.ids = new ConcurrentHashMap<>();
+        this.names = new String[0];
+    }
+
+    /**
+     * Get the ID for an ability, registering it on first use
+     */
+    public int idOf(String abilityName) {
+        Integer id = ids.get(abilityName);
+        if (id != null) {
+            return id;
+        }
+        return register(abilityName);
+    }
+
+    private synchronized int register(String abilityName) {
+        Integer id = ids.get(abilityName);
+        if (id != null) {
+            return id;
+        }
+
+        String[] grown = Arrays.copyOf(names, names.length + 1);
+        grown[names.length] = abilityName;
+        names = grown;
+        ids.put(abilityName, grown.length - 1);
+        return grown.length - 1;
+    }
+
+    public String nameOf(int abilityId) {
+        return names[abilityId];
+    }
+
+    public int size() {
+        return names.length;
+    }
+}
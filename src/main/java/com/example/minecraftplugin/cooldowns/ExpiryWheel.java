@@ -0,0 +1,140 @@
+package com.example.minecraftplugin.cooldowns;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hierarchical timing wheel for cooldown expiry.
+ *
+ * Four levels of 64 slots cover 64, 4,096, 262,144 and 16,777,216 ticks. An
+ * entry is placed in the lowest level whose block contains its deadline. When
+ * the wheel crosses a block boundary, the entries of the matching slot on the
+ * level above are moved down, so an entry is touched at most once per level
+ * before it fires. Deadlines beyond the top level (about nine and a half days at
+ * 20 ticks per second) wait in an overflow list that is re-checked each time the
+ * top level wraps.
+ *
+ * Scheduling and expiry are O(1) per entry. Not thread-safe.
+ */
+public final class ExpiryWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    /**
+     * Receives entries as they fall due
+     */
+    public interface ExpiryHandler {
+        void expire(UUID playerId, int abilityId, long deadline);
+    }
+
+    private final List<Entry>[][] wheel;
+    private final List<Entry> overflow;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public ExpiryWheel(long startTick) {
+        this.wheel = new List[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[level][slot] = new ArrayList<>(0);
+            }
+        }
+        this.overflow = new ArrayList<>();
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Schedule an entry to fire at deadlineTick. The deadline value is handed back
+     * unchanged so the owner can tell whether the entry is still current.
+     */
+    public void schedule(UUID playerId, int abilityId, long deadline, long deadlineTick) {
+        // The current tick has already fired, so entries that are already due fire on the next one
+        place(new Entry(playerId, abilityId, deadline, deadlineTick), currentTick + 1);
+        size++;
+    }
+
+    private void place(Entry entry, long earliestTick) {
+        long tick = Math.max(entry.deadlineTick, earliestTick);
+
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((tick >>> shift) == (currentTick >>> shift)) {
+                wheel[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    /**
+     * Advance to nowTick, handing every entry that falls due to the handler
+     */
+    public void advance(long nowTick, ExpiryHandler handler) {
+        while (currentTick < nowTick) {
+            currentTick++;
+
+            // Crossing a block boundary moves the next block's entries down a level
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                long span = 1L << (SLOT_BITS * level);
+                if ((currentTick & (span - 1)) == 0) {
+                    cascade(wheel[level][(int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK]);
+                }
+            }
+            if ((currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+                cascade(overflow);
+            }
+
+            List<Entry> due = wheel[0][(int) currentTick & SLOT_MASK];
+            if (due.isEmpty()) {
+                continue;
+            }
+            List<Entry> firing = new ArrayList<>(due);
+            due.clear();
+            size -= firing.size();
+            for (Entry entry : firing) {
+                handler.expire(entry.playerId, entry.abilityId, entry.deadline);
+            }
+        }
+    }
+
+    private void cascade(List<Entry> slot) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Entry> moving = new ArrayList<>(slot);
+        slot.clear();
+        for (Entry entry : moving) {
+            place(entry, currentTick); // Called before the current tick's slot fires
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Entries still waiting, including ones that were superseded since scheduling
+     */
+    public int size() {
+        return size;
+    }
+
+    private static final class Entry {
+        private final UUID playerId;
+        private final int abilityId;
+        private final long deadline;
+        private final long deadlineTick;
+
+        private Entry(UUID playerId, int abilityId, long deadline, long deadlineTick) {
+            this.playerId = playerId;
+            this.abilityId = abilityId;
+            this.deadline = deadline;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
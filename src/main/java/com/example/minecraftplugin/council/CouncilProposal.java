@@ -6,6 +6,9 @@ import java.util.UUID;
 
 /**
  * Represents a proposal within the Divine Council
+ *
+ * Vote counts are kept up to date as votes are cast, so reading them does not
+ * walk the votes.
  */
 public class CouncilProposal {
     
@@ -18,6 +21,7 @@ public class CouncilProposal {
     private final long expiryTime;
     
     private final Map<UUID, Vote> votes;
+    private final int[] tallies; // Votes per option, by Vote ordinal
     private ProposalStatus status;
     
     public CouncilProposal(String id, UUID proposerId, String title, String description, 
@@ -30,9 +34,30 @@ public class CouncilProposal {
         this.createdTime = System.currentTimeMillis();
         this.expiryTime = createdTime + (durationHours * 60 * 60 * 1000L);
         this.votes = new HashMap<>();
+        this.tallies = new int[Vote.values().length];
         this.status = ProposalStatus.ACTIVE;
     }
     
+    /**
+     * Restore a decided proposal from the history archive
+     */
+    public CouncilProposal(String id, UUID proposerId, String title, String description, ProposalType type,
+                          long createdTime, long expiryTime, ProposalStatus status, Map<UUID, Vote> votes) {
+        this.id = id;
+        this.proposerId = proposerId;
+        this.title = title;
+        this.description = description;
+        this.type = type;
+        this.createdTime = createdTime;
+        this.expiryTime = expiryTime;
+        this.votes = new HashMap<>(votes);
+        this.tallies = new int[Vote.values().length];
+        for (Vote vote : votes.values()) {
+            tallies[vote.ordinal()]++;
+        }
+        this.status = status;
+    }
+    
     /**
      * Add a vote to this proposal
      */
@@ -41,7 +66,11 @@ public class CouncilProposal {
             return;
         }
         
-        votes.put(voterId, vote);
+        Vote previous = votes.put(voterId, vote);
+        if (previous != null) {
+            tallies[previous.ordinal()]--;
+        }
+        tallies[vote.ordinal()]++;
     }
     
     /**
@@ -55,33 +84,22 @@ public class CouncilProposal {
      * Get vote counts
      */
     public VoteCount getVoteCount() {
-        int approve = 0;
-        int reject = 0;
-        int abstain = 0;
-        
-        for (Vote vote : votes.values()) {
-            switch (vote) {
-                case APPROVE:
-                    approve++;
-                    break;
-                case REJECT:
-                    reject++;
-                    break;
-                case ABSTAIN:
-                    abstain++;
-                    break;
-            }
-        }
-        
-        return new VoteCount(approve, reject, abstain);
+        return new VoteCount(tallies[Vote.APPROVE.ordinal()], tallies[Vote.REJECT.ordinal()], 
+                             tallies[Vote.ABSTAIN.ordinal()]);
+    }
+    
+    /**
+     * Number of members who have voted
+     */
+    public int getVoterCount() {
+        return votes.size();
     }
     
     /**
      * Check if proposal passes based on vote threshold
      */
     public boolean passes(int totalMembers, double approvalThreshold) {
-        VoteCount count = getVoteCount();
-        double approvalRate = (double) count.getApprove() / totalMembers;
+        double approvalRate = (double) tallies[Vote.APPROVE.ordinal()] / totalMembers;
         return approvalRate >= approvalThreshold;
     }
     
@@ -2,14 +2,35 @@ package com.example.minecraftplugin.crossserver;
 
 import com.example.minecraftplugin.MinecraftPlugin;
 import com.example.minecraftplugin.database.DatabaseManager;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
+import java.lang.reflect.Type;
 
 /**
  * Manages cross-server communication and data synchronization
+ *
+ * Messages are rows in cross_server_messages addressed to one server, with the
+ * payload as JSON. Each server polls for rows addressed to it every second,
+ * hands them to the registered handler on the main thread in insertion order,
+ * and then deletes them.
+ *
+ * Membership is lease based. Every server heartbeats its server_registry row
+ * (bumping heartbeat_seq and reporting its player count and tick time) and
+ * declares a lease. Peers see each new heartbeat_seq as a heartbeat arrival
+ * and drop a server from registeredServers as soon as its lease runs out or,
+ * with the phi detector, as soon as its heartbeats are overdue by more than
+ * their own observed jitter explains. Nothing is sent to servers not in
+ * registeredServers.
  */
 public class CrossServerManager {
     
@@ -19,11 +40,28 @@ public class CrossServerManager {
     
     // Server registration
     private final String serverId;
-    private final Map<String, ServerInfo> registeredServers;
-    private final Map<String, Long> lastHeartbeat;
+    private final Map<String, ServerInfo> registeredServers; // Live servers only
+    
+    // Membership
+    private static final int DETECTOR_WINDOW = 100;
+    private static final double MAX_HEALTHY_MSPT = 50.0; // A full tick budget
+    
+    private final long heartbeatIntervalTicks;
+    private final long leaseMillis;
+    private final boolean phiDetection;
+    private final double phiThreshold;
+    private final Map<String, Member> members; // Guarded by itself
+    private final AtomicBoolean discovering = new AtomicBoolean();
     
     // Cross-server messaging
+    private static final Gson GSON = new Gson();
+    private static final Type MESSAGE_DATA_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+    private static final int MESSAGE_POLL_LIMIT = 500;
+    private static final String PROXY_CHANNEL = "BungeeCord";
+    
     private final Map<String, MessageHandler> messageHandlers;
+    private final Set<Long> deliveredIds = ConcurrentHashMap.newKeySet(); // Dispatched, delete not yet committed
+    private final AtomicBoolean polling = new AtomicBoolean();
     
     public CrossServerManager(MinecraftPlugin plugin, DatabaseManager databaseManager) {
         this.plugin = plugin;
@@ -31,12 +69,19 @@ public class CrossServerManager {
         this.databaseManager = databaseManager;
         this.serverId = generateServerId();
         this.registeredServers = new ConcurrentHashMap<>();
-        this.lastHeartbeat = new ConcurrentHashMap<>();
-        this.messageHandlers = new HashMap<>();
+        this.members = new HashMap<>();
+        this.messageHandlers = new ConcurrentHashMap<>();
         
+        this.heartbeatIntervalTicks = Math.max(20L, plugin.getConfig().getLong("database.cross_server.heartbeat_interval_seconds", 5) * 20L);
+        this.leaseMillis = Math.max(heartbeatIntervalTicks * 50L * 2, plugin.getConfig().getLong("database.cross_server.lease_seconds", 20) * 1000L);
+        this.phiDetection = !"timeout".equalsIgnoreCase(plugin.getConfig().getString("database.cross_server.failure_detector", "phi"));
+        this.phiThreshold = plugin.getConfig().getDouble("database.cross_server.phi_threshold", 8.0);
+        
+        plugin.getServer().getMessenger().registerOutgoingPluginChannel(plugin, PROXY_CHANNEL);
         initializeCrossServer();
         startHeartbeatTask();
         startSyncTask();
+        startMessagePollTask();
         
         logger.info("Cross-Server Manager initialized with ID: " + serverId);
     }
@@ -65,7 +110,8 @@ public class CrossServerManager {
     }
     
     /**
-     * Register this server in the database
+     * Register this server in the database and renew its lease. Runs on the main
+     * thread so the load figures can be read safely; the write itself is async.
      */
     private void registerServer() {
         if (!databaseManager.isDatabaseEnabled()) {
@@ -73,13 +119,16 @@ public class CrossServerManager {
         }
         
         String sql = """
-            INSERT INTO server_registry (server_id, name, address, port, max_players, 
-                                       online_players, last_heartbeat, status)
-            VALUES (?, ?, ?, ?, ?, ?, NOW(), 'ONLINE')
+            INSERT INTO server_registry (server_id, name, address, port, max_players, online_players,
+                                       mspt, lease_ms, heartbeat_seq, last_heartbeat, status)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 1, NOW(), 'ONLINE')
             ON DUPLICATE KEY UPDATE
                 last_heartbeat = NOW(),
                 status = 'ONLINE',
-                online_players = VALUES(online_players)
+                heartbeat_seq = heartbeat_seq + 1,
+                online_players = VALUES(online_players),
+                mspt = VALUES(mspt),
+                lease_ms = VALUES(lease_ms)
             """;
         
         databaseManager.executeAsync(sql,
@@ -88,52 +137,110 @@ public class CrossServerManager {
             plugin.getConfig().getString("server.address", "localhost"),
             plugin.getConfig().getInt("server.port", 25565),
             plugin.getServer().getMaxPlayers(),
-            plugin.getServer().getOnlinePlayers().size()
+            plugin.getServer().getOnlinePlayers().size(),
+            plugin.getServer().getAverageTickTime(),
+            leaseMillis
         );
     }
     
     /**
-     * Discover other registered servers
+     * Read the registry, count a heartbeat for every server whose sequence moved,
+     * and rebuild the live view
      */
     private void discoverServers() {
-        if (!databaseManager.isDatabaseEnabled()) {
+        if (!databaseManager.isDatabaseEnabled() || !discovering.compareAndSet(false, true)) {
             return;
         }
         
         String sql = """
-            SELECT server_id, name, address, port, max_players, online_players, status
+            SELECT server_id, name, address, port, max_players, online_players, mspt, lease_ms,
+                   heartbeat_seq, status, TIMESTAMPDIFF(MICROSECOND, last_heartbeat, NOW()) AS age_micros
             FROM server_registry 
-            WHERE server_id != ? AND status = 'ONLINE' 
-            AND last_heartbeat > DATE_SUB(NOW(), INTERVAL 5 MINUTE)
+            WHERE server_id != ? AND status = 'ONLINE'
             """;
         
         databaseManager.queryAsync(sql, rs -> {
-            registeredServers.clear();
-            while (rs.next()) {
-                ServerInfo server = new ServerInfo(
-                    rs.getString("server_id"),
-                    rs.getString("name"),
-                    rs.getString("address"),
-                    rs.getInt("port"),
-                    rs.getInt("max_players"),
-                    rs.getInt("online_players"),
-                    rs.getString("status")
-                );
-                registeredServers.put(server.getServerId(), server);
+            long now = System.nanoTime();
+            Set<String> listed = new HashSet<>();
+            
+            synchronized (members) {
+                while (rs.next()) {
+                    String id = rs.getString("server_id");
+                    listed.add(id);
+                    
+                    Member member = members.get(id);
+                    long seq = rs.getLong("heartbeat_seq");
+                    if (member == null) {
+                        member = new Member(new PhiAccrualDetector(DETECTOR_WINDOW, heartbeatIntervalTicks * 50_000_000L));
+                        members.put(id, member);
+                        // The first sighting only counts if the row was written within its lease
+                        if (rs.getLong("age_micros") > rs.getLong("lease_ms") * 1000L) {
+                            member.seq = seq;
+                        }
+                    }
+                    
+                    member.leaseNanos = rs.getLong("lease_ms") * 1_000_000L;
+                    member.info = new ServerInfo(
+                        id,
+                        rs.getString("name"),
+                        rs.getString("address"),
+                        rs.getInt("port"),
+                        rs.getInt("max_players"),
+                        rs.getInt("online_players"),
+                        rs.getString("status"),
+                        rs.getDouble("mspt")
+                    );
+                    if (seq != member.seq) {
+                        member.seq = seq;
+                        member.detector.heartbeat(now);
+                    }
+                }
+                
+                // Servers that shut down cleanly are no longer listed
+                members.keySet().retainAll(listed);
+                registeredServers.keySet().retainAll(listed);
+                
+                for (Map.Entry<String, Member> entry : members.entrySet()) {
+                    updateLiveness(entry.getKey(), entry.getValue(), now);
+                }
             }
             return null;
-        }, serverId);
+        }, serverId).whenComplete((result, error) -> discovering.set(false));
+    }
+    
+    /**
+     * Add or drop a server from the live view
+     */
+    private void updateLiveness(String id, Member member, long now) {
+        long since = member.detector.sinceLastHeartbeat(now);
+        boolean alive = since >= 0 && since <= member.leaseNanos
+            && (!phiDetection || member.detector.phi(now) < phiThreshold);
+        
+        if (alive) {
+            registeredServers.put(id, member.info);
+            if (!member.alive) {
+                logger.info("Cross-server peer joined: " + member.info.getName() + " (" + id + ")");
+            }
+        } else {
+            registeredServers.remove(id);
+            if (member.alive) {
+                logger.warning("Cross-server peer " + member.info.getName() + " (" + id + ") stopped heartbeating "
+                    + (since / 1_000_000L) + " ms ago; no longer sending to it");
+            }
+        }
+        member.alive = alive;
     }
     
     /**
-     * Start heartbeat task to maintain server registration
+     * Start heartbeat and failure detection tasks
      */
     private void startHeartbeatTask() {
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            registerServer();
-            discoverServers();
-            cleanupOfflineServers();
-        }, 0L, 1200L); // Every minute
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::registerServer, heartbeatIntervalTicks, heartbeatIntervalTicks);
+        
+        // Look at the registry twice per heartbeat so arrivals are timed closely
+        long discoveryTicks = Math.max(20L, heartbeatIntervalTicks / 2);
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::discoverServers, 0L, discoveryTicks);
+        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::cleanupOfflineServers, 1200L, 1200L); // Every minute
     }
     
     /**
@@ -268,6 +375,80 @@ public class CrossServerManager {
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
     }
     
+    /**
+     * Start polling for messages addressed to this server
+     */
+    private void startMessagePollTask() {
+        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::pollMessages, 20L, 20L); // Every second
+    }
+    
+    /**
+     * Fetch new messages and dispatch them on the main thread
+     */
+    private void pollMessages() {
+        if (!databaseManager.isDatabaseEnabled() || !polling.compareAndSet(false, true)) {
+            return; // A poll is already in flight
+        }
+        
+        String sql = """
+            SELECT id, message_type, data FROM cross_server_messages
+            WHERE to_server = ?
+            ORDER BY id LIMIT ?
+            """;
+        
+        // Every remaining row is read again rather than only ids past the last one
+        // seen: ids are assigned at insert but rows become visible at commit, so a
+        // lower id can show up after a higher one has been handled
+        int limit = MESSAGE_POLL_LIMIT + deliveredIds.size();
+        
+        databaseManager.queryAsync(sql, rs -> {
+            List<Object[]> messages = new ArrayList<>();
+            List<Object> ids = new ArrayList<>();
+            while (rs.next()) {
+                long id = rs.getLong("id");
+                if (!deliveredIds.add(id)) {
+                    continue; // Already dispatched; its delete is still running
+                }
+                ids.add(id);
+                messages.add(new Object[] {rs.getString("message_type"), rs.getString("data")});
+            }
+            if (messages.isEmpty()) {
+                return null;
+            }
+            
+            plugin.getServer().getScheduler().runTask(plugin, () -> dispatchMessages(messages));
+            
+            // Only the rows read here; a range would also take rows that committed after the select
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            databaseManager.executeAsync("DELETE FROM cross_server_messages WHERE id IN (" + placeholders + ")", ids.toArray())
+                .whenComplete((result, error) -> deliveredIds.removeAll(ids));
+            return null;
+        }, serverId, limit).whenComplete((result, error) -> polling.set(false));
+    }
+    
+    private void dispatchMessages(List<Object[]> messages) {
+        for (Object[] message : messages) {
+            String messageType = (String) message[0];
+            MessageHandler handler = messageHandlers.get(messageType);
+            if (handler == null) {
+                continue;
+            }
+            
+            try {
+                handler.handle(deserializeData((String) message[1]));
+            } catch (RuntimeException e) {
+                logger.warning("Failed to handle cross-server message " + messageType + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Register a handler for a message type; handlers run on the main thread
+     */
+    public void registerMessageHandler(String messageType, MessageHandler handler) {
+        messageHandlers.put(messageType, handler);
+    }
+    
     /**
      * Register message handlers
      */
@@ -300,17 +481,80 @@ public class CrossServerManager {
         }
     }
     
+    /**
+     * Hand a player over to another server: flush and send their data first,
+     * then switch them through the proxy once the message is stored, so the
+     * destination can warm its copy before the player arrives
+     */
+    public CompletableFuture<Boolean> transferPlayer(org.bukkit.entity.Player player, String targetServerId) {
+        ServerInfo target = registeredServers.get(targetServerId);
+        if (target == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("player_id", player.getUniqueId().toString());
+        data.put("player_name", player.getName());
+        data.put("data", plugin.getPlayerDataManager().exportSnapshot(player.getUniqueId()));
+        
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        sendMessage(targetServerId, "PLAYER_TRANSFER", data).whenComplete((ignored, error) -> {
+            if (error != null) {
+                logger.warning("Could not hand off " + player.getName() + " to " + targetServerId + ": " + error.getMessage());
+                result.complete(false);
+                return;
+            }
+            plugin.getServer().getScheduler().runTask(plugin, () -> result.complete(connectThroughProxy(player, target.getName())));
+        });
+        return result;
+    }
+    
+    /**
+     * Ask the proxy to move a player to another server
+     */
+    private boolean connectThroughProxy(org.bukkit.entity.Player player, String serverName) {
+        if (!player.isOnline()) {
+            return false;
+        }
+        
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF("Connect");
+            out.writeUTF(serverName);
+            player.sendPluginMessage(plugin, PROXY_CHANNEL, bytes.toByteArray());
+            return true;
+        } catch (IOException e) {
+            logger.warning("Could not send " + player.getName() + " to " + serverName + ": " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Poll for messages now rather than at the next interval, for example when a
+     * player who may have been handed off joins
+     */
+    public void requestPoll() {
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::pollMessages);
+    }
+    
     /**
      * Handle player transfer message
      */
+    @SuppressWarnings("unchecked")
     private void handlePlayerTransfer(Map<String, Object> data) {
         String playerId = (String) data.get("player_id");
-        String playerData = (String) data.get("data");
-        
-        logger.info("Received player transfer data for: " + playerId);
+        Object snapshot = data.get("data");
+        if (playerId == null || !(snapshot instanceof Map)) {
+            return;
+        }
         
-        // Store transfer data for when player joins
-        // Implementation would cache this data
+        UUID uuid = UUID.fromString(playerId);
+        if (plugin.getPlayerDataManager().importSnapshot(uuid, (Map<String, Object>) snapshot)) {
+            logger.info("Received player transfer data for: " + data.get("player_name"));
+        } else {
+            logger.warning("Ignored stale transfer data for " + data.get("player_name") + "; a newer copy is already here");
+        }
     }
     
     /**
@@ -340,21 +584,38 @@ public class CrossServerManager {
     }
     
     /**
-     * Clean up offline servers
+     * Clean up offline servers and messages nobody collected
      */
     private void cleanupOfflineServers() {
         if (!databaseManager.isDatabaseEnabled()) {
             return;
         }
         
+        // Three missed leases: the server is gone, not just slow
         String sql = """
             UPDATE server_registry 
             SET status = 'OFFLINE' 
-            WHERE last_heartbeat < DATE_SUB(NOW(), INTERVAL 5 MINUTE) 
-            AND status = 'ONLINE'
+            WHERE status = 'ONLINE'
+            AND last_heartbeat < DATE_SUB(NOW(), INTERVAL lease_ms * 3 / 1000 SECOND)
             """;
         
         databaseManager.executeAsync(sql);
+        databaseManager.executeAsync("DELETE FROM cross_server_messages WHERE created_at < DATE_SUB(NOW(), INTERVAL 10 MINUTE)");
+    }
+    
+    /**
+     * Live servers that can take more load, least loaded first. Servers that are
+     * full or already over their tick budget are left out.
+     */
+    public List<ServerInfo> getServersByLoad() {
+        List<ServerInfo> servers = new ArrayList<>();
+        for (ServerInfo server : registeredServers.values()) {
+            if (server.getMspt() < MAX_HEALTHY_MSPT && server.getOnlinePlayers() < server.getMaxPlayers()) {
+                servers.add(server);
+            }
+        }
+        servers.sort(Comparator.comparingDouble(ServerInfo::getLoad));
+        return servers;
     }
     
     /**
@@ -368,8 +629,19 @@ public class CrossServerManager {
      * Serialize data for cross-server transmission
      */
     private String serializeData(Map<String, Object> data) {
-        // Simple serialization - in production, use proper JSON library
-        return data.toString();
+        return GSON.toJson(data);
+    }
+    
+    /**
+     * Deserialize received data; numbers arrive as Double
+     */
+    private Map<String, Object> deserializeData(String json) {
+        try {
+            Map<String, Object> data = GSON.fromJson(json, MESSAGE_DATA_TYPE);
+            return data != null ? data : new HashMap<>();
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("malformed payload", e);
+        }
     }
     
     /**
@@ -418,9 +690,10 @@ public class CrossServerManager {
         private final int maxPlayers;
         private final int onlinePlayers;
         private final String status;
+        private final double mspt;
         
         public ServerInfo(String serverId, String name, String address, int port, 
-                         int maxPlayers, int onlinePlayers, String status) {
+                         int maxPlayers, int onlinePlayers, String status, double mspt) {
             this.serverId = serverId;
             this.name = name;
             this.address = address;
@@ -428,6 +701,16 @@ public class CrossServerManager {
             this.maxPlayers = maxPlayers;
             this.onlinePlayers = onlinePlayers;
             this.status = status;
+            this.mspt = mspt;
+        }
+        
+        /**
+         * Load from 0 (idle) upward: the share of player slots in use plus the
+         * share of the tick budget in use
+         */
+        public double getLoad() {
+            double players = maxPlayers > 0 ? (double) onlinePlayers / maxPlayers : 1.0;
+            return players + mspt / MAX_HEALTHY_MSPT;
         }
         
         // Getters
@@ -438,5 +721,21 @@ public class CrossServerManager {
         public int getMaxPlayers() { return maxPlayers; }
         public int getOnlinePlayers() { return onlinePlayers; }
         public String getStatus() { return status; }
+        public double getMspt() { return mspt; }
+    }
+    
+    /**
+     * What this server knows about a peer's liveness
+     */
+    private static class Member {
+        private final PhiAccrualDetector detector;
+        private long seq = -1;
+        private long leaseNanos;
+        private ServerInfo info;
+        private boolean alive;
+        
+        private Member(PhiAccrualDetector detector) {
+            this.detector = detector;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,333 @@
+package com.example.minecraftplugin.crossserver;
+
+import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.data.TopK;
+import com.example.minecraftplugin.managers.RaidLeaderboardManager;
+import com.example.minecraftplugin.raids.RaidCompletionRecord;
+import com.example.minecraftplugin.raids.RaidManager;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Network-wide raid leaderboards merged from every server's local top-K boards
+ *
+ * Each server ranks its own completions in RaidLeaderboardManager. Boards that
+ * change are published to the other servers every two seconds as their full
+ * top-K (at most BOARD_SIZE records), and every server merges the shards it
+ * holds into a network top-K per board. A shard update that only adds better
+ * records is merged by offering the new records; anything else (a record
+ * pruned, a server dropping out) rebuilds that one board from its shards.
+ * Reads are served from the merged boards in memory.
+ *
+ * All state is confined to the main thread: message handlers and tasks both
+ * run there.
+ */
+public class NetworkLeaderboardManager {
+    
+    private static final long PUBLISH_INTERVAL_TICKS = 40L; // Every 2 seconds
+    private static final long REFRESH_INTERVAL_TICKS = 6000L; // Every 5 minutes
+    private static final long SHARD_TTL_MS = 30 * 60 * 1000L;
+    
+    private final MinecraftPlugin plugin;
+    private final Logger logger;
+    private final CrossServerManager crossServerManager;
+    private final RaidLeaderboardManager leaderboardManager;
+    
+    // board -> server_id -> that server's top-K
+    private final Map<String, Map<String, List<RaidCompletionRecord>>> shards;
+    private final Map<String, TopK<RaidCompletionRecord>> merged;
+    private final Map<String, Long> lastSeen; // server_id -> last shard received
+    
+    // Statistics
+    private long shardsReceived;
+    private long incrementalMerges;
+    private long rebuilds;
+    
+    public NetworkLeaderboardManager(MinecraftPlugin plugin, CrossServerManager crossServerManager,
+                                     RaidLeaderboardManager leaderboardManager) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.crossServerManager = crossServerManager;
+        this.leaderboardManager = leaderboardManager;
+        this.shards = new HashMap<>();
+        this.merged = new HashMap<>();
+        this.lastSeen = new HashMap<>();
+        
+        crossServerManager.registerMessageHandler("LEADERBOARD_SHARD", this::handleShard);
+        crossServerManager.registerMessageHandler("LEADERBOARD_SYNC_REQUEST", this::handleSyncRequest);
+        
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::publishChangedBoards, 0L, PUBLISH_INTERVAL_TICKS);
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::refresh, REFRESH_INTERVAL_TICKS, REFRESH_INTERVAL_TICKS);
+        
+        // Ask peers for their boards once they have been discovered
+        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+            Map<String, Object> data = new HashMap<>();
+            data.put("server_id", crossServerManager.getServerId());
+            crossServerManager.broadcastMessage("LEADERBOARD_SYNC_REQUEST", data);
+        }, 200L);
+        
+        logger.info("Network Leaderboard Manager initialized");
+    }
+    
+    /**
+     * Publish local boards that changed and fold them into the network view
+     */
+    private void publishChangedBoards() {
+        Set<String> changed = leaderboardManager.takeChangedBoards();
+        if (!changed.isEmpty()) {
+            publish(changed);
+        }
+    }
+    
+    /**
+     * Republish every local board for peers that missed updates, and drop shards
+     * of servers that have gone quiet
+     */
+    private void refresh() {
+        publish(leaderboardManager.getLocalBoardKeys());
+        
+        long now = System.currentTimeMillis();
+        Set<String> expired = new HashSet<>();
+        for (Map.Entry<String, Long> entry : lastSeen.entrySet()) {
+            if (now - entry.getValue() > SHARD_TTL_MS) {
+                expired.add(entry.getKey());
+            }
+        }
+        
+        for (String serverId : expired) {
+            lastSeen.remove(serverId);
+            for (Map.Entry<String, Map<String, List<RaidCompletionRecord>>> entry : shards.entrySet()) {
+                if (entry.getValue().remove(serverId) != null) {
+                    rebuild(entry.getKey());
+                }
+            }
+            logger.info("Dropped leaderboard shards of inactive server " + serverId);
+        }
+        
+        shards.keySet().removeIf(this::isStaleBoard);
+        merged.keySet().retainAll(shards.keySet());
+    }
+    
+    /**
+     * Weekly boards older than last week are no longer shown or exchanged
+     */
+    private boolean isStaleBoard(String board) {
+        if (!board.startsWith("weekly:")) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        return !board.equals(RaidLeaderboardManager.weeklyBoard(now))
+            && !board.equals(RaidLeaderboardManager.weeklyBoard(now - 7L * 24 * 60 * 60 * 1000));
+    }
+    
+    private void publish(Set<String> boards) {
+        String serverId = crossServerManager.getServerId();
+        Map<String, Object> encoded = new HashMap<>();
+        
+        for (String board : boards) {
+            if (isStaleBoard(board)) {
+                continue;
+            }
+            List<RaidCompletionRecord> ranking = leaderboardManager.getLocalBoard(board);
+            applyShard(board, serverId, ranking);
+            
+            List<Map<String, Object>> records = new ArrayList<>(ranking.size());
+            for (RaidCompletionRecord record : ranking) {
+                records.add(encode(record));
+            }
+            encoded.put(board, records);
+        }
+        
+        if (encoded.isEmpty()) {
+            return;
+        }
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("server_id", serverId);
+        data.put("boards", encoded);
+        crossServerManager.broadcastMessage("LEADERBOARD_SHARD", data);
+    }
+    
+    /**
+     * Handle boards published by another server
+     */
+    @SuppressWarnings("unchecked")
+    private void handleShard(Map<String, Object> data) {
+        String serverId = (String) data.get("server_id");
+        Object boards = data.get("boards");
+        if (serverId == null || !(boards instanceof Map)) {
+            return;
+        }
+        
+        lastSeen.put(serverId, System.currentTimeMillis());
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) boards).entrySet()) {
+            if (isStaleBoard(entry.getKey())) {
+                continue;
+            }
+            List<RaidCompletionRecord> ranking = new ArrayList<>();
+            for (Object record : (List<Object>) entry.getValue()) {
+                RaidCompletionRecord decoded = decode((Map<String, Object>) record);
+                if (decoded != null) {
+                    ranking.add(decoded);
+                }
+            }
+            applyShard(entry.getKey(), serverId, ranking);
+            shardsReceived++;
+        }
+    }
+    
+    /**
+     * Answer a newly started server with every local board
+     */
+    private void handleSyncRequest(Map<String, Object> data) {
+        String serverId = (String) data.get("server_id");
+        if (serverId != null && !serverId.equals(crossServerManager.getServerId())) {
+            publish(leaderboardManager.getLocalBoardKeys());
+        }
+    }
+    
+    /**
+     * Replace one server's shard of a board and update the merged board
+     */
+    private void applyShard(String board, String serverId, List<RaidCompletionRecord> ranking) {
+        Map<String, List<RaidCompletionRecord>> boardShards = shards.computeIfAbsent(board, k -> new HashMap<>());
+        List<RaidCompletionRecord> previous = boardShards.put(serverId, ranking);
+        
+        TopK<RaidCompletionRecord> view = merged.get(board);
+        if (view == null || !onlyAddsBetterRecords(board, previous, ranking)) {
+            rebuild(board);
+            return;
+        }
+        
+        for (RaidCompletionRecord record : ranking) {
+            view.offer(record);
+        }
+        incrementalMerges++;
+    }
+    
+    /**
+     * True if the new shard is the old one plus better records, so every record
+     * that left the shard was pushed out by at least BOARD_SIZE better ones and
+     * cannot be in the merged top-K either
+     */
+    private boolean onlyAddsBetterRecords(String board, List<RaidCompletionRecord> previous, List<RaidCompletionRecord> ranking) {
+        if (previous == null) {
+            return true;
+        }
+        
+        Set<String> current = new HashSet<>();
+        for (RaidCompletionRecord record : ranking) {
+            current.add(record.getRecordKey());
+        }
+        
+        Comparator<RaidCompletionRecord> order = RaidLeaderboardManager.boardOrder(board);
+        RaidCompletionRecord worst = ranking.isEmpty() ? null : ranking.get(ranking.size() - 1);
+        for (RaidCompletionRecord record : previous) {
+            if (current.contains(record.getRecordKey())) {
+                continue;
+            }
+            if (ranking.size() < RaidLeaderboardManager.BOARD_SIZE || order.compare(record, worst) < 0) {
+                return false; // Removed rather than displaced
+            }
+        }
+        return true;
+    }
+    
+    private void rebuild(String board) {
+        TopK<RaidCompletionRecord> view = new TopK<>(RaidLeaderboardManager.BOARD_SIZE, RaidLeaderboardManager.boardOrder(board));
+        for (List<RaidCompletionRecord> ranking : shards.getOrDefault(board, Collections.emptyMap()).values()) {
+            for (RaidCompletionRecord record : ranking) {
+                view.offer(record);
+            }
+        }
+        merged.put(board, view);
+        rebuilds++;
+    }
+    
+    /**
+     * Network-wide top records of a board, best first
+     */
+    public List<RaidCompletionRecord> getTop(String board, int limit) {
+        TopK<RaidCompletionRecord> view = merged.get(board);
+        return view == null ? Collections.emptyList() : view.top(limit);
+    }
+    
+    public List<RaidCompletionRecord> getTopCompletionsByScore(int limit) {
+        return getTop(RaidLeaderboardManager.SCORE_BOARD, limit);
+    }
+    
+    public List<RaidCompletionRecord> getTopCompletions(String raidId, int limit) {
+        return getTop(RaidLeaderboardManager.raidBoard(raidId), limit);
+    }
+    
+    public List<RaidCompletionRecord> getTopCompletionsByTier(RaidManager.RaidTier tier, int limit) {
+        return getTop(RaidLeaderboardManager.tierBoard(tier), limit);
+    }
+    
+    /**
+     * Weekly challenge completions of the current week
+     */
+    public List<RaidCompletionRecord> getWeeklyChallengeCompletions(int limit) {
+        return getTop(RaidLeaderboardManager.weeklyBoard(System.currentTimeMillis()), limit);
+    }
+    
+    /**
+     * Get network leaderboard statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("boards", merged.size());
+        stats.put("servers_reporting", lastSeen.size());
+        stats.put("shards_received", shardsReceived);
+        stats.put("incremental_merges", incrementalMerges);
+        stats.put("rebuilds", rebuilds);
+        return stats;
+    }
+    
+    private static Map<String, Object> encode(RaidCompletionRecord record) {
+        List<String> playerIds = new ArrayList<>();
+        for (UUID playerId : record.getPlayerIds()) {
+            playerIds.add(playerId.toString());
+        }
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("raid_id", record.getRaidId());
+        data.put("raid_display_name", record.getRaidDisplayName());
+        data.put("player_ids", playerIds);
+        data.put("player_names", record.getPlayerNames());
+        data.put("start_time", record.getStartTime());
+        data.put("end_time", record.getEndTime());
+        data.put("score", record.getScore());
+        data.put("tier", record.getTier().name());
+        data.put("weekly_challenge_active", record.isWeeklyChallengeActive());
+        data.put("weekly_challenge_type", record.getWeeklyChallengeType());
+        return data;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private RaidCompletionRecord decode(Map<String, Object> data) {
+        try {
+            List<UUID> playerIds = new ArrayList<>();
+            for (Object playerId : (List<Object>) data.get("player_ids")) {
+                playerIds.add(UUID.fromString((String) playerId));
+            }
+            
+            return new RaidCompletionRecord(
+                (String) data.get("raid_id"),
+                (String) data.get("raid_display_name"),
+                playerIds,
+                (List<String>) data.get("player_names"),
+                ((Number) data.get("start_time")).longValue(),
+                ((Number) data.get("end_time")).longValue(),
+                ((Number) data.get("score")).intValue(),
+                RaidManager.RaidTier.valueOf((String) data.get("tier")),
+                Boolean.TRUE.equals(data.get("weekly_challenge_active")),
+                (String) data.get("weekly_challenge_type")
+            );
+        } catch (RuntimeException e) {
+            logger.warning("Ignoring malformed leaderboard record: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.minecraftplugin.crossserver;
+
+/**
+ * Phi accrual failure detector for one peer
+ *
+ * Instead of a fixed timeout, it learns the distribution of the peer's
+ * heartbeat inter-arrival times (a sliding window, approximated as normal) and
+ * reports phi = -log10(probability that a heartbeat this late is still on its
+ * way). Phi 1 means about a 10% chance of a false suspicion, phi 8 about
+ * 1e-8, so a threshold adapts to how regular the peer's heartbeats have been
+ * rather than to a worst-case guess.
+ *
+ * Fed with heartbeat arrivals on the local monotonic clock, so it is
+ * independent of the peers' clocks and of the transport that carried the
+ * heartbeat. Not thread-safe.
+ */
+public class PhiAccrualDetector {
+
+    private final long[] intervals;
+    private final long minStdDevNanos;
+    private int count;
+    private int next;
+    private double sum;
+    private double sumOfSquares;
+    private long lastArrival = -1;
+
+    /**
+     * @param windowSize heartbeat intervals remembered
+     * @param expectedIntervalNanos configured heartbeat interval, seeds the window
+     */
+    public PhiAccrualDetector(int windowSize, long expectedIntervalNanos) {
+        this.intervals = new long[windowSize];
+        this.minStdDevNanos = Math.max(1L, expectedIntervalNanos / 4);
+
+        // Seed with the expected interval so the first heartbeats are judged sensibly
+        record(expectedIntervalNanos);
+    }
+
+    /**
+     * Record a heartbeat arrival
+     */
+    public void heartbeat(long nowNanos) {
+        if (lastArrival >= 0) {
+            record(nowNanos - lastArrival);
+        }
+        lastArrival = nowNanos;
+    }
+
+    private void record(long interval) {
+        if (count == intervals.length) {
+            long evicted = intervals[next];
+            sum -= evicted;
+            sumOfSquares -= (double) evicted * evicted;
+        } else {
+            count++;
+        }
+        intervals[next] = interval;
+        next = (next + 1) % intervals.length;
+        sum += interval;
+        sumOfSquares += (double) interval * interval;
+    }
+
+    /**
+     * Suspicion level now; 0 until the first heartbeat
+     */
+    public double phi(long nowNanos) {
+        if (lastArrival < 0) {
+            return 0.0;
+        }
+
+        double mean = sum / count;
+        double variance = Math.max(0.0, sumOfSquares / count - mean * mean);
+        double stdDev = Math.max(Math.sqrt(variance), minStdDevNanos);
+
+        // Logistic approximation of the normal CDF's upper tail
+        double y = (nowNanos - lastArrival - mean) / stdDev;
+        double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        if (nowNanos - lastArrival > mean) {
+            return -Math.log10(e / (1.0 + e));
+        }
+        return -Math.log10(1.0 - 1.0 / (1.0 + e));
+    }
+
+    /**
+     * Nanoseconds since the last heartbeat, or -1 if none arrived yet
+     */
+    public long sinceLastHeartbeat(long nowNanos) {
+        return lastArrival < 0 ? -1 : nowNanos - lastArrival;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.minecraftplugin.data;
+
+import java.util.SplittableRandom;
+
+/**
+ * Constant-time weighted sampling with Vose's alias method.
+ *
+ * Building the table is O(n). Each sample then costs one uniform index, one
+ * uniform double and a comparison, however the weights are distributed.
+ * Instances are immutable; the random source is supplied by the caller.
+ */
+public final class AliasSampler {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    private AliasSampler(double[] probability, int[] alias) {
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * Build a sampler over indexes 0..weights.length-1. Returns null if no weight
+     * is positive, since nothing could ever be picked.
+     */
+    public static AliasSampler of(double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (weight > 0) {
+                total += weight;
+            }
+        }
+        if (n == 0 || total <= 0) {
+            return null;
+        }
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = Math.max(0, weights[i]) * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+
+        return new AliasSampler(probability, alias);
+    }
+
+    public int sample(SplittableRandom random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
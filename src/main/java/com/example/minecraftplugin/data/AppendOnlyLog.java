@@ -0,0 +1,210 @@
+package com.example.minecraftplugin.data;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Durable append-only record log.
+ *
+ * Each record is one line of tab-separated fields. Records are appended on a
+ * dedicated single-threaded executor, in the order they were submitted, and
+ * flushed one by one so a crash loses at most the record being written. The
+ * owner replays the log with load() at startup and can then compact it into a
+ * snapshot of its current state, which replaces the file atomically.
+ *
+ * load() and compact() must be called before the first append.
+ */
+public class AppendOnlyLog {
+
+    private final File file;
+    private final Logger logger;
+    private final ExecutorService io;
+    private BufferedWriter writer; // Only touched on the io thread
+
+    private volatile long appended;
+
+    public AppendOnlyLog(File file, String threadName, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+        this.io = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Read every record in the log. A final line without its newline was torn
+     * by a crash mid-write; it is skipped and cut from the file so the next
+     * append starts on a fresh line.
+     */
+    public List<String[]> load() {
+        if (!file.exists()) {
+            return new ArrayList<>();
+        }
+
+        List<String[]> records = readRecords();
+        try {
+            if (dropTornLine() && !records.isEmpty()) {
+                records.remove(records.size() - 1);
+                logger.warning("Skipped a torn record at the end of " + file.getName());
+            }
+        } catch (IOException e) {
+            logger.severe("Could not repair " + file.getName() + ": " + e.getMessage());
+        }
+        return records;
+    }
+
+    /**
+     * Read every record once the appends queued so far are written. Runs on the
+     * io thread, so it never sees a record half written.
+     */
+    public CompletableFuture<List<String[]>> readAsync() {
+        return CompletableFuture.supplyAsync(this::readRecords, io);
+    }
+
+    private List<String[]> readRecords() {
+        List<String[]> records = new ArrayList<>();
+        if (!file.exists()) {
+            return records;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    records.add(line.split("\t", -1));
+                }
+            }
+        } catch (IOException e) {
+            logger.severe("Could not read " + file.getName() + ": " + e.getMessage());
+        }
+        return records;
+    }
+
+    /**
+     * Truncate the file after its last newline. Returns whether anything but
+     * a carriage return was cut.
+     */
+    private boolean dropTornLine() throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long end = raf.length();
+            long pos = end;
+            boolean torn = false;
+            while (pos > 0) {
+                raf.seek(pos - 1);
+                int b = raf.read();
+                if (b == '\n') {
+                    break;
+                }
+                if (b != '\r') {
+                    torn = true;
+                }
+                pos--;
+            }
+            if (pos < end) {
+                raf.setLength(pos);
+            }
+            return torn;
+        }
+    }
+
+    /**
+     * Replace the log with the given records
+     */
+    public void compact(List<String[]> records) {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            file.getParentFile().mkdirs();
+            try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8))) {
+                for (String[] record : records) {
+                    out.write(encode(record));
+                    out.newLine();
+                }
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.severe("Could not compact " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queue a record to be appended
+     */
+    public void append(String... fields) {
+        String line = encode(fields);
+        io.execute(() -> {
+            try {
+                if (writer == null) {
+                    file.getParentFile().mkdirs();
+                    writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+                }
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+                appended++;
+            } catch (IOException e) {
+                logger.severe("Could not append to " + file.getName() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Records appended since startup
+     */
+    public long getAppendedCount() {
+        return appended;
+    }
+
+    /**
+     * Finish queued appends and close the file
+     */
+    public void close() {
+        io.execute(() -> {
+            try {
+                if (writer != null) {
+                    writer.close();
+                    writer = null;
+                }
+            } catch (IOException e) {
+                logger.warning("Could not close " + file.getName() + ": " + e.getMessage());
+            }
+        });
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning("Timed out writing " + file.getName() + "; recent records may be lost");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String encode(String[] fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            // Fields can never contain the separators
+            line.append(fields[i].replace('\t', ' ').replace('\n', ' ').replace('\r', ' '));
+        }
+        return line.toString();
+    }
+}
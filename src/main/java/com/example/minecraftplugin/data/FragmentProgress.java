@@ -0,0 +1,281 @@
+package com.example.minecraftplugin.data;
+
+import com.example.minecraftplugin.enums.GodType;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A player's collected fragments and completed testaments packed into two longs.
+ *
+ * Every god owns an 8-bit lane, indexed by its ordinal: lanes 0-7 fill the low
+ * word and lanes 8-11 the bottom half of the high word. Fragment n of a god is
+ * bit n-1 of its lane. Completed testaments are a 12-bit mask in bits 32-43 of
+ * the high word. Counting and "all collected" checks are a mask and a popcount,
+ * with no boxing or collection walks.
+ *
+ * Not thread-safe; PlayerDataManager owns every instance.
+ */
+public final class FragmentProgress {
+
+    public static final int FRAGMENTS_PER_GOD = 7;
+
+    private static final int ALL_FRAGMENTS = (1 << FRAGMENTS_PER_GOD) - 1;
+    private static final int LANE_BITS = 8;
+    private static final int LOW_LANES = Long.SIZE / LANE_BITS;
+    private static final int TESTAMENT_SHIFT = 32;
+    private static final GodType[] GODS = GodType.values();
+    private static final int ALL_GODS = (1 << GODS.length) - 1;
+
+    private static final Gson GSON = new Gson();
+
+    static {
+        // Four lanes in the high word, and the testament mask must fit above them
+        if (GODS.length > LOW_LANES + TESTAMENT_SHIFT / LANE_BITS) {
+            throw new IllegalStateException("Too many gods for packed fragment progress: " + GODS.length);
+        }
+    }
+
+    private long low;
+    private long high;
+
+    public FragmentProgress() {
+    }
+
+    /**
+     * Restore progress from its packed form
+     */
+    public FragmentProgress(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public static boolean isValidFragment(int fragmentNumber) {
+        return fragmentNumber >= 1 && fragmentNumber <= FRAGMENTS_PER_GOD;
+    }
+
+    /**
+     * Record a fragment. Returns false if it was already collected or out of range.
+     */
+    public boolean addFragment(GodType god, int fragmentNumber) {
+        if (!isValidFragment(fragmentNumber)) {
+            return false;
+        }
+
+        int lane = god.ordinal();
+        long bit = 1L << ((lane % LOW_LANES) * LANE_BITS + fragmentNumber - 1);
+        if (lane < LOW_LANES) {
+            if ((low & bit) != 0) {
+                return false;
+            }
+            low |= bit;
+        } else {
+            if ((high & bit) != 0) {
+                return false;
+            }
+            high |= bit;
+        }
+        return true;
+    }
+
+    public boolean hasFragment(GodType god, int fragmentNumber) {
+        return isValidFragment(fragmentNumber) && (fragmentMask(god) & (1 << (fragmentNumber - 1))) != 0;
+    }
+
+    /**
+     * Collected fragments of a god as a 7-bit mask, fragment n at bit n-1
+     */
+    public int fragmentMask(GodType god) {
+        int lane = god.ordinal();
+        long word = lane < LOW_LANES ? low : high;
+        return (int) (word >>> ((lane % LOW_LANES) * LANE_BITS)) & ALL_FRAGMENTS;
+    }
+
+    public int getFragmentCount(GodType god) {
+        return Integer.bitCount(fragmentMask(god));
+    }
+
+    public boolean hasAllFragments(GodType god) {
+        return fragmentMask(god) == ALL_FRAGMENTS;
+    }
+
+    /**
+     * Lowest fragment number not yet collected for the god, or -1 if all are
+     */
+    public int getMissingFragment(GodType god) {
+        int missing = ~fragmentMask(god) & ALL_FRAGMENTS;
+        return missing == 0 ? -1 : Integer.numberOfTrailingZeros(missing) + 1;
+    }
+
+    public int getTotalFragmentCount() {
+        return Long.bitCount(low) + Long.bitCount(high & ((1L << TESTAMENT_SHIFT) - 1));
+    }
+
+    /**
+     * Gods still missing at least one fragment, bit i set for the god with ordinal i
+     */
+    public int getIncompleteGodMask() {
+        int mask = 0;
+        for (GodType god : GODS) {
+            if (!hasAllFragments(god)) {
+                mask |= 1 << god.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    public Set<Integer> getFragments(GodType god) {
+        Set<Integer> fragments = new HashSet<>();
+        int mask = fragmentMask(god);
+        while (mask != 0) {
+            fragments.add(Integer.numberOfTrailingZeros(mask) + 1);
+            mask &= mask - 1;
+        }
+        return fragments;
+    }
+
+    /**
+     * Record a completed testament. Returns false if it was already completed.
+     */
+    public boolean addTestament(GodType god) {
+        long bit = 1L << (TESTAMENT_SHIFT + god.ordinal());
+        if ((high & bit) != 0) {
+            return false;
+        }
+        high |= bit;
+        return true;
+    }
+
+    public boolean hasCompletedTestament(GodType god) {
+        return (testamentMask() & (1 << god.ordinal())) != 0;
+    }
+
+    /**
+     * Completed testaments, bit i set for the god with ordinal i
+     */
+    public int testamentMask() {
+        return (int) (high >>> TESTAMENT_SHIFT) & ALL_GODS;
+    }
+
+    public int getTestamentCount() {
+        return Integer.bitCount(testamentMask());
+    }
+
+    public Set<GodType> getCompletedTestaments() {
+        return godsIn(testamentMask());
+    }
+
+    public void clear() {
+        low = 0;
+        high = 0;
+    }
+
+    /**
+     * Gods whose ordinal bits are set in the mask
+     */
+    public static Set<GodType> godsIn(int mask) {
+        Set<GodType> gods = EnumSet.noneOf(GodType.class);
+        while (mask != 0) {
+            gods.add(GODS[Integer.numberOfTrailingZeros(mask)]);
+            mask &= mask - 1;
+        }
+        return gods;
+    }
+
+    /**
+     * The god whose ordinal is the index-th set bit of the mask (0-based)
+     */
+    public static GodType nthGod(int mask, int index) {
+        for (int i = 0; i < index; i++) {
+            mask &= mask - 1;
+        }
+        return GODS[Integer.numberOfTrailingZeros(mask)];
+    }
+
+    /**
+     * Fragments as a JSON object of god name to sorted fragment numbers, e.g.
+     * {"FALLEN":[1,2,5]}. Gods without fragments are left out.
+     */
+    public String fragmentsToJson() {
+        JsonObject json = new JsonObject();
+        for (GodType god : GODS) {
+            int mask = fragmentMask(god);
+            if (mask == 0) {
+                continue;
+            }
+            JsonArray fragments = new JsonArray();
+            while (mask != 0) {
+                fragments.add(Integer.numberOfTrailingZeros(mask) + 1);
+                mask &= mask - 1;
+            }
+            json.add(god.name(), fragments);
+        }
+        return GSON.toJson(json);
+    }
+
+    /**
+     * Completed testaments as a JSON array of god names, e.g. ["FALLEN","VEIL"]
+     */
+    public String testamentsToJson() {
+        JsonArray json = new JsonArray();
+        for (GodType god : getCompletedTestaments()) {
+            json.add(god.name());
+        }
+        return GSON.toJson(json);
+    }
+
+    /**
+     * Restore progress from the JSON written by fragmentsToJson and testamentsToJson.
+     * Unknown gods, out-of-range fragment numbers and entries of the wrong shape are
+     * skipped; text that is not JSON at all throws JsonParseException.
+     */
+    public static FragmentProgress fromJson(String fragmentsJson, String testamentsJson) {
+        FragmentProgress progress = new FragmentProgress();
+
+        JsonElement fragments = fragmentsJson != null ? JsonParser.parseString(fragmentsJson) : null;
+        if (fragments != null && fragments.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : fragments.getAsJsonObject().entrySet()) {
+                GodType god = GodType.fromString(entry.getKey());
+                if (god == null || !entry.getValue().isJsonArray()) {
+                    continue;
+                }
+                for (JsonElement number : entry.getValue().getAsJsonArray()) {
+                    if (isNumber(number)) {
+                        progress.addFragment(god, number.getAsInt());
+                    }
+                }
+            }
+        }
+
+        JsonElement testaments = testamentsJson != null ? JsonParser.parseString(testamentsJson) : null;
+        if (testaments != null && testaments.isJsonArray()) {
+            for (JsonElement name : testaments.getAsJsonArray()) {
+                GodType god = name.isJsonPrimitive() ? GodType.fromString(name.getAsString()) : null;
+                if (god != null) {
+                    progress.addTestament(god);
+                }
+            }
+        }
+
+        return progress;
+    }
+
+    private static boolean isNumber(JsonElement element) {
+        return element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.minecraftplugin.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Every element in ranking order, kept sorted as elements change.
+ *
+ * Unlike TopK nothing is dropped, so any page of the ranking and the rank of any
+ * element can be read. Adding or removing costs O(log n); the first read after
+ * a change copies the ranking into a list once, after which pages are sublists
+ * and ranks are binary searches. The comparator must be a total order (ties
+ * broken by some identity), and an element whose ranked fields change must be
+ * removed before the change and added again after it.
+ *
+ * Not thread-safe.
+ */
+public final class RankedIndex<T> {
+
+    private static final int DIRECT_READ_LIMIT = 256; // Elements walked before copying is cheaper
+
+    private final Comparator<? super T> order;
+    private final TreeSet<T> elements;
+
+    private List<T> snapshot; // Cached list view, dropped on change
+
+    public RankedIndex(Comparator<? super T> order) {
+        this.order = order;
+        this.elements = new TreeSet<>(order);
+    }
+
+    public void add(T element) {
+        if (elements.add(element)) {
+            snapshot = null;
+        }
+    }
+
+    public void remove(T element) {
+        if (elements.remove(element)) {
+            snapshot = null;
+        }
+    }
+
+    public void clear() {
+        elements.clear();
+        snapshot = null;
+    }
+
+    /**
+     * The ranked elements, best first. The list is immutable and shared until the
+     * next change.
+     */
+    public List<T> asList() {
+        if (snapshot == null) {
+            snapshot = Collections.unmodifiableList(new ArrayList<>(elements));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Up to limit elements starting at offset, best first. Leading pages are
+     * read straight from the tree while the cached list is stale, so the top of
+     * a ranking that changes often never costs a full copy.
+     */
+    public List<T> page(int offset, int limit) {
+        int from = Math.max(0, offset);
+        int count = Math.max(0, limit);
+        if (snapshot == null && from + count <= DIRECT_READ_LIMIT) {
+            List<T> page = new ArrayList<>(Math.min(count, elements.size()));
+            int index = 0;
+            for (T element : elements) {
+                if (index++ >= from) {
+                    if (page.size() == count) {
+                        break;
+                    }
+                    page.add(element);
+                }
+            }
+            return Collections.unmodifiableList(page);
+        }
+
+        List<T> list = asList();
+        from = Math.min(from, list.size());
+        return list.subList(from, Math.min(list.size(), from + count));
+    }
+
+    /**
+     * 1-based rank of an element, or 0 if it is not ranked
+     */
+    public int rankOf(T element) {
+        if (!elements.contains(element)) {
+            return 0;
+        }
+        return Collections.binarySearch(asList(), element, order) + 1;
+    }
+
+    /**
+     * The best element, or null if empty
+     */
+    public T first() {
+        return elements.isEmpty() ? null : elements.first();
+    }
+
+    public int size() {
+        return elements.size();
+    }
+}
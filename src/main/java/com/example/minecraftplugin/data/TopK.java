@@ -0,0 +1,115 @@
+package com.example.minecraftplugin.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The best k elements seen so far, in ranking order.
+ *
+ * Offering an element costs O(log k) and never keeps more than k elements, so a
+ * leaderboard can be maintained as records arrive instead of being sorted from
+ * the full history on every read. The comparator must be a total order (ties
+ * broken by some identity) or distinct elements that compare equal are
+ * collapsed into one.
+ *
+ * Not thread-safe.
+ */
+public final class TopK<T> {
+
+    private final int capacity;
+    private final Comparator<? super T> order;
+    private final TreeSet<T> elements;
+
+    private List<T> snapshot; // Cached list view, dropped on change
+
+    public TopK(int capacity, Comparator<? super T> order) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.order = order;
+        this.elements = new TreeSet<>(order);
+    }
+
+    /**
+     * Offer an element. Returns true if it made the ranking.
+     */
+    public boolean offer(T element) {
+        if (elements.size() >= capacity && order.compare(element, elements.last()) >= 0) {
+            return false; // No better than the worst retained element
+        }
+        if (!elements.add(element)) {
+            return false;
+        }
+        if (elements.size() > capacity) {
+            elements.pollLast();
+        }
+        snapshot = null;
+        return true;
+    }
+
+    /**
+     * Remove an element. Returns true if it was ranked.
+     */
+    public boolean remove(T element) {
+        if (elements.remove(element)) {
+            snapshot = null;
+            return true;
+        }
+        return false;
+    }
+
+    public void clear() {
+        elements.clear();
+        snapshot = null;
+    }
+
+    /**
+     * The ranked elements, best first. The list is immutable and shared until the
+     * next change, so repeated reads cost nothing.
+     */
+    public List<T> asList() {
+        if (snapshot == null) {
+            snapshot = Collections.unmodifiableList(new ArrayList<>(elements));
+        }
+        return snapshot;
+    }
+
+    /**
+     * The best limit elements, best first
+     */
+    public List<T> top(int limit) {
+        List<T> list = asList();
+        return limit >= list.size() ? list : list.subList(0, Math.max(0, limit));
+    }
+
+    /**
+     * The worst retained element, or null if empty
+     */
+    public T worst() {
+        return elements.isEmpty() ? null : elements.last();
+    }
+
+    public boolean contains(T element) {
+        return elements.contains(element);
+    }
+
+    public boolean isFull() {
+        return elements.size() >= capacity;
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public Comparator<? super T> comparator() {
+        return order;
+    }
+}
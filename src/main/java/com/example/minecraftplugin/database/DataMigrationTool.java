@@ -1,58 +1,122 @@
 package com.example.minecraftplugin.database;
 
 import com.example.minecraftplugin.MinecraftPlugin;
-import org.bukkit.configuration.file.FileConfiguration;
+import com.example.minecraftplugin.data.FragmentProgress;
+import com.example.minecraftplugin.enums.GodType;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Tool for migrating data between YAML and database storage
+ *
+ * YAML to database migration streams each data file record by record, groups
+ * the rows into batches and writes them over a few pooled connections at once.
+ * The source files are first copied into a staging folder, and a checkpoint
+ * there records how many records of each file are safely in the database, so
+ * an interrupted migration picks up where it stopped instead of starting over.
+ * Every write is an upsert, so records written after the last checkpoint can be
+ * written again on resume without creating duplicates.
  */
 public class DataMigrationTool {
     
+    private static final String STAGING_FOLDER = "migration";
+    private static final String CHECKPOINT_FILE = "checkpoint.yml";
+    private static final long PROGRESS_INTERVAL_MILLIS = 10_000L;
+    private static final int MAX_REPORTED_DIFFERENCES = 5;
+    private static final String RESTORE_MARKER = "restore-pending.txt";
+    
+    // Data files of the YAML backend, as kept in backups
+    private static final List<String> DATA_FILES = List.of(
+        "playerdata.yml", "guilds.yml", "guilds.log", "raid_leaderboards.yml", "bounties.log",
+        "council_history.log");
+    
     private final MinecraftPlugin plugin;
     private final Logger logger;
     private final DatabaseManager databaseManager;
+    private final List<Phase> phases;
     
     public DataMigrationTool(MinecraftPlugin plugin, DatabaseManager databaseManager) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
         this.databaseManager = databaseManager;
+        this.phases = List.of(playerPhase(), guildPhase(), raidPhase());
     }
     
     /**
-     * Migrate all data from YAML to database
+     * Migrate all data from YAML to database, resuming an interrupted migration if there is one
      */
     public CompletableFuture<Boolean> migrateYamlToDatabase() {
         return CompletableFuture.supplyAsync(() -> {
+            if (!databaseManager.isDatabaseEnabled()) {
+                logger.warning("Migration skipped: the database is not enabled");
+                return false;
+            }
+            
+            int batchSize = Math.max(1, plugin.getConfig().getInt("database.migrations.batch_size", 500));
+            // Leave a pooled connection free for the running server
+            int parallelism = Math.max(1, Math.min(plugin.getConfig().getInt("database.migrations.parallelism", 4),
+                                                   plugin.getConfig().getInt("database.pool.max_size", 10) - 1));
+            
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService writers = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "Testament-Migration-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            
             try {
-                logger.info("Starting YAML to database migration...");
+                logger.info("Starting YAML to database migration (" + parallelism + " writers, batches of " + batchSize + ")...");
+                File staging = new File(plugin.getDataFolder(), STAGING_FOLDER);
+                Checkpoint checkpoint = prepareStaging(staging);
                 
-                // Migrate player data
-                int playerCount = migratePlayerData();
-                
-                // Migrate guild data
-                int guildCount = migrateGuildData();
-                
-                // Migrate raid leaderboards
-                int raidCount = migrateRaidData();
+                List<String> summary = new ArrayList<>();
+                for (Phase phase : phases) {
+                    summary.add(runPhase(phase, staging, checkpoint, writers, batchSize, parallelism));
+                }
                 
                 logger.info("Migration completed successfully:");
-                logger.info("- Players migrated: " + playerCount);
-                logger.info("- Guilds migrated: " + guildCount);
-                logger.info("- Raid records migrated: " + raidCount);
+                for (String line : summary) {
+                    logger.info(line);
+                }
                 
+                // Finished; the next migration starts from fresh copies
+                for (Phase phase : phases) {
+                    Files.deleteIfExists(new File(staging, phase.fileName).toPath());
+                }
+                checkpoint.delete();
                 return true;
                 
             } catch (Exception e) {
                 logger.severe("Migration failed: " + e.getMessage());
+                logger.severe("Run the migration again to resume from the last checkpoint");
                 return false;
+            } finally {
+                writers.shutdown();
             }
         });
     }
@@ -79,219 +143,410 @@ public class DataMigrationTool {
     }
     
     /**
-     * Migrate player data from YAML to database
+     * Copy the source files into the staging folder, unless an interrupted
+     * migration left a checkpoint there, in which case its copies are reused
      */
-    private int migratePlayerData() {
-        File playerDataFile = new File(plugin.getDataFolder(), "playerdata.yml");
-        if (!playerDataFile.exists()) {
-            return 0;
+    private Checkpoint prepareStaging(File staging) throws IOException {
+        File checkpointFile = new File(staging, CHECKPOINT_FILE);
+        if (checkpointFile.exists()) {
+            logger.info("Resuming the interrupted migration in " + staging.getName() + "/");
+            return new Checkpoint(checkpointFile, YamlConfiguration.loadConfiguration(checkpointFile));
         }
         
-        FileConfiguration config = YamlConfiguration.loadConfiguration(playerDataFile);
-        int count = 0;
-        
-        if (config.contains("players")) {
-            for (String uuidString : config.getConfigurationSection("players").getKeys(false)) {
-                try {
-                    UUID playerId = UUID.fromString(uuidString);
-                    Map<String, Object> playerData = extractPlayerData(config, uuidString);
-                    
-                    // Save to database
-                    databaseManager.savePlayerData(playerId, playerData).join();
-                    count++;
-                    
-                } catch (Exception e) {
-                    logger.warning("Failed to migrate player " + uuidString + ": " + e.getMessage());
-                }
+        staging.mkdirs();
+        for (Phase phase : phases) {
+            File source = new File(plugin.getDataFolder(), phase.fileName);
+            File copy = new File(staging, phase.fileName);
+            if (source.exists()) {
+                Files.copy(source.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.deleteIfExists(copy.toPath());
             }
         }
         
-        return count;
+        Checkpoint checkpoint = new Checkpoint(checkpointFile, new YamlConfiguration());
+        checkpoint.start();
+        return checkpoint;
     }
     
     /**
-     * Extract player data from YAML config
+     * Stream one staged file into the database. Returns its summary line.
      */
-    private Map<String, Object> extractPlayerData(FileConfiguration config, String uuidString) {
-        String path = "players." + uuidString;
-        Map<String, Object> data = new HashMap<>();
+    private String runPhase(Phase phase, File staging, Checkpoint checkpoint, ExecutorService writers,
+                            int batchSize, int parallelism) throws Exception {
+        File source = new File(staging, phase.fileName);
+        if (checkpoint.isComplete(phase)) {
+            return "- " + phase.label + " migrated: " + checkpoint.getMigrated(phase) + " (finished before resuming)";
+        }
+        if (!source.exists()) {
+            checkpoint.complete(phase);
+            return "- " + phase.label + " migrated: 0";
+        }
         
-        data.put("death_count", config.getInt(path + ".death_count", 0));
-        data.put("prisoner_of_void", config.getBoolean(path + ".prisoner_of_void", false));
-        data.put("pledged_god", config.getString(path + ".pledged_god"));
-        data.put("completed_testaments", config.getStringList(path + ".completed_testaments"));
-        data.put("collected_fragments", config.getConfigurationSection(path + ".fragments"));
-        data.put("last_chest_fragment", config.getLong(path + ".cooldowns.last_chest_fragment", 0));
-        data.put("last_mob_fragment", config.getLong(path + ".cooldowns.last_mob_fragment", 0));
-        data.put("ability_cooldowns", config.getConfigurationSection(path + ".cooldowns.abilities"));
+        PhaseRun run = new PhaseRun(phase, checkpoint, parallelism * 2);
+        if (run.resumedFrom > 0) {
+            logger.info("Resuming " + phase.label.toLowerCase() + " after record " + run.resumedFrom);
+        }
         
-        return data;
+        YamlRecordStream.forEach(source, phase.section, run.resumedFrom, (index, key, value) -> {
+            run.checkWriters();
+            
+            Object[] row = null;
+            try {
+                if (value instanceof Map) {
+                    row = phase.extractor.extract(key, new MemoryConfiguration().createSection("record", (Map<?, ?>) value));
+                } else {
+                    logger.warning("Failed to migrate " + phase.singular + " " + key + ": not a section");
+                }
+            } catch (Exception e) {
+                logger.warning("Failed to migrate " + phase.singular + " " + key + ": " + e.getMessage());
+            }
+            
+            run.add(key, row);
+            if (run.pending.records >= batchSize) {
+                run.submit(writers);
+            }
+            run.reportProgress();
+        });
+        run.submit(writers);
+        run.awaitWriters();
+        run.checkWriters();
+        
+        checkpoint.complete(phase);
+        return run.summary();
     }
     
     /**
-     * Migrate guild data from YAML to database
+     * Write one batch in a single transaction. If the database rejects it, the
+     * rows are retried one at a time so only the bad records are skipped. Throws
+     * only when the connection itself fails, which stops the migration.
+     *
+     * @return rows written
      */
-    private int migrateGuildData() {
-        File guildFile = new File(plugin.getDataFolder(), "guilds.yml");
-        if (!guildFile.exists()) {
+    private int writeBatch(Phase phase, Batch batch) throws SQLException {
+        if (batch.rows.isEmpty()) {
             return 0;
         }
         
-        FileConfiguration config = YamlConfiguration.loadConfiguration(guildFile);
-        int count = 0;
-        
-        if (config.contains("guilds")) {
-            for (String guildId : config.getConfigurationSection("guilds").getKeys(false)) {
-                try {
-                    Map<String, Object> guildData = extractGuildData(config, guildId);
-                    
-                    // Save to database using async execution
-                    String sql = """
-                        INSERT INTO guild_data (guild_id, name, leader_id, members, raids_completed, 
-                                              total_score, best_time, created_at)
-                        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-                        ON DUPLICATE KEY UPDATE
-                            name = VALUES(name),
-                            leader_id = VALUES(leader_id),
-                            members = VALUES(members),
-                            raids_completed = VALUES(raids_completed),
-                            total_score = VALUES(total_score),
-                            best_time = VALUES(best_time)
-                        """;
-                    
-                    databaseManager.executeAsync(sql,
-                        guildId,
-                        guildData.get("name"),
-                        guildData.get("leader_id"),
-                        guildData.get("members"),
-                        guildData.get("raids_completed"),
-                        guildData.get("total_score"),
-                        guildData.get("best_time"),
-                        guildData.get("created_time")
-                    ).join();
-                    
-                    count++;
-                    
-                } catch (Exception e) {
-                    logger.warning("Failed to migrate guild " + guildId + ": " + e.getMessage());
+        try (Connection conn = databaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(phase.sql)) {
+                for (Object[] row : batch.rows) {
+                    bind(stmt, row);
+                    stmt.addBatch();
                 }
+                // Sent as multi-row inserts thanks to rewriteBatchedStatements
+                stmt.executeBatch();
+                conn.commit();
+                return batch.rows.size();
+            } catch (SQLException e) {
+                conn.rollback();
             }
+            
+            conn.setAutoCommit(true);
+            int written = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(phase.sql)) {
+                for (int i = 0; i < batch.rows.size(); i++) {
+                    try {
+                        bind(stmt, batch.rows.get(i));
+                        stmt.executeUpdate();
+                        written++;
+                    } catch (SQLException e) {
+                        if (!conn.isValid(5)) {
+                            throw e;
+                        }
+                        logger.warning("Failed to migrate " + phase.singular + " " + batch.rowKeys.get(i) + ": " + e.getMessage());
+                    }
+                }
+            }
+            return written;
         }
+    }
+    
+    private static void bind(PreparedStatement stmt, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            stmt.setObject(i + 1, row[i]);
+        }
+    }
+    
+    /**
+     * Player data rows, from playerdata.yml
+     */
+    private Phase playerPhase() {
+        String sql = """
+            INSERT INTO player_data (player_id, death_count, prisoner_of_void, pledged_god, 
+                                   completed_testaments, collected_fragments, last_chest_fragment, 
+                                   last_mob_fragment, ability_cooldowns, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, NOW())
+            ON DUPLICATE KEY UPDATE
+                death_count = VALUES(death_count),
+                prisoner_of_void = VALUES(prisoner_of_void),
+                pledged_god = VALUES(pledged_god),
+                completed_testaments = VALUES(completed_testaments),
+                collected_fragments = VALUES(collected_fragments),
+                last_chest_fragment = VALUES(last_chest_fragment),
+                last_mob_fragment = VALUES(last_mob_fragment),
+                ability_cooldowns = VALUES(ability_cooldowns),
+                updated_at = NOW()
+            """;
+        String checksumQuery = """
+            SELECT player_id, death_count, prisoner_of_void, pledged_god, last_chest_fragment, last_mob_fragment
+            FROM player_data
+            """;
         
-        return count;
+        return new Phase("players", "Players", "player", "playerdata.yml", "players", sql, checksumQuery,
+                         new int[] {1, 2, 3, 6, 7}, (key, record) -> {
+            UUID.fromString(key); // Reject malformed keys
+            Map<String, Object> data = extractPlayerData(record);
+            return new Object[] {
+                key,
+                data.get("death_count"),
+                data.get("prisoner_of_void"),
+                data.get("pledged_god"),
+                data.get("completed_testaments"),
+                data.get("collected_fragments"),
+                data.get("last_chest_fragment"),
+                data.get("last_mob_fragment"),
+                toJson(data.get("ability_cooldowns"))
+            };
+        });
     }
     
     /**
-     * Extract guild data from YAML config
+     * Extract player data from a player's YAML section
      */
-    private Map<String, Object> extractGuildData(FileConfiguration config, String guildId) {
-        String path = "guilds." + guildId;
+    private Map<String, Object> extractPlayerData(ConfigurationSection player) {
         Map<String, Object> data = new HashMap<>();
         
-        data.put("name", config.getString(path + ".name"));
-        data.put("leader_id", config.getString(path + ".leader"));
-        data.put("members", config.getConfigurationSection(path + ".members"));
-        data.put("raids_completed", config.getInt(path + ".statistics.raids_completed", 0));
-        data.put("total_score", config.getInt(path + ".statistics.total_score", 0));
-        data.put("best_time", config.getLong(path + ".statistics.best_time", 0));
-        data.put("created_time", config.getLong(path + ".created_time", System.currentTimeMillis()));
+        data.put("death_count", player.getInt("death_count", 0));
+        data.put("prisoner_of_void", player.getBoolean("prisoner_of_void", false));
+        data.put("pledged_god", player.getString("pledged_god"));
+        FragmentProgress progress = extractFragmentProgress(player);
+        data.put("completed_testaments", progress.testamentsToJson());
+        data.put("collected_fragments", progress.fragmentsToJson());
+        data.put("last_chest_fragment", player.getLong("cooldowns.last_chest_fragment", 0));
+        data.put("last_mob_fragment", player.getLong("cooldowns.last_mob_fragment", 0));
+        data.put("ability_cooldowns", player.getConfigurationSection("cooldowns.ability_expiry"));
         
         return data;
     }
     
     /**
-     * Migrate raid leaderboard data
+     * Read fragments and testaments from YAML so they are stored as JSON the
+     * database can query, rather than as the section's toString()
      */
-    private int migrateRaidData() {
-        File raidFile = new File(plugin.getDataFolder(), "raid_leaderboards.yml");
-        if (!raidFile.exists()) {
-            return 0;
-        }
+    private FragmentProgress extractFragmentProgress(ConfigurationSection player) {
+        FragmentProgress progress = new FragmentProgress();
         
-        FileConfiguration config = YamlConfiguration.loadConfiguration(raidFile);
-        int count = 0;
+        for (String testamentString : player.getStringList("completed_testaments")) {
+            GodType god = GodType.fromString(testamentString);
+            if (god != null) {
+                progress.addTestament(god);
+            }
+        }
         
-        if (config.contains("completions")) {
-            for (String recordId : config.getConfigurationSection("completions").getKeys(false)) {
-                try {
-                    Map<String, Object> raidData = extractRaidData(config, recordId);
-                    
-                    String sql = """
-                        INSERT INTO raid_completions (raid_id, player_ids, start_time, end_time, 
-                                                    completion_time, score, tier, weekly_challenge)
-                        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-                        """;
-                    
-                    databaseManager.executeAsync(sql,
-                        raidData.get("raid_id"),
-                        raidData.get("player_ids"),
-                        raidData.get("start_time"),
-                        raidData.get("end_time"),
-                        raidData.get("completion_time"),
-                        raidData.get("score"),
-                        raidData.get("tier"),
-                        raidData.get("weekly_challenge")
-                    ).join();
-                    
-                    count++;
-                    
-                } catch (Exception e) {
-                    logger.warning("Failed to migrate raid record " + recordId + ": " + e.getMessage());
+        if (player.isConfigurationSection("fragments")) {
+            for (String godString : player.getConfigurationSection("fragments").getKeys(false)) {
+                GodType god = GodType.fromString(godString);
+                if (god == null) {
+                    continue;
+                }
+                for (int fragmentNumber : player.getIntegerList("fragments." + godString)) {
+                    progress.addFragment(god, fragmentNumber);
                 }
             }
         }
         
-        return count;
+        return progress;
+    }
+    
+    /**
+     * Guild rows, from guilds.yml
+     */
+    private Phase guildPhase() {
+        String sql = """
+            INSERT INTO guild_data (guild_id, name, leader_id, members, raids_completed, 
+                                  total_score, best_time, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                name = VALUES(name),
+                leader_id = VALUES(leader_id),
+                members = VALUES(members),
+                raids_completed = VALUES(raids_completed),
+                total_score = VALUES(total_score),
+                best_time = VALUES(best_time)
+            """;
+        String checksumQuery = """
+            SELECT guild_id, name, leader_id, raids_completed, total_score, best_time
+            FROM guild_data
+            """;
+        
+        return new Phase("guilds", "Guilds", "guild", "guilds.yml", "guilds", sql, checksumQuery,
+                         new int[] {1, 2, 4, 5, 6}, (key, record) -> {
+            Map<String, Object> data = extractGuildData(record);
+            return new Object[] {
+                key,
+                data.get("name"),
+                data.get("leader_id"),
+                toJson(data.get("members")),
+                data.get("raids_completed"),
+                data.get("total_score"),
+                data.get("best_time"),
+                new Timestamp((Long) data.get("created_time"))
+            };
+        });
+    }
+    
+    /**
+     * Extract guild data from a guild's YAML section
+     */
+    private Map<String, Object> extractGuildData(ConfigurationSection guild) {
+        Map<String, Object> data = new HashMap<>();
+        
+        data.put("name", guild.getString("name"));
+        data.put("leader_id", guild.getString("leader"));
+        data.put("members", guild.getConfigurationSection("members"));
+        data.put("raids_completed", guild.getInt("statistics.raids_completed", 0));
+        data.put("total_score", guild.getInt("statistics.total_score", 0));
+        data.put("best_time", guild.getLong("statistics.best_time", 0));
+        data.put("created_time", guild.getLong("created_time", System.currentTimeMillis()));
+        
+        return data;
+    }
+    
+    /**
+     * Raid completion rows, from raid_leaderboards.yml. The record key is kept
+     * in source_record so a record is only ever inserted once.
+     */
+    private Phase raidPhase() {
+        String sql = """
+            INSERT INTO raid_completions (raid_id, player_ids, start_time, end_time, 
+                                        completion_time, score, tier, weekly_challenge, source_record)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE source_record = source_record
+            """;
+        String checksumQuery = """
+            SELECT source_record, raid_id, completion_time, score
+            FROM raid_completions
+            WHERE source_record IS NOT NULL
+            """;
+        
+        return new Phase("raids", "Raid records", "raid record", "raid_leaderboards.yml", "completions", sql, checksumQuery,
+                         new int[] {0, 4, 5}, (key, record) -> {
+            Map<String, Object> data = extractRaidData(record);
+            return new Object[] {
+                data.get("raid_id"),
+                toJson(data.get("player_ids")),
+                data.get("start_time"),
+                data.get("end_time"),
+                data.get("completion_time"),
+                data.get("score"),
+                data.get("tier"),
+                data.get("weekly_challenge"),
+                key
+            };
+        });
     }
     
     /**
-     * Extract raid data from YAML config
+     * Extract raid data from a completion's YAML section
      */
-    private Map<String, Object> extractRaidData(FileConfiguration config, String recordId) {
-        String path = "completions." + recordId;
+    private Map<String, Object> extractRaidData(ConfigurationSection completion) {
         Map<String, Object> data = new HashMap<>();
         
-        data.put("raid_id", config.getString(path + ".raid_id"));
-        data.put("player_ids", config.getStringList(path + ".player_ids"));
-        data.put("start_time", new java.sql.Timestamp(config.getLong(path + ".start_time")));
-        data.put("end_time", new java.sql.Timestamp(config.getLong(path + ".end_time")));
-        data.put("completion_time", config.getLong(path + ".end_time") - config.getLong(path + ".start_time"));
-        data.put("score", config.getInt(path + ".score"));
-        data.put("tier", config.getString(path + ".tier"));
-        data.put("weekly_challenge", config.getBoolean(path + ".weekly_challenge_active"));
+        data.put("raid_id", completion.getString("raid_id"));
+        data.put("player_ids", completion.getStringList("player_ids"));
+        data.put("start_time", new Timestamp(completion.getLong("start_time")));
+        data.put("end_time", new Timestamp(completion.getLong("end_time")));
+        data.put("completion_time", completion.getLong("end_time") - completion.getLong("start_time"));
+        data.put("score", completion.getInt("score"));
+        data.put("tier", completion.getString("tier"));
+        data.put("weekly_challenge", completion.getBoolean("weekly_challenge_active"));
         
         return data;
     }
     
+    /**
+     * Render YAML values as JSON for the JSON columns
+     */
+    private static String toJson(Object value) {
+        StringBuilder json = new StringBuilder();
+        appendJson(json, value);
+        return json.toString();
+    }
+    
+    private static void appendJson(StringBuilder json, Object value) {
+        if (value instanceof ConfigurationSection) {
+            value = ((ConfigurationSection) value).getValues(false);
+        }
+        
+        if (value == null) {
+            json.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else if (value instanceof Map) {
+            json.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                appendJson(json, String.valueOf(entry.getKey()));
+                json.append(':');
+                appendJson(json, entry.getValue());
+            }
+            json.append('}');
+        } else if (value instanceof Collection) {
+            json.append('[');
+            boolean first = true;
+            for (Object item : (Collection<?>) value) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                appendJson(json, item);
+            }
+            json.append(']');
+        } else {
+            json.append('"');
+            for (char c : value.toString().toCharArray()) {
+                switch (c) {
+                    case '"': json.append("\\\""); break;
+                    case '\\': json.append("\\\\"); break;
+                    case '\n': json.append("\\n"); break;
+                    case '\r': json.append("\\r"); break;
+                    case '\t': json.append("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            json.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            json.append(c);
+                        }
+                }
+            }
+            json.append('"');
+        }
+    }
+    
     /**
      * Create backup before migration
+     *
+     * Writes backups/<name>.snapshot.zip holding every plugin table when the
+     * database is enabled, and the data files either way. Callers on the main
+     * thread should save pending data first so the files are current.
      */
     public CompletableFuture<Boolean> createBackup(String backupName) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                File backupDir = new File(plugin.getDataFolder(), "backups");
-                backupDir.mkdirs();
-                
-                // Backup YAML files
-                File[] yamlFiles = {
-                    new File(plugin.getDataFolder(), "playerdata.yml"),
-                    new File(plugin.getDataFolder(), "guilds.yml"),
-                    new File(plugin.getDataFolder(), "raid_leaderboards.yml")
-                };
-                
-                for (File file : yamlFiles) {
-                    if (file.exists()) {
-                        File backup = new File(backupDir, backupName + "_" + file.getName());
-                        java.nio.file.Files.copy(file.toPath(), backup.toPath(), 
-                            java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                    }
+                File archive = getBackupArchive(backupName);
+                List<File> files = new ArrayList<>();
+                for (String fileName : DATA_FILES) {
+                    files.add(new File(plugin.getDataFolder(), fileName));
                 }
                 
-                // Backup database if enabled
-                if (databaseManager.isDatabaseEnabled()) {
-                    String dbBackupPath = new File(backupDir, backupName + "_database.sql").getAbsolutePath();
-                    databaseManager.backupDatabase(dbBackupPath).join();
-                }
+                List<String> tables = databaseManager.isDatabaseEnabled() ? DatabaseSnapshot.PLUGIN_TABLES : List.of();
+                databaseManager.createSnapshotTool().export(archive, tables, files);
                 
                 logger.info("Backup created: " + backupName);
                 return true;
@@ -303,17 +558,84 @@ public class DataMigrationTool {
         });
     }
     
+    /**
+     * Restore a backup the next time the plugin starts, before any manager
+     * loads data; restoring under running managers would be overwritten by
+     * their next save
+     */
+    public boolean scheduleRestore(String backupName) {
+        File archive = getBackupArchive(backupName);
+        if (!archive.isFile()) {
+            return false;
+        }
+        
+        try {
+            Files.writeString(new File(plugin.getDataFolder(), RESTORE_MARKER).toPath(), backupName);
+            logger.info("Backup " + backupName + " will be restored on next startup");
+            return true;
+        } catch (IOException e) {
+            logger.severe("Could not schedule restore: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Apply a restore scheduled with scheduleRestore. Called during startup.
+     * Returns false if the restore failed; the data is left as it was and the
+     * restore is kept pending, so startup should not go on.
+     */
+    public boolean applyPendingRestore() {
+        File marker = new File(plugin.getDataFolder(), RESTORE_MARKER);
+        if (!marker.exists()) {
+            return true;
+        }
+        
+        try {
+            String backupName = Files.readString(marker.toPath()).trim();
+            logger.info("Restoring backup " + backupName + "...");
+            databaseManager.createSnapshotTool().restore(getBackupArchive(backupName), plugin.getDataFolder());
+            
+            // Only cleared once the restore has succeeded
+            Files.delete(marker.toPath());
+            return true;
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Restore failed; delete " + RESTORE_MARKER + " to start without restoring", e);
+            return false;
+        }
+    }
+    
+    private File getBackupArchive(String backupName) {
+        return new File(new File(plugin.getDataFolder(), "backups"), backupName + ".snapshot.zip");
+    }
+    
     /**
      * Validate data integrity after migration
+     *
+     * Every record in the YAML files is checked against its database row: rows
+     * that are missing and rows whose key columns hold different values are
+     * counted and the first few are logged. Rows that exist only in the database
+     * are reported but are not an error. Run it right after migrating, before the
+     * server changes either copy.
      */
     public CompletableFuture<Boolean> validateMigration() {
         return CompletableFuture.supplyAsync(() -> {
+            if (!databaseManager.isDatabaseEnabled()) {
+                logger.warning("Migration validation skipped: the database is not enabled");
+                return false;
+            }
+            
             try {
-                // Compare record counts between YAML and database
-                // This is a simplified validation
+                boolean valid = true;
+                for (Phase phase : phases) {
+                    valid &= validatePhase(phase);
+                }
                 
-                logger.info("Migration validation completed successfully");
-                return true;
+                if (valid) {
+                    logger.info("Migration validation completed successfully");
+                } else {
+                    logger.warning("Migration validation found differences between YAML and the database");
+                }
+                return valid;
                 
             } catch (Exception e) {
                 logger.severe("Migration validation failed: " + e.getMessage());
@@ -321,4 +643,310 @@ public class DataMigrationTool {
             }
         });
     }
-}
\ No newline at end of file
+    
+    private boolean validatePhase(Phase phase) throws Exception {
+        File source = new File(plugin.getDataFolder(), phase.fileName);
+        if (!source.exists()) {
+            return true;
+        }
+        
+        // Checksums of every YAML record, by key
+        Map<String, Long> expected = new HashMap<>();
+        YamlRecordStream.forEach(source, phase.section, 0, (index, key, value) -> {
+            if (value instanceof Map) {
+                try {
+                    Object[] row = phase.extractor.extract(key, new MemoryConfiguration().createSection("record", (Map<?, ?>) value));
+                    Object[] fields = new Object[phase.checksumParams.length];
+                    for (int i = 0; i < fields.length; i++) {
+                        fields[i] = row[phase.checksumParams[i]];
+                    }
+                    expected.put(key, checksum(fields));
+                } catch (Exception e) {
+                    // Unreadable records are reported by the migration itself
+                }
+            }
+        });
+        long yamlRecords = expected.size();
+        
+        long databaseRows = 0;
+        long extra = 0;
+        List<String> differing = new ArrayList<>();
+        long mismatched = 0;
+        try (Connection conn = databaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(phase.checksumQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE); // Stream rows rather than buffering the table
+            try (ResultSet rs = stmt.executeQuery()) {
+                int columns = rs.getMetaData().getColumnCount();
+                Object[] fields = new Object[columns - 1];
+                while (rs.next()) {
+                    databaseRows++;
+                    Long checksum = expected.remove(rs.getString(1));
+                    if (checksum == null) {
+                        extra++;
+                        continue;
+                    }
+                    for (int i = 0; i < fields.length; i++) {
+                        fields[i] = rs.getObject(i + 2);
+                    }
+                    if (checksum(fields) != checksum) {
+                        mismatched++;
+                        if (differing.size() < MAX_REPORTED_DIFFERENCES) {
+                            differing.add(rs.getString(1));
+                        }
+                    }
+                }
+            }
+        }
+        
+        long missing = expected.size();
+        logger.info(phase.label + ": " + yamlRecords + " in YAML, " + databaseRows + " in database, " + 
+                   missing + " missing, " + mismatched + " different, " + extra + " only in database");
+        if (missing > 0) {
+            logger.warning("Missing " + phase.singular + "s include: " + 
+                          String.join(", ", expected.keySet().stream().limit(MAX_REPORTED_DIFFERENCES).toList()));
+        }
+        if (mismatched > 0) {
+            logger.warning("Different " + phase.singular + "s include: " + String.join(", ", differing));
+        }
+        return missing == 0 && mismatched == 0;
+    }
+    
+    /**
+     * 64-bit FNV-1a over the fields, normalised so YAML and JDBC values of the same data agree
+     */
+    private static long checksum(Object[] fields) {
+        long hash = 0xcbf29ce484222325L;
+        for (Object field : fields) {
+            String text;
+            if (field instanceof Number) {
+                text = Long.toString(((Number) field).longValue());
+            } else {
+                text = String.valueOf(field);
+            }
+            for (int i = 0; i < text.length(); i++) {
+                hash ^= text.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= 0x1f; // Field separator
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    /**
+     * Turns one YAML record into the statement parameters for its row
+     */
+    @FunctionalInterface
+    private interface RowExtractor {
+        Object[] extract(String key, ConfigurationSection record) throws Exception;
+    }
+    
+    /**
+     * One data file and the table it migrates into
+     */
+    private static final class Phase {
+        private final String name;
+        private final String label;
+        private final String singular;
+        private final String fileName;
+        private final String section;
+        private final String sql;
+        private final String checksumQuery;
+        private final int[] checksumParams; // Row parameters matching checksumQuery's columns after the key
+        private final RowExtractor extractor;
+        
+        private Phase(String name, String label, String singular, String fileName, String section, String sql,
+                      String checksumQuery, int[] checksumParams, RowExtractor extractor) {
+            this.name = name;
+            this.label = label;
+            this.singular = singular;
+            this.fileName = fileName;
+            this.section = section;
+            this.sql = sql;
+            this.checksumQuery = checksumQuery;
+            this.checksumParams = checksumParams;
+            this.extractor = extractor;
+        }
+    }
+    
+    /**
+     * A run of consecutive records; rows that could not be read are counted but not written
+     */
+    private static final class Batch {
+        private final long first;
+        private final List<String> rowKeys = new ArrayList<>();
+        private final List<Object[]> rows = new ArrayList<>();
+        private int records;
+        private int written;
+        
+        private Batch(long first) {
+            this.first = first;
+        }
+    }
+    
+    /**
+     * Progress of one phase. Batches can finish out of order, so the checkpoint
+     * only moves past a batch once every batch before it has finished too.
+     */
+    private final class PhaseRun {
+        private final Phase phase;
+        private final Checkpoint checkpoint;
+        private final Semaphore inFlight;
+        private final int maxInFlight;
+        private final long resumedFrom;
+        private final long startTime;
+        private final TreeMap<Long, Batch> finished;
+        
+        private Batch pending;
+        private long committed;
+        private long migrated;
+        private long failed;
+        private long lastReport;
+        private volatile Exception writerFailure;
+        
+        private PhaseRun(Phase phase, Checkpoint checkpoint, int maxInFlight) {
+            this.phase = phase;
+            this.checkpoint = checkpoint;
+            this.inFlight = new Semaphore(maxInFlight);
+            this.maxInFlight = maxInFlight;
+            this.resumedFrom = checkpoint.getRecords(phase);
+            this.migrated = checkpoint.getMigrated(phase);
+            this.failed = checkpoint.getFailed(phase);
+            this.committed = resumedFrom;
+            this.startTime = System.currentTimeMillis();
+            this.lastReport = startTime;
+            this.finished = new TreeMap<>();
+            this.pending = new Batch(resumedFrom);
+        }
+        
+        private void add(String key, Object[] row) {
+            pending.records++;
+            if (row != null) {
+                pending.rowKeys.add(key);
+                pending.rows.add(row);
+            }
+        }
+        
+        /**
+         * Hand the pending batch to a writer, waiting while too many are in flight
+         */
+        private void submit(ExecutorService writers) throws InterruptedException {
+            if (pending.records == 0) {
+                return;
+            }
+            Batch batch = pending;
+            pending = new Batch(batch.first + batch.records);
+            
+            inFlight.acquire();
+            writers.execute(() -> {
+                try {
+                    batch.written = writeBatch(phase, batch);
+                    finish(batch);
+                } catch (Exception e) {
+                    writerFailure = e;
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        
+        private synchronized void finish(Batch batch) throws IOException {
+            finished.put(batch.first, batch);
+            Batch next;
+            boolean advanced = false;
+            while ((next = finished.remove(committed)) != null) {
+                committed += next.records;
+                migrated += next.written;
+                failed += next.records - next.written;
+                advanced = true;
+            }
+            if (advanced) {
+                checkpoint.record(phase, committed, migrated, failed);
+            }
+        }
+        
+        private void awaitWriters() throws InterruptedException {
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+        }
+        
+        private void checkWriters() throws Exception {
+            if (writerFailure != null) {
+                throw writerFailure;
+            }
+        }
+        
+        /**
+         * Log throughput every few seconds while records are read
+         */
+        private void reportProgress() {
+            long now = System.currentTimeMillis();
+            if (now - lastReport < PROGRESS_INTERVAL_MILLIS) {
+                return;
+            }
+            lastReport = now;
+            long done;
+            synchronized (this) {
+                done = committed - resumedFrom;
+            }
+            logger.info(String.format("Migrating %s: %,d records written (%,.0f records/s)",
+                                      phase.label.toLowerCase(), committed, done * 1000.0 / (now - startTime)));
+        }
+        
+        private synchronized String summary() {
+            double seconds = Math.max(1, System.currentTimeMillis() - startTime) / 1000.0;
+            return String.format("- %s migrated: %,d (%,d failed) in %.1fs, %,.0f records/s",
+                                 phase.label, migrated, failed, seconds, (committed - resumedFrom) / seconds);
+        }
+    }
+    
+    /**
+     * Per-phase progress, saved in the staging folder after every batch
+     */
+    private static final class Checkpoint {
+        private final File file;
+        private final YamlConfiguration data;
+        
+        private Checkpoint(File file, YamlConfiguration data) {
+            this.file = file;
+            this.data = data;
+        }
+        
+        private synchronized void start() throws IOException {
+            data.set("started", System.currentTimeMillis());
+            data.save(file);
+        }
+        
+        private synchronized long getRecords(Phase phase) {
+            return data.getLong(phase.name + ".records", 0);
+        }
+        
+        private synchronized long getMigrated(Phase phase) {
+            return data.getLong(phase.name + ".migrated", 0);
+        }
+        
+        private synchronized long getFailed(Phase phase) {
+            return data.getLong(phase.name + ".failed", 0);
+        }
+        
+        private synchronized boolean isComplete(Phase phase) {
+            return data.getBoolean(phase.name + ".complete", false);
+        }
+        
+        private synchronized void record(Phase phase, long records, long migrated, long failed) throws IOException {
+            data.set(phase.name + ".records", records);
+            data.set(phase.name + ".migrated", migrated);
+            data.set(phase.name + ".failed", failed);
+            data.save(file);
+        }
+        
+        private synchronized void complete(Phase phase) throws IOException {
+            data.set(phase.name + ".complete", true);
+            data.save(file);
+        }
+        
+        private synchronized void delete() throws IOException {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.example.minecraftplugin.enums.GodType;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
+import java.io.File;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -261,23 +262,9 @@ public class DatabaseManager {
         
         return CompletableFuture.supplyAsync(() -> {
             try {
-                String command = String.format("mysqldump -u %s -p%s %s > %s",
-                    plugin.getConfig().getString("database.username"),
-                    plugin.getConfig().getString("database.password"),
-                    getDatabaseName(),
-                    backupPath
-                );
-                
-                Process process = Runtime.getRuntime().exec(command);
-                int exitCode = process.waitFor();
-                
-                if (exitCode == 0) {
-                    logger.info("Database backup completed: " + backupPath);
-                    return true;
-                } else {
-                    logger.warning("Database backup failed with exit code: " + exitCode);
-                    return false;
-                }
+                createSnapshotTool().export(new File(backupPath), DatabaseSnapshot.PLUGIN_TABLES, List.of());
+                logger.info("Database backup completed: " + backupPath);
+                return true;
             } catch (Exception e) {
                 logger.severe("Database backup error: " + e.getMessage());
                 return false;
@@ -285,6 +272,15 @@ public class DatabaseManager {
         });
     }
     
+    /**
+     * Snapshot tool over this database, or over data files only when the database is disabled
+     */
+    public DatabaseSnapshot createSnapshotTool() {
+        return new DatabaseSnapshot(isDatabaseEnabled() ? this::getConnection : null, logger,
+                                    plugin.getConfig().getInt("database.backup.chunk_rows", 10000),
+                                    plugin.getConfig().getInt("database.backup.restore_parallelism", 4));
+    }
+    
     /**
      * Serialize object to JSON string
      */
@@ -303,14 +299,6 @@ public class DatabaseManager {
         return json;
     }
     
-    /**
-     * Get database name from URL
-     */
-    private String getDatabaseName() {
-        String url = plugin.getConfig().getString("database.url", "");
-        return url.substring(url.lastIndexOf("/") + 1);
-    }
-    
     /**
      * Check if database is enabled and available
      */
@@ -194,6 +194,83 @@ public class DatabaseMigrator {
             )
             """));
         
+        // Lets YAML migration re-insert raid records idempotently
+        migrations.add(new Migration("008_add_raid_completion_source", """
+            ALTER TABLE raid_completions
+                ADD COLUMN source_record VARCHAR(100) NULL,
+                ADD UNIQUE INDEX idx_source_record (source_record)
+            """));
+        
+        // Cross-server message queue, polled by each server for its own rows
+        migrations.add(new Migration("009_create_cross_server_messages", """
+            CREATE TABLE IF NOT EXISTS cross_server_messages (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                from_server VARCHAR(100) NOT NULL,
+                to_server VARCHAR(100) NOT NULL,
+                message_type VARCHAR(50) NOT NULL,
+                data MEDIUMTEXT NOT NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                INDEX idx_to_server (to_server, id),
+                INDEX idx_created_at (created_at)
+            )
+            """));
+        
+        // Server registry table
+        migrations.add(new Migration("010_create_server_registry", """
+            CREATE TABLE IF NOT EXISTS server_registry (
+                server_id VARCHAR(100) PRIMARY KEY,
+                name VARCHAR(100) NOT NULL,
+                address VARCHAR(255) NOT NULL,
+                port INT NOT NULL,
+                max_players INT DEFAULT 0,
+                online_players INT DEFAULT 0,
+                last_heartbeat TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                status VARCHAR(20) NOT NULL,
+                INDEX idx_status_heartbeat (status, last_heartbeat)
+            )
+            """));
+        
+        // Cross-server raid definitions table
+        migrations.add(new Migration("011_create_cross_server_raids", """
+            CREATE TABLE IF NOT EXISTS cross_server_raids (
+                raid_id VARCHAR(50) PRIMARY KEY,
+                name VARCHAR(100) NOT NULL,
+                description TEXT,
+                tier VARCHAR(30) NOT NULL,
+                min_players INT NOT NULL,
+                max_players INT NOT NULL,
+                min_servers INT NOT NULL,
+                max_servers INT NOT NULL,
+                time_limit INT NOT NULL,
+                objective TEXT
+            )
+            """));
+        
+        // Cross-server raid instances table
+        migrations.add(new Migration("012_create_cross_server_raid_instances", """
+            CREATE TABLE IF NOT EXISTS cross_server_raid_instances (
+                instance_id VARCHAR(64) PRIMARY KEY,
+                raid_id VARCHAR(50) NOT NULL,
+                initiating_server VARCHAR(100) NOT NULL,
+                status VARCHAR(30) NOT NULL,
+                current_phase INT DEFAULT 0,
+                objectives_completed BIGINT DEFAULT 0,
+                min_players INT NOT NULL,
+                max_players INT NOT NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                updated_at TIMESTAMP NULL,
+                INDEX idx_raid_id (raid_id),
+                INDEX idx_status (status)
+            )
+            """));
+        
+        migrations.add(new Migration("013_add_server_registry_leases", """
+            ALTER TABLE server_registry
+                ADD COLUMN heartbeat_seq BIGINT DEFAULT 0,
+                ADD COLUMN mspt DOUBLE DEFAULT 0,
+                ADD COLUMN lease_ms INT DEFAULT 60000
+            """));
+        
         return migrations;
     }
     
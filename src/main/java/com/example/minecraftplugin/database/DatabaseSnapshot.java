@@ -0,0 +1,752 @@
+package com.example.minecraftplugin.database;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * In-process snapshot export and restore for plugin data.
+ *
+ * A snapshot is a zip archive. Every table is read through a single forward-only
+ * cursor inside one repeatable-read transaction, so all tables come from the
+ * same point in time, and written as chunks of at most chunkRows rows; memory
+ * use does not depend on table size. Data files (the YAML backend) are stored
+ * the same way in fixed-size byte chunks. Each chunk's SHA-256 and row count go
+ * into a manifest that is written last, so an archive that was cut off has no
+ * manifest and is refused.
+ *
+ * Restore checks every chunk against the manifest before anything is changed.
+ * Data files are then staged beside their targets, and the tables are emptied
+ * and reloaded in a single transaction while worker threads decode the chunks
+ * ahead of the insert; the staged files replace the originals only after that
+ * transaction commits, so a failed restore leaves the old data in place. Only plain JDBC is used, apart from MySQL's consistent snapshot
+ * statement when the server is MySQL, so it also runs against an embedded
+ * database.
+ */
+public class DatabaseSnapshot {
+
+    public static final List<String> PLUGIN_TABLES = List.of(
+        "player_data", "raid_completions", "guild_data", "divine_council",
+        "council_proposals", "transcendence_progress", "cross_server_sync");
+
+    private static final String MANIFEST = "manifest.properties";
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_CHUNK_BYTES = 4 * 1024 * 1024;
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_]+");
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_.-]+");
+
+    // Value tags in row chunks
+    private static final int NULL = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int STRING = 3;
+    private static final int BYTES = 4;
+    private static final int TIMESTAMP = 5;
+    private static final int BOOLEAN = 6;
+    private static final int DECIMAL = 7;
+
+    /**
+     * Where connections come from; DatabaseManager::getConnection on a server
+     */
+    @FunctionalInterface
+    public interface ConnectionSource {
+        Connection getConnection() throws SQLException;
+    }
+
+    private final ConnectionSource connections;
+    private final Logger logger;
+    private final int chunkRows;
+    private final int parallelism;
+
+    /**
+     * @param connections database to snapshot, or null when only data files are stored
+     */
+    public DatabaseSnapshot(ConnectionSource connections, Logger logger, int chunkRows, int parallelism) {
+        this.connections = connections;
+        this.logger = logger;
+        this.chunkRows = Math.max(1, chunkRows);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Write the given tables and data files to the archive. The archive only
+     * appears once it is complete.
+     */
+    public Summary export(File archive, List<String> tables, List<File> files) throws IOException, SQLException {
+        if (!tables.isEmpty() && connections == null) {
+            throw new SQLException("Database not available");
+        }
+
+        long start = System.currentTimeMillis();
+        Summary summary = new Summary();
+        Properties manifest = new Properties();
+        manifest.setProperty("format", Integer.toString(FORMAT_VERSION));
+        manifest.setProperty("created", Long.toString(start));
+
+        archive.getAbsoluteFile().getParentFile().mkdirs();
+        File temp = new File(archive.getAbsoluteFile().getParentFile(), archive.getName() + ".tmp");
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            if (!tables.isEmpty()) {
+                exportTables(zip, manifest, tables, summary);
+            }
+
+            List<String> fileNames = new ArrayList<>();
+            for (File file : files) {
+                if (file.isFile()) {
+                    exportFile(zip, manifest, file, summary);
+                    fileNames.add(file.getName());
+                }
+            }
+            manifest.setProperty("tables", String.join(",", tables));
+            manifest.setProperty("files", String.join(",", fileNames));
+
+            zip.putNextEntry(new ZipEntry(MANIFEST));
+            manifest.store(zip, "Testament snapshot");
+            zip.closeEntry();
+        } catch (IOException | SQLException e) {
+            Files.deleteIfExists(temp.toPath());
+            throw e;
+        }
+        Files.move(temp.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        summary.elapsedMillis = System.currentTimeMillis() - start;
+        summary.archiveBytes = archive.length();
+        logger.info("Snapshot written to " + archive.getName() + ": " + summary);
+        return summary;
+    }
+
+    private void exportTables(ZipOutputStream zip, Properties manifest, List<String> tables, Summary summary)
+            throws IOException, SQLException {
+        try (Connection conn = connections.getConnection()) {
+            boolean mysql = conn.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql")
+                || conn.getMetaData().getDatabaseProductName().toLowerCase().contains("mariadb");
+
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            conn.setAutoCommit(false);
+            try {
+                if (mysql) {
+                    try (Statement stmt = conn.createStatement()) {
+                        stmt.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT");
+                    }
+                }
+                for (String table : tables) {
+                    exportTable(conn, mysql, zip, manifest, checkIdentifier(table), summary);
+                }
+            } finally {
+                conn.rollback(); // Read only; just end the transaction
+            }
+        }
+    }
+
+    private void exportTable(Connection conn, boolean mysql, ZipOutputStream zip, Properties manifest, String table,
+                             Summary summary) throws IOException, SQLException {
+        try (Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // MySQL only streams rows with this fetch size; anything else buffers the whole table
+            stmt.setFetchSize(mysql ? Integer.MIN_VALUE : chunkRows);
+
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM " + table)) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columnCount = meta.getColumnCount();
+                String[] columns = new String[columnCount];
+                int[] kinds = new int[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    columns[i] = meta.getColumnName(i + 1);
+                    kinds[i] = kindOf(meta.getColumnType(i + 1));
+                }
+
+                int chunks = 0;
+                long rows = 0;
+                ChunkWriter chunk = null;
+                while (rs.next()) {
+                    if (chunk == null) {
+                        chunk = new ChunkWriter(zip, tableChunk(table, chunks));
+                    }
+                    writeRow(chunk.data, rs, kinds);
+                    chunk.rows++;
+                    rows++;
+                    if (chunk.rows == chunkRows) {
+                        chunk.close(manifest);
+                        chunk = null;
+                        chunks++;
+                    }
+                }
+                if (chunk != null) {
+                    chunk.close(manifest);
+                    chunks++;
+                }
+
+                manifest.setProperty("table." + table + ".columns", String.join(",", columns));
+                manifest.setProperty("table." + table + ".chunks", Integer.toString(chunks));
+                manifest.setProperty("table." + table + ".rows", Long.toString(rows));
+                summary.tables++;
+                summary.rows += rows;
+                summary.chunks += chunks;
+            }
+        }
+    }
+
+    private void exportFile(ZipOutputStream zip, Properties manifest, File file, Summary summary) throws IOException {
+        String name = checkFileName(file.getName());
+        int chunks = 0;
+        long bytes = 0;
+        byte[] buffer = new byte[64 * 1024];
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            boolean more = true;
+            while (more) {
+                ChunkWriter chunk = new ChunkWriter(zip, fileChunk(name, chunks));
+                int chunkBytes = 0;
+                while (chunkBytes < FILE_CHUNK_BYTES) {
+                    int read = in.read(buffer, 0, Math.min(buffer.length, FILE_CHUNK_BYTES - chunkBytes));
+                    if (read < 0) {
+                        more = false;
+                        break;
+                    }
+                    chunk.data.write(buffer, 0, read);
+                    chunkBytes += read;
+                }
+                chunk.rows = chunkBytes;
+                chunk.close(manifest);
+                chunks++;
+                bytes += chunkBytes;
+            }
+        }
+
+        manifest.setProperty("file." + name + ".chunks", Integer.toString(chunks));
+        manifest.setProperty("file." + name + ".bytes", Long.toString(bytes));
+        summary.files++;
+        summary.chunks += chunks;
+    }
+
+    /**
+     * Restore a snapshot: tables are emptied and reloaded, data files are
+     * replaced in fileFolder. Nothing is changed if any chunk fails its checksum
+     * or the tables cannot be loaded.
+     */
+    public Summary restore(File archive, File fileFolder) throws IOException, SQLException {
+        long start = System.currentTimeMillis();
+        Summary summary = new Summary();
+
+        try (ZipFile zip = new ZipFile(archive)) {
+            ZipEntry manifestEntry = zip.getEntry(MANIFEST);
+            if (manifestEntry == null) {
+                throw new IOException(archive.getName() + " is not a complete snapshot");
+            }
+            Properties manifest = new Properties();
+            try (InputStream in = zip.getInputStream(manifestEntry)) {
+                manifest.load(in);
+            }
+            if (!Integer.toString(FORMAT_VERSION).equals(manifest.getProperty("format"))) {
+                throw new IOException("Unsupported snapshot format " + manifest.getProperty("format"));
+            }
+
+            List<String> tables = split(manifest.getProperty("tables"));
+            List<String> files = split(manifest.getProperty("files"));
+            if (!tables.isEmpty() && connections == null) {
+                throw new SQLException("Snapshot contains database tables but the database is not available");
+            }
+
+            List<String> entries = new ArrayList<>();
+            for (String table : tables) {
+                int chunks = Integer.parseInt(manifest.getProperty("table." + checkIdentifier(table) + ".chunks"));
+                for (int i = 0; i < chunks; i++) {
+                    entries.add(tableChunk(table, i));
+                }
+            }
+            for (String name : files) {
+                int chunks = Integer.parseInt(manifest.getProperty("file." + checkFileName(name) + ".chunks"));
+                for (int i = 0; i < chunks; i++) {
+                    entries.add(fileChunk(name, i));
+                }
+            }
+
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "Testament-Snapshot-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                // Refuse a damaged archive before anything is deleted
+                List<Callable<Void>> checks = new ArrayList<>();
+                for (String entry : entries) {
+                    checks.add(() -> {
+                        readChunk(zip, manifest, entry, in -> in.transferTo(OutputStream.nullOutputStream()));
+                        return null;
+                    });
+                }
+                runAll(workers, checks);
+
+                // Files are staged next to their targets and only moved in once the tables commit
+                List<Callable<Void>> stages = new ArrayList<>();
+                for (String name : files) {
+                    int chunks = Integer.parseInt(manifest.getProperty("file." + name + ".chunks"));
+                    stages.add(() -> {
+                        stageFile(zip, manifest, name, chunks, fileFolder);
+                        return null;
+                    });
+                    summary.files++;
+                    summary.chunks += chunks;
+                }
+                boolean restored = false;
+                try {
+                    runAll(workers, stages);
+                    if (!tables.isEmpty()) {
+                        loadTables(zip, manifest, tables, workers, summary);
+                    }
+                    for (String name : files) {
+                        Files.move(stagedFile(fileFolder, name).toPath(), new File(fileFolder, name).toPath(),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                    restored = true;
+                } finally {
+                    if (!restored) {
+                        for (String name : files) {
+                            Files.deleteIfExists(stagedFile(fileFolder, name).toPath());
+                        }
+                    }
+                }
+            } finally {
+                workers.shutdown();
+            }
+        }
+
+        summary.elapsedMillis = System.currentTimeMillis() - start;
+        summary.archiveBytes = archive.length();
+        logger.info("Snapshot " + archive.getName() + " restored: " + summary);
+        return summary;
+    }
+
+    /**
+     * Empty the tables and load every chunk in one transaction, so a failure
+     * leaves the tables as they were. Chunks are decoded on the workers a few
+     * ahead of the connection inserting them.
+     */
+    private void loadTables(ZipFile zip, Properties manifest, List<String> tables, ExecutorService workers,
+                            Summary summary) throws IOException, SQLException {
+        try (Connection conn = connections.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    for (String table : tables) {
+                        stmt.executeUpdate("DELETE FROM " + table);
+                    }
+                }
+
+                for (String table : tables) {
+                    String[] columns = manifest.getProperty("table." + table + ".columns").split(",");
+                    for (String column : columns) {
+                        checkIdentifier(column);
+                    }
+                    int chunks = Integer.parseInt(manifest.getProperty("table." + table + ".chunks"));
+
+                    String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+                    String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")";
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        Deque<Future<List<Object[]>>> decoded = new ArrayDeque<>();
+                        int next = 0;
+                        while (next < chunks || !decoded.isEmpty()) {
+                            while (next < chunks && decoded.size() < parallelism) {
+                                String entry = tableChunk(table, next++);
+                                decoded.add(workers.submit(() -> readRows(zip, manifest, columns.length, entry)));
+                            }
+                            for (Object[] row : await(decoded.poll())) {
+                                for (int c = 0; c < row.length; c++) {
+                                    stmt.setObject(c + 1, row[c]);
+                                }
+                                stmt.addBatch();
+                            }
+                            stmt.executeBatch();
+                        }
+                    }
+                    summary.tables++;
+                    summary.rows += Long.parseLong(manifest.getProperty("table." + table + ".rows"));
+                    summary.chunks += chunks;
+                }
+                conn.commit();
+            } catch (IOException | SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private List<Object[]> readRows(ZipFile zip, Properties manifest, int columnCount, String entry) throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        readChunk(zip, manifest, entry, in -> {
+            DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+            long expected = Long.parseLong(manifest.getProperty("chunk." + entry + ".rows"));
+            for (long r = 0; r < expected; r++) {
+                Object[] row = new Object[columnCount];
+                for (int c = 0; c < columnCount; c++) {
+                    row[c] = readValue(data);
+                }
+                rows.add(row);
+            }
+            if (data.read() != -1) {
+                throw new IOException(entry + " has more rows than its manifest says");
+            }
+        });
+        return rows;
+    }
+
+    private void stageFile(ZipFile zip, Properties manifest, String name, int chunks, File folder) throws IOException {
+        folder.mkdirs();
+        File temp = stagedFile(folder, name);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp))) {
+            for (int i = 0; i < chunks; i++) {
+                readChunk(zip, manifest, fileChunk(name, i), in -> in.transferTo(out));
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp.toPath());
+            throw e;
+        }
+    }
+
+    private static File stagedFile(File folder, String name) {
+        return new File(folder, name + ".restore");
+    }
+
+    /**
+     * Read one chunk through the handler, then check its SHA-256 against the manifest
+     */
+    private static void readChunk(ZipFile zip, Properties manifest, String entryName, ChunkReader reader) throws IOException {
+        ZipEntry entry = zip.getEntry(entryName);
+        String expected = manifest.getProperty("chunk." + entryName + ".sha256");
+        if (entry == null || expected == null) {
+            throw new IOException("Snapshot is missing " + entryName);
+        }
+
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(zip.getInputStream(entry), digest)) {
+            reader.read(in);
+            in.transferTo(OutputStream.nullOutputStream()); // Whatever the reader left still counts
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equals(expected)) {
+            throw new IOException("Checksum mismatch in " + entryName);
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException, SQLException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new IOException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+
+    private static void runAll(ExecutorService workers, List<Callable<Void>> tasks) throws IOException, SQLException {
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> task : tasks) {
+            futures.add(workers.submit(task));
+        }
+
+        Throwable failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+        }
+
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof SQLException) {
+            throw (SQLException) failure;
+        } else if (failure != null) {
+            throw new IOException(failure);
+        }
+    }
+
+    private static int kindOf(int sqlType) {
+        switch (sqlType) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return BOOLEAN;
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return LONG;
+            case Types.FLOAT:
+            case Types.REAL:
+            case Types.DOUBLE:
+                return DOUBLE;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return DECIMAL;
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return TIMESTAMP;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return BYTES;
+            default:
+                return STRING; // Text, JSON and anything else round-trips as a string
+        }
+    }
+
+    private static void writeRow(DataOutputStream out, ResultSet rs, int[] kinds) throws IOException, SQLException {
+        for (int i = 0; i < kinds.length; i++) {
+            int column = i + 1;
+            switch (kinds[i]) {
+                case BOOLEAN: {
+                    boolean value = rs.getBoolean(column);
+                    if (rs.wasNull()) {
+                        out.writeByte(NULL);
+                    } else {
+                        out.writeByte(BOOLEAN);
+                        out.writeBoolean(value);
+                    }
+                    break;
+                }
+                case LONG: {
+                    long value = rs.getLong(column);
+                    if (rs.wasNull()) {
+                        out.writeByte(NULL);
+                    } else {
+                        out.writeByte(LONG);
+                        out.writeLong(value);
+                    }
+                    break;
+                }
+                case DOUBLE: {
+                    double value = rs.getDouble(column);
+                    if (rs.wasNull()) {
+                        out.writeByte(NULL);
+                    } else {
+                        out.writeByte(DOUBLE);
+                        out.writeDouble(value);
+                    }
+                    break;
+                }
+                case DECIMAL: {
+                    BigDecimal value = rs.getBigDecimal(column);
+                    writeText(out, DECIMAL, value == null ? null : value.toPlainString());
+                    break;
+                }
+                case TIMESTAMP: {
+                    Timestamp value = rs.getTimestamp(column);
+                    if (value == null) {
+                        out.writeByte(NULL);
+                    } else {
+                        out.writeByte(TIMESTAMP);
+                        out.writeLong(value.getTime());
+                        out.writeInt(value.getNanos());
+                    }
+                    break;
+                }
+                case BYTES: {
+                    byte[] value = rs.getBytes(column);
+                    if (value == null) {
+                        out.writeByte(NULL);
+                    } else {
+                        out.writeByte(BYTES);
+                        out.writeInt(value.length);
+                        out.write(value);
+                    }
+                    break;
+                }
+                default:
+                    writeText(out, STRING, rs.getString(column));
+                    break;
+            }
+        }
+    }
+
+    private static void writeText(DataOutputStream out, int tag, String value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(tag);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return in.readBoolean();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case DECIMAL:
+                return new BigDecimal(new String(readBytes(in), StandardCharsets.UTF_8));
+            case STRING:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            case TIMESTAMP: {
+                Timestamp value = new Timestamp(in.readLong());
+                value.setNanos(in.readInt());
+                return value;
+            }
+            case BYTES:
+                return readBytes(in);
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static String tableChunk(String table, int index) {
+        return String.format("tables/%s/%05d.rows", table, index);
+    }
+
+    private static String fileChunk(String name, int index) {
+        return String.format("files/%s/%05d.part", name, index);
+    }
+
+    private static String checkIdentifier(String name) throws IOException {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IOException("Invalid table or column name: " + name);
+        }
+        return name;
+    }
+
+    private static String checkFileName(String name) throws IOException {
+        if (!FILE_NAME.matcher(name).matches() || name.startsWith(".")) {
+            throw new IOException("Invalid file name: " + name);
+        }
+        return name;
+    }
+
+    private static List<String> split(String list) {
+        return list == null || list.isEmpty() ? List.of() : Arrays.asList(list.split(","));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Every JVM ships SHA-256
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkReader {
+        void read(InputStream in) throws IOException;
+    }
+
+    /**
+     * One zip entry being written, with its running checksum
+     */
+    private static final class ChunkWriter {
+        private final ZipOutputStream zip;
+        private final String name;
+        private final MessageDigest digest;
+        private final DataOutputStream data;
+        private long rows; // Rows, or bytes for file chunks
+
+        private ChunkWriter(ZipOutputStream zip, String name) throws IOException {
+            this.zip = zip;
+            this.name = name;
+            this.digest = sha256();
+            zip.putNextEntry(new ZipEntry(name));
+            // Closing this stream would close the archive, so it is only ever flushed
+            this.data = new DataOutputStream(new BufferedOutputStream(new DigestOutputStream(zip, digest)));
+        }
+
+        private void close(Properties manifest) throws IOException {
+            data.flush();
+            zip.closeEntry();
+            manifest.setProperty("chunk." + name + ".sha256", HexFormat.of().formatHex(digest.digest()));
+            manifest.setProperty("chunk." + name + ".rows", Long.toString(rows));
+        }
+    }
+
+    /**
+     * What an export or restore covered
+     */
+    public static final class Summary {
+        private int tables;
+        private long rows;
+        private int files;
+        private int chunks;
+        private long archiveBytes;
+        private long elapsedMillis;
+
+        public int getTables() { return tables; }
+        public long getRows() { return rows; }
+        public int getFiles() { return files; }
+        public int getChunks() { return chunks; }
+        public long getArchiveBytes() { return archiveBytes; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("%d tables, %,d rows, %d files in %d chunks (%,d KB) in %.1fs",
+                                 tables, rows, files, chunks, archiveBytes / 1024, elapsedMillis / 1000.0);
+        }
+    }
+}
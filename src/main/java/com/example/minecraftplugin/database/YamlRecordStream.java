@@ -0,0 +1,182 @@
+package com.example.minecraftplugin.database;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the entries of one top-level section of a YAML data file one at a time.
+ *
+ * YamlConfiguration builds the whole file in memory before anything can be read
+ * from it. This walks the parser's event stream instead, so only the record
+ * being handled is ever materialised, however large the file is. Records are
+ * handed over in file order as plain maps, lists and scalars, with unquoted
+ * scalars resolved to Boolean, Integer, Long or Double the way the Bukkit
+ * loader would.
+ */
+public final class YamlRecordStream {
+
+    private static final Pattern INTEGER = Pattern.compile("[-+]?[0-9]+");
+    private static final Pattern DECIMAL = Pattern.compile("[-+]?([0-9]+\\.[0-9]*|\\.[0-9]+)([eE][-+]?[0-9]+)?");
+
+    /**
+     * Receives records in file order
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        /**
+         * @param index position of the record in the section, counting skipped records
+         * @param key the record's key
+         * @param value the record, usually a Map
+         */
+        void accept(long index, String key, Object value) throws Exception;
+    }
+
+    private YamlRecordStream() {
+    }
+
+    /**
+     * Stream the entries of the top-level section, skipping the first skip of
+     * them without building them. Returns the number of entries in the section.
+     */
+    public static long forEach(File file, String section, long skip, RecordHandler handler) throws Exception {
+        LoaderOptions options = new LoaderOptions();
+        options.setCodePointLimit(Integer.MAX_VALUE); // Data files can be far past the 3 MB default
+        Yaml yaml = new Yaml(options);
+
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Iterator<Event> events = yaml.parse(reader).iterator();
+            if (!seek(events, Event.ID.MappingStart)) {
+                return 0; // Empty file or not a mapping
+            }
+
+            long index = 0;
+            while (events.hasNext()) {
+                Event keyEvent = events.next();
+                if (keyEvent.is(Event.ID.MappingEnd)) {
+                    break;
+                }
+                Event valueEvent = events.next();
+                if (!section.equals(scalarText(keyEvent)) || !valueEvent.is(Event.ID.MappingStart)) {
+                    skipNode(events, valueEvent);
+                    continue;
+                }
+
+                Event entry;
+                while (!(entry = events.next()).is(Event.ID.MappingEnd)) {
+                    String key = scalarText(entry);
+                    Event value = events.next();
+                    if (index < skip) {
+                        skipNode(events, value);
+                    } else {
+                        handler.accept(index, key, buildNode(events, value));
+                    }
+                    index++;
+                }
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Count the entries of the top-level section without building any of them
+     */
+    public static long count(File file, String section) throws Exception {
+        return forEach(file, section, Long.MAX_VALUE, (index, key, value) -> { });
+    }
+
+    private static boolean seek(Iterator<Event> events, Event.ID id) {
+        while (events.hasNext()) {
+            if (events.next().is(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object buildNode(Iterator<Event> events, Event first) throws IOException {
+        if (first.is(Event.ID.Scalar)) {
+            return resolve((ScalarEvent) first);
+        }
+        if (first.is(Event.ID.MappingStart)) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            Event key;
+            while (!(key = events.next()).is(Event.ID.MappingEnd)) {
+                String name = key.is(Event.ID.Scalar) ? ((ScalarEvent) key).getValue() : String.valueOf(buildNode(events, key));
+                map.put(name, buildNode(events, events.next()));
+            }
+            return map;
+        }
+        if (first.is(Event.ID.SequenceStart)) {
+            List<Object> list = new ArrayList<>();
+            Event item;
+            while (!(item = events.next()).is(Event.ID.SequenceEnd)) {
+                list.add(buildNode(events, item));
+            }
+            return list;
+        }
+        if (first.is(Event.ID.Alias)) {
+            return null; // Bukkit never writes anchors into data files
+        }
+        throw new IOException("Unexpected YAML event " + first);
+    }
+
+    private static void skipNode(Iterator<Event> events, Event first) {
+        int depth = first.is(Event.ID.MappingStart) || first.is(Event.ID.SequenceStart) ? 1 : 0;
+        while (depth > 0) {
+            Event event = events.next();
+            if (event.is(Event.ID.MappingStart) || event.is(Event.ID.SequenceStart)) {
+                depth++;
+            } else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+                depth--;
+            }
+        }
+    }
+
+    private static String scalarText(Event event) {
+        return event.is(Event.ID.Scalar) ? ((ScalarEvent) event).getValue() : null;
+    }
+
+    private static Object resolve(ScalarEvent scalar) {
+        String value = scalar.getValue();
+        if (scalar.getScalarStyle() != DumperOptions.ScalarStyle.PLAIN) {
+            return value; // Quoted or block scalars are always strings
+        }
+
+        if (value.isEmpty() || value.equals("~") || value.equalsIgnoreCase("null")) {
+            return null;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return Boolean.TRUE;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return Boolean.FALSE;
+        }
+        if (INTEGER.matcher(value).matches()) {
+            try {
+                long number = Long.parseLong(value);
+                return number == (int) number ? Integer.valueOf((int) number) : Long.valueOf(number);
+            } catch (NumberFormatException e) {
+                return value; // Too large for a long
+            }
+        }
+        if (DECIMAL.matcher(value).matches()) {
+            return Double.valueOf(value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.minecraftplugin.effects;
+
+import com.example.minecraftplugin.MinecraftPlugin;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Keeps each player's plugin-granted potion effects in line with what the plugin wants.
+ *
+ * Divine item passives, ascension and transcendence each publish the effects they
+ * want as a named contribution. Contributions are merged per effect type by highest
+ * amplifier and compared with the player's active effects, and a packet is only sent
+ * when an effect is missing, needs upgrading or downgrading, or is about to run out.
+ * Effects the reconciler granted are removed once no source wants them any more.
+ *
+ * Timed effects are granted for GRANT_DURATION_TICKS and refreshed when fewer than
+ * REFRESH_BELOW_TICKS remain, instead of being re-sent on every source cycle.
+ */
+public class PotionEffectReconciler {
+
+    // Lifetime for contributions that stay until the source replaces or clears them
+    public static final int UNTIL_CLEARED = -1;
+
+    private static final int GRANT_DURATION_TICKS = 300;
+    private static final int REFRESH_BELOW_TICKS = 100;
+    private static final long RECONCILE_INTERVAL_TICKS = 20L;
+
+    private final MinecraftPlugin plugin;
+    private final Logger logger;
+
+    // Only touched on the main thread
+    private final Map<UUID, PlayerEffects> players;
+    private long effectPackets;
+    private long skippedUpdates;
+
+    public PotionEffectReconciler(MinecraftPlugin plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.players = new HashMap<>();
+
+        startReconcileTask();
+        logger.info("Potion Effect Reconciler initialized");
+    }
+
+    /**
+     * Replace a source's desired effects for a player and reconcile immediately.
+     * The contribution lapses after lifetimeTicks unless the source renews it,
+     * or lasts until cleared with UNTIL_CLEARED.
+     */
+    public void update(Player player, String source, Collection<PotionEffect> effects, int lifetimeTicks) {
+        PlayerEffects state = players.computeIfAbsent(player.getUniqueId(), k -> new PlayerEffects());
+
+        if (effects.isEmpty()) {
+            state.contributions.remove(source);
+        } else {
+            long expiresAt = lifetimeTicks == UNTIL_CLEARED ? Long.MAX_VALUE : currentTick() + lifetimeTicks;
+            state.contributions.put(source, new Contribution(mergeByType(effects), expiresAt));
+        }
+
+        reconcile(player, state);
+    }
+
+    /**
+     * Withdraw a source's effects for a player
+     */
+    public void clear(Player player, String source) {
+        PlayerEffects state = players.get(player.getUniqueId());
+        if (state != null && state.contributions.remove(source) != null) {
+            reconcile(player, state);
+        }
+    }
+
+    /**
+     * Forget a player who is leaving and take back the effects the reconciler
+     * granted, so they are not saved with the player and kept on the next join
+     */
+    public void removePlayer(Player player) {
+        PlayerEffects state = players.remove(player.getUniqueId());
+        if (state == null) {
+            return;
+        }
+
+        for (Map.Entry<PotionEffectType, Integer> entry : state.granted.entrySet()) {
+            PotionEffect active = player.getPotionEffect(entry.getKey());
+            if (active != null && active.getAmplifier() == entry.getValue()) {
+                player.removePotionEffect(entry.getKey());
+            }
+        }
+    }
+
+    private void startReconcileTask() {
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                Iterator<Map.Entry<UUID, PlayerEffects>> iterator = players.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<UUID, PlayerEffects> entry = iterator.next();
+                    Player player = plugin.getServer().getPlayer(entry.getKey());
+                    if (player == null) {
+                        iterator.remove();
+                        continue;
+                    }
+
+                    reconcile(player, entry.getValue());
+                    if (entry.getValue().isIdle()) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }.runTaskTimer(plugin, RECONCILE_INTERVAL_TICKS, RECONCILE_INTERVAL_TICKS);
+    }
+
+    /**
+     * Bring the player's active effects in line with the merged contributions
+     */
+    private void reconcile(Player player, PlayerEffects state) {
+        long now = currentTick();
+        state.contributions.values().removeIf(contribution -> contribution.expiresAt <= now);
+
+        Map<PotionEffectType, PotionEffect> desired = new HashMap<>();
+        for (Contribution contribution : state.contributions.values()) {
+            for (PotionEffect effect : contribution.effects.values()) {
+                desired.merge(effect.getType(), effect, PotionEffectReconciler::stronger);
+            }
+        }
+
+        // Grant, upgrade, downgrade or refresh desired effects
+        for (PotionEffect wanted : desired.values()) {
+            PotionEffectType type = wanted.getType();
+            PotionEffect active = player.getPotionEffect(type);
+            Integer granted = state.granted.get(type);
+
+            boolean send;
+            if (active == null) {
+                send = true;
+            } else if (active.getAmplifier() < wanted.getAmplifier()) {
+                send = true;
+            } else if (active.getAmplifier() > wanted.getAmplifier()) {
+                // Only step down effects we granted ourselves; a stronger potion is left alone
+                send = granted != null && granted == active.getAmplifier();
+                if (send) {
+                    player.removePotionEffect(type);
+                }
+            } else {
+                send = !isInfinite(active) && (isInfinite(wanted) || active.getDuration() < REFRESH_BELOW_TICKS);
+            }
+
+            if (send) {
+                player.addPotionEffect(toGrant(wanted));
+                state.granted.put(type, wanted.getAmplifier());
+                effectPackets++;
+            } else {
+                skippedUpdates++;
+            }
+        }
+
+        // Remove effects we granted that nobody wants any more
+        Iterator<Map.Entry<PotionEffectType, Integer>> grantedIterator = state.granted.entrySet().iterator();
+        while (grantedIterator.hasNext()) {
+            Map.Entry<PotionEffectType, Integer> entry = grantedIterator.next();
+            if (desired.containsKey(entry.getKey())) {
+                continue;
+            }
+
+            PotionEffect active = player.getPotionEffect(entry.getKey());
+            if (active != null && active.getAmplifier() == entry.getValue()) {
+                player.removePotionEffect(entry.getKey());
+                effectPackets++;
+            }
+            grantedIterator.remove();
+        }
+    }
+
+    private static Map<PotionEffectType, PotionEffect> mergeByType(Collection<PotionEffect> effects) {
+        Map<PotionEffectType, PotionEffect> merged = new HashMap<>();
+        for (PotionEffect effect : effects) {
+            merged.merge(effect.getType(), effect, PotionEffectReconciler::stronger);
+        }
+        return merged;
+    }
+
+    /**
+     * Higher amplifier wins; on a tie the longer effect wins
+     */
+    private static PotionEffect stronger(PotionEffect a, PotionEffect b) {
+        if (a.getAmplifier() != b.getAmplifier()) {
+            return a.getAmplifier() > b.getAmplifier() ? a : b;
+        }
+        if (isInfinite(a)) {
+            return a;
+        }
+        return isInfinite(b) || b.getDuration() > a.getDuration() ? b : a;
+    }
+
+    private static boolean isInfinite(PotionEffect effect) {
+        return effect.getDuration() < 0 || effect.getDuration() == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Stretch short source durations so the effect survives until the next refresh
+     */
+    private static PotionEffect toGrant(PotionEffect wanted) {
+        if (isInfinite(wanted) || wanted.getDuration() >= GRANT_DURATION_TICKS) {
+            return wanted;
+        }
+        return new PotionEffect(wanted.getType(), GRANT_DURATION_TICKS, wanted.getAmplifier(),
+            wanted.isAmbient(), wanted.hasParticles(), wanted.hasIcon());
+    }
+
+    private long currentTick() {
+        return plugin.getServer().getCurrentTick();
+    }
+
+    /**
+     * Get reconciler statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("tracked_players", players.size());
+        stats.put("effect_packets", effectPackets);
+        stats.put("skipped_updates", skippedUpdates);
+        return stats;
+    }
+
+    private static class PlayerEffects {
+        private final Map<String, Contribution> contributions = new HashMap<>();
+        private final Map<PotionEffectType, Integer> granted = new HashMap<>(); // Type -> amplifier we sent
+
+        private boolean isIdle() {
+            return contributions.isEmpty() && granted.isEmpty();
+        }
+    }
+
+    private static class Contribution {
+        private final Map<PotionEffectType, PotionEffect> effects;
+        private final long expiresAt;
+
+        private Contribution(Map<PotionEffectType, PotionEffect> effects, long expiresAt) {
+            this.effects = effects;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -38,7 +38,7 @@ public class VisualEffectsManager {
      * Check if effects are enabled in config
      */
     private boolean areEffectsEnabled() {
-        return plugin.getConfig().getBoolean("effects.enabled", true);
+        return plugin.getConfigManager().getSnapshot().main().isEffectsEnabled();
     }
     
     /**
@@ -4,8 +4,6 @@ import com.example.minecraftplugin.enums.GodType;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.enchantments.Enchantment;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
@@ -71,21 +69,12 @@ public class ChronosStaff extends DivineItem {
     
     @Override
     public boolean onRightClick(Player player, ItemStack item) {
-        List<Entity> nearbyEntities = player.getNearbyEntities(DILATION_RADIUS, DILATION_RADIUS, DILATION_RADIUS);
-        int affectedCount = 0;
-        
-        for (Entity entity : nearbyEntities) {
-            if (entity instanceof LivingEntity && !(entity instanceof Player)) {
-                LivingEntity target = (LivingEntity) entity;
-                
-                // Apply time dilation effects
-                target.addPotionEffect(new PotionEffect(PotionEffectType.SLOWNESS, EFFECT_DURATION, 2));
-                target.addPotionEffect(new PotionEffect(PotionEffectType.MINING_FATIGUE, EFFECT_DURATION, 1));
-                target.addPotionEffect(new PotionEffect(PotionEffectType.WEAKNESS, EFFECT_DURATION, 0));
-                
-                affectedCount++;
-            }
-        }
+        int affectedCount = forEachNearbyEnemy(player, DILATION_RADIUS, target -> {
+            // Apply time dilation effects
+            target.addPotionEffect(new PotionEffect(PotionEffectType.SLOWNESS, EFFECT_DURATION, 2));
+            target.addPotionEffect(new PotionEffect(PotionEffectType.MINING_FATIGUE, EFFECT_DURATION, 1));
+            target.addPotionEffect(new PotionEffect(PotionEffectType.WEAKNESS, EFFECT_DURATION, 0));
+        });
         
         if (affectedCount == 0) {
             player.sendMessage("§6§l⏰ Chronos Staff: §r§cNo enemies found to slow!");
@@ -109,12 +98,12 @@ public class ChronosStaff extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply haste for faster actions
-        player.addPotionEffect(new PotionEffect(PotionEffectType.HASTE, 60, 1, false, false));
+        effects.add(new PotionEffect(PotionEffectType.HASTE, 60, 1, false, false));
         
         // Apply saturation to represent slow aging
-        player.addPotionEffect(new PotionEffect(PotionEffectType.SATURATION, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.SATURATION, 60, 0, false, false));
     }
     
     @Override
@@ -4,7 +4,6 @@ import com.example.minecraftplugin.enums.GodType;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.enchantments.Enchantment;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -77,23 +76,12 @@ public class ConvergenceNexus extends DivineItem {
     
     @Override
     public boolean onRightClick(Player player, ItemStack item) {
-        List<Entity> nearbyEntities = player.getNearbyEntities(CONVERGENCE_RADIUS, CONVERGENCE_RADIUS, CONVERGENCE_RADIUS);
-        int alliesBlessed = 0;
-        int enemiesBanished = 0;
+        // Grant divine blessings to all players
+        int alliesBlessed = entityIndex().forEachInBox(player.getLocation(), CONVERGENCE_RADIUS, CONVERGENCE_RADIUS, CONVERGENCE_RADIUS,
+            Player.class, target -> target != player, this::grantDivineBlessings);
         
-        for (Entity entity : nearbyEntities) {
-            if (entity instanceof Player) {
-                Player target = (Player) entity;
-                // Grant divine blessings to all players
-                grantDivineBlessings(target);
-                alliesBlessed++;
-            } else if (entity instanceof LivingEntity) {
-                LivingEntity target = (LivingEntity) entity;
-                // Banish hostile entities
-                banishHostileEntity(player, target);
-                enemiesBanished++;
-            }
-        }
+        // Banish hostile entities
+        int enemiesBanished = forEachNearbyEnemy(player, CONVERGENCE_RADIUS, target -> banishHostileEntity(player, target));
         
         // Apply convergence effects to the user
         applyConvergenceEffects(player);
@@ -117,21 +105,21 @@ public class ConvergenceNexus extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply all divine passive effects combined
         
         // Fallen God effects
-        player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, 60, 2, false, false));
+        effects.add(new PotionEffect(PotionEffectType.REGENERATION, 60, 2, false, false));
         
         // Banishment God effects
-        player.addPotionEffect(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 60, 0, false, false));
         if (player.getFireTicks() > 0) {
             player.setFireTicks(0);
         }
         
         // Abyssal God effects
-        player.addPotionEffect(new PotionEffect(PotionEffectType.WATER_BREATHING, 60, 0, false, false));
-        player.addPotionEffect(new PotionEffect(PotionEffectType.DOLPHINS_GRACE, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.WATER_BREATHING, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.DOLPHINS_GRACE, 60, 0, false, false));
         
         // Sylvan God effects
         if (player.hasPotionEffect(PotionEffectType.POISON)) {
@@ -139,24 +127,24 @@ public class ConvergenceNexus extends DivineItem {
         }
         
         // Tempest God effects
-        player.addPotionEffect(new PotionEffect(PotionEffectType.SLOW_FALLING, 60, 0, false, false));
-        player.addPotionEffect(new PotionEffect(PotionEffectType.JUMP_BOOST, 60, 2, false, false));
-        player.addPotionEffect(new PotionEffect(PotionEffectType.SPEED, 60, 1, false, false));
+        effects.add(new PotionEffect(PotionEffectType.SLOW_FALLING, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.JUMP_BOOST, 60, 2, false, false));
+        effects.add(new PotionEffect(PotionEffectType.SPEED, 60, 1, false, false));
         
         // Veil God effects
         if (player.isSneaking()) {
-            player.addPotionEffect(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
+            effects.add(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
         }
-        player.addPotionEffect(new PotionEffect(PotionEffectType.RESISTANCE, 60, 1, false, false));
+        effects.add(new PotionEffect(PotionEffectType.RESISTANCE, 60, 1, false, false));
         
         // Forge God effects
-        player.addPotionEffect(new PotionEffect(PotionEffectType.STRENGTH, 60, 1, false, false));
-        player.addPotionEffect(new PotionEffect(PotionEffectType.HASTE, 60, 2, false, false));
+        effects.add(new PotionEffect(PotionEffectType.STRENGTH, 60, 1, false, false));
+        effects.add(new PotionEffect(PotionEffectType.HASTE, 60, 2, false, false));
         
         // Additional convergence effects
-        player.addPotionEffect(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
-        player.addPotionEffect(new PotionEffect(PotionEffectType.SATURATION, 60, 1, false, false));
-        player.addPotionEffect(new PotionEffect(PotionEffectType.ABSORPTION, 60, 3, false, false));
+        effects.add(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.SATURATION, 60, 1, false, false));
+        effects.add(new PotionEffect(PotionEffectType.ABSORPTION, 60, 3, false, false));
         
         // Remove all negative effects
         removeNegativeEffects(player);
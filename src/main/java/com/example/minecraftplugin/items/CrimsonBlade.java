@@ -89,7 +89,7 @@ public class CrimsonBlade extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         double currentHealth = player.getHealth();
         double maxHealth = player.getAttribute(org.bukkit.attribute.Attribute.MAX_HEALTH).getValue();
         double healthPercent = currentHealth / maxHealth;
@@ -97,12 +97,12 @@ public class CrimsonBlade extends DivineItem {
         // Blood Frenzy: More strength when injured
         if (healthPercent < 0.5) {
             int strengthLevel = healthPercent < 0.25 ? 1 : 0;
-            player.addPotionEffect(new PotionEffect(PotionEffectType.STRENGTH, 60, strengthLevel, false, false));
+            effects.add(new PotionEffect(PotionEffectType.STRENGTH, 60, strengthLevel, false, false));
         }
         
         // Combat regeneration when injured
         if (healthPercent < 0.75) {
-            player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, 60, 0, false, false));
+            effects.add(new PotionEffect(PotionEffectType.REGENERATION, 60, 0, false, false));
         }
         
         // Remove weakness effects (blood god doesn't get weak)
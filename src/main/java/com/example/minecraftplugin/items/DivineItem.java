@@ -1,16 +1,23 @@
 package com.example.minecraftplugin.items;
 
+import com.example.minecraftplugin.MinecraftPlugin;
 import com.example.minecraftplugin.enums.GodType;
+import com.example.minecraftplugin.enums.ItemRarity;
+import com.example.minecraftplugin.world.SpatialEntityIndex;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.potion.PotionEffect;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Abstract base class for all divine items associated with the Fallen Gods
@@ -45,13 +52,18 @@ public abstract class DivineItem {
             // Set display name
             meta.setDisplayName(displayName);
             
-            // Set lore
+            // Set lore; items of no single god (combinations, the nexus) carry none
             List<String> finalLore = new ArrayList<>(lore);
-            finalLore.add("");
-            finalLore.add("§7Divine Item of the " + godType.getDisplayName());
-            finalLore.add("§8" + godType.getTheme());
+            if (godType != null) {
+                finalLore.add("");
+                finalLore.add("§7Divine Item of the " + godType.getDisplayName());
+                finalLore.add("§8" + godType.getTheme());
+            }
             meta.setLore(finalLore);
             
+            // Forge data
+            DivineItemData.tag(meta, godType, ItemRarity.DIVINE, 0);
+            
             // Set unbreakable
             if (unbreakable) {
                 meta.setUnbreakable(true);
@@ -96,9 +108,27 @@ public abstract class DivineItem {
     public abstract boolean onRightClick(Player player, ItemStack item);
     
     /**
-     * Handle passive effects when item is held/worn
+     * Handle passive effects when item is held/worn. Potion effects are added to
+     * effects rather than applied; the caller hands them to the PotionEffectReconciler,
+     * which only sends those the player's active effects differ from.
+     */
+    public abstract void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects);
+    
+    /**
+     * Shared entity index for ability area queries; item classes have no plugin reference
      */
-    public abstract void applyPassiveEffects(Player player, ItemStack item);
+    protected static SpatialEntityIndex entityIndex() {
+        return JavaPlugin.getPlugin(MinecraftPlugin.class).getSpatialEntityIndex();
+    }
+    
+    /**
+     * Visit non-player living entities within radius blocks on each axis of the player,
+     * the area getNearbyEntities(radius, radius, radius) covers. Returns how many were visited.
+     */
+    protected static int forEachNearbyEnemy(Player player, double radius, Consumer<LivingEntity> action) {
+        return entityIndex().forEachInBox(player.getLocation(), radius, radius, radius,
+            LivingEntity.class, entity -> !(entity instanceof Player), action);
+    }
     
     /**
      * Handle when item is obtained by player
@@ -0,0 +1,144 @@
+package com.example.minecraftplugin.items;
+
+import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.enums.GodType;
+import com.example.minecraftplugin.enums.ItemRarity;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.List;
+
+/**
+ * Forge data stored on divine item stacks
+ *
+ * The god, rarity and upgrade level of an item live in its persistent data
+ * container, so the forge reads them directly instead of searching the lore.
+ * Items made before the data was stored are recognised from their lore the
+ * first time they are read and tagged on the spot.
+ */
+public final class DivineItemData {
+    
+    private static final NamespacedKey GOD_KEY = key("divine_god");
+    private static final NamespacedKey RARITY_KEY = key("divine_rarity");
+    private static final NamespacedKey LEVEL_KEY = key("divine_level");
+    
+    private DivineItemData() {
+    }
+    
+    private static NamespacedKey key(String name) {
+        return new NamespacedKey(JavaPlugin.getPlugin(MinecraftPlugin.class), name);
+    }
+    
+    /**
+     * Store forge data on item meta. god may be null for items of no single god.
+     */
+    public static void tag(ItemMeta meta, GodType god, ItemRarity rarity, int level) {
+        PersistentDataContainer data = meta.getPersistentDataContainer();
+        if (god != null) {
+            data.set(GOD_KEY, PersistentDataType.STRING, god.name());
+        }
+        data.set(RARITY_KEY, PersistentDataType.STRING, rarity.name());
+        data.set(LEVEL_KEY, PersistentDataType.INTEGER, level);
+    }
+    
+    /**
+     * God of a divine item, or null if it is not a single god's item
+     */
+    public static GodType getGod(ItemStack item) {
+        ItemMeta meta = getTaggedMeta(item);
+        if (meta == null) {
+            return null;
+        }
+        return parse(GodType.class, meta.getPersistentDataContainer().get(GOD_KEY, PersistentDataType.STRING));
+    }
+    
+    /**
+     * Rarity of an item; DIVINE if it has none
+     */
+    public static ItemRarity getRarity(ItemStack item) {
+        ItemMeta meta = getTaggedMeta(item);
+        if (meta == null) {
+            return ItemRarity.DIVINE;
+        }
+        ItemRarity rarity = parse(ItemRarity.class, meta.getPersistentDataContainer().get(RARITY_KEY, PersistentDataType.STRING));
+        return rarity != null ? rarity : ItemRarity.DIVINE;
+    }
+    
+    /**
+     * Number of successful upgrades an item has had
+     */
+    public static int getLevel(ItemStack item) {
+        ItemMeta meta = getTaggedMeta(item);
+        if (meta == null) {
+            return 0;
+        }
+        return meta.getPersistentDataContainer().getOrDefault(LEVEL_KEY, PersistentDataType.INTEGER, 0);
+    }
+    
+    /**
+     * Meta of an item carrying forge data, tagging a lore-only divine item
+     * first. Null for items that are not divine.
+     */
+    private static ItemMeta getTaggedMeta(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return null;
+        }
+        
+        ItemMeta meta = item.getItemMeta();
+        if (meta.getPersistentDataContainer().has(RARITY_KEY, PersistentDataType.STRING)) {
+            return meta;
+        }
+        
+        GodType god = godFromLore(meta);
+        if (god == null) {
+            return null;
+        }
+        ItemRarity rarity = rarityFromLore(meta);
+        tag(meta, god, rarity, rarity.ordinal());
+        item.setItemMeta(meta);
+        return meta;
+    }
+    
+    private static GodType godFromLore(ItemMeta meta) {
+        List<String> lore = meta.getLore();
+        if (lore == null) {
+            return null;
+        }
+        for (String line : lore) {
+            if (line.contains("Divine Item of the")) {
+                for (GodType god : GodType.values()) {
+                    if (line.contains(god.getDisplayName())) {
+                        return god;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    private static ItemRarity rarityFromLore(ItemMeta meta) {
+        for (String line : meta.getLore()) {
+            for (ItemRarity rarity : ItemRarity.values()) {
+                if (line.contains(rarity.getFormattedName())) {
+                    return rarity;
+                }
+            }
+        }
+        return ItemRarity.DIVINE;
+    }
+    
+    private static <E extends Enum<E>> E parse(Class<E> type, String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
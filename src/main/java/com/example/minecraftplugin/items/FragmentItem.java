@@ -5,6 +5,7 @@ import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -61,7 +62,7 @@ public class FragmentItem extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Fragments don't have passive effects
     }
     
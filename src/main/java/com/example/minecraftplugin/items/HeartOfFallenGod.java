@@ -95,7 +95,7 @@ public class HeartOfFallenGod extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Increase max health to 25 hearts
         AttributeInstance healthAttribute = player.getAttribute(Attribute.MAX_HEALTH);
         if (healthAttribute != null && healthAttribute.getBaseValue() < MAX_HEALTH) {
@@ -108,7 +108,7 @@ public class HeartOfFallenGod extends DivineItem {
         
         if (currentHealth < (maxHealth * 0.5)) {
             // Apply Regeneration II for 3 seconds (will be reapplied continuously)
-            player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, 60, 1, false, false));
+            effects.add(new PotionEffect(PotionEffectType.REGENERATION, 60, 1, false, false));
         }
     }
     
@@ -121,10 +121,10 @@ public class MaceOfDivineForging extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply Strength I and Haste I when held
-        player.addPotionEffect(new PotionEffect(PotionEffectType.STRENGTH, 60, 0, false, false));
-        player.addPotionEffect(new PotionEffect(PotionEffectType.HASTE, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.STRENGTH, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.HASTE, 60, 0, false, false));
     }
     
     @Override
@@ -98,14 +98,14 @@ public class OrbOfVeilReality extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply invisibility when sneaking
         if (player.isSneaking()) {
-            player.addPotionEffect(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
+            effects.add(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
         }
         
         // Apply resistance to magic effects
-        player.addPotionEffect(new PotionEffect(PotionEffectType.RESISTANCE, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.RESISTANCE, 60, 0, false, false));
         
         // Remove negative magic effects
         if (player.hasPotionEffect(PotionEffectType.BLINDNESS)) {
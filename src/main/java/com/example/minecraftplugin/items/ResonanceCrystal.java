@@ -6,8 +6,6 @@ import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.block.Block;
 import org.bukkit.enchantments.Enchantment;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
@@ -73,29 +71,20 @@ public class ResonanceCrystal extends DivineItem {
     
     @Override
     public boolean onRightClick(Player player, ItemStack item) {
-        List<Entity> nearbyEntities = player.getNearbyEntities(SONIC_BOOM_RADIUS, SONIC_BOOM_RADIUS, SONIC_BOOM_RADIUS);
-        int affectedCount = 0;
-        
-        for (Entity entity : nearbyEntities) {
-            if (entity instanceof LivingEntity && !(entity instanceof Player)) {
-                LivingEntity target = (LivingEntity) entity;
-                
-                // Damage and knockback
-                target.damage(6.0, player);
-                
-                // Calculate knockback direction
-                org.bukkit.util.Vector direction = target.getLocation().toVector()
-                    .subtract(player.getLocation().toVector()).normalize();
-                direction.setY(0.3);
-                direction.multiply(1.5);
-                target.setVelocity(direction);
-                
-                // Apply confusion
-                target.addPotionEffect(new PotionEffect(PotionEffectType.NAUSEA, 100, 0));
-                
-                affectedCount++;
-            }
-        }
+        int affectedCount = forEachNearbyEnemy(player, SONIC_BOOM_RADIUS, target -> {
+            // Damage and knockback
+            target.damage(6.0, player);
+            
+            // Calculate knockback direction
+            org.bukkit.util.Vector direction = target.getLocation().toVector()
+                .subtract(player.getLocation().toVector()).normalize();
+            direction.setY(0.3);
+            direction.multiply(1.5);
+            target.setVelocity(direction);
+            
+            // Apply confusion
+            target.addPotionEffect(new PotionEffect(PotionEffectType.NAUSEA, 100, 0));
+        });
         
         if (affectedCount == 0) {
             player.sendMessage("§d§l💎 Resonance Crystal: §r§cNo enemies found for sonic boom!");
@@ -115,11 +104,11 @@ public class ResonanceCrystal extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Crystal shield when sneaking
         if (player.isSneaking()) {
-            player.addPotionEffect(new PotionEffect(PotionEffectType.RESISTANCE, 60, 1, false, false));
-            player.addPotionEffect(new PotionEffect(PotionEffectType.ABSORPTION, 60, 0, false, false));
+            effects.add(new PotionEffect(PotionEffectType.RESISTANCE, 60, 1, false, false));
+            effects.add(new PotionEffect(PotionEffectType.ABSORPTION, 60, 0, false, false));
         }
         
         // Remove mining fatigue
@@ -128,7 +117,7 @@ public class ResonanceCrystal extends DivineItem {
         }
         
         // Ore sense effect (simplified - just give night vision for now)
-        player.addPotionEffect(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
     }
     
     @Override
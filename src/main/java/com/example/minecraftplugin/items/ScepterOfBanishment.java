@@ -4,8 +4,6 @@ import com.example.minecraftplugin.enums.GodType;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.enchantments.Enchantment;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
@@ -71,30 +69,21 @@ public class ScepterOfBanishment extends DivineItem {
     
     @Override
     public boolean onRightClick(Player player, ItemStack item) {
-        List<Entity> nearbyEntities = player.getNearbyEntities(BANISH_RADIUS, BANISH_RADIUS, BANISH_RADIUS);
-        int banishedCount = 0;
-        
-        for (Entity entity : nearbyEntities) {
-            if (entity instanceof LivingEntity && !(entity instanceof Player)) {
-                LivingEntity target = (LivingEntity) entity;
-                
-                // Calculate knockback direction
-                Vector direction = target.getLocation().toVector().subtract(player.getLocation().toVector()).normalize();
-                direction.setY(0.5); // Add upward component
-                direction.multiply(2.0); // Increase knockback strength
-                
-                // Apply knockback
-                target.setVelocity(direction);
-                
-                // Set on fire
-                target.setFireTicks(FIRE_DURATION);
-                
-                // Apply weakness effect
-                target.addPotionEffect(new PotionEffect(PotionEffectType.WEAKNESS, 200, 1));
-                
-                banishedCount++;
-            }
-        }
+        int banishedCount = forEachNearbyEnemy(player, BANISH_RADIUS, target -> {
+            // Calculate knockback direction
+            Vector direction = target.getLocation().toVector().subtract(player.getLocation().toVector()).normalize();
+            direction.setY(0.5); // Add upward component
+            direction.multiply(2.0); // Increase knockback strength
+            
+            // Apply knockback
+            target.setVelocity(direction);
+            
+            // Set on fire
+            target.setFireTicks(FIRE_DURATION);
+            
+            // Apply weakness effect
+            target.addPotionEffect(new PotionEffect(PotionEffectType.WEAKNESS, 200, 1));
+        });
         
         if (banishedCount == 0) {
             player.sendMessage("§c§l🔥 Scepter of Banishment: §r§cNo enemies found to banish!");
@@ -113,9 +102,9 @@ public class ScepterOfBanishment extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply fire resistance
-        player.addPotionEffect(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 60, 0, false, false));
         
         // Remove fire ticks if player is on fire
         if (player.getFireTicks() > 0) {
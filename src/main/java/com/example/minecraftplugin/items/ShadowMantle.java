@@ -87,14 +87,14 @@ public class ShadowMantle extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Check light level for umbral form
         int lightLevel = player.getLocation().getBlock().getLightLevel();
         
         if (lightLevel <= 3) {
             // Invisibility in darkness
-            player.addPotionEffect(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
-            player.addPotionEffect(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
+            effects.add(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
+            effects.add(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
         }
         
         // Shadow step - no fall damage
@@ -102,7 +102,7 @@ public class ShadowMantle extends DivineItem {
         
         // Enhanced movement in darkness
         if (lightLevel <= 7) {
-            player.addPotionEffect(new PotionEffect(PotionEffectType.SPEED, 60, 0, false, false));
+            effects.add(new PotionEffect(PotionEffectType.SPEED, 60, 0, false, false));
         }
     }
     
@@ -104,9 +104,9 @@ public class StaffOfSylvanGrowth extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply regeneration
-        player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, 60, 1, false, false));
+        effects.add(new PotionEffect(PotionEffectType.REGENERATION, 60, 1, false, false));
         
         // Apply poison immunity
         if (player.hasPotionEffect(PotionEffectType.POISON)) {
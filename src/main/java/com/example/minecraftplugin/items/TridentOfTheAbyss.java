@@ -98,16 +98,16 @@ public class TridentOfTheAbyss extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply water breathing
-        player.addPotionEffect(new PotionEffect(PotionEffectType.WATER_BREATHING, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.WATER_BREATHING, 60, 0, false, false));
         
         // Apply dolphin's grace for faster swimming
-        player.addPotionEffect(new PotionEffect(PotionEffectType.DOLPHINS_GRACE, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.DOLPHINS_GRACE, 60, 0, false, false));
         
         // Apply night vision when underwater
         if (player.isInWater()) {
-            player.addPotionEffect(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
+            effects.add(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
         }
     }
     
@@ -103,14 +103,14 @@ public class VoidWalkersBlade extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply void immunity (no fall damage from void)
         if (player.getLocation().getY() < -64) {
             player.setFallDistance(0);
         }
         
         // Apply night vision for void walking
-        player.addPotionEffect(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
     }
     
     @Override
@@ -87,11 +87,11 @@ public class WingsOfTempest extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply flight-related effects
-        player.addPotionEffect(new PotionEffect(PotionEffectType.SLOW_FALLING, 60, 0, false, false));
-        player.addPotionEffect(new PotionEffect(PotionEffectType.JUMP_BOOST, 60, 1, false, false));
-        player.addPotionEffect(new PotionEffect(PotionEffectType.SPEED, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.SLOW_FALLING, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.JUMP_BOOST, 60, 1, false, false));
+        effects.add(new PotionEffect(PotionEffectType.SPEED, 60, 0, false, false));
     }
     
     @Override
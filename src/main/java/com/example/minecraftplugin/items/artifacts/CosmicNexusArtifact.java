@@ -5,7 +5,6 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -156,22 +155,20 @@ public class CosmicNexusArtifact extends UltimateArtifact {
         }
         
         // Affect all entities in range
-        for (Entity entity : center.getWorld().getNearbyEntities(center, radius, radius, radius)) {
-            if (entity instanceof LivingEntity && !(entity instanceof Player)) {
-                LivingEntity target = (LivingEntity) entity;
-                
+        entityIndex().forEachInBox(center, radius, radius, radius, LivingEntity.class, entity -> entity != player, entity -> {
+            if (!(entity instanceof Player)) {
                 // Apply cosmic effects
-                target.addPotionEffect(new PotionEffect(PotionEffectType.GLOWING, 1200, 0));
-                target.addPotionEffect(new PotionEffect(PotionEffectType.SLOWNESS, 600, 2));
-                target.addPotionEffect(new PotionEffect(PotionEffectType.WEAKNESS, 600, 2));
+                entity.addPotionEffect(new PotionEffect(PotionEffectType.GLOWING, 1200, 0));
+                entity.addPotionEffect(new PotionEffect(PotionEffectType.SLOWNESS, 600, 2));
+                entity.addPotionEffect(new PotionEffect(PotionEffectType.WEAKNESS, 600, 2));
                 
                 // Heal friendly mobs, damage hostile ones
-                if (isFriendlyMob(target)) {
-                    target.setHealth(target.getAttribute(org.bukkit.attribute.Attribute.MAX_HEALTH).getValue());
+                if (isFriendlyMob(entity)) {
+                    entity.setHealth(entity.getAttribute(org.bukkit.attribute.Attribute.MAX_HEALTH).getValue());
                 } else {
-                    target.damage(20.0, player);
+                    entity.damage(20.0, player);
                 }
-            } else if (entity instanceof Player && entity != player) {
+            } else {
                 Player otherPlayer = (Player) entity;
                 
                 // Grant temporary cosmic blessing to other players
@@ -182,7 +179,7 @@ public class CosmicNexusArtifact extends UltimateArtifact {
                 otherPlayer.sendMessage("§0§l🌌 COSMIC BLESSING! 🌌");
                 otherPlayer.sendMessage("§7You have been blessed by cosmic power!");
             }
-        }
+        });
         
         // Reality distortion effects
         for (int i = 0; i < 200; i++) {
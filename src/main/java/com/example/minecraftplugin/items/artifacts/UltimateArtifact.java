@@ -104,10 +104,10 @@ public abstract class UltimateArtifact extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply combined passive effects from all source gods
         for (GodType god : sourceGods) {
-            applyGodPassiveEffect(player, god);
+            applyGodPassiveEffect(player, god, effects);
         }
         
         // Apply artifact-specific bonuses
@@ -117,16 +117,16 @@ public abstract class UltimateArtifact extends DivineItem {
     /**
      * Apply god-specific passive effects
      */
-    private void applyGodPassiveEffect(Player player, GodType god) {
+    private void applyGodPassiveEffect(Player player, GodType god, List<PotionEffect> effects) {
         switch (god) {
             case FALLEN:
-                player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, 60, 1, false, false));
+                effects.add(new PotionEffect(PotionEffectType.REGENERATION, 60, 1, false, false));
                 break;
             case BANISHMENT:
-                player.addPotionEffect(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 60, 0, false, false));
+                effects.add(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 60, 0, false, false));
                 break;
             case ABYSSAL:
-                player.addPotionEffect(new PotionEffect(PotionEffectType.WATER_BREATHING, 60, 0, false, false));
+                effects.add(new PotionEffect(PotionEffectType.WATER_BREATHING, 60, 0, false, false));
                 break;
             case SYLVAN:
                 if (player.hasPotionEffect(PotionEffectType.POISON)) {
@@ -134,26 +134,26 @@ public abstract class UltimateArtifact extends DivineItem {
                 }
                 break;
             case TEMPEST:
-                player.addPotionEffect(new PotionEffect(PotionEffectType.SLOW_FALLING, 60, 0, false, false));
+                effects.add(new PotionEffect(PotionEffectType.SLOW_FALLING, 60, 0, false, false));
                 break;
             case VEIL:
                 if (player.isSneaking()) {
-                    player.addPotionEffect(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
+                    effects.add(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
                 }
                 break;
             case FORGE:
-                player.addPotionEffect(new PotionEffect(PotionEffectType.HASTE, 60, 1, false, false));
+                effects.add(new PotionEffect(PotionEffectType.HASTE, 60, 1, false, false));
                 break;
             case VOID:
-                player.addPotionEffect(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
+                effects.add(new PotionEffect(PotionEffectType.NIGHT_VISION, 60, 0, false, false));
                 break;
             case TIME:
-                player.addPotionEffect(new PotionEffect(PotionEffectType.SPEED, 60, 0, false, false));
+                effects.add(new PotionEffect(PotionEffectType.SPEED, 60, 0, false, false));
                 break;
             case BLOOD:
                 double healthPercent = player.getHealth() / player.getAttribute(org.bukkit.attribute.Attribute.MAX_HEALTH).getValue();
                 if (healthPercent < 0.5) {
-                    player.addPotionEffect(new PotionEffect(PotionEffectType.STRENGTH, 60, 1, false, false));
+                    effects.add(new PotionEffect(PotionEffectType.STRENGTH, 60, 1, false, false));
                 }
                 break;
             case CRYSTAL:
@@ -164,7 +164,7 @@ public abstract class UltimateArtifact extends DivineItem {
             case SHADOW:
                 int lightLevel = player.getLocation().getBlock().getLightLevel();
                 if (lightLevel <= 3) {
-                    player.addPotionEffect(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
+                    effects.add(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
                 }
                 break;
         }
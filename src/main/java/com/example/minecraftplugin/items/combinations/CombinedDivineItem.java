@@ -70,11 +70,11 @@ public class CombinedDivineItem extends DivineItem {
     }
 
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         for (GodType god : sourceGods) {
-            applyGodPassiveEffects(player, god);
+            applyGodPassiveEffects(player, god, effects);
         }
-        applyCombinationBonuses(player);
+        applyCombinationBonuses(player, effects);
     }
 
     @Override
@@ -100,13 +100,13 @@ public class CombinedDivineItem extends DivineItem {
         return 45;
     }
 
-    private void applyGodPassiveEffects(Player player, GodType god) {
+    private void applyGodPassiveEffects(Player player, GodType god, List<PotionEffect> effects) {
         switch (god) {
             case FALLEN:
-                player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, 60, 0, false, false));
+                effects.add(new PotionEffect(PotionEffectType.REGENERATION, 60, 0, false, false));
                 break;
             case BANISHMENT:
-                player.addPotionEffect(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 60, 0, false, false));
+                effects.add(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 60, 0, false, false));
                 break;
             case ABYSSAL:
                 player.getWorld().spawnParticle(Particle.DRIPPING_WATER, player.getLocation(), 3, 0.2, 0.2, 0.2, 0.1);
@@ -117,19 +117,19 @@ public class CombinedDivineItem extends DivineItem {
                 }
                 break;
             case TEMPEST:
-                player.addPotionEffect(new PotionEffect(PotionEffectType.SLOW_FALLING, 60, 0, false, false));
+                effects.add(new PotionEffect(PotionEffectType.SLOW_FALLING, 60, 0, false, false));
                 break;
             case VEIL:
                 if (player.isSneaking()) {
-                    player.addPotionEffect(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
+                    effects.add(new PotionEffect(PotionEffectType.INVISIBILITY, 60, 0, false, false));
                 }
                 break;
         }
     }
 
-    private void applyCombinationBonuses(Player player) {
-        player.addPotionEffect(new PotionEffect(PotionEffectType.LUCK, 60, 2, false, false));
-        player.addPotionEffect(new PotionEffect(PotionEffectType.HERO_OF_THE_VILLAGE, 60, 1, false, false));
+    private void applyCombinationBonuses(Player player, List<PotionEffect> effects) {
+        effects.add(new PotionEffect(PotionEffectType.LUCK, 60, 2, false, false));
+        effects.add(new PotionEffect(PotionEffectType.HERO_OF_THE_VILLAGE, 60, 1, false, false));
     }
 
     private void removeCombinedEffects(Player player) {
@@ -2,6 +2,7 @@ package com.example.minecraftplugin.items.combinations;
 
 import com.example.minecraftplugin.enums.GodType;
 import com.example.minecraftplugin.items.DivineItem;
+import com.example.minecraftplugin.items.DivineItemData;
 import com.example.minecraftplugin.items.combinations.CombinedDivineItem;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
@@ -11,6 +12,10 @@ import java.util.*;
 
 /**
  * Handles combining compatible divine items into new powerful artifacts
+ *
+ * Besides the map keyed by god set, results are held in a table indexed by a
+ * bitmask of god ordinals, built once when the class loads. Finding the result
+ * for a set of items is then one array read after reading each item's god.
  */
 public class DivineItemCombination {
     
@@ -140,37 +145,60 @@ public class DivineItemCombination {
     }
     
     /**
-     * Check if items can be combined
+     * Results indexed by god bitmask (bit n set for the god with ordinal n)
      */
-    public static boolean canCombine(List<ItemStack> items) {
-        if (items.size() < 2) {
-            return false;
+    private static final CombinationResult[] COMBINATION_TABLE = new CombinationResult[1 << GodType.values().length];
+    
+    static {
+        for (Map.Entry<Set<GodType>, CombinationResult> entry : COMBINATIONS.entrySet()) {
+            COMBINATION_TABLE[godMask(entry.getKey())] = entry.getValue();
         }
-        
-        Set<GodType> gods = new HashSet<>();
+    }
+    
+    private static int godMask(Collection<GodType> gods) {
+        int mask = 0;
+        for (GodType god : gods) {
+            mask |= 1 << god.ordinal();
+        }
+        return mask;
+    }
+    
+    /**
+     * Bitmask of the gods of the given items; items of no god are ignored
+     */
+    private static int godMaskOfItems(List<ItemStack> items) {
+        int mask = 0;
         for (ItemStack item : items) {
-            GodType god = getGodTypeFromItem(item);
+            GodType god = DivineItemData.getGod(item);
             if (god != null) {
-                gods.add(god);
+                mask |= 1 << god.ordinal();
             }
         }
-        
-        return COMBINATIONS.containsKey(gods);
+        return mask;
+    }
+    
+    /**
+     * Check if items can be combined
+     */
+    public static boolean canCombine(List<ItemStack> items) {
+        return getCombinationResult(items) != null;
     }
     
     /**
      * Get combination result for given items
      */
     public static CombinationResult getCombinationResult(List<ItemStack> items) {
-        Set<GodType> gods = new HashSet<>();
-        for (ItemStack item : items) {
-            GodType god = getGodTypeFromItem(item);
-            if (god != null) {
-                gods.add(god);
-            }
+        if (items.size() < 2) {
+            return null;
         }
-        
-        return COMBINATIONS.get(gods);
+        return COMBINATION_TABLE[godMaskOfItems(items)];
+    }
+    
+    /**
+     * Get combination result for a set of gods, or null if they do not combine
+     */
+    public static CombinationResult getCombinationResultForGods(Collection<GodType> gods) {
+        return COMBINATION_TABLE[godMask(gods)];
     }
     
     /**
@@ -223,28 +251,6 @@ public class DivineItemCombination {
         combinedItem.addUnsafeEnchantment(Enchantment.MENDING, 3);
     }
     
-    /**
-     * Get god type from divine item
-     */
-    private static GodType getGodTypeFromItem(ItemStack item) {
-        if (item == null || !item.hasItemMeta() || !item.getItemMeta().hasLore()) {
-            return null;
-        }
-        
-        List<String> lore = item.getItemMeta().getLore();
-        for (String line : lore) {
-            if (line.contains("Divine Item of the")) {
-                for (GodType god : GodType.values()) {
-                    if (line.contains(god.getDisplayName())) {
-                        return god;
-                    }
-                }
-            }
-        }
-        
-        return null;
-    }
-    
     /**
      * Get all possible combinations
      */
@@ -1,6 +1,7 @@
 package com.example.minecraftplugin.items.legendary;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.bukkit.Sound;
 import org.bukkit.attribute.Attribute;
@@ -60,7 +61,7 @@ public class EternalHeartOfFallenGod extends LegendaryVariant {
     }
     
     @Override
-    protected void applyLegendaryPassiveEffects(Player player, ItemStack item) {
+    protected void applyLegendaryPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Increase max health to 35 hearts
         AttributeInstance healthAttribute = player.getAttribute(Attribute.MAX_HEALTH);
         if (healthAttribute != null && healthAttribute.getBaseValue() < 70.0) {
@@ -72,7 +73,7 @@ public class EternalHeartOfFallenGod extends LegendaryVariant {
         double maxHealth = healthAttribute.getValue();
         
         if (currentHealth < (maxHealth * 0.75)) {
-            player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, 60, 2, false, false));
+            effects.add(new PotionEffect(PotionEffectType.REGENERATION, 60, 2, false, false));
         }
         
         // Soul shield - damage reduction
@@ -8,6 +8,7 @@ import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Legendary variant of Scepter of Banishment with inferno powers
@@ -60,14 +61,11 @@ public class InfernoScepterOfBanishment extends LegendaryVariant {
         }
         
         // Massive fire damage to enemies
-        for (org.bukkit.entity.Entity entity : player.getNearbyEntities(10, 10, 10)) {
-            if (entity instanceof org.bukkit.entity.LivingEntity && !(entity instanceof Player)) {
-                org.bukkit.entity.LivingEntity target = (org.bukkit.entity.LivingEntity) entity;
-                target.damage(20.0, player);
-                target.setFireTicks(400); // 20 seconds of fire
-                target.addPotionEffect(new PotionEffect(PotionEffectType.WITHER, 200, 2));
-            }
-        }
+        forEachNearbyEnemy(player, 10, target -> {
+            target.damage(20.0, player);
+            target.setFireTicks(400); // 20 seconds of fire
+            target.addPotionEffect(new PotionEffect(PotionEffectType.WITHER, 200, 2));
+        });
         
         // Visual effects
         center.getWorld().spawnParticle(org.bukkit.Particle.FLAME, center, 100, 4, 4, 4, 0.3);
@@ -84,30 +82,27 @@ public class InfernoScepterOfBanishment extends LegendaryVariant {
     }
     
     @Override
-    protected void applyLegendaryPassiveEffects(Player player, ItemStack item) {
+    protected void applyLegendaryPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Lava immunity and walking
-        player.addPotionEffect(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 60, 0, false, false));
+        effects.add(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, 60, 0, false, false));
         if (player.getFireTicks() > 0) {
             player.setFireTicks(0);
         }
         
         // Fire aura damages nearby enemies
         if (Math.random() < 0.2) { // 20% chance per second
-            for (org.bukkit.entity.Entity entity : player.getNearbyEntities(4, 4, 4)) {
-                if (entity instanceof org.bukkit.entity.LivingEntity && !(entity instanceof Player)) {
-                    org.bukkit.entity.LivingEntity target = (org.bukkit.entity.LivingEntity) entity;
-                    target.damage(2.0, player);
-                    target.setFireTicks(60);
-                }
-            }
+            forEachNearbyEnemy(player, 4, target -> {
+                target.damage(2.0, player);
+                target.setFireTicks(60);
+            });
             player.getWorld().spawnParticle(org.bukkit.Particle.FLAME, player.getLocation().add(0, 1, 0), 8, 1, 1, 1, 0.1);
         }
         
         // Molten armor when health is low
         double healthPercent = player.getHealth() / player.getAttribute(org.bukkit.attribute.Attribute.MAX_HEALTH).getValue();
         if (healthPercent < 0.3) {
-            player.addPotionEffect(new PotionEffect(PotionEffectType.RESISTANCE, 60, 2, false, false));
-            player.addPotionEffect(new PotionEffect(PotionEffectType.STRENGTH, 60, 2, false, false));
+            effects.add(new PotionEffect(PotionEffectType.RESISTANCE, 60, 2, false, false));
+            effects.add(new PotionEffect(PotionEffectType.STRENGTH, 60, 2, false, false));
             
             if (Math.random() < 0.3) {
                 player.getWorld().spawnParticle(org.bukkit.Particle.LAVA, player.getLocation().add(0, 1, 0), 5, 0.5, 0.5, 0.5, 0.1);
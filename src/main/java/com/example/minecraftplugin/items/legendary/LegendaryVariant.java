@@ -6,6 +6,7 @@ import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
 
 import java.util.HashMap;
 import java.util.List;
@@ -76,12 +77,12 @@ public abstract class LegendaryVariant extends DivineItem {
     }
     
     @Override
-    public void applyPassiveEffects(Player player, ItemStack item) {
+    public void applyPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects) {
         // Apply base passive effects
-        baseItem.applyPassiveEffects(player, item);
+        baseItem.applyPassiveEffects(player, item, effects);
         
         // Apply legendary enhancements
-        applyLegendaryPassiveEffects(player, item);
+        applyLegendaryPassiveEffects(player, item, effects);
     }
     
     @Override
@@ -116,7 +117,7 @@ public abstract class LegendaryVariant extends DivineItem {
     /**
      * Apply legendary-specific passive effects
      */
-    protected abstract void applyLegendaryPassiveEffects(Player player, ItemStack item);
+    protected abstract void applyLegendaryPassiveEffects(Player player, ItemStack item, List<PotionEffect> effects);
     
     /**
      * Remove legendary effects
@@ -3,24 +3,36 @@ package com.example.minecraftplugin.items.upgrades;
 import com.example.minecraftplugin.enums.GodType;
 import com.example.minecraftplugin.enums.ItemRarity;
 import com.example.minecraftplugin.items.DivineItem;
+import com.example.minecraftplugin.items.DivineItemData;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Handles upgrading divine items to higher rarities
+ *
+ * An item's rarity is read from its forge data rather than its lore, and the
+ * requirement and default success chance of each target rarity come from
+ * tables keyed by rarity.
  */
 public class DivineItemUpgrade {
     
     /**
      * Upgrade requirements for each rarity level
      */
-    private static final Map<ItemRarity, UpgradeRequirement> UPGRADE_REQUIREMENTS = new HashMap<>();
+    private static final Map<ItemRarity, UpgradeRequirement> UPGRADE_REQUIREMENTS = new EnumMap<>(ItemRarity.class);
+    
+    /**
+     * Success chance of upgrading to each rarity when forge.yml sets none
+     */
+    private static final Map<ItemRarity, Double> DEFAULT_SUCCESS_CHANCES = new EnumMap<>(ItemRarity.class);
+    
+    private static final ItemRarity[] RARITIES = ItemRarity.values();
     
     static {
         UPGRADE_REQUIREMENTS.put(ItemRarity.ENHANCED, new UpgradeRequirement(
@@ -42,6 +54,11 @@ public class DivineItemUpgrade {
             UpgradeMaterial.UpgradeType.TRANSCENDENT_CORE, 1,
             "Transcendent power beyond mortal comprehension"
         ));
+        
+        DEFAULT_SUCCESS_CHANCES.put(ItemRarity.ENHANCED, 0.9);
+        DEFAULT_SUCCESS_CHANCES.put(ItemRarity.LEGENDARY, 0.7);
+        DEFAULT_SUCCESS_CHANCES.put(ItemRarity.MYTHIC, 0.5);
+        DEFAULT_SUCCESS_CHANCES.put(ItemRarity.TRANSCENDENT, 0.3);
     }
     
     /**
@@ -60,33 +77,15 @@ public class DivineItemUpgrade {
      * Get the current rarity of an item
      */
     public static ItemRarity getCurrentRarity(ItemStack item) {
-        if (item == null || !item.hasItemMeta() || !item.getItemMeta().hasLore()) {
-            return ItemRarity.DIVINE; // Default rarity
-        }
-        
-        List<String> lore = item.getItemMeta().getLore();
-        for (String line : lore) {
-            for (ItemRarity rarity : ItemRarity.values()) {
-                if (line.contains(rarity.getFormattedName())) {
-                    return rarity;
-                }
-            }
-        }
-        
-        return ItemRarity.DIVINE; // Default if no rarity found
+        return DivineItemData.getRarity(item);
     }
     
     /**
      * Get the next rarity level
      */
     public static ItemRarity getNextRarity(ItemRarity current) {
-        ItemRarity[] rarities = ItemRarity.values();
-        for (int i = 0; i < rarities.length - 1; i++) {
-            if (rarities[i] == current) {
-                return rarities[i + 1];
-            }
-        }
-        return null; // Already at max rarity
+        int next = current.ordinal() + 1;
+        return next < RARITIES.length ? RARITIES[next] : null; // Null at max rarity
     }
     
     /**
@@ -104,6 +103,10 @@ public class DivineItemUpgrade {
             return null;
         }
         
+        GodType god = DivineItemData.getGod(originalItem);
+        ItemRarity currentRarity = DivineItemData.getRarity(originalItem);
+        int level = DivineItemData.getLevel(originalItem);
+        
         ItemStack upgradedItem = originalItem.clone();
         ItemMeta meta = upgradedItem.getItemMeta();
         
@@ -122,16 +125,10 @@ public class DivineItemUpgrade {
         List<String> originalLore = meta.getLore();
         
         if (originalLore != null) {
-            // Copy original lore, removing old rarity indicators
+            // Copy original lore, removing the old rarity indicator
+            String rarityName = currentRarity.getFormattedName();
             for (String line : originalLore) {
-                boolean isRarityLine = false;
-                for (ItemRarity rarity : ItemRarity.values()) {
-                    if (line.contains(rarity.getFormattedName())) {
-                        isRarityLine = true;
-                        break;
-                    }
-                }
-                if (!isRarityLine) {
+                if (!line.contains(rarityName)) {
                     newLore.add(line);
                 }
             }
@@ -146,6 +143,7 @@ public class DivineItemUpgrade {
         addRarityBonuses(newLore, targetRarity);
         
         meta.setLore(newLore);
+        DivineItemData.tag(meta, god, targetRarity, level + 1);
         
         // Enhance enchantments based on rarity
         enhanceEnchantments(upgradedItem, targetRarity);
@@ -246,21 +244,10 @@ public class DivineItemUpgrade {
     }
     
     /**
-     * Calculate upgrade success chance
+     * Calculate upgrade success chance, without forge.yml overrides
      */
     public static double getUpgradeSuccessChance(ItemRarity currentRarity, ItemRarity targetRarity) {
-        switch (targetRarity) {
-            case ENHANCED:
-                return 0.9; // 90% success
-            case LEGENDARY:
-                return 0.7; // 70% success
-            case MYTHIC:
-                return 0.5; // 50% success
-            case TRANSCENDENT:
-                return 0.3; // 30% success
-            default:
-                return 1.0;
-        }
+        return DEFAULT_SUCCESS_CHANCES.getOrDefault(targetRarity, 1.0);
     }
     
     /**
@@ -13,16 +13,25 @@ import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.Particle;
 import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Handles altar interactions for testament completion
@@ -35,11 +44,38 @@ public class AltarListener implements Listener {
     // Define altar patterns for each god
     private final Map<GodType, AltarPattern> altarPatterns;
     
+    // Altars that already passed the pattern check
+    private final AltarRegistry altarRegistry;
+    
     public AltarListener(MinecraftPlugin plugin, GodManager godManager) {
         this.plugin = plugin;
         this.godManager = godManager;
-        this.altarPatterns = new HashMap<>();
+        this.altarPatterns = new EnumMap<>(GodType.class);
         initializeAltarPatterns();
+        this.altarRegistry = createAltarRegistry();
+        
+        Set<Material> altarCenters = EnumSet.noneOf(Material.class);
+        for (GodType god : GodType.values()) {
+            altarCenters.add(god.getAltarCenterBlock());
+        }
+        plugin.getInteractionRouter().onInteract("altar", EnumSet.of(Action.RIGHT_CLICK_BLOCK),
+            () -> altarCenters, (event, context) -> onAltarClick(event, context.getPlayer(), context.getBlock()));
+        plugin.getInteractionRouter().onBlockBreak("altar_registry", EventPriority.MONITOR, true, null,
+            (event, context) -> altarRegistry.invalidate(event.getBlock()));
+    }
+    
+    /**
+     * Size the registry's invalidation box to cover the largest altar pattern
+     */
+    private AltarRegistry createAltarRegistry() {
+        int radiusX = 0, radiusZ = 0, below = 0, above = 0;
+        for (AltarPattern pattern : altarPatterns.values()) {
+            radiusX = Math.max(radiusX, pattern.width / 2);
+            radiusZ = Math.max(radiusZ, pattern.depth / 2);
+            below = Math.max(below, AltarPattern.CENTER_LAYER);
+            above = Math.max(above, pattern.height - 1 - AltarPattern.CENTER_LAYER);
+        }
+        return new AltarRegistry(radiusX, radiusZ, below, above);
     }
     
     /**
@@ -335,20 +371,10 @@ public class AltarListener implements Listener {
         ));
     }
     
-    @EventHandler
-    public void onPlayerInteract(PlayerInteractEvent event) {
-        // Only handle right-click on blocks
-        if (event.getAction() != org.bukkit.event.block.Action.RIGHT_CLICK_BLOCK) {
-            return;
-        }
-        
-        Player player = event.getPlayer();
-        Block clickedBlock = event.getClickedBlock();
-        
-        if (clickedBlock == null) {
-            return;
-        }
-        
+    /**
+     * Handle a right-click on an altar center block (routed by InteractionRouter)
+     */
+    private void onAltarClick(PlayerInteractEvent event, Player player, Block clickedBlock) {
         // Check if the clicked block is a potential altar center
         GodType altarGod = getAltarGod(clickedBlock);
         if (altarGod == null) {
@@ -399,15 +425,7 @@ public class AltarListener implements Listener {
      * Check if a block is the center of an altar for any god
      */
     private GodType getAltarGod(Block block) {
-        Material blockType = block.getType();
-        
-        for (GodType god : GodType.values()) {
-            if (god.getAltarCenterBlock() == blockType) {
-                return god;
-            }
-        }
-        
-        return null;
+        return altarRegistry.getGodForCenter(block.getType());
     }
     
     /**
@@ -420,7 +438,59 @@ public class AltarListener implements Listener {
             return centerBlock.getType() == god.getAltarCenterBlock();
         }
         
-        return pattern.matches(centerBlock);
+        // The center block type was already checked by getAltarGod
+        if (altarRegistry.isValidated(centerBlock)) {
+            return true;
+        }
+        
+        if (!pattern.matches(centerBlock)) {
+            return false;
+        }
+        
+        altarRegistry.markValidated(centerBlock);
+        return true;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        altarRegistry.invalidate(event.getBlock());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            altarRegistry.invalidate(block);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            altarRegistry.invalidate(block);
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        // The piston head and every moved block change, at both their old and new positions
+        altarRegistry.invalidate(event.getBlock().getRelative(event.getDirection()));
+        for (Block block : event.getBlocks()) {
+            altarRegistry.invalidate(block);
+            altarRegistry.invalidate(block.getRelative(event.getDirection()));
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        // Server versions disagree on which way the retract direction points, so cover both sides
+        BlockFace direction = event.getDirection();
+        altarRegistry.invalidate(event.getBlock().getRelative(direction));
+        altarRegistry.invalidate(event.getBlock().getRelative(direction.getOppositeFace()));
+        for (Block block : event.getBlocks()) {
+            altarRegistry.invalidate(block);
+            altarRegistry.invalidate(block.getRelative(direction));
+            altarRegistry.invalidate(block.getRelative(direction.getOppositeFace()));
+        }
     }
     
     /**
@@ -489,7 +559,7 @@ public class AltarListener implements Listener {
         player.sendMessage("§7Divine power flows through you...");
         
         // Announce to server if configured
-        if (plugin.getConfig().getBoolean("testament.ascension.level_announcements", true)) {
+        if (plugin.getConfigManager().getSnapshot().main().isLevelAnnouncements()) {
             plugin.getBroadcastManager().broadcastTestamentCompletion(player, god);
         }
         
@@ -513,6 +583,9 @@ public class AltarListener implements Listener {
      * Inner class to represent an altar pattern
      */
     private static class AltarPattern {
+        // Layer of the pattern that holds the center block
+        private static final int CENTER_LAYER = 1;
+        
         private final Material[][][] pattern;
         private final int width;
         private final int height;
@@ -530,7 +603,7 @@ public class AltarListener implements Listener {
          */
         public boolean matches(Block centerBlock) {
             // Find the center position in the pattern
-            int centerY = 1; // Middle layer
+            int centerY = CENTER_LAYER; // Middle layer
             int centerZ = depth / 2;
             int centerX = width / 2;
             
@@ -0,0 +1,98 @@
+package com.example.minecraftplugin.listeners;
+
+import com.example.minecraftplugin.enums.GodType;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Remembers which altar centers have passed the full pattern check.
+ *
+ * A validated altar stays valid until a block inside its bounding box is broken,
+ * placed, exploded or moved by a piston, so repeat interactions with a finished
+ * altar skip the per-block pattern scan entirely.
+ */
+class AltarRegistry {
+
+    private final Map<Material, GodType> godsByCenterBlock;
+    private final Map<UUID, Set<Long>> validatedCenters; // World -> packed center positions
+
+    // Offsets from an altar center to the edges of the largest pattern
+    private final int radiusX;
+    private final int radiusZ;
+    private final int below;
+    private final int above;
+
+    AltarRegistry(int radiusX, int radiusZ, int below, int above) {
+        this.radiusX = radiusX;
+        this.radiusZ = radiusZ;
+        this.below = below;
+        this.above = above;
+        this.validatedCenters = new HashMap<>();
+        this.godsByCenterBlock = new EnumMap<>(Material.class);
+
+        for (GodType god : GodType.values()) {
+            // First god wins, as with the previous linear scan
+            godsByCenterBlock.putIfAbsent(god.getAltarCenterBlock(), god);
+        }
+    }
+
+    /**
+     * Get the god whose altar uses this center block, or null
+     */
+    GodType getGodForCenter(Material material) {
+        return godsByCenterBlock.get(material);
+    }
+
+    boolean isValidated(Block center) {
+        Set<Long> centers = validatedCenters.get(center.getWorld().getUID());
+        return centers != null && centers.contains(pack(center.getX(), center.getY(), center.getZ()));
+    }
+
+    void markValidated(Block center) {
+        validatedCenters.computeIfAbsent(center.getWorld().getUID(), k -> new HashSet<>())
+                        .add(pack(center.getX(), center.getY(), center.getZ()));
+    }
+
+    /**
+     * Forget every validated altar whose bounding box contains the changed block
+     */
+    void invalidate(Block changed) {
+        Set<Long> centers = validatedCenters.get(changed.getWorld().getUID());
+        if (centers == null || centers.isEmpty()) {
+            return;
+        }
+
+        int x = changed.getX();
+        int y = changed.getY();
+        int z = changed.getZ();
+        for (int dy = -above; dy <= below; dy++) {
+            for (int dz = -radiusZ; dz <= radiusZ; dz++) {
+                for (int dx = -radiusX; dx <= radiusX; dx++) {
+                    centers.remove(pack(x + dx, y + dy, z + dz));
+                }
+            }
+        }
+    }
+
+    int size() {
+        int total = 0;
+        for (Set<Long> centers : validatedCenters.values()) {
+            total += centers.size();
+        }
+        return total;
+    }
+
+    /**
+     * Pack a block position into a long: 26 bits X, 26 bits Z, 12 bits Y
+     */
+    private static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+}
@@ -73,7 +73,7 @@ public class ConflictResolutionListener implements Listener {
      * Check for divine conflicts and resolve them
      */
     private void checkAndResolveConflicts(Player player, DivineItem newDivineItem, ItemStack newItem) {
-        if (!plugin.getConfig().getBoolean("testament.conflicts.enabled", true)) {
+        if (!plugin.getConfigManager().getSnapshot().main().isConflictsEnabled()) {
             return;
         }
         
@@ -109,8 +109,8 @@ public class ConflictResolutionListener implements Listener {
      * Resolve divine conflicts by removing conflicting items
      */
     private void resolveConflicts(Player player, GodType newGod, ItemStack newItem, List<ItemStack> conflictingItems) {
-        boolean removeConflictingItems = plugin.getConfig().getBoolean("testament.conflicts.remove_conflicting_items", true);
-        boolean announceConflicts = plugin.getConfig().getBoolean("testament.conflicts.announce_conflicts", true);
+        boolean removeConflictingItems = plugin.getConfigManager().getSnapshot().main().isRemoveConflictingItems();
+        boolean announceConflicts = plugin.getConfigManager().getSnapshot().main().isAnnounceConflicts();
         
         // Notify player of the conflict
         player.sendMessage("§c§l⚡ DIVINE CONFLICT DETECTED! ⚡");
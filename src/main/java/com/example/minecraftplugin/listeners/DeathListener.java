@@ -7,7 +7,9 @@ import org.bukkit.Sound;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
@@ -17,6 +19,8 @@ import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
+import java.util.EnumSet;
+
 /**
  * Handles the Testament Lives System death tracking and void prisoner mechanics
  */
@@ -28,6 +32,12 @@ public class DeathListener implements Listener {
     public DeathListener(MinecraftPlugin plugin, PlayerDataManager playerDataManager) {
         this.plugin = plugin;
         this.playerDataManager = playerDataManager;
+        
+        // Prisoner checks run before every other interact/break handler
+        plugin.getInteractionRouter().onBlockBreak("prisoner_guard", EventPriority.LOWEST, false, null,
+            this::onBlockBreak);
+        plugin.getInteractionRouter().onInteract("prisoner_guard", EventPriority.LOWEST, false,
+            EnumSet.allOf(Action.class), null, this::onPlayerInteract);
     }
     
     @EventHandler
@@ -36,7 +46,7 @@ public class DeathListener implements Listener {
         
         // Increment death count
         int newDeathCount = playerDataManager.incrementDeathCount(player);
-        int deathThreshold = plugin.getConfig().getInt("testament.lives_system.death_threshold", 3);
+        int deathThreshold = plugin.getConfigManager().getSnapshot().main().getDeathThreshold();
         
         plugin.getLogger().info(player.getName() + " died. Death count: " + newDeathCount + "/" + deathThreshold);
         
@@ -102,12 +112,11 @@ public class DeathListener implements Listener {
         }
     }
     
-    @EventHandler
-    public void onBlockBreak(BlockBreakEvent event) {
-        Player player = event.getPlayer();
+    private void onBlockBreak(BlockBreakEvent event, InteractionContext context) {
+        Player player = context.getPlayer();
         
         // Prevent void prisoners from breaking blocks
-        if (playerDataManager.isPrisonerOfTheVoid(player)) {
+        if (context.isPrisoner()) {
             event.setCancelled(true);
             player.sendMessage("§c§lPrisoner of the Void: §r§cYou cannot break blocks while imprisoned.");
         }
@@ -124,15 +133,13 @@ public class DeathListener implements Listener {
         }
     }
     
-    @EventHandler
-    public void onPlayerInteract(PlayerInteractEvent event) {
-        Player player = event.getPlayer();
+    private void onPlayerInteract(PlayerInteractEvent event, InteractionContext context) {
+        Player player = context.getPlayer();
         
         // Prevent void prisoners from most interactions (except Key to Redemption usage by others)
-        if (playerDataManager.isPrisonerOfTheVoid(player)) {
+        if (context.isPrisoner()) {
             // Allow right-clicking air/blocks for Key to Redemption targeting
-            if (event.getAction() == org.bukkit.event.block.Action.RIGHT_CLICK_AIR || 
-                event.getAction() == org.bukkit.event.block.Action.RIGHT_CLICK_BLOCK) {
+            if (context.isRightClick()) {
                 return; // Allow this for Key to Redemption mechanics
             }
             
@@ -146,7 +153,7 @@ public class DeathListener implements Listener {
      */
     private Location getVoidLocation() {
         try {
-            String worldName = plugin.getConfig().getString("testament.lives_system.void_world_name", "world");
+            String worldName = plugin.getConfigManager().getSnapshot().main().getVoidWorldName();
             World world = plugin.getServer().getWorld(worldName);
             
             if (world == null) {
@@ -154,9 +161,9 @@ public class DeathListener implements Listener {
                 world = plugin.getServer().getWorlds().get(0); // Use first available world
             }
             
-            int x = plugin.getConfig().getInt("testament.lives_system.void_teleport_coords.x", 0);
-            int y = plugin.getConfig().getInt("testament.lives_system.void_teleport_coords.y", -60);
-            int z = plugin.getConfig().getInt("testament.lives_system.void_teleport_coords.z", 0);
+            int x = plugin.getConfigManager().getSnapshot().main().getVoidX();
+            int y = plugin.getConfigManager().getSnapshot().main().getVoidY();
+            int z = plugin.getConfigManager().getSnapshot().main().getVoidZ();
             
             return new Location(world, x + 0.5, y, z + 0.5); // Center of block
         } catch (Exception e) {
@@ -174,8 +181,7 @@ public class DeathListener implements Listener {
         }
         
         // Display persistent message
-        String prisonerMessage = plugin.getConfig().getString("testament.lives_system.prisoner_message", 
-            "§c§lYou are a Prisoner of the Void. Only redemption can free you.");
+        String prisonerMessage = plugin.getConfigManager().getSnapshot().main().getPrisonerMessage();
         player.sendTitle("§4§lPRISONER OF THE VOID", prisonerMessage, 10, 100, 20);
         
         // Apply debuff effects (long duration)
@@ -6,11 +6,15 @@ import com.example.minecraftplugin.items.upgrades.UpgradeMaterial;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.block.BlockBreakEvent;
 
+import java.util.EnumSet;
+
 /**
  * Handles events related to the Divine Forge system
  */
@@ -22,6 +26,12 @@ public class DivineForgeListener implements Listener {
     public DivineForgeListener(MinecraftPlugin plugin, DivineForgeManager forgeManager) {
         this.plugin = plugin;
         this.forgeManager = forgeManager;
+        
+        plugin.getInteractionRouter().onBlockBreak("forge_materials", EventPriority.NORMAL, true,
+            () -> EnumSet.of(Material.ANCIENT_DEBRIS, Material.AMETHYST_CLUSTER, Material.SCULK_CATALYST, Material.END_PORTAL_FRAME),
+            this::onBlockBreak);
+        plugin.getInteractionRouter().onInteract("divine_forge", EnumSet.of(Action.RIGHT_CLICK_BLOCK),
+            () -> EnumSet.of(Material.ANVIL), this::onPlayerInteract);
     }
     
     /**
@@ -95,12 +105,11 @@ public class DivineForgeListener implements Listener {
     }
     
     /**
-     * Handle upgrade material drops from special blocks
+     * Handle upgrade material drops from special blocks (routed by InteractionRouter)
      */
-    @EventHandler
-    public void onBlockBreak(BlockBreakEvent event) {
-        Player player = event.getPlayer();
-        Material blockType = event.getBlock().getType();
+    private void onBlockBreak(BlockBreakEvent event, InteractionContext context) {
+        Player player = context.getPlayer();
+        Material blockType = context.getMaterial();
         
         // Special blocks that can drop upgrade materials
         switch (blockType) {
@@ -139,32 +148,18 @@ public class DivineForgeListener implements Listener {
     }
     
     /**
-     * Handle divine forge interactions
+     * Handle divine forge interactions; the forge is an anvil for now (routed by InteractionRouter)
      */
-    @EventHandler
-    public void onPlayerInteract(PlayerInteractEvent event) {
-        if (event.getAction() != org.bukkit.event.block.Action.RIGHT_CLICK_BLOCK) {
-            return;
-        }
-        
-        if (event.getClickedBlock() == null) {
-            return;
-        }
+    private void onPlayerInteract(PlayerInteractEvent event, InteractionContext context) {
+        Player player = context.getPlayer();
         
-        // Check if player is interacting with a divine forge (anvil for now)
-        if (event.getClickedBlock().getType() == Material.ANVIL) {
-            Player player = event.getPlayer();
-            
-            // Check if player is holding upgrade materials or divine items
-            org.bukkit.inventory.ItemStack heldItem = player.getInventory().getItemInMainHand();
-            
-            if (UpgradeMaterial.getUpgradeType(heldItem) != null) {
-                event.setCancelled(true);
-                player.sendMessage("§6§l⚒ DIVINE FORGE ⚒");
-                player.sendMessage("§7Use §f/forge upgrade§7 to upgrade divine items");
-                player.sendMessage("§7Use §f/forge combine§7 to combine divine items");
-                player.sendMessage("§7Use §f/forge help§7 for more information");
-            }
+        // Check if player is holding upgrade materials or divine items
+        if (UpgradeMaterial.getUpgradeType(context.getHeldItem()) != null) {
+            event.setCancelled(true);
+            player.sendMessage("§6§l⚒ DIVINE FORGE ⚒");
+            player.sendMessage("§7Use §f/forge upgrade§7 to upgrade divine items");
+            player.sendMessage("§7Use §f/forge combine§7 to combine divine items");
+            player.sendMessage("§7Use §f/forge help§7 for more information");
         }
     }
 }
\ No newline at end of file
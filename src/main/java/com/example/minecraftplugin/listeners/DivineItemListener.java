@@ -1,15 +1,18 @@
 package com.example.minecraftplugin.listeners;
 
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.potion.PotionEffect;
 import org.bukkit.scheduler.BukkitRunnable;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
 import com.example.minecraftplugin.MinecraftPlugin;
-import com.example.minecraftplugin.enums.GodType;
-import com.example.minecraftplugin.items.ConvergenceNexus;
 import com.example.minecraftplugin.items.DivineItem;
 import com.example.minecraftplugin.managers.CooldownManager;
 import com.example.minecraftplugin.managers.GodManager;
@@ -23,6 +26,9 @@ public class DivineItemListener implements Listener {
     private final GodManager godManager;
     private final CooldownManager cooldownManager;
     
+    // Passive effects are recollected every 20 ticks; keep them a little longer than one cycle
+    private static final int PASSIVE_EFFECT_LIFETIME_TICKS = 40;
+    
     public DivineItemListener(MinecraftPlugin plugin, GodManager godManager, CooldownManager cooldownManager) {
         this.plugin = plugin;
         this.godManager = godManager;
@@ -30,33 +36,28 @@ public class DivineItemListener implements Listener {
         
         // Start passive effects task
         startPassiveEffectsTask();
+        
+        plugin.getInteractionRouter().onInteract("divine_item",
+            EnumSet.of(Action.RIGHT_CLICK_AIR, Action.RIGHT_CLICK_BLOCK), null, this::onRightClick);
     }
     
-    @EventHandler
-    public void onPlayerInteract(PlayerInteractEvent event) {
-        // Only handle right-click actions
-        if (event.getAction() != org.bukkit.event.block.Action.RIGHT_CLICK_AIR && 
-            event.getAction() != org.bukkit.event.block.Action.RIGHT_CLICK_BLOCK) {
-            return;
-        }
-
-        Player player = event.getPlayer();
-        ItemStack item = player.getInventory().getItemInMainHand();
-
-        if (item == null || !item.hasItemMeta()) {
-            return;
-        }
-
+    /**
+     * Use the active ability of a held divine item (routed by InteractionRouter)
+     */
+    private void onRightClick(PlayerInteractEvent event, InteractionContext context) {
         // Check if it's a divine item
-        DivineItem divineItem = getDivineItemFromStack(item);
+        DivineItem divineItem = context.getHeldDivineItem();
         if (divineItem == null) {
             return;
         }
 
+        Player player = context.getPlayer();
+        ItemStack item = context.getHeldItem();
+
         // Check cooldown
-        String abilityName = divineItem.getGodType().name() + "_active";
-        if (cooldownManager.isOnAbilityCooldown(player, abilityName, divineItem.getCooldownSeconds())) {
-            long remaining = cooldownManager.getRemainingCooldown(player, abilityName, divineItem.getCooldownSeconds());
+        int abilityId = cooldownManager.getActiveAbilityId(divineItem.getGodType());
+        if (cooldownManager.isOnAbilityCooldown(player, abilityId)) {
+            long remaining = cooldownManager.getRemainingCooldown(player, abilityId);
             player.sendMessage("§c§lAbility on cooldown! §r§cWait §f" + remaining + "§c more seconds.");
             return;
         }
@@ -66,10 +67,10 @@ public class DivineItemListener implements Listener {
 
         if (abilityUsed) {
             // Set cooldown
-            cooldownManager.setAbilityCooldown(player, abilityName);
+            cooldownManager.setAbilityCooldown(player, abilityId, divineItem.getCooldownSeconds());
 
             // Create visual effects
-            plugin.getVisualEffectsManager().createAbilityActivationEffect(player, divineItem.getGodType(), abilityName);
+            plugin.getVisualEffectsManager().createAbilityActivationEffect(player, divineItem.getGodType(), divineItem.getGodType().name() + "_active");
 
             // Cancel the event to prevent other interactions
             event.setCancelled(true);
@@ -84,28 +85,31 @@ public class DivineItemListener implements Listener {
             @Override
             public void run() {
                 for (Player player : plugin.getServer().getOnlinePlayers()) {
-                    applyPassiveEffectsForPlayer(player);
+                    // Gather every item's passives, then let the reconciler send only what changed
+                    List<PotionEffect> effects = new ArrayList<>();
+                    applyPassiveEffectsForPlayer(player, effects);
+                    plugin.getPotionEffectReconciler().update(player, "divine_items", effects, PASSIVE_EFFECT_LIFETIME_TICKS);
                 }
             }
         }.runTaskTimer(plugin, 0L, 20L); // Run every second (20 ticks)
     }
     
     /**
-     * Apply passive effects for all divine items a player has
+     * Apply passive effects for all divine items a player has, collecting their potion effects
      */
-    private void applyPassiveEffectsForPlayer(Player player) {
+    private void applyPassiveEffectsForPlayer(Player player, List<PotionEffect> effects) {
         // Check main hand
         ItemStack mainHand = player.getInventory().getItemInMainHand();
         DivineItem mainHandItem = getDivineItemFromStack(mainHand);
         if (mainHandItem != null) {
-            mainHandItem.applyPassiveEffects(player, mainHand);
+            mainHandItem.applyPassiveEffects(player, mainHand, effects);
         }
         
         // Check off hand
         ItemStack offHand = player.getInventory().getItemInOffHand();
         DivineItem offHandItem = getDivineItemFromStack(offHand);
         if (offHandItem != null) {
-            offHandItem.applyPassiveEffects(player, offHand);
+            offHandItem.applyPassiveEffects(player, offHand, effects);
         }
         
         // Check inventory for divine items (passive effects when carried)
@@ -115,7 +119,7 @@ public class DivineItemListener implements Listener {
             DivineItem divineItem = getDivineItemFromStack(item);
             if (divineItem != null && divineItem != mainHandItem && divineItem != offHandItem) {
                 // Apply weaker passive effects when in inventory (not held)
-                divineItem.applyPassiveEffects(player, item);
+                divineItem.applyPassiveEffects(player, item, effects);
                 
                 // Create god aura effects
                 if (divineItem.getGodType() != null) {
@@ -129,30 +133,6 @@ public class DivineItemListener implements Listener {
      * Get the DivineItem instance from an ItemStack
      */
     private DivineItem getDivineItemFromStack(ItemStack item) {
-        if (item == null || !item.hasItemMeta()) {
-            return null;
-        }
-        org.bukkit.inventory.meta.ItemMeta meta = item.getItemMeta();
-        String displayName = meta.hasDisplayName() ? meta.getDisplayName() : null;
-        java.util.List<String> lore = meta.hasLore() ? meta.getLore() : null;
-
-        // Check all registered divine items
-        for (GodType god : GodType.values()) {
-            DivineItem divineItem = godManager.getDivineItem(god);
-            if (divineItem != null) {
-                // Match by display name and lore
-                boolean nameMatch = displayName != null && displayName.equals(divineItem.getDisplayName());
-                boolean loreMatch = lore != null && divineItem.getLore() != null && lore.containsAll(divineItem.getLore());
-                if (nameMatch && loreMatch) {
-                    return divineItem;
-                }
-            }
-        }
-        // Check for Convergence Nexus (not tied to a specific god)
-        ConvergenceNexus nexus = new ConvergenceNexus();
-        if (displayName != null && displayName.equals(nexus.getDisplayName()) && lore != null && nexus.getLore() != null && lore.containsAll(nexus.getLore())) {
-            return nexus;
-        }
-        return null;
+        return godManager.identifyDivineItem(item);
     }
 }
\ No newline at end of file
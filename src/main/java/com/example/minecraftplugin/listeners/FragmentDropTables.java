@@ -0,0 +1,200 @@
+package com.example.minecraftplugin.listeners;
+
+import com.example.minecraftplugin.config.ConfigSnapshot;
+import com.example.minecraftplugin.data.AliasSampler;
+import com.example.minecraftplugin.enums.GodType;
+import org.bukkit.Material;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.EntityType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Fragment drop tables compiled from one configuration snapshot.
+ *
+ * Every mob and container that can drop fragments gets a source with its chance
+ * multiplier and its god weights. A source keeps one alias sampler per set of
+ * "home" gods (the gods whose biome list matches where the player stands), built
+ * the first time that set is seen, so picking a god is constant time. Biomes are
+ * resolved to their home-god mask once and then looked up.
+ *
+ * Only used from the main thread.
+ */
+final class FragmentDropTables {
+
+    private static final GodType[] GODS = GodType.values();
+    private static final int ALL_GODS = (1 << GODS.length) - 1;
+
+    private final long configVersion;
+    private final Map<EntityType, Source> mobs;
+    private final Map<Material, Source> containers;
+    private final Set<Material> containerTypes;
+    private final double biomeBonus;
+    private final Map<Biome, Integer> homeGods;
+
+    private FragmentDropTables(long configVersion, Map<EntityType, Source> mobs, Map<Material, Source> containers,
+                               double biomeBonus) {
+        this.configVersion = configVersion;
+        this.mobs = mobs;
+        this.containers = containers;
+        this.containerTypes = containers.isEmpty()
+            ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(containers.keySet()));
+        this.biomeBonus = biomeBonus;
+        this.homeGods = new HashMap<>();
+    }
+
+    static FragmentDropTables compile(ConfigSnapshot snapshot) {
+        ConfigSnapshot.FragmentDropSettings settings = snapshot.fragmentDrops();
+
+        Map<EntityType, Source> mobs = new EnumMap<>(EntityType.class);
+        for (Map.Entry<EntityType, Double> mob : settings.getMobs().entrySet()) {
+            Source source = Source.of(settings, mob.getKey().name(), mob.getValue());
+            if (source != null) {
+                mobs.put(mob.getKey(), source);
+            }
+        }
+
+        Map<Material, Source> containers = new EnumMap<>(Material.class);
+        for (Map.Entry<Material, Double> container : settings.getContainers().entrySet()) {
+            Source source = Source.of(settings, container.getKey().name(), container.getValue());
+            if (source != null) {
+                containers.put(container.getKey(), source);
+            }
+        }
+
+        return new FragmentDropTables(snapshot.getVersion(), mobs, containers, settings.getBiomeBonus());
+    }
+
+    long getConfigVersion() {
+        return configVersion;
+    }
+
+    /**
+     * Drop source for a mob, or null if it never drops fragments
+     */
+    Source mob(EntityType type) {
+        return mobs.get(type);
+    }
+
+    /**
+     * Drop source for a container, or null if it never holds fragments
+     */
+    Source container(Material type) {
+        return containers.get(type);
+    }
+
+    Set<Material> getContainerTypes() {
+        return containerTypes;
+    }
+
+    /**
+     * Pick a god for a drop from the source in the given biome
+     */
+    GodType sample(Source source, Biome biome, SplittableRandom random) {
+        int home = homeGods(biome);
+        AliasSampler sampler = source.byHomeGods.get(home);
+        if (sampler == null) {
+            sampler = build(source, home, ALL_GODS);
+            if (sampler == null) {
+                // The bonus zeroed every god in this biome; ignore it
+                sampler = source.byHomeGods.get(0);
+            }
+            source.byHomeGods.put(home, sampler);
+        }
+        return GODS[sampler.sample(random)];
+    }
+
+    /**
+     * Pick a god for a drop from the source in the given biome among the allowed
+     * gods (a mask of god ordinals), keeping their relative weights. Returns null
+     * if none of the allowed gods can drop from this source.
+     */
+    GodType sample(Source source, Biome biome, int allowed, SplittableRandom random) {
+        int home = homeGods(biome);
+        long key = ((long) allowed << 32) | (home & 0xFFFFFFFFL);
+        AliasSampler sampler = source.byAllowedGods.get(key);
+        if (sampler == null && !source.byAllowedGods.containsKey(key)) {
+            sampler = build(source, home, allowed);
+            if (sampler == null && home != 0) {
+                sampler = build(source, 0, allowed);
+            }
+            source.byAllowedGods.put(key, sampler);
+        }
+        return sampler != null ? GODS[sampler.sample(random)] : null;
+    }
+
+    private int homeGods(Biome biome) {
+        return biomeBonus == 1.0 ? 0 : homeGods.computeIfAbsent(biome, FragmentDropTables::homeGodMask);
+    }
+
+    /**
+     * Sampler over the allowed gods with the biome bonus applied to the home gods,
+     * or null if every allowed god ends up with no weight
+     */
+    private AliasSampler build(Source source, int home, int allowed) {
+        double[] weights = source.godWeights.clone();
+        for (int g = 0; g < weights.length; g++) {
+            if ((allowed & (1 << g)) == 0) {
+                weights[g] = 0;
+            } else if ((home & (1 << g)) != 0) {
+                weights[g] *= biomeBonus;
+            }
+        }
+        return AliasSampler.of(weights);
+    }
+
+    /**
+     * Gods whose biome list matches the biome, the way altar placement matches them
+     */
+    private static int homeGodMask(Biome biome) {
+        String biomeName = biome.getKey().getKey().toUpperCase(Locale.ROOT);
+        int mask = 0;
+        for (GodType god : GODS) {
+            for (String godBiome : god.getBiomes()) {
+                if (biomeName.contains(godBiome.toUpperCase(Locale.ROOT))) {
+                    mask |= 1 << god.ordinal();
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * One mob or container type that can produce fragments
+     */
+    static final class Source {
+        private final double chanceMultiplier;
+        private final double[] godWeights;
+        private final Map<Integer, AliasSampler> byHomeGods;
+        private final Map<Long, AliasSampler> byAllowedGods; // Null values mean nothing allowed can drop
+
+        private Source(double chanceMultiplier, double[] godWeights, AliasSampler base) {
+            this.chanceMultiplier = chanceMultiplier;
+            this.godWeights = godWeights;
+            this.byHomeGods = new HashMap<>();
+            this.byAllowedGods = new HashMap<>();
+            byHomeGods.put(0, base);
+        }
+
+        private static Source of(ConfigSnapshot.FragmentDropSettings settings, String name, double chanceMultiplier) {
+            double[] weights = new double[GODS.length];
+            for (GodType god : GODS) {
+                weights[god.ordinal()] = settings.getGodWeight(name, god);
+            }
+            AliasSampler base = AliasSampler.of(weights);
+            return base != null ? new Source(chanceMultiplier, weights, base) : null;
+        }
+
+        double getChanceMultiplier() {
+            return chanceMultiplier;
+        }
+    }
+}
@@ -1,65 +1,75 @@
 package com.example.minecraftplugin.listeners;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.config.ConfigSnapshot;
 import com.example.minecraftplugin.enums.GodType;
 import com.example.minecraftplugin.items.FragmentItem;
 import com.example.minecraftplugin.managers.CooldownManager;
 import com.example.minecraftplugin.managers.GodManager;
 import org.bukkit.Material;
+import org.bukkit.block.Biome;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.player.PlayerPickupItemEvent;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Handles fragment spawning from chests and dangerous mobs
+ *
+ * Which mobs and containers can drop fragments, and which god's fragment they
+ * favour, comes from the drop tables in config.yml, compiled once per
+ * configuration version into alias samplers.
  */
 public class FragmentListener implements Listener {
     
     private final MinecraftPlugin plugin;
     private final GodManager godManager;
     private final CooldownManager cooldownManager;
-    private final Random random;
     
-    // Define dangerous mobs that can drop fragments
-    private final List<EntityType> dangerousMobs = Arrays.asList(
-        EntityType.ZOMBIE, EntityType.SKELETON, EntityType.CREEPER, EntityType.SPIDER,
-        EntityType.ENDERMAN, EntityType.WITCH, EntityType.BLAZE, EntityType.GHAST,
-        EntityType.WITHER_SKELETON, EntityType.PIGLIN_BRUTE, EntityType.HOGLIN,
-        EntityType.ZOGLIN, EntityType.PHANTOM, EntityType.DROWNED, EntityType.HUSK,
-        EntityType.STRAY, EntityType.VEX, EntityType.VINDICATOR, EntityType.EVOKER,
-        EntityType.PILLAGER, EntityType.RAVAGER, EntityType.SHULKER, EntityType.GUARDIAN,
-        EntityType.ELDER_GUARDIAN, EntityType.WARDEN
-    );
+    // Attempts to draw a god the player still needs before sampling by weight among the missing gods
+    private static final int SAMPLE_ATTEMPTS = 3;
     
-    // Define chest types that can contain fragments
-    private final List<Material> chestTypes = Arrays.asList(
-        Material.CHEST, Material.TRAPPED_CHEST, Material.ENDER_CHEST,
-        Material.BARREL, Material.SHULKER_BOX
-    );
+    private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(SplittableRandom::new);
+    
+    private FragmentDropTables dropTables;
     
     public FragmentListener(MinecraftPlugin plugin, GodManager godManager, CooldownManager cooldownManager) {
         this.plugin = plugin;
         this.godManager = godManager;
         this.cooldownManager = cooldownManager;
-        this.random = new Random();
+        
+        // Only container breaks are routed here; cancelled breaks never drop fragments
+        plugin.getInteractionRouter().onBlockBreak("chest_fragments", EventPriority.NORMAL, true,
+            () -> getDropTables().getContainerTypes(),
+            (event, context) -> onChestBreak(context.getPlayer(), context.getMaterial()));
     }
     
-    @EventHandler
-    public void onBlockBreak(BlockBreakEvent event) {
-        Player player = event.getPlayer();
-        Material blockType = event.getBlock().getType();
-        
-        // Check if it's a chest type
-        if (!chestTypes.contains(blockType)) {
+    /**
+     * Drop tables for the current configuration, recompiled after a reload
+     */
+    private FragmentDropTables getDropTables() {
+        ConfigSnapshot snapshot = plugin.getConfigManager().getSnapshot();
+        FragmentDropTables tables = dropTables;
+        if (tables == null || tables.getConfigVersion() != snapshot.getVersion()) {
+            tables = FragmentDropTables.compile(snapshot);
+            dropTables = tables;
+        }
+        return tables;
+    }
+    
+    /**
+     * Roll for a fragment when a player breaks a container
+     */
+    private void onChestBreak(Player player, Material containerType) {
+        FragmentDropTables tables = getDropTables();
+        FragmentDropTables.Source source = tables.container(containerType);
+        if (source == null) {
             return;
         }
         
@@ -73,24 +83,14 @@ public class FragmentListener implements Listener {
         }
         
         // Check spawn chance
-        if (random.nextDouble() > chestSpawnChance) {
+        SplittableRandom random = RANDOM.get();
+        if (random.nextDouble() > chestSpawnChance * source.getChanceMultiplier()) {
             return;
         }
         
-        // Select random god and missing fragment
-        GodType selectedGod = getRandomGod();
-        int missingFragment = godManager.getMissingFragment(player, selectedGod);
-        
-        if (missingFragment == -1) {
-            // Player has all fragments for this god, try another
-            selectedGod = getRandomIncompleteGod(player);
-            if (selectedGod != null) {
-                missingFragment = godManager.getMissingFragment(player, selectedGod);
-            }
-        }
-        
-        if (selectedGod != null && missingFragment != -1) {
-            spawnFragment(player, selectedGod, missingFragment, "chest");
+        GodType selectedGod = selectGod(player, tables, source, random);
+        if (selectedGod != null) {
+            spawnFragment(player, selectedGod, godManager.getMissingFragment(player, selectedGod), "chest");
             cooldownManager.setChestFragmentCooldown(player);
         }
     }
@@ -106,7 +106,9 @@ public class FragmentListener implements Listener {
         EntityType entityType = event.getEntity().getType();
         
         // Check if it's a dangerous mob
-        if (!dangerousMobs.contains(entityType)) {
+        FragmentDropTables tables = getDropTables();
+        FragmentDropTables.Source source = tables.mob(entityType);
+        if (source == null) {
             return;
         }
         
@@ -120,26 +122,40 @@ public class FragmentListener implements Listener {
         }
         
         // Check drop chance
-        if (random.nextDouble() > mobDropChance) {
+        SplittableRandom random = RANDOM.get();
+        if (random.nextDouble() > mobDropChance * source.getChanceMultiplier()) {
             return;
         }
         
-        // Select random god and missing fragment
-        GodType selectedGod = getRandomGod();
-        int missingFragment = godManager.getMissingFragment(player, selectedGod);
+        GodType selectedGod = selectGod(player, tables, source, random);
+        if (selectedGod != null) {
+            spawnFragment(player, selectedGod, godManager.getMissingFragment(player, selectedGod), "mob");
+            cooldownManager.setMobFragmentCooldown(player);
+        }
+    }
+    
+    /**
+     * Pick the god whose fragment drops, weighted by the source and the player's biome,
+     * among gods the player is still missing fragments for (returns null if none are left
+     * or none of them can drop from this source)
+     */
+    private GodType selectGod(Player player, FragmentDropTables tables, FragmentDropTables.Source source,
+                              SplittableRandom random) {
+        int incomplete = godManager.getIncompleteGodMask(player);
+        if (incomplete == 0) {
+            return null;
+        }
         
-        if (missingFragment == -1) {
-            // Player has all fragments for this god, try another
-            selectedGod = getRandomIncompleteGod(player);
-            if (selectedGod != null) {
-                missingFragment = godManager.getMissingFragment(player, selectedGod);
+        Biome biome = player.getLocation().getBlock().getBiome();
+        for (int attempt = 0; attempt < SAMPLE_ATTEMPTS; attempt++) {
+            GodType god = tables.sample(source, biome, random);
+            if ((incomplete & (1 << god.ordinal())) != 0) {
+                return god;
             }
         }
         
-        if (selectedGod != null && missingFragment != -1) {
-            spawnFragment(player, selectedGod, missingFragment, "mob");
-            cooldownManager.setMobFragmentCooldown(player);
-        }
+        // The favoured gods are complete; draw from the missing gods' weights alone
+        return tables.sample(source, biome, incomplete, random);
     }
     
     @EventHandler
@@ -188,26 +204,4 @@ public class FragmentListener implements Listener {
         plugin.getLogger().info(player.getName() + " discovered fragment " + fragmentNumber + 
                                " of " + godType.getDisplayName() + " from " + source);
     }
-    
-    /**
-     * Get a random god type
-     */
-    private GodType getRandomGod() {
-        GodType[] gods = GodType.values();
-        return gods[random.nextInt(gods.length)];
-    }
-    
-    /**
-     * Get a random god that the player hasn't completed
-     */
-    private GodType getRandomIncompleteGod(Player player) {
-        List<GodType> incompleteGods = Arrays.asList(GodType.values());
-        incompleteGods.removeIf(god -> godManager.hasAllFragments(player, god));
-        
-        if (incompleteGods.isEmpty()) {
-            return null;
-        }
-        
-        return incompleteGods.get(random.nextInt(incompleteGods.size()));
-    }
 }
\ No newline at end of file
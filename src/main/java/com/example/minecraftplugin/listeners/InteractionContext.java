@@ -0,0 +1,96 @@
+package com.example.minecraftplugin.listeners;
+
+import com.example.minecraftplugin.items.DivineItem;
+import com.example.minecraftplugin.managers.GodManager;
+import com.example.minecraftplugin.managers.PlayerDataManager;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.Action;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Per-event facts shared by every handler behind the InteractionRouter.
+ * The held item, its divine item identity and the prisoner flag are each
+ * looked up at most once per event, and only if some handler asks for them.
+ */
+public class InteractionContext {
+
+    private final Player player;
+    private final Action action; // null for block breaks
+    private final Block block;
+    private final Material material;
+    private final GodManager godManager;
+    private final PlayerDataManager playerDataManager;
+
+    private ItemStack heldItem;
+    private boolean heldItemLoaded;
+    private DivineItem divineItem;
+    private boolean divineItemResolved;
+    private Boolean prisoner;
+
+    InteractionContext(Player player, Action action, Block block,
+                       GodManager godManager, PlayerDataManager playerDataManager) {
+        this.player = player;
+        this.action = action;
+        this.block = block;
+        this.material = block != null ? block.getType() : null;
+        this.godManager = godManager;
+        this.playerDataManager = playerDataManager;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    /**
+     * The clicked or broken block, or null for clicks in the air
+     */
+    public Block getBlock() {
+        return block;
+    }
+
+    /**
+     * Type of the block when the event fired, or null for clicks in the air
+     */
+    public Material getMaterial() {
+        return material;
+    }
+
+    public boolean isRightClick() {
+        return action == Action.RIGHT_CLICK_AIR || action == Action.RIGHT_CLICK_BLOCK;
+    }
+
+    /**
+     * Item in the player's main hand
+     */
+    public ItemStack getHeldItem() {
+        if (!heldItemLoaded) {
+            heldItem = player.getInventory().getItemInMainHand();
+            heldItemLoaded = true;
+        }
+        return heldItem;
+    }
+
+    /**
+     * Divine item in the player's main hand, or null
+     */
+    public DivineItem getHeldDivineItem() {
+        if (!divineItemResolved) {
+            divineItem = godManager.identifyDivineItem(getHeldItem());
+            divineItemResolved = true;
+        }
+        return divineItem;
+    }
+
+    public boolean isPrisoner() {
+        if (prisoner == null) {
+            prisoner = playerDataManager.isPrisonerOfTheVoid(player);
+        }
+        return prisoner;
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.minecraftplugin.listeners;
+
+import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.managers.GodManager;
+import com.example.minecraftplugin.managers.PlayerDataManager;
+import org.bukkit.Material;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single entry point for the plugin's PlayerInteractEvent and BlockBreakEvent handling.
+ *
+ * Features register routes instead of their own event handlers. Each route names the
+ * actions and block types it cares about, and the router precomputes EnumMap tables
+ * from action and material to the ordered list of interested routes, so an event only
+ * reaches the handlers that can act on it. Shared per-event lookups live in
+ * InteractionContext, and the time spent in each route is reported with the
+ * PerformanceManager statistics.
+ *
+ * The router registers one executor per event priority that has routes, so a route
+ * runs at its priority relative to other plugins' listeners, and routes sharing a
+ * priority run in registration order. Block filters are re-read whenever the
+ * configuration snapshot changes.
+ */
+public class InteractionRouter implements Listener {
+
+    private final MinecraftPlugin plugin;
+    private final Logger logger;
+    private final GodManager godManager;
+    private final PlayerDataManager playerDataManager;
+
+    private final List<Route<PlayerInteractEvent>> interactRoutes;
+    private final List<Route<BlockBreakEvent>> breakRoutes;
+    private final Set<EventPriority> interactPriorities;
+    private final Set<EventPriority> breakPriorities;
+
+    // Built lazily; only touched on the main thread
+    private Map<EventPriority, Map<Action, RouteTable<PlayerInteractEvent>>> interactTables;
+    private Map<EventPriority, RouteTable<BlockBreakEvent>> breakTables;
+    private long builtForVersion = -1;
+
+    public InteractionRouter(MinecraftPlugin plugin, GodManager godManager, PlayerDataManager playerDataManager) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.godManager = godManager;
+        this.playerDataManager = playerDataManager;
+        this.interactRoutes = new ArrayList<>();
+        this.breakRoutes = new ArrayList<>();
+        this.interactPriorities = EnumSet.noneOf(EventPriority.class);
+        this.breakPriorities = EnumSet.noneOf(EventPriority.class);
+    }
+
+    /**
+     * Route right/left clicks with the given actions on the given block types (null for any block, or air)
+     */
+    public void onInteract(String name, Set<Action> actions, Supplier<Set<Material>> blocks,
+                           Handler<PlayerInteractEvent> handler) {
+        onInteract(name, EventPriority.NORMAL, false, actions, blocks, handler);
+    }
+
+    public void onInteract(String name, EventPriority priority, boolean ignoreCancelled, Set<Action> actions,
+                           Supplier<Set<Material>> blocks, Handler<PlayerInteractEvent> handler) {
+        interactRoutes.add(new Route<>("interact:" + name, priority, ignoreCancelled, EnumSet.copyOf(actions), blocks, handler));
+        invalidateTables();
+
+        if (interactPriorities.add(priority)) {
+            plugin.getServer().getPluginManager().registerEvent(PlayerInteractEvent.class, this, priority, (listener, event) -> {
+                if (event instanceof PlayerInteractEvent) {
+                    onPlayerInteract((PlayerInteractEvent) event, priority);
+                }
+            }, plugin);
+        }
+    }
+
+    /**
+     * Route breaks of the given block types (null for any block)
+     */
+    public void onBlockBreak(String name, Supplier<Set<Material>> blocks, Handler<BlockBreakEvent> handler) {
+        onBlockBreak(name, EventPriority.NORMAL, false, blocks, handler);
+    }
+
+    public void onBlockBreak(String name, EventPriority priority, boolean ignoreCancelled,
+                             Supplier<Set<Material>> blocks, Handler<BlockBreakEvent> handler) {
+        breakRoutes.add(new Route<>("break:" + name, priority, ignoreCancelled, null, blocks, handler));
+        invalidateTables();
+
+        if (breakPriorities.add(priority)) {
+            plugin.getServer().getPluginManager().registerEvent(BlockBreakEvent.class, this, priority, (listener, event) -> {
+                if (event instanceof BlockBreakEvent) {
+                    onBlockBreak((BlockBreakEvent) event, priority);
+                }
+            }, plugin);
+        }
+    }
+
+    private void onPlayerInteract(PlayerInteractEvent event, EventPriority priority) {
+        ensureTables();
+
+        RouteTable<PlayerInteractEvent> table = interactTables.get(priority).get(event.getAction());
+        if (table != null && !table.isEmpty()) {
+            InteractionContext context = new InteractionContext(event.getPlayer(), event.getAction(),
+                event.getClickedBlock(), godManager, playerDataManager);
+            dispatch(table.lookup(context.getMaterial()), event, context);
+        }
+    }
+
+    private void onBlockBreak(BlockBreakEvent event, EventPriority priority) {
+        ensureTables();
+
+        InteractionContext context = new InteractionContext(event.getPlayer(), null,
+            event.getBlock(), godManager, playerDataManager);
+        dispatch(breakTables.get(priority).lookup(context.getMaterial()), event, context);
+    }
+
+    private <E extends Event & Cancellable> void dispatch(Route<E>[] routes, E event, InteractionContext context) {
+        for (Route<E> route : routes) {
+            if (route.ignoreCancelled && event.isCancelled()) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            try {
+                route.handler.handle(event, context);
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Error in " + route.name + " handler", e);
+            } finally {
+                route.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void invalidateTables() {
+        builtForVersion = -1;
+    }
+
+    /**
+     * Rebuild the route tables if routes were added or the configuration changed
+     */
+    private void ensureTables() {
+        long version = plugin.getConfigManager().getSnapshot().getVersion();
+        if (version == builtForVersion) {
+            return;
+        }
+
+        Map<EventPriority, Map<Action, RouteTable<PlayerInteractEvent>>> interact = new EnumMap<>(EventPriority.class);
+        for (EventPriority priority : interactPriorities) {
+            Map<Action, RouteTable<PlayerInteractEvent>> tables = new EnumMap<>(Action.class);
+            for (Action action : Action.values()) {
+                List<Route<PlayerInteractEvent>> routes = new ArrayList<>();
+                for (Route<PlayerInteractEvent> route : interactRoutes) {
+                    if (route.priority == priority && route.actions.contains(action)) {
+                        routes.add(route);
+                    }
+                }
+                tables.put(action, new RouteTable<>(routes));
+            }
+            interact.put(priority, tables);
+        }
+
+        Map<EventPriority, RouteTable<BlockBreakEvent>> breaks = new EnumMap<>(EventPriority.class);
+        for (EventPriority priority : breakPriorities) {
+            List<Route<BlockBreakEvent>> routes = new ArrayList<>();
+            for (Route<BlockBreakEvent> route : breakRoutes) {
+                if (route.priority == priority) {
+                    routes.add(route);
+                }
+            }
+            breaks.put(priority, new RouteTable<>(routes));
+        }
+
+        interactTables = interact;
+        breakTables = breaks;
+        builtForVersion = version;
+    }
+
+    /**
+     * Per-route call counts and timings, slowest average first
+     */
+    public Map<String, String> getHandlerStatistics() {
+        List<Route<?>> routes = new ArrayList<>(interactRoutes);
+        routes.addAll(breakRoutes);
+        routes.sort(Comparator.comparingDouble(Route<?>::getAverageMillis).reversed());
+
+        Map<String, String> stats = new LinkedHashMap<>();
+        for (Route<?> route : routes) {
+            stats.put(route.name, String.format("%d calls, avg %.3fms, max %.3fms",
+                route.calls.sum(), route.getAverageMillis(), route.maxNanos.get() / 1_000_000.0));
+        }
+        return stats;
+    }
+
+    @FunctionalInterface
+    public interface Handler<E extends Event> {
+        void handle(E event, InteractionContext context);
+    }
+
+    private static class Route<E extends Event> {
+        private final String name;
+        private final EventPriority priority;
+        private final boolean ignoreCancelled;
+        private final Set<Action> actions;
+        private final Supplier<Set<Material>> blocks;
+        private final Handler<E> handler;
+
+        // Written on the main thread, read by the async performance logger
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private Route(String name, EventPriority priority, boolean ignoreCancelled, Set<Action> actions,
+                      Supplier<Set<Material>> blocks, Handler<E> handler) {
+            this.name = name;
+            this.priority = priority;
+            this.ignoreCancelled = ignoreCancelled;
+            this.actions = actions;
+            this.blocks = blocks;
+            this.handler = handler;
+        }
+
+        private void record(long nanos) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private double getAverageMillis() {
+            long count = calls.sum();
+            return count == 0 ? 0.0 : (totalNanos.sum() / 1_000_000.0) / count;
+        }
+    }
+
+    /**
+     * Routes of one priority and action in registration order, indexed by block material
+     */
+    private static class RouteTable<E extends Event> {
+        private final Route<E>[] anyBlock;
+        private final Map<Material, Route<E>[]> byBlock;
+
+        private RouteTable(List<Route<E>> ordered) {
+            // Resolve each route's block filter once per build
+            List<Set<Material>> filters = new ArrayList<>(ordered.size());
+            Set<Material> named = EnumSet.noneOf(Material.class);
+            for (Route<E> route : ordered) {
+                Set<Material> filter = route.blocks != null ? route.blocks.get() : null;
+                if (filter != null) {
+                    filter = filter.isEmpty() ? Collections.emptySet() : EnumSet.copyOf(filter);
+                    named.addAll(filter);
+                }
+                filters.add(filter);
+            }
+
+            this.anyBlock = select(ordered, filters, null);
+            this.byBlock = new EnumMap<>(Material.class);
+            for (Material material : named) {
+                byBlock.put(material, select(ordered, filters, material));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E extends Event> Route<E>[] select(List<Route<E>> ordered, List<Set<Material>> filters, Material material) {
+            List<Route<E>> selected = new ArrayList<>();
+            for (int i = 0; i < ordered.size(); i++) {
+                Set<Material> filter = filters.get(i);
+                if (filter == null || (material != null && filter.contains(material))) {
+                    selected.add(ordered.get(i));
+                }
+            }
+            return selected.toArray(new Route[0]);
+        }
+
+        private boolean isEmpty() {
+            return anyBlock.length == 0 && byBlock.isEmpty();
+        }
+
+        private Route<E>[] lookup(Material material) {
+            if (material == null) {
+                return anyBlock;
+            }
+            Route<E>[] routes = byBlock.get(material);
+            return routes != null ? routes : anyBlock;
+        }
+    }
+}
@@ -37,6 +37,18 @@ public class PlayerListener implements Listener {
         // Log to console
         plugin.getLogger().info(playerName + " joined the server");
         
+        // Render the chat prefix before the player can chat
+        plugin.getChatPrefixCache().refresh(event.getPlayer().getUniqueId());
+        
+        // Keep any reality journal that was waiting to expire
+        plugin.getTranscendenceAbilityManager().handlePlayerJoin(event.getPlayer().getUniqueId());
+        
+        // Pick up player data handed over by the server the player came from
+        plugin.getCrossServerManager().requestPoll();
+        
+        // Hand over refunds from bounties that ended while the player was away
+        plugin.getBountyManager().deliverPendingRefunds(event.getPlayer());
+        
         // Apply ascension effects if player has any
         AscensionLevel level = godManager.getAscensionLevel(event.getPlayer());
         if (level.hasEffects()) {
@@ -62,5 +74,10 @@ public class PlayerListener implements Listener {
         
         // Remove player from ascension effects tracking
         godManager.removePlayerFromAscensionTracking(event.getPlayer().getUniqueId());
+        plugin.getPotionEffectReconciler().removePlayer(event.getPlayer());
+        plugin.getChatPrefixCache().remove(event.getPlayer().getUniqueId());
+        
+        // Start the reality journal expiry countdown
+        plugin.getTranscendenceAbilityManager().handlePlayerQuit(event.getPlayer().getUniqueId());
     }
 }
\ No newline at end of file
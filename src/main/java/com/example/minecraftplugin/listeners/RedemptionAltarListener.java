@@ -7,11 +7,13 @@ import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.EnumSet;
+
 /**
  * Handles interactions with the Redemption Altar for combining Shards of Atonement
  */
@@ -21,27 +23,18 @@ public class RedemptionAltarListener implements Listener {
     
     public RedemptionAltarListener(MinecraftPlugin plugin) {
         this.plugin = plugin;
+        
+        // The altar material is configurable; the router re-reads it after each reload
+        plugin.getInteractionRouter().onInteract("redemption_altar", EnumSet.of(Action.RIGHT_CLICK_BLOCK),
+            () -> EnumSet.of(getAltarMaterial()), this::onAltarClick);
     }
     
-    @EventHandler
-    public void onPlayerInteract(PlayerInteractEvent event) {
-        // Only handle right-click on blocks
-        if (event.getAction() != org.bukkit.event.block.Action.RIGHT_CLICK_BLOCK) {
-            return;
-        }
-        
-        Player player = event.getPlayer();
-        Block clickedBlock = event.getClickedBlock();
-        
-        if (clickedBlock == null) {
-            return;
-        }
-        
-        // Check if the clicked block is a Redemption Altar
-        Material altarMaterial = getAltarMaterial();
-        if (clickedBlock.getType() != altarMaterial) {
-            return;
-        }
+    /**
+     * Handle a right-click on the Redemption Altar (routed by InteractionRouter)
+     */
+    private void onAltarClick(PlayerInteractEvent event, InteractionContext context) {
+        Player player = context.getPlayer();
+        Block clickedBlock = context.getBlock();
         
         // Cancel the event to prevent other interactions (like opening beacon GUI)
         event.setCancelled(true);
@@ -77,7 +70,7 @@ public class RedemptionAltarListener implements Listener {
         player.sendMessage("§7Right-click on a prisoner to use the key.");
         
         // Broadcast to server if configured
-        if (plugin.getConfig().getBoolean("testament.lives_system.redemption.announce_key_creation", true)) {
+        if (plugin.getConfigManager().getSnapshot().main().isAnnounceKeyCreation()) {
             plugin.getServer().broadcastMessage("§b§l" + player.getName() + " §r§bhas forged a Key to Redemption!");
         }
         
@@ -91,7 +84,7 @@ public class RedemptionAltarListener implements Listener {
      * Get the material used for the Redemption Altar from config
      */
     private Material getAltarMaterial() {
-        String materialName = plugin.getConfig().getString("testament.lives_system.redemption.altar_material", "BEACON");
+        String materialName = plugin.getConfigManager().getSnapshot().main().getRedemptionAltarMaterial();
         try {
             return Material.valueOf(materialName.toUpperCase());
         } catch (IllegalArgumentException e) {
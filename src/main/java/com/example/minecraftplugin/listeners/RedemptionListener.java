@@ -103,9 +103,8 @@ public class RedemptionListener implements Listener {
         sendRedemptionMessages(redeemer, prisoner);
         
         // Broadcast to server if configured
-        if (plugin.getConfig().getBoolean("testament.lives_system.redemption.broadcast_redemption", true)) {
-            String broadcastMessage = plugin.getConfig().getString("testament.lives_system.redemption.broadcast_message", 
-                "§b§l{redeemer} §r§bhas freed §b§l{prisoner} §r§bfrom the Void!");
+        if (plugin.getConfigManager().getSnapshot().main().isBroadcastRedemption()) {
+            String broadcastMessage = plugin.getConfigManager().getSnapshot().main().getRedemptionBroadcastMessage();
             broadcastMessage = broadcastMessage.replace("{redeemer}", redeemer.getName())
                                              .replace("{prisoner}", prisoner.getName());
             plugin.getServer().broadcastMessage(broadcastMessage);
@@ -120,7 +119,7 @@ public class RedemptionListener implements Listener {
      */
     private void applyRedemptionCosts(Player prisoner) {
         // XP Loss
-        double xpLossPercentage = plugin.getConfig().getDouble("testament.lives_system.redemption.xp_loss_percentage", 0.5);
+        double xpLossPercentage = plugin.getConfigManager().getSnapshot().main().getXpLossPercentage();
         if (xpLossPercentage > 0) {
             int currentXP = prisoner.getTotalExperience();
             int xpToRemove = (int) (currentXP * xpLossPercentage);
@@ -132,7 +131,7 @@ public class RedemptionListener implements Listener {
         }
         
         // Item Clearing
-        boolean clearNonDivineItems = plugin.getConfig().getBoolean("testament.lives_system.redemption.clear_non_divine_items", false);
+        boolean clearNonDivineItems = plugin.getConfigManager().getSnapshot().main().isClearNonDivineItems();
         if (clearNonDivineItems) {
             clearNonDivineItems(prisoner);
             prisoner.sendMessage("§c§lRedemption Cost: §r§cAll non-divine items have been cleared from your inventory.");
@@ -183,7 +182,7 @@ public class RedemptionListener implements Listener {
      * Apply reduced maximum health to the freed player
      */
     private void applyReducedMaxHealth(Player player) {
-        double reducedMaxHearts = plugin.getConfig().getDouble("testament.lives_system.redemption.reduced_max_hearts", 10.0);
+        double reducedMaxHearts = plugin.getConfigManager().getSnapshot().main().getReducedMaxHearts();
         
         org.bukkit.attribute.AttributeInstance healthAttribute = player.getAttribute(org.bukkit.attribute.Attribute.MAX_HEALTH);
         if (healthAttribute != null) {
@@ -209,7 +208,7 @@ public class RedemptionListener implements Listener {
      */
     private Location getRedemptionLocation() {
         try {
-            String worldName = plugin.getConfig().getString("testament.lives_system.redemption.teleport_world", "world");
+            String worldName = plugin.getConfigManager().getSnapshot().main().getRedemptionWorldName();
             World world = plugin.getServer().getWorld(worldName);
             
             if (world == null) {
@@ -217,9 +216,9 @@ public class RedemptionListener implements Listener {
                 world = plugin.getServer().getWorlds().get(0);
             }
             
-            int x = plugin.getConfig().getInt("testament.lives_system.redemption.teleport_coords.x", 0);
-            int y = plugin.getConfig().getInt("testament.lives_system.redemption.teleport_coords.y", 100);
-            int z = plugin.getConfig().getInt("testament.lives_system.redemption.teleport_coords.z", 0);
+            int x = plugin.getConfigManager().getSnapshot().main().getRedemptionX();
+            int y = plugin.getConfigManager().getSnapshot().main().getRedemptionY();
+            int z = plugin.getConfigManager().getSnapshot().main().getRedemptionZ();
             
             return new Location(world, x + 0.5, y, z + 0.5);
         } catch (Exception e) {
@@ -259,8 +258,7 @@ public class RedemptionListener implements Listener {
         prisoner.sendMessage("§7Use this second chance wisely...");
         
         // Show redemption costs
-        String costMessage = plugin.getConfig().getString("testament.lives_system.redemption.cost_message", 
-            "§e§lRedemption comes with a price. Learn from this experience.");
+        String costMessage = plugin.getConfigManager().getSnapshot().main().getRedemptionCostMessage();
         prisoner.sendMessage(costMessage);
     }
 }
\ No newline at end of file
@@ -1,40 +1,74 @@
 package com.example.minecraftplugin.managers;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.data.AppendOnlyLog;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.io.File;
 import java.util.*;
 import java.util.logging.Logger;
 
 /**
  * Manages the bounty system for PvP interactions
+ *
+ * Every change to a bounty is written to an append-only ledger (bounties.log)
+ * and replayed at startup, so bounties and owed refunds survive restarts. The
+ * ledger is compacted to the current state and the most recent claims each time
+ * it is loaded. Expiry is driven by a queue ordered by expiry time, so a check
+ * only looks at bounties that are actually due. Refunds are queued per placer and handed out on the
+ * main thread, straight away for online placers and on next login otherwise.
  */
 public class BountyManager {
     
+    private static final long BOUNTY_LIFETIME_MILLIS = 7 * 24 * 60 * 60 * 1000L; // 7 days
+    private static final int MAX_RECENT_CLAIMS = 100;
+    
+    // Ledger record types
+    private static final String PLACE = "PLACE";
+    private static final String CLAIM = "CLAIM";
+    private static final String EXPIRE = "EXPIRE";
+    private static final String REMOVE = "REMOVE";
+    private static final String REFUND = "REFUND";
+    private static final String DELIVER = "DELIVER";
+    private static final String CLAIMED = "CLAIMED";
+    
     private final MinecraftPlugin plugin;
     private final Logger logger;
     private final PlayerDataManager playerDataManager;
+    private final AppendOnlyLog ledger;
     
     // Active bounties: target UUID -> bounty info
     private final Map<UUID, BountyInfo> activeBounties;
     
-    // Bounty history for tracking
+    // Active bounties by expiry time; entries for claimed or removed bounties are skipped when polled
+    private final PriorityQueue<Expiry> expiryQueue;
+    
+    // Refunds owed to placers: placer UUID -> refunds
+    private final Map<UUID, List<PendingRefund>> pendingRefunds;
+    
+    // Recent claims for tracking
     private final List<BountyRecord> bountyHistory;
+    private long totalClaimed;
     
     public BountyManager(MinecraftPlugin plugin, PlayerDataManager playerDataManager) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
         this.playerDataManager = playerDataManager;
         this.activeBounties = new HashMap<>();
+        this.expiryQueue = new PriorityQueue<>();
+        this.pendingRefunds = new HashMap<>();
         this.bountyHistory = new ArrayList<>();
+        this.ledger = new AppendOnlyLog(new File(plugin.getDataFolder(), "bounties.log"), "Testament-BountyLedger", logger);
+        
+        loadLedger();
         
         // Start bounty expiration task
         startBountyExpirationTask();
         
-        logger.info("Bounty Manager initialized");
+        logger.info("Bounty Manager initialized with " + activeBounties.size() + " active bounties");
     }
     
     /**
@@ -63,6 +97,16 @@ public class BountyManager {
         
         // Check if target already has a bounty
         BountyInfo existingBounty = activeBounties.get(targetId);
+        if (existingBounty != null && existingBounty.getCurrency() != currency) {
+            placer.sendMessage("§c§lBounty System: §r§cThe bounty on " + target.getName() + " is paid in " + 
+                             existingBounty.getCurrency().name().toLowerCase() + "!");
+            return false;
+        }
+        
+        long now = System.currentTimeMillis();
+        ledger.append(PLACE, Long.toString(now), targetId.toString(), target.getName(), placerId.toString(), 
+                      placer.getName(), Integer.toString(amount), currency.name());
+        
         if (existingBounty != null) {
             // Add to existing bounty
             existingBounty.addToBounty(placerId, amount, currency);
@@ -77,8 +121,9 @@ public class BountyManager {
         } else {
             // Create new bounty
             BountyInfo newBounty = new BountyInfo(targetId, target.getName(), placerId, placer.getName(), 
-                                                 amount, currency, System.currentTimeMillis());
+                                                 amount, currency, now);
             activeBounties.put(targetId, newBounty);
+            expiryQueue.add(new Expiry(newBounty));
             
             // Remove currency from placer
             removeCurrency(placer, currency, amount);
@@ -115,15 +160,15 @@ public class BountyManager {
         
         // Remove bounty from active list
         activeBounties.remove(victimId);
+        long now = System.currentTimeMillis();
+        ledger.append(CLAIM, Long.toString(now), victimId.toString(), killer.getUniqueId().toString(), killer.getName());
         
         // Award bounty to killer
         ItemStack reward = new ItemStack(bounty.getCurrency(), bounty.getTotalAmount());
         killer.getInventory().addItem(reward);
         
         // Create bounty record
-        BountyRecord record = new BountyRecord(bounty, killer.getUniqueId(), killer.getName(), 
-                                             System.currentTimeMillis());
-        bountyHistory.add(record);
+        recordClaim(new BountyRecord(bounty, killer.getUniqueId(), killer.getName(), now));
         
         // Notify killer
         killer.sendMessage("§6§l💰 BOUNTY CLAIMED! 💰");
@@ -163,11 +208,13 @@ public class BountyManager {
     }
     
     /**
-     * Remove a bounty (admin command)
+     * Remove a bounty (admin command); its placers are refunded
      */
     public boolean removeBounty(UUID targetId) {
         BountyInfo removed = activeBounties.remove(targetId);
         if (removed != null) {
+            ledger.append(REMOVE, Long.toString(System.currentTimeMillis()), targetId.toString());
+            refundBounty(removed, "removed");
             Player target = Bukkit.getPlayer(targetId);
             if (target != null) {
                 target.sendMessage("§a§lBounty Removed! §r§aThe bounty on your head has been cleared.");
@@ -218,45 +265,200 @@ public class BountyManager {
      * Start bounty expiration task
      */
     private void startBountyExpirationTask() {
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            long currentTime = System.currentTimeMillis();
-            long expirationTime = 7 * 24 * 60 * 60 * 1000L; // 7 days
+        // Runs on the main thread, so it can touch bounties and inventories directly
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::expireBounties, 20L, 1200L); // Check every minute
+    }
+    
+    /**
+     * Expire every bounty that is due; only due entries are looked at
+     */
+    private void expireBounties() {
+        long currentTime = System.currentTimeMillis();
+        
+        Expiry next;
+        while ((next = expiryQueue.peek()) != null && next.expiresAt <= currentTime) {
+            expiryQueue.poll();
             
-            Iterator<Map.Entry<UUID, BountyInfo>> iterator = activeBounties.entrySet().iterator();
-            while (iterator.hasNext()) {
-                Map.Entry<UUID, BountyInfo> entry = iterator.next();
-                BountyInfo bounty = entry.getValue();
-                
-                if (currentTime - bounty.getCreatedTime() > expirationTime) {
-                    // Bounty expired, refund placers
-                    refundBounty(bounty);
-                    iterator.remove();
-                    
-                    Player target = Bukkit.getPlayer(entry.getKey());
-                    if (target != null) {
-                        target.sendMessage("§a§lBounty Expired! §r§aThe bounty on your head has expired.");
-                    }
-                }
+            BountyInfo bounty = activeBounties.get(next.targetId);
+            if (bounty == null || bounty.getCreatedTime() != next.createdTime) {
+                continue; // Claimed or removed since it was queued
+            }
+            
+            // Bounty expired, refund placers
+            activeBounties.remove(next.targetId);
+            ledger.append(EXPIRE, Long.toString(currentTime), next.targetId.toString());
+            refundBounty(bounty, "expired");
+            
+            Player target = Bukkit.getPlayer(next.targetId);
+            if (target != null) {
+                target.sendMessage("§a§lBounty Expired! §r§aThe bounty on your head has expired.");
             }
-        }, 0L, 72000L); // Check every hour
+        }
     }
     
     /**
      * Refund a bounty to its placers
      */
-    private void refundBounty(BountyInfo bounty) {
-        for (Map.Entry<UUID, Integer> entry : bounty.getContributors().entrySet()) {
-            Player placer = Bukkit.getPlayer(entry.getKey());
+    private void refundBounty(BountyInfo bounty, String reason) {
+        queueRefunds(bounty, reason);
+        for (UUID placerId : bounty.getContributors().keySet()) {
+            Player placer = Bukkit.getPlayer(placerId);
             if (placer != null && placer.isOnline()) {
-                ItemStack refund = new ItemStack(bounty.getCurrency(), entry.getValue());
-                placer.getInventory().addItem(refund);
-                placer.sendMessage("§e§lBounty Refund: §r§eReceived " + entry.getValue() + 
-                                 " " + bounty.getCurrency().name().toLowerCase() + 
-                                 " from expired bounty on " + bounty.getTargetName());
+                deliverPendingRefunds(placer);
+            }
+        }
+    }
+    
+    private void queueRefunds(BountyInfo bounty, String reason) {
+        for (Map.Entry<UUID, Integer> entry : bounty.contributors.entrySet()) {
+            pendingRefunds.computeIfAbsent(entry.getKey(), k -> new ArrayList<>())
+                .add(new PendingRefund(entry.getValue(), bounty.getCurrency(), bounty.getTargetName(), reason));
+        }
+    }
+    
+    /**
+     * Hand a player every refund they are owed; called on join and whenever a refund is queued
+     */
+    public void deliverPendingRefunds(Player placer) {
+        List<PendingRefund> refunds = pendingRefunds.remove(placer.getUniqueId());
+        if (refunds == null) {
+            return;
+        }
+        
+        ledger.append(DELIVER, Long.toString(System.currentTimeMillis()), placer.getUniqueId().toString());
+        for (PendingRefund refund : refunds) {
+            // Whatever does not fit is dropped at the player's feet rather than lost
+            Map<Integer, ItemStack> leftover = placer.getInventory().addItem(new ItemStack(refund.currency, refund.amount));
+            for (ItemStack item : leftover.values()) {
+                placer.getWorld().dropItemNaturally(placer.getLocation(), item);
+            }
+            placer.sendMessage("§e§lBounty Refund: §r§eReceived " + refund.amount + 
+                             " " + refund.currency.name().toLowerCase() + 
+                             " from " + refund.reason + " bounty on " + refund.targetName);
+        }
+    }
+    
+    private void recordClaim(BountyRecord record) {
+        totalClaimed++;
+        bountyHistory.add(record);
+        if (bountyHistory.size() > MAX_RECENT_CLAIMS) {
+            bountyHistory.remove(0);
+        }
+    }
+    
+    /**
+     * Replay the ledger, then compact it to the resulting state
+     */
+    private void loadLedger() {
+        List<String[]> records = ledger.load();
+        int skipped = 0;
+        for (String[] record : records) {
+            try {
+                applyRecord(record);
+            } catch (RuntimeException e) {
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            logger.warning("Skipped " + skipped + " unreadable bounty ledger records");
+        }
+        
+        // Recent claims are replayed as their bounty and its claim, then the count restored
+        List<String[]> snapshot = new ArrayList<>();
+        for (BountyRecord claim : bountyHistory) {
+            BountyInfo bounty = claim.getOriginalBounty();
+            addPlaceRecords(snapshot, bounty);
+            snapshot.add(new String[] {CLAIM, Long.toString(claim.getClaimedTime()), bounty.getTargetId().toString(), 
+                                       claim.getKillerId().toString(), claim.getKillerName()});
+        }
+        snapshot.add(new String[] {CLAIMED, Long.toString(totalClaimed)});
+        for (BountyInfo bounty : activeBounties.values()) {
+            addPlaceRecords(snapshot, bounty);
+        }
+        for (Map.Entry<UUID, List<PendingRefund>> entry : pendingRefunds.entrySet()) {
+            for (PendingRefund refund : entry.getValue()) {
+                snapshot.add(new String[] {REFUND, entry.getKey().toString(), Integer.toString(refund.amount), 
+                                           refund.currency.name(), refund.targetName, refund.reason});
+            }
+        }
+        ledger.compact(snapshot);
+        
+        if (records.size() > snapshot.size()) {
+            logger.info("Compacted bounty ledger from " + records.size() + " to " + snapshot.size() + " records");
+        }
+    }
+    
+    private void addPlaceRecords(List<String[]> snapshot, BountyInfo bounty) {
+        String time = Long.toString(bounty.getCreatedTime());
+        for (Map.Entry<UUID, Integer> entry : bounty.contributors.entrySet()) {
+            snapshot.add(new String[] {PLACE, time, bounty.getTargetId().toString(), bounty.getTargetName(), 
+                                       entry.getKey().toString(), bounty.contributorNames.getOrDefault(entry.getKey(), "Unknown"), 
+                                       entry.getValue().toString(), bounty.getCurrency().name()});
+        }
+    }
+    
+    private void applyRecord(String[] record) {
+        switch (record[0]) {
+            case PLACE: {
+                long time = Long.parseLong(record[1]);
+                UUID targetId = UUID.fromString(record[2]);
+                UUID placerId = UUID.fromString(record[4]);
+                int amount = Integer.parseInt(record[6]);
+                Material currency = Material.valueOf(record[7]);
+                BountyInfo bounty = activeBounties.get(targetId);
+                if (bounty == null) {
+                    bounty = new BountyInfo(targetId, record[3], placerId, record[5], amount, currency, time);
+                    activeBounties.put(targetId, bounty);
+                    expiryQueue.add(new Expiry(bounty));
+                } else {
+                    bounty.contribute(placerId, record[5], amount);
+                }
+                break;
             }
+            case CLAIM: {
+                BountyInfo bounty = activeBounties.remove(UUID.fromString(record[2]));
+                if (bounty != null) {
+                    recordClaim(new BountyRecord(bounty, UUID.fromString(record[3]), record[4], Long.parseLong(record[1])));
+                }
+                break;
+            }
+            case EXPIRE:
+            case REMOVE: {
+                BountyInfo bounty = activeBounties.remove(UUID.fromString(record[2]));
+                if (bounty != null) {
+                    queueRefunds(bounty, record[0].equals(EXPIRE) ? "expired" : "removed");
+                }
+                break;
+            }
+            case REFUND:
+                pendingRefunds.computeIfAbsent(UUID.fromString(record[1]), k -> new ArrayList<>())
+                    .add(new PendingRefund(Integer.parseInt(record[2]), Material.valueOf(record[3]), record[4], record[5]));
+                break;
+            case DELIVER:
+                pendingRefunds.remove(UUID.fromString(record[2]));
+                break;
+            case CLAIMED:
+                totalClaimed = Long.parseLong(record[1]);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown record type " + record[0]);
         }
     }
     
+    /**
+     * Finish writing the ledger
+     */
+    public void shutdown() {
+        ledger.close();
+    }
+    
+    /**
+     * The last claimed bounties, oldest first
+     */
+    public List<BountyRecord> getRecentClaims() {
+        return new ArrayList<>(bountyHistory);
+    }
+    
     /**
      * Get bounty statistics
      */
@@ -264,7 +466,9 @@ public class BountyManager {
         Map<String, Object> stats = new HashMap<>();
         
         stats.put("active_bounties", activeBounties.size());
-        stats.put("total_claimed", bountyHistory.size());
+        stats.put("total_claimed", totalClaimed);
+        stats.put("pending_refunds", pendingRefunds.values().stream().mapToInt(List::size).sum());
+        stats.put("ledger_writes", ledger.getAppendedCount());
         
         // Calculate total bounty value
         int totalValue = activeBounties.values().stream()
@@ -318,6 +522,11 @@ public class BountyManager {
             }
         }
         
+        private void contribute(UUID placerId, String placerName, int amount) {
+            contributors.merge(placerId, amount, Integer::sum);
+            contributorNames.put(placerId, placerName);
+        }
+        
         public int getTotalAmount() {
             return contributors.values().stream().mapToInt(Integer::intValue).sum();
         }
@@ -353,4 +562,41 @@ public class BountyManager {
         public String getKillerName() { return killerName; }
         public long getClaimedTime() { return claimedTime; }
     }
+    
+    /**
+     * Expiry queue entry; createdTime tells a stale entry from a newer bounty on the same target
+     */
+    private static final class Expiry implements Comparable<Expiry> {
+        private final UUID targetId;
+        private final long createdTime;
+        private final long expiresAt;
+        
+        private Expiry(BountyInfo bounty) {
+            this.targetId = bounty.getTargetId();
+            this.createdTime = bounty.getCreatedTime();
+            this.expiresAt = createdTime + BOUNTY_LIFETIME_MILLIS;
+        }
+        
+        @Override
+        public int compareTo(Expiry other) {
+            return Long.compare(expiresAt, other.expiresAt);
+        }
+    }
+    
+    /**
+     * Refund waiting to be handed to its placer
+     */
+    private static final class PendingRefund {
+        private final int amount;
+        private final Material currency;
+        private final String targetName;
+        private final String reason;
+        
+        private PendingRefund(int amount, Material currency, String targetName, String reason) {
+            this.amount = amount;
+            this.currency = currency;
+            this.targetName = targetName;
+            this.reason = reason;
+        }
+    }
 }
\ No newline at end of file
@@ -1,25 +1,69 @@
 package com.example.minecraftplugin.managers;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.config.ConfigSnapshot;
 import com.example.minecraftplugin.enums.GodType;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.title.Title;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
- * Manages server-wide broadcasting system for important events
+ * Manages server-wide broadcasting system for important events.
+ *
+ * Each announcement is rendered once into components, a title and sounds, and the
+ * same payload is handed to every recipient. Audiences are resolved from the
+ * target world's player list or the spatial entity index rather than by scanning
+ * every online player, and very large audiences are delivered in batches over a
+ * few ticks. Fragment discoveries are rate limited: one is announced immediately,
+ * and any more in the following window are coalesced into a single summary.
  */
 public class BroadcastManager {
     
+    // Recipients served per tick once an audience is too large for a single tick
+    private static final int DELIVERY_BATCH_SIZE = 100;
+    
+    // Ranges up to this use the spatial entity index; larger ones scan the world's players
+    private static final double SPATIAL_QUERY_MAX_RANGE = 128.0;
+    
+    private static final long FRAGMENT_WINDOW_TICKS = 200L; // 10 seconds
+    private static final int FRAGMENT_SUMMARY_NAMES = 5;
+    
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+    
     private final MinecraftPlugin plugin;
     private final Logger logger;
     
+    // Only touched on the main thread
+    private final Deque<Delivery> pendingDeliveries;
+    private BukkitTask deliveryTask;
+    private final List<String> heldFragmentDiscoveries;
+    private boolean fragmentWindowOpen;
+    
+    private long announcements;
+    private long messagesDelivered;
+    private long coalescedFragments;
+    
     public BroadcastManager(MinecraftPlugin plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
+        this.pendingDeliveries = new ArrayDeque<>();
+        this.heldFragmentDiscoveries = new ArrayList<>();
         
         logger.info("Broadcast Manager initialized");
     }
@@ -28,31 +72,28 @@ public class BroadcastManager {
      * Broadcast testament completion
      */
     public void broadcastTestamentCompletion(Player player, GodType god) {
-        if (!isBroadcastEnabled("testament_completion")) {
+        ConfigSnapshot.BroadcastEntry settings = broadcastSettings("testament_completion");
+        if (!settings.isEnabled()) {
             return;
         }
         
-        String message = plugin.getConfig().getString("broadcasts.testament_completion.message", 
-            "§6§l{player} §r§6has completed the Testament of the {god}!");
+        String message = settings.getMessage("§6§l{player} §r§6has completed the Testament of the {god}!");
         
         message = message.replace("{player}", player.getName())
                         .replace("{god}", god.getDisplayName());
         
         // Broadcast with coordinates if enabled
-        if (plugin.getConfig().getBoolean("broadcasts.testament_completion.include_coordinates", true)) {
+        if (settings.isIncludeCoordinates()) {
             Location loc = player.getLocation();
             String coords = " §7at " + loc.getBlockX() + ", " + loc.getBlockY() + ", " + loc.getBlockZ();
             message += coords;
         }
         
-        Bukkit.broadcastMessage(message);
-        
-        // Play sound for all players if enabled
-        if (plugin.getConfig().getBoolean("broadcasts.testament_completion.play_sound", true)) {
-            for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                onlinePlayer.playSound(onlinePlayer.getLocation(), Sound.UI_TOAST_CHALLENGE_COMPLETE, 0.8f, 1.0f);
-            }
+        Announcement announcement = new Announcement().line(message);
+        if (settings.isPlaySound()) {
+            announcement.sound(Sound.UI_TOAST_CHALLENGE_COMPLETE, 0.8f, 1.0f);
         }
+        announceToAll(announcement);
         
         logger.info("Broadcasted testament completion: " + player.getName() + " - " + god.getDisplayName());
     }
@@ -61,11 +102,12 @@ public class BroadcastManager {
      * Broadcast Divine Convergence achievement
      */
     public void broadcastConvergence(Player player) {
-        if (!isBroadcastEnabled("convergence")) {
+        ConfigSnapshot.BroadcastEntry settings = broadcastSettings("convergence");
+        if (!settings.isEnabled()) {
             return;
         }
         
-        String[] messages = plugin.getConfig().getStringList("broadcasts.convergence.messages").toArray(new String[0]);
+        String[] messages = settings.getMessages().toArray(new String[0]);
         if (messages.length == 0) {
             // Default messages
             messages = new String[] {
@@ -78,19 +120,17 @@ public class BroadcastManager {
             };
         }
         
-        // Broadcast each message
+        Announcement announcement = new Announcement();
         for (String message : messages) {
-            message = message.replace("{player}", player.getName().toUpperCase());
-            Bukkit.broadcastMessage(message);
+            announcement.line(message.replace("{player}", player.getName().toUpperCase()));
         }
         
         // Play epic sound for all players
-        if (plugin.getConfig().getBoolean("broadcasts.convergence.play_sound", true)) {
-            for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                onlinePlayer.playSound(onlinePlayer.getLocation(), Sound.UI_TOAST_CHALLENGE_COMPLETE, 1.0f, 0.8f);
-                onlinePlayer.playSound(onlinePlayer.getLocation(), Sound.ENTITY_ENDER_DRAGON_DEATH, 0.5f, 1.5f);
-            }
+        if (settings.isPlaySound()) {
+            announcement.sound(Sound.UI_TOAST_CHALLENGE_COMPLETE, 1.0f, 0.8f)
+                        .sound(Sound.ENTITY_ENDER_DRAGON_DEATH, 0.5f, 1.5f);
         }
+        announceToAll(announcement);
         
         logger.info("Broadcasted Divine Convergence: " + player.getName());
     }
@@ -101,40 +141,41 @@ public class BroadcastManager {
     public void broadcastAltarGeneration(Location location, GodType god, boolean isNatural) {
         String broadcastType = isNatural ? "altar_natural_generation" : "altar_manual_generation";
         
-        if (!isBroadcastEnabled(broadcastType)) {
+        ConfigSnapshot.BroadcastEntry settings = broadcastSettings(broadcastType);
+        if (!settings.isEnabled()) {
             return;
         }
         
         String message;
         if (isNatural) {
-            message = plugin.getConfig().getString("broadcasts.altar_natural_generation.message",
-                "§6§lA {god} altar has manifested naturally in the world!");
+            message = settings.getMessage("§6§lA {god} altar has manifested naturally in the world!");
         } else {
-            message = plugin.getConfig().getString("broadcasts.altar_manual_generation.message",
-                "§6§lAn altar for the {god} has been constructed!");
+            message = settings.getMessage("§6§lAn altar for the {god} has been constructed!");
         }
         
         message = message.replace("{god}", god.getDisplayName());
         
         // Add coordinates if enabled
-        if (plugin.getConfig().getBoolean("broadcasts." + broadcastType + ".include_coordinates", true)) {
-            String coords = " §7at " + location.getBlockX() + ", " + location.getBlockY() + ", " + location.getBlockZ() + 
+        if (settings.isIncludeCoordinates()) {
+            String coords = " §7at " + location.getBlockX() + ", " + location.getBlockY() + ", " + location.getBlockZ() +
                           " in " + location.getWorld().getName();
             message += coords;
         }
         
-        Bukkit.broadcastMessage(message);
+        announceToAll(new Announcement().line(message));
         
-        logger.info("Broadcasted altar generation: " + god.getDisplayName() + " at " + 
-                   location.getWorld().getName() + " " + location.getBlockX() + "," + 
+        logger.info("Broadcasted altar generation: " + god.getDisplayName() + " at " +
+                   location.getWorld().getName() + " " + location.getBlockX() + "," +
                    location.getBlockY() + "," + location.getBlockZ());
     }
     
     /**
-     * Broadcast fragment discovery
+     * Broadcast fragment discovery. At most one discovery is announced per window;
+     * the rest are summarized together when the window closes.
      */
     public void broadcastFragmentDiscovery(Player player, GodType god, int fragmentNumber, String source) {
-        if (!isBroadcastEnabled("fragment_discovery")) {
+        ConfigSnapshot.BroadcastEntry settings = broadcastSettings("fragment_discovery");
+        if (!settings.isEnabled()) {
             return;
         }
         
@@ -155,131 +196,310 @@ public class BroadcastManager {
             return;
         }
         
-        String message = plugin.getConfig().getString("broadcasts.fragment_discovery.message",
-            "§6§l{player} §r§6has discovered a fragment of the {god}!");
+        logger.info("Fragment discovery: " + player.getName() + " - " + god.getDisplayName() +
+                   " fragment " + fragmentNumber + " from " + source);
+        
+        if (fragmentWindowOpen) {
+            heldFragmentDiscoveries.add(player.getName() + " (" + god.getDisplayName() + ")");
+            return;
+        }
+        
+        String message = settings.getMessage("§6§l{player} §r§6has discovered a fragment of the {god}!");
         
         message = message.replace("{player}", player.getName())
                         .replace("{god}", god.getDisplayName())
                         .replace("{fragment}", String.valueOf(fragmentNumber))
                         .replace("{source}", source);
         
-        Bukkit.broadcastMessage(message);
+        announceToAll(new Announcement().line(message));
+        openFragmentWindow();
+    }
+    
+    /**
+     * Hold further fragment discoveries until the window closes
+     */
+    private void openFragmentWindow() {
+        fragmentWindowOpen = true;
+        plugin.getServer().getScheduler().runTaskLater(plugin, this::closeFragmentWindow, FRAGMENT_WINDOW_TICKS);
+    }
+    
+    private void closeFragmentWindow() {
+        if (heldFragmentDiscoveries.isEmpty()) {
+            fragmentWindowOpen = false;
+            return;
+        }
         
-        logger.info("Broadcasted fragment discovery: " + player.getName() + " - " + god.getDisplayName() + 
-                   " fragment " + fragmentNumber + " from " + source);
+        int count = heldFragmentDiscoveries.size();
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < Math.min(count, FRAGMENT_SUMMARY_NAMES); i++) {
+            if (i > 0) {
+                names.append("§7, §f");
+            }
+            names.append(heldFragmentDiscoveries.get(i));
+        }
+        if (count > FRAGMENT_SUMMARY_NAMES) {
+            names.append(" §7and ").append(count - FRAGMENT_SUMMARY_NAMES).append(" more");
+        }
+        
+        announceToAll(new Announcement()
+            .line("§6§l" + count + " more divine fragments have been discovered!")
+            .line("§7Finders: §f" + names));
+        
+        coalescedFragments += count;
+        heldFragmentDiscoveries.clear();
+        
+        // The summary counts as this window's broadcast
+        openFragmentWindow();
     }
     
     /**
      * Broadcast bounty events
      */
     public void broadcastBountyPlaced(String targetName, int amount, String currency) {
-        if (!isBroadcastEnabled("bounty_placed")) {
+        ConfigSnapshot.BroadcastEntry settings = broadcastSettings("bounty_placed");
+        if (!settings.isEnabled()) {
             return;
         }
         
-        String message = plugin.getConfig().getString("broadcasts.bounty_placed.message",
-            "§6§l💰 BOUNTY ALERT! 💰 A bounty of {amount} {currency} has been placed on {target}!");
+        String message = settings.getMessage("§6§l💰 BOUNTY ALERT! 💰 A bounty of {amount} {currency} has been placed on {target}!");
         
         message = message.replace("{target}", targetName)
                         .replace("{amount}", String.valueOf(amount))
                         .replace("{currency}", currency);
         
-        Bukkit.broadcastMessage(message);
+        announceToAll(new Announcement().line(message));
     }
     
     public void broadcastBountyClaimed(String killerName, String victimName, int amount, String currency) {
-        if (!isBroadcastEnabled("bounty_claimed")) {
+        ConfigSnapshot.BroadcastEntry settings = broadcastSettings("bounty_claimed");
+        if (!settings.isEnabled()) {
             return;
         }
         
-        String message = plugin.getConfig().getString("broadcasts.bounty_claimed.message",
-            "§6§l💰 BOUNTY CLAIMED! 💰 {killer} has claimed the bounty on {victim} for {amount} {currency}!");
+        String message = settings.getMessage("§6§l💰 BOUNTY CLAIMED! 💰 {killer} has claimed the bounty on {victim} for {amount} {currency}!");
         
         message = message.replace("{killer}", killerName)
                         .replace("{victim}", victimName)
                         .replace("{amount}", String.valueOf(amount))
                         .replace("{currency}", currency);
         
-        Bukkit.broadcastMessage(message);
+        announceToAll(new Announcement().line(message));
     }
     
     /**
      * Broadcast boss events
      */
     public void broadcastBossSpawn(String bossName, Location location) {
-        if (!isBroadcastEnabled("boss_spawn")) {
+        ConfigSnapshot.BroadcastEntry settings = broadcastSettings("boss_spawn");
+        if (!settings.isEnabled()) {
             return;
         }
         
-        String message = plugin.getConfig().getString("broadcasts.boss_spawn.message",
-            "§c§l⚔ {boss} has awakened! ⚔");
+        String message = settings.getMessage("§c§l⚔ {boss} has awakened! ⚔");
         
         message = message.replace("{boss}", bossName);
         
         // Add coordinates if enabled
-        if (plugin.getConfig().getBoolean("broadcasts.boss_spawn.include_coordinates", true)) {
+        if (settings.isIncludeCoordinates()) {
             String coords = " §7at " + location.getBlockX() + ", " + location.getBlockY() + ", " + location.getBlockZ();
             message += coords;
         }
         
-        Bukkit.broadcastMessage(message);
+        Announcement announcement = new Announcement().line(message);
         
         // Play warning sound
-        if (plugin.getConfig().getBoolean("broadcasts.boss_spawn.play_sound", true)) {
-            for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                onlinePlayer.playSound(onlinePlayer.getLocation(), Sound.ENTITY_ENDER_DRAGON_GROWL, 1.0f, 0.8f);
-            }
+        if (settings.isPlaySound()) {
+            announcement.sound(Sound.ENTITY_ENDER_DRAGON_GROWL, 1.0f, 0.8f);
         }
+        announceToAll(announcement);
     }
     
     public void broadcastBossDefeat(String bossName, String killerName) {
-        if (!isBroadcastEnabled("boss_defeat")) {
+        ConfigSnapshot.BroadcastEntry settings = broadcastSettings("boss_defeat");
+        if (!settings.isEnabled()) {
             return;
         }
         
-        String message = plugin.getConfig().getString("broadcasts.boss_defeat.message",
-            "§a§l⚔ {boss} has been defeated by {killer}! ⚔");
+        String message = settings.getMessage("§a§l⚔ {boss} has been defeated by {killer}! ⚔");
         
         message = message.replace("{boss}", bossName)
                         .replace("{killer}", killerName);
         
-        Bukkit.broadcastMessage(message);
+        Announcement announcement = new Announcement().line(message);
         
         // Play victory sound
-        if (plugin.getConfig().getBoolean("broadcasts.boss_defeat.play_sound", true)) {
-            for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                onlinePlayer.playSound(onlinePlayer.getLocation(), Sound.UI_TOAST_CHALLENGE_COMPLETE, 1.0f, 1.2f);
-            }
+        if (settings.isPlaySound()) {
+            announcement.sound(Sound.UI_TOAST_CHALLENGE_COMPLETE, 1.0f, 1.2f);
         }
+        announceToAll(announcement);
     }
     
     /**
-     * Check if a specific broadcast type is enabled
+     * Get the current settings for a broadcast type from the config snapshot
      */
-    private boolean isBroadcastEnabled(String broadcastType) {
-        return plugin.getConfig().getBoolean("broadcasts." + broadcastType + ".enabled", true);
+    private ConfigSnapshot.BroadcastEntry broadcastSettings(String broadcastType) {
+        return plugin.getConfigManager().getSnapshot().broadcasts().get(broadcastType);
     }
     
     /**
      * Send targeted broadcast to players in range
      */
     public void broadcastInRange(Location center, double range, String message) {
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            if (player.getWorld().equals(center.getWorld()) && 
-                player.getLocation().distance(center) <= range) {
-                player.sendMessage(message);
+        Announcement announcement = new Announcement().line(message);
+        World world = center.getWorld();
+        List<Player> audience = new ArrayList<>();
+        
+        if (range <= SPATIAL_QUERY_MAX_RANGE) {
+            plugin.getSpatialEntityIndex().forEachInRadius(center, range, Player.class, null, audience::add);
+        } else {
+            double rangeSquared = range * range;
+            for (Player player : world.getPlayers()) {
+                if (player.getLocation().distanceSquared(center) <= rangeSquared) {
+                    audience.add(player);
+                }
             }
         }
+        
+        deliver(announcement, audience);
     }
     
     /**
      * Send broadcast with title overlay
      */
     public void broadcastWithTitle(String chatMessage, String title, String subtitle) {
-        Bukkit.broadcastMessage(chatMessage);
+        announceToAll(new Announcement().line(chatMessage).title(title, subtitle, 20, 60, 20));
+    }
+    
+    /**
+     * Send an announcement to every online player and the console
+     */
+    private void announceToAll(Announcement announcement) {
+        for (Component line : announcement.lines) {
+            Bukkit.getConsoleSender().sendMessage(line);
+        }
+        deliver(announcement, Bukkit.getOnlinePlayers());
+    }
+    
+    /**
+     * Deliver a rendered announcement, spreading very large audiences over several ticks
+     */
+    private void deliver(Announcement announcement, Collection<? extends Player> audience) {
+        announcements++;
+        if (audience.size() <= DELIVERY_BATCH_SIZE && pendingDeliveries.isEmpty()) {
+            for (Player player : audience) {
+                announcement.sendTo(player);
+            }
+            messagesDelivered += audience.size();
+            return;
+        }
+        
+        // Queue behind earlier deliveries so announcements keep their order
+        pendingDeliveries.addLast(new Delivery(announcement, new ArrayList<>(audience)));
+        if (deliveryTask == null) {
+            deliveryTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::deliverBatch, 0L, 1L);
+        }
+    }
+    
+    private void deliverBatch() {
+        int budget = DELIVERY_BATCH_SIZE;
+        while (budget > 0 && !pendingDeliveries.isEmpty()) {
+            Delivery delivery = pendingDeliveries.peekFirst();
+            while (budget > 0 && delivery.next < delivery.recipients.size()) {
+                Player player = delivery.recipients.get(delivery.next++);
+                if (player.isOnline()) {
+                    delivery.announcement.sendTo(player);
+                    messagesDelivered++;
+                }
+                budget--;
+            }
+            if (delivery.next >= delivery.recipients.size()) {
+                pendingDeliveries.pollFirst();
+            }
+        }
+        
+        if (pendingDeliveries.isEmpty()) {
+            deliveryTask.cancel();
+            deliveryTask = null;
+        }
+    }
+    
+    /**
+     * Get broadcast statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("announcements", announcements);
+        stats.put("messages_delivered", messagesDelivered);
+        stats.put("pending_deliveries", pendingDeliveries.size());
+        stats.put("coalesced_fragments", coalescedFragments);
+        return stats;
+    }
+    
+    /**
+     * A broadcast rendered once and sent unchanged to every recipient
+     */
+    private static final class Announcement {
+        private final List<Component> lines = new ArrayList<>(1);
+        private final List<SoundCue> sounds = new ArrayList<>(0);
+        private Title title;
+        
+        private Announcement line(String legacyText) {
+            lines.add(LEGACY.deserialize(legacyText));
+            return this;
+        }
+        
+        private Announcement sound(Sound sound, float volume, float pitch) {
+            sounds.add(new SoundCue(sound, volume, pitch));
+            return this;
+        }
         
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            player.sendTitle(title, subtitle, 20, 60, 20);
+        private Announcement title(String title, String subtitle, int fadeInTicks, int stayTicks, int fadeOutTicks) {
+            this.title = Title.title(LEGACY.deserialize(title), LEGACY.deserialize(subtitle),
+                Title.Times.times(ticks(fadeInTicks), ticks(stayTicks), ticks(fadeOutTicks)));
+            return this;
+        }
+        
+        private static Duration ticks(int ticks) {
+            return Duration.ofMillis(ticks * 50L);
+        }
+        
+        private void sendTo(Player player) {
+            for (Component line : lines) {
+                player.sendMessage(line);
+            }
+            if (title != null) {
+                player.showTitle(title);
+            }
+            for (SoundCue cue : sounds) {
+                // Same call as before batching, so each sound keeps its usual source
+                player.playSound(player.getLocation(), cue.sound, cue.volume, cue.pitch);
+            }
+        }
+    }
+    
+    private static final class SoundCue {
+        private final Sound sound;
+        private final float volume;
+        private final float pitch;
+        
+        private SoundCue(Sound sound, float volume, float pitch) {
+            this.sound = sound;
+            this.volume = volume;
+            this.pitch = pitch;
+        }
+    }
+    
+    /**
+     * An announcement part-way through a large audience
+     */
+    private static final class Delivery {
+        private final Announcement announcement;
+        private final List<Player> recipients;
+        private int next;
+        
+        private Delivery(Announcement announcement, List<Player> recipients) {
+            this.announcement = announcement;
+            this.recipients = recipients;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,67 @@
 package com.example.minecraftplugin.managers;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.cooldowns.AbilityIdRegistry;
+import com.example.minecraftplugin.cooldowns.ExpiryWheel;
+import com.example.minecraftplugin.enums.GodType;
 import org.bukkit.entity.Player;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Manages cooldowns for various plugin features
+ *
+ * Ability cooldowns are kept as monotonic deadlines (System.nanoTime based) in a
+ * primitive array per player, indexed by interned ability ID. Every cooldown is
+ * also entered into a timing wheel that clears it once it runs out, so players'
+ * tables shrink back to nothing without any sweep. Only cooldowns that are still
+ * running are handed to PlayerDataManager on save, as wall-clock expiry times.
+ *
+ * Fragment cooldowns last hours and are kept as wall-clock times in PlayerDataManager.
  */
 public class CooldownManager {
     
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final long NO_COOLDOWN = 0L;
+    
     private final MinecraftPlugin plugin;
     private final PlayerDataManager playerDataManager;
     
+    private final AbilityIdRegistry abilityIds;
+    private final int[] activeAbilityIds; // Indexed by god ordinal
+    private final Map<UUID, PlayerCooldowns> abilityCooldowns;
+    private final ExpiryWheel expiryWheel;
+    private final long epochNanos;
+    
+    private long expired;
+    
     public CooldownManager(MinecraftPlugin plugin, PlayerDataManager playerDataManager) {
         this.plugin = plugin;
         this.playerDataManager = playerDataManager;
+        this.abilityIds = new AbilityIdRegistry();
+        this.abilityCooldowns = new HashMap<>();
+        this.epochNanos = System.nanoTime();
+        this.expiryWheel = new ExpiryWheel(0);
+        
+        GodType[] gods = GodType.values();
+        this.activeAbilityIds = new int[gods.length];
+        for (GodType god : gods) {
+            activeAbilityIds[god.ordinal()] = abilityIds.idOf(god.name() + "_active");
+        }
+        
+        // Pick up cooldowns that were still running when the server last saved
+        int restored = 0;
+        for (Map.Entry<UUID, Map<String, Long>> player : playerDataManager.takeStoredAbilityCooldowns().entrySet()) {
+            restored += restoreAbilityCooldowns(player.getKey(), player.getValue());
+        }
+        if (restored > 0) {
+            plugin.getLogger().info("Restored " + restored + " active ability cooldowns");
+        }
+        
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::expireCooldowns, 1L, 1L);
     }
     
     /**
@@ -60,42 +106,77 @@ public class CooldownManager {
         playerDataManager.setLastMobFragmentTime(player, System.currentTimeMillis());
     }
     
+    /**
+     * Get the interned ID for an ability name; resolve once and keep it
+     */
+    public int getAbilityId(String abilityName) {
+        return abilityIds.idOf(abilityName);
+    }
+    
+    /**
+     * Get the ID of a god's divine item active ability
+     */
+    public int getActiveAbilityId(GodType god) {
+        return activeAbilityIds[god.ordinal()];
+    }
+    
     /**
      * Check if a player is on cooldown for a specific ability
      */
-    public boolean isOnAbilityCooldown(Player player, String abilityName, int cooldownSeconds) {
-        long lastTime = playerDataManager.getAbilityCooldownTime(player, abilityName);
-        
-        if (lastTime == 0) {
-            return false;
-        }
-        
-        long cooldownMillis = cooldownSeconds * 1000L;
-        return (System.currentTimeMillis() - lastTime) < cooldownMillis;
+    public boolean isOnAbilityCooldown(Player player, int abilityId) {
+        return remainingNanos(player.getUniqueId(), abilityId) > 0;
+    }
+    
+    public boolean isOnAbilityCooldown(Player player, String abilityName) {
+        return isOnAbilityCooldown(player, abilityIds.idOf(abilityName));
     }
     
     /**
-     * Set ability cooldown for a player
+     * Put an ability on cooldown for a player
      */
-    public void setAbilityCooldown(Player player, String abilityName) {
-        playerDataManager.setAbilityCooldownTime(player, abilityName, System.currentTimeMillis());
+    public void setAbilityCooldown(Player player, int abilityId, int cooldownSeconds) {
+        setAbilityCooldown(player.getUniqueId(), abilityId, cooldownSeconds * 1_000_000_000L);
+    }
+    
+    public void setAbilityCooldown(Player player, String abilityName, int cooldownSeconds) {
+        setAbilityCooldown(player, abilityIds.idOf(abilityName), cooldownSeconds);
+    }
+    
+    private void setAbilityCooldown(UUID playerId, int abilityId, long durationNanos) {
+        if (durationNanos <= 0) {
+            return;
+        }
+        
+        long deadline = elapsedNanos() + durationNanos;
+        PlayerCooldowns cooldowns = abilityCooldowns.computeIfAbsent(playerId, k -> new PlayerCooldowns(abilityIds.size()));
+        cooldowns.set(abilityId, deadline);
+        
+        // Round up so the wheel never clears a cooldown early
+        expiryWheel.schedule(playerId, abilityId, deadline, (deadline + TICK_NANOS - 1) / TICK_NANOS);
     }
     
     /**
      * Get remaining cooldown time in seconds
      */
-    public long getRemainingCooldown(Player player, String abilityName, int cooldownSeconds) {
-        long lastTime = playerDataManager.getAbilityCooldownTime(player, abilityName);
-        
-        if (lastTime == 0) {
+    public long getRemainingCooldown(Player player, int abilityId) {
+        return remainingNanos(player.getUniqueId(), abilityId) / 1_000_000_000L;
+    }
+    
+    public long getRemainingCooldown(Player player, String abilityName) {
+        return getRemainingCooldown(player, abilityIds.idOf(abilityName));
+    }
+    
+    private long remainingNanos(UUID playerId, int abilityId) {
+        PlayerCooldowns cooldowns = abilityCooldowns.get(playerId);
+        if (cooldowns == null) {
             return 0;
         }
         
-        long cooldownMillis = cooldownSeconds * 1000L;
-        long elapsed = System.currentTimeMillis() - lastTime;
-        long remaining = cooldownMillis - elapsed;
-        
-        return Math.max(0, remaining / 1000);
+        long deadline = cooldowns.get(abilityId);
+        if (deadline == NO_COOLDOWN) {
+            return 0;
+        }
+        return Math.max(0, deadline - elapsedNanos());
     }
     
     /**
@@ -103,5 +184,128 @@ public class CooldownManager {
      */
     public void clearPlayerCooldowns(Player player) {
         playerDataManager.clearAllCooldowns(player);
+        clearAbilityCooldowns(player.getUniqueId());
+    }
+    
+    /**
+     * Clear a player's ability cooldowns; their wheel entries become no-ops
+     */
+    public void clearAbilityCooldowns(UUID playerId) {
+        abilityCooldowns.remove(playerId);
+    }
+    
+    /**
+     * Ability cooldowns that are still running for a player, as ability name to
+     * wall-clock expiry time, for persistence
+     */
+    public Map<String, Long> getActiveAbilityCooldowns(UUID playerId) {
+        Map<String, Long> active = new HashMap<>();
+        PlayerCooldowns cooldowns = abilityCooldowns.get(playerId);
+        if (cooldowns == null) {
+            return active;
+        }
+        
+        long nowNanos = elapsedNanos();
+        long nowMillis = System.currentTimeMillis();
+        for (int abilityId = 0; abilityId < cooldowns.deadlines.length; abilityId++) {
+            long remaining = cooldowns.deadlines[abilityId] - nowNanos;
+            if (cooldowns.deadlines[abilityId] != NO_COOLDOWN && remaining > 0) {
+                active.put(abilityIds.nameOf(abilityId), nowMillis + remaining / 1_000_000L);
+            }
+        }
+        return active;
+    }
+    
+    /**
+     * Replace a player's ability cooldowns with ones handed over from another
+     * server, as ability name to wall-clock expiry time
+     */
+    public void replaceAbilityCooldowns(UUID playerId, Map<String, Long> expiries) {
+        clearAbilityCooldowns(playerId);
+        restoreAbilityCooldowns(playerId, expiries);
+    }
+    
+    /**
+     * Re-arm cooldowns from ability name to wall-clock expiry time; expired ones are skipped
+     */
+    private int restoreAbilityCooldowns(UUID playerId, Map<String, Long> expiries) {
+        long nowMillis = System.currentTimeMillis();
+        int restored = 0;
+        for (Map.Entry<String, Long> entry : expiries.entrySet()) {
+            long remainingMillis = entry.getValue() - nowMillis;
+            if (remainingMillis > 0) {
+                setAbilityCooldown(playerId, abilityIds.idOf(entry.getKey()), remainingMillis * 1_000_000L);
+                restored++;
+            }
+        }
+        return restored;
+    }
+    
+    /**
+     * Runs every tick: clear cooldowns whose time is up
+     */
+    private void expireCooldowns() {
+        expiryWheel.advance(elapsedNanos() / TICK_NANOS, (playerId, abilityId, deadline) -> {
+            PlayerCooldowns cooldowns = abilityCooldowns.get(playerId);
+            // A later setAbilityCooldown or a clear supersedes this entry
+            if (cooldowns != null && cooldowns.get(abilityId) == deadline) {
+                cooldowns.set(abilityId, NO_COOLDOWN);
+                expired++;
+                if (cooldowns.active == 0) {
+                    abilityCooldowns.remove(playerId);
+                }
+            }
+        });
+    }
+    
+    private long elapsedNanos() {
+        return System.nanoTime() - epochNanos;
+    }
+    
+    /**
+     * Get cooldown statistics
+     */
+    public Map<String, Object> getStatistics() {
+        int active = 0;
+        for (PlayerCooldowns cooldowns : abilityCooldowns.values()) {
+            active += cooldowns.active;
+        }
+        
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("registered_abilities", abilityIds.size());
+        stats.put("players_on_cooldown", abilityCooldowns.size());
+        stats.put("active_cooldowns", active);
+        stats.put("wheel_entries", expiryWheel.size());
+        stats.put("expired", expired);
+        return stats;
+    }
+    
+    /**
+     * One player's ability deadlines, indexed by ability ID
+     */
+    private static final class PlayerCooldowns {
+        private long[] deadlines;
+        private int active;
+        
+        private PlayerCooldowns(int abilityCount) {
+            this.deadlines = new long[Math.max(1, abilityCount)];
+        }
+        
+        private long get(int abilityId) {
+            return abilityId < deadlines.length ? deadlines[abilityId] : NO_COOLDOWN;
+        }
+        
+        private void set(int abilityId, long deadline) {
+            if (abilityId >= deadlines.length) {
+                // Abilities registered after this table was created
+                deadlines = Arrays.copyOf(deadlines, abilityId + 1);
+            }
+            if (deadlines[abilityId] == NO_COOLDOWN && deadline != NO_COOLDOWN) {
+                active++;
+            } else if (deadlines[abilityId] != NO_COOLDOWN && deadline == NO_COOLDOWN) {
+                active--;
+            }
+            deadlines[abilityId] = deadline;
+        }
     }
-}
\ No newline at end of file
+}
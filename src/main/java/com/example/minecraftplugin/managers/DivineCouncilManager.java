@@ -4,18 +4,31 @@ import com.example.minecraftplugin.MinecraftPlugin;
 import com.example.minecraftplugin.enums.CouncilRole;
 import com.example.minecraftplugin.council.CouncilProposal;
 import com.example.minecraftplugin.council.ProposalExecutor;
+import com.example.minecraftplugin.data.AppendOnlyLog;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 
+import java.io.File;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 /**
  * Manages the Divine Council system for converged players
+ *
+ * Active proposals are also queued by expiry time, so the expiry check only
+ * looks at proposals that are due; proposals decided by vote before then are
+ * skipped when they reach the head of the queue. Decided proposals are written
+ * to council_history.log and only the most recent ones are kept in memory;
+ * older ones are read back from the log a page at a time.
  */
 public class DivineCouncilManager {
     
+    private static final int MAX_RECENT_PROPOSALS = 100;
+    private static final String HISTORY = "HISTORY";
+    private static final String COUNTS = "COUNTS";
+    
     private final MinecraftPlugin plugin;
     private final Logger logger;
     private final ConvergenceManager convergenceManager;
@@ -24,7 +37,12 @@ public class DivineCouncilManager {
     // Council membership and roles
     private final Map<UUID, CouncilRole> councilMembers;
     private final Map<String, CouncilProposal> activeProposals;
+    private final PriorityQueue<CouncilProposal> expiryQueue;
+    
+    // Decided proposals: the most recent in memory, all of them in the log
     private final Map<String, CouncilProposal> proposalHistory;
+    private final Map<CouncilProposal.ProposalStatus, Integer> historyCounts;
+    private final AppendOnlyLog historyLog;
     
     // Council settings
     private int maxCouncilSize;
@@ -38,9 +56,18 @@ public class DivineCouncilManager {
         this.proposalExecutor = new ProposalExecutor(plugin);
         this.councilMembers = new HashMap<>();
         this.activeProposals = new HashMap<>();
-        this.proposalHistory = new HashMap<>();
+        this.expiryQueue = new PriorityQueue<>(Comparator.comparingLong(CouncilProposal::getExpiryTime));
+        this.proposalHistory = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CouncilProposal> eldest) {
+                return size() > MAX_RECENT_PROPOSALS;
+            }
+        };
+        this.historyCounts = new EnumMap<>(CouncilProposal.ProposalStatus.class);
+        this.historyLog = new AppendOnlyLog(new File(plugin.getDataFolder(), "council_history.log"), "Testament-CouncilHistory", logger);
         
         loadCouncilSettings();
+        loadHistory();
         startProposalMonitoringTask();
         
         logger.info("Divine Council Manager initialized");
@@ -241,6 +268,7 @@ public class DivineCouncilManager {
         CouncilProposal proposal = new CouncilProposal(proposalId, proposerId, title, description, 
                                                       type, proposalDurationHours);
         activeProposals.put(proposalId, proposal);
+        expiryQueue.add(proposal);
         
         // Notify council
         notifyCouncilMembers("§e§lNew Proposal: §r§e" + title);
@@ -290,7 +318,7 @@ public class DivineCouncilManager {
         }
         
         // Check if all members have voted
-        if (proposal.getVotes().size() >= councilMembers.size()) {
+        if (proposal.getVoterCount() >= councilMembers.size()) {
             processProposalCompletion(proposal);
         }
         
@@ -316,7 +344,7 @@ public class DivineCouncilManager {
         
         // Move to history
         activeProposals.remove(proposal.getId());
-        proposalHistory.put(proposal.getId(), proposal);
+        archiveProposal(proposal, null);
         
         // Show vote breakdown
         CouncilProposal.VoteCount count = proposal.getVoteCount();
@@ -362,7 +390,13 @@ public class DivineCouncilManager {
      * Manually execute a proposal (admin command)
      */
     public void executeProposalManually(CouncilProposal proposal) {
+        CouncilProposal.ProposalStatus previous = proposal.getStatus();
         executeProposal(proposal);
+        
+        // Record the new status of an already decided proposal, even one no longer in memory
+        if (activeProposals.get(proposal.getId()) != proposal) {
+            archiveProposal(proposal, previous);
+        }
     }
     
     /**
@@ -441,13 +475,17 @@ public class DivineCouncilManager {
      * Check for expired proposals
      */
     private void checkExpiredProposals() {
-        Iterator<Map.Entry<String, CouncilProposal>> iterator = activeProposals.entrySet().iterator();
+        long now = System.currentTimeMillis();
         
-        while (iterator.hasNext()) {
-            Map.Entry<String, CouncilProposal> entry = iterator.next();
-            CouncilProposal proposal = entry.getValue();
+        while (!expiryQueue.isEmpty() && expiryQueue.peek().getExpiryTime() < now) {
+            CouncilProposal proposal = expiryQueue.poll();
+            if (activeProposals.get(proposal.getId()) != proposal) {
+                continue; // Decided by vote before it expired
+            }
+            activeProposals.remove(proposal.getId());
             
-            if (proposal.hasExpired()) {
+            // Manually executed proposals keep their status
+            if (proposal.getStatus() == CouncilProposal.ProposalStatus.ACTIVE) {
                 proposal.setStatus(CouncilProposal.ProposalStatus.EXPIRED);
                 notifyCouncilMembers("§8§l=== PROPOSAL EXPIRED ===");
                 notifyCouncilMembers("§8§lTitle: §r§8" + proposal.getTitle());
@@ -461,12 +499,165 @@ public class DivineCouncilManager {
                                        " §7(§f" + count.getTotal() + "/" + councilMembers.size() + "§7)");
                 }
                 notifyCouncilMembers("§8§l====================");
+            }
+            
+            // Move to history
+            archiveProposal(proposal, null);
+        }
+    }
+    
+    /**
+     * Add a decided proposal to the history and write it to the log. previous
+     * is the status it was counted under if it was archived before.
+     */
+    private void archiveProposal(CouncilProposal proposal, CouncilProposal.ProposalStatus previous) {
+        if (previous != null) {
+            historyCounts.merge(previous, -1, Integer::sum);
+        }
+        historyCounts.merge(proposal.getStatus(), 1, Integer::sum);
+        // Re-inserted so the window keeps the same order as the log
+        proposalHistory.remove(proposal.getId());
+        proposalHistory.put(proposal.getId(), proposal);
+        historyLog.append(historyRecord(proposal, previous));
+    }
+    
+    private static String[] historyRecord(CouncilProposal proposal, CouncilProposal.ProposalStatus previous) {
+        StringBuilder votes = new StringBuilder();
+        for (Map.Entry<UUID, CouncilProposal.Vote> entry : proposal.getVotes().entrySet()) {
+            if (votes.length() > 0) {
+                votes.append(',');
+            }
+            votes.append(entry.getKey()).append(':').append(entry.getValue().name());
+        }
+        return new String[] {HISTORY, proposal.getId(), proposal.getProposerId().toString(), proposal.getTitle(),
+                             proposal.getDescription(), proposal.getType().name(), Long.toString(proposal.getCreatedTime()),
+                             Long.toString(proposal.getExpiryTime()), proposal.getStatus().name(), votes.toString(),
+                             previous != null ? previous.name() : ""};
+    }
+    
+    /**
+     * Decode a HISTORY record. Records from before the previous status was
+     * logged have 10 fields; any other length is unreadable.
+     */
+    private static CouncilProposal parseHistoryRecord(String[] record) {
+        if (!record[0].equals(HISTORY) || (record.length != 10 && record.length != 11)) {
+            throw new IllegalArgumentException("Council history record has " + record.length + " fields");
+        }
+        
+        Map<UUID, CouncilProposal.Vote> votes = new HashMap<>();
+        if (!record[9].isEmpty()) {
+            for (String vote : record[9].split(",")) {
+                String[] fields = vote.split(":");
+                votes.put(UUID.fromString(fields[0]), CouncilProposal.Vote.valueOf(fields[1]));
+            }
+        }
+        return new CouncilProposal(record[1], UUID.fromString(record[2]), record[3], record[4],
+            CouncilProposal.ProposalType.valueOf(record[5]), Long.parseLong(record[6]), Long.parseLong(record[7]),
+            CouncilProposal.ProposalStatus.valueOf(record[8]), votes);
+    }
+    
+    /**
+     * Read the history log. Every decided proposal is counted; only the most
+     * recent stay in memory. A later record for the same proposal replaces the
+     * earlier one.
+     */
+    private void loadHistory() {
+        Map<String, CouncilProposal.ProposalStatus> statuses = new HashMap<>();
+        int skipped = 0;
+        
+        for (String[] record : historyLog.load()) {
+            try {
+                // Counts of proposals an earlier build compacted out of the log
+                if (record[0].equals(COUNTS)) {
+                    for (int i = 1; i < record.length; i++) {
+                        String[] fields = record[i].split(":");
+                        historyCounts.merge(CouncilProposal.ProposalStatus.valueOf(fields[0]), Integer.parseInt(fields[1]), Integer::sum);
+                    }
+                    continue;
+                }
+                
+                CouncilProposal proposal = parseHistoryRecord(record);
+                
+                // A proposal compacted into the counts and decided again moves out of its old count
+                if (!statuses.containsKey(proposal.getId()) && record.length == 11 && !record[10].isEmpty()) {
+                    historyCounts.merge(CouncilProposal.ProposalStatus.valueOf(record[10]), -1, Integer::sum);
+                }
                 
-                // Move to history
-                iterator.remove();
+                // Re-inserted so a replaced proposal counts as recent
+                proposalHistory.remove(proposal.getId());
                 proposalHistory.put(proposal.getId(), proposal);
+                statuses.put(proposal.getId(), proposal.getStatus());
+            } catch (RuntimeException e) {
+                skipped++;
             }
         }
+        if (skipped > 0) {
+            logger.warning("Skipped " + skipped + " unreadable council history records");
+        }
+        
+        for (CouncilProposal.ProposalStatus status : statuses.values()) {
+            historyCounts.merge(status, 1, Integer::sum);
+        }
+    }
+    
+    /**
+     * Decided proposals, most recently decided first, skipping the first offset.
+     * Pages inside the in-memory window are answered at once; older ones are
+     * read back from the history log on its io thread. Call on the main thread.
+     */
+    public CompletableFuture<List<CouncilProposal>> getDecidedProposals(int offset, int limit) {
+        if (limit <= 0) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        if (offset + limit <= proposalHistory.size()) {
+            List<CouncilProposal> recent = new ArrayList<>(proposalHistory.values());
+            Collections.reverse(recent);
+            return CompletableFuture.completedFuture(new ArrayList<>(recent.subList(offset, offset + limit)));
+        }
+        
+        return historyLog.readAsync().thenApply(records -> {
+            List<CouncilProposal> page = new ArrayList<>(limit);
+            Set<String> seen = new HashSet<>();
+            for (int i = records.size() - 1; i >= 0 && page.size() < limit; i--) {
+                CouncilProposal proposal;
+                try {
+                    proposal = parseHistoryRecord(records.get(i));
+                } catch (RuntimeException e) {
+                    continue; // Counts and unreadable records
+                }
+                // Only the latest record of each proposal is listed
+                if (seen.add(proposal.getId()) && seen.size() > offset) {
+                    page.add(proposal);
+                }
+            }
+            return page;
+        });
+    }
+    
+    /**
+     * Number of decided proposals, including those no longer in memory
+     */
+    public int getHistorySize() {
+        int total = 0;
+        for (int count : historyCounts.values()) {
+            total += count;
+        }
+        return total;
+    }
+    
+    /**
+     * Number of decided proposals per final status, including those no longer in memory
+     */
+    public Map<CouncilProposal.ProposalStatus, Integer> getHistoryCounts() {
+        return new EnumMap<>(historyCounts);
+    }
+    
+    /**
+     * Write out pending history records
+     */
+    public void shutdown() {
+        historyLog.close();
+        logger.info("Divine Council Manager shutdown complete");
     }
     
     /**
@@ -478,7 +669,7 @@ public class DivineCouncilManager {
         stats.put("total_members", councilMembers.size());
         stats.put("max_size", maxCouncilSize);
         stats.put("active_proposals", activeProposals.size());
-        stats.put("proposal_history", proposalHistory.size());
+        stats.put("proposal_history", getHistorySize());
         
         // Role distribution
         Map<CouncilRole, Integer> roleDistribution = new HashMap<>();
@@ -495,7 +686,7 @@ public class DivineCouncilManager {
      */
     public String getCouncilStatus() {
         // Check if council is enabled
-        if (!plugin.getConfig().getBoolean("divine_council.enabled", false)) {
+        if (!plugin.getConfigManager().getSnapshot().main().isDivineCouncilEnabled()) {
             return "§c§lDivine Council is disabled in configuration.";
         }
         
@@ -92,7 +92,7 @@ public class DivineForgeManager {
         }
         
         // Calculate success chance
-        double successChance = DivineItemUpgrade.getUpgradeSuccessChance(currentRarity, targetRarity);
+        double successChance = getUpgradeSuccessChance(currentRarity, targetRarity);
         boolean success = Math.random() < successChance;
         
         // Remove materials regardless of success
@@ -120,7 +120,8 @@ public class DivineForgeManager {
      * Attempt to combine divine items
      */
     public CombinationResult combineItems(Player player, List<ItemStack> items) {
-        if (!DivineItemCombination.canCombine(items)) {
+        DivineItemCombination.CombinationResult result = DivineItemCombination.getCombinationResult(items);
+        if (result == null) {
             return new CombinationResult(false, "These items cannot be combined", null);
         }
         
@@ -129,11 +130,6 @@ public class DivineForgeManager {
             return new CombinationResult(false, "Requires 1x Fusion Catalyst", null);
         }
         
-        DivineItemCombination.CombinationResult result = DivineItemCombination.getCombinationResult(items);
-        if (result == null) {
-            return new CombinationResult(false, "Invalid combination", null);
-        }
-        
         // Remove fusion catalyst
         UpgradeMaterial.removeUpgradeMaterials(player, UpgradeMaterial.UpgradeType.FUSION_CATALYST, 1);
         
@@ -151,6 +147,14 @@ public class DivineForgeManager {
             combinedItem);
     }
     
+    /**
+     * Upgrade success chance, as set in forge.yml or else the built-in default
+     */
+    public double getUpgradeSuccessChance(ItemRarity currentRarity, ItemRarity targetRarity) {
+        return plugin.getConfigManager().getSnapshot().forge().getUpgradeSuccessChance(targetRarity,
+            DivineItemUpgrade.getUpgradeSuccessChance(currentRarity, targetRarity));
+    }
+    
     /**
      * Generate legendary variant instead of base item
      */
@@ -3,6 +3,10 @@ package com.example.minecraftplugin.managers;
 import com.example.minecraftplugin.MinecraftPlugin;
 import org.bukkit.*;
 import org.bukkit.entity.*;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityRemoveEvent;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -14,7 +18,7 @@ import java.util.logging.Logger;
 /**
  * Manages enhanced Ender Dragon combat with phases and unique abilities
  */
-public class EnderDragonCombatManager {
+public class EnderDragonCombatManager implements Listener {
     
     private final MinecraftPlugin plugin;
     private final Logger logger;
@@ -32,6 +36,7 @@ public class EnderDragonCombatManager {
     private int phaseTransitions;
     private boolean isEnraged;
     private final Set<Location> crystalLocations;
+    private final Set<UUID> crystalIds; // Spawned crystals still standing, including those in unloaded chunks
     private final List<Entity> summonedMinions;
     
     // Scaling parameters
@@ -46,11 +51,15 @@ public class EnderDragonCombatManager {
         this.participants = new ArrayList<>();
         this.playerDamage = new HashMap<>();
         this.crystalLocations = new HashSet<>();
+        this.crystalIds = new HashSet<>();
         this.summonedMinions = new ArrayList<>();
         this.currentPhase = DragonPhase.CRYSTAL_PHASE;
         this.phaseTransitions = 0;
         this.isEnraged = false;
         
+        // Register as event listener
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        
         logger.info("Ender Dragon Combat Manager initialized");
     }
     
@@ -394,6 +403,7 @@ public class EnderDragonCombatManager {
                 EnderCrystal crystal = world.spawn(crystalLoc, EnderCrystal.class);
                 crystal.setShowingBottom(true);
                 crystalLocations.add(crystalLoc);
+                crystalIds.add(crystal.getUniqueId());
                 
                 // Visual effect
                 world.spawnParticle(Particle.EXPLOSION, crystalLoc, 3);
@@ -407,34 +417,31 @@ public class EnderDragonCombatManager {
      * Check if all crystals are destroyed
      */
     private boolean areAllCrystalsDestroyed() {
-        World world = dragon.getWorld();
-        
-        for (Location crystalLoc : crystalLocations) {
-            // Check for crystals in a small radius around each location
-            for (Entity entity : world.getNearbyEntities(crystalLoc, 2, 2, 2)) {
-                if (entity instanceof EnderCrystal) {
-                    return false; // Found a crystal
-                }
-            }
+        return crystalIds.isEmpty();
+    }
+    
+    /**
+     * Stop tracking a spawned crystal once it is destroyed; unloading its chunk does not count
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCrystalRemoved(EntityRemoveEvent event) {
+        if (event.getEntity() instanceof EnderCrystal && event.getCause() != EntityRemoveEvent.Cause.UNLOAD) {
+            crystalIds.remove(event.getEntity().getUniqueId());
         }
-        
-        return true; // No crystals found
     }
     
     /**
      * Clear remaining crystals
      */
     private void clearRemainingCrystals() {
-        World world = dragon.getWorld();
-        
-        for (Location crystalLoc : crystalLocations) {
-            for (Entity entity : world.getNearbyEntities(crystalLoc, 2, 2, 2)) {
-                if (entity instanceof EnderCrystal) {
-                    entity.remove();
-                    world.spawnParticle(Particle.EXPLOSION_EMITTER, entity.getLocation(), 5);
-                }
+        for (UUID crystalId : new ArrayList<>(crystalIds)) {
+            Entity crystal = plugin.getServer().getEntity(crystalId);
+            if (crystal != null) {
+                crystal.remove();
+                crystal.getWorld().spawnParticle(Particle.EXPLOSION_EMITTER, crystal.getLocation(), 5);
             }
         }
+        crystalIds.clear();
     }
     
     /**
@@ -893,6 +900,7 @@ public class EnderDragonCombatManager {
         participants.clear();
         playerDamage.clear();
         crystalLocations.clear();
+        crystalIds.clear();
         summonedMinions.clear();
         
         dragon = null;
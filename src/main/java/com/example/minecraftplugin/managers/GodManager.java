@@ -1,6 +1,7 @@
 package com.example.minecraftplugin.managers;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.effects.PotionEffectReconciler;
 import com.example.minecraftplugin.enums.GodType;
 import com.example.minecraftplugin.enums.AscensionLevel;
 import com.example.minecraftplugin.managers.PlayerDataManager;
@@ -20,6 +21,7 @@ import com.example.minecraftplugin.items.ShadowMantle;
 import com.example.minecraftplugin.items.ConvergenceNexus;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -36,6 +38,7 @@ public class GodManager {
     private final Logger logger;
     private final PlayerDataManager playerDataManager;
     private final Map<GodType, DivineItem> divineItems;
+    private final Map<String, List<DivineItem>> divineItemsByName; // Display name -> candidates
     private ConvergenceManager convergenceManager;
     
     // Track players with ascension effects for periodic reapplication
@@ -46,6 +49,7 @@ public class GodManager {
         this.logger = plugin.getLogger();
         this.playerDataManager = plugin.getPlayerDataManager();
         this.divineItems = new HashMap<>();
+        this.divineItemsByName = new HashMap<>();
         this.playersWithAscensionEffects = new HashSet<>();
         
         // Initialize convergence manager after this manager is created
@@ -77,7 +81,8 @@ public class GodManager {
         registerDivineItem(GodType.SHADOW, new ShadowMantle());
         
         // Register the Convergence Nexus (not tied to a specific god)
-        // This will be handled by the ConvergenceManager
+        // This will be handled by the ConvergenceManager; it is only indexed for identification
+        indexDivineItem(new ConvergenceNexus());
         
         // Log all available gods
         for (GodType god : GodType.values()) {
@@ -100,10 +105,8 @@ public class GodManager {
                 // Reapply ascension effects for all online players
                 for (Player player : plugin.getServer().getOnlinePlayers()) {
                     if (playersWithAscensionEffects.contains(player.getUniqueId())) {
-                        AscensionLevel level = getAscensionLevel(player);
-                        if (level.hasEffects()) {
-                            applyAscensionEffectsToPlayer(player, level);
-                        }
+                        // A level without effects publishes an empty list, clearing any earlier ones
+                        applyAscensionEffectsToPlayer(player, getAscensionLevel(player));
                     }
                 }
             }
@@ -117,9 +120,42 @@ public class GodManager {
      */
     public void registerDivineItem(GodType god, DivineItem item) {
         divineItems.put(god, item);
+        indexDivineItem(item);
         logger.info("Registered divine item for " + god.getDisplayName() + ": " + item.getClass().getSimpleName());
     }
     
+    private void indexDivineItem(DivineItem item) {
+        divineItemsByName.computeIfAbsent(item.getDisplayName(), k -> new ArrayList<>()).add(item);
+    }
+    
+    /**
+     * Identify the divine item an ItemStack represents by its display name and lore, or null.
+     * Looks up candidates by display name instead of comparing against every registered item.
+     */
+    public DivineItem identifyDivineItem(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return null;
+        }
+        
+        ItemMeta meta = item.getItemMeta();
+        if (!meta.hasDisplayName() || !meta.hasLore()) {
+            return null;
+        }
+        
+        List<DivineItem> candidates = divineItemsByName.get(meta.getDisplayName());
+        if (candidates == null) {
+            return null;
+        }
+        
+        List<String> lore = meta.getLore();
+        for (DivineItem candidate : candidates) {
+            if (candidate.getLore() != null && lore.containsAll(candidate.getLore())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+    
     /**
      * Get the divine item associated with a god
      */
@@ -217,6 +253,13 @@ public class GodManager {
         return playerDataManager.getMissingFragment(player, god);
     }
     
+    /**
+     * Gods the player still needs fragments for, bit i set for the god with ordinal i
+     */
+    public int getIncompleteGodMask(Player player) {
+        return playerDataManager.getIncompleteGodMask(player);
+    }
+    
     /**
      * Get the number of completed testaments for a player
      */
@@ -298,29 +341,6 @@ public class GodManager {
         
         applyAscensionEffectsToPlayer(player, level);
         
-        logger.info("Applied " + level.getTitle() + " effects to " + player.getName());
-    }
-    
-    /**
-     * Apply ascension effects to a specific player
-     */
-    private void applyAscensionEffectsToPlayer(Player player, AscensionLevel level) {
-        // Remove any existing ascension effects first
-        removeAscensionEffects(player);
-        
-        // Apply new effects based on ascension level
-        for (AscensionLevel.EffectData effectData : level.getEffects()) {
-            PotionEffect effect = new PotionEffect(
-                effectData.getType(),
-                effectData.getDuration(),
-                effectData.getAmplifier(),
-                false, // ambient
-                false  // show particles
-            );
-            
-            player.addPotionEffect(effect);
-        }
-        
         // Send ascension effect message to player
         if (level.hasEffects()) {
             player.sendMessage("§6§l✦ Ascension Effects Active: §r§6" + level.getTitle());
@@ -343,20 +363,28 @@ public class GodManager {
             }
             player.sendMessage(effectsList.toString());
         }
+        
+        logger.info("Applied " + level.getTitle() + " effects to " + player.getName());
     }
     
     /**
-     * Remove ascension effects from a player
+     * Publish the level's effects to the reconciler. Effects from a previous level that
+     * the new level no longer grants are removed by the reconciler, and nothing is sent
+     * when the player already has them.
      */
-    private void removeAscensionEffects(Player player) {
-        // Remove all ascension-related effects
-        player.removePotionEffect(PotionEffectType.LUCK);
-        player.removePotionEffect(PotionEffectType.HERO_OF_THE_VILLAGE);
-        player.removePotionEffect(PotionEffectType.REGENERATION);
-        player.removePotionEffect(PotionEffectType.RESISTANCE);
-        player.removePotionEffect(PotionEffectType.SATURATION);
-        player.removePotionEffect(PotionEffectType.ABSORPTION);
-        player.removePotionEffect(PotionEffectType.CONDUIT_POWER);
+    private void applyAscensionEffectsToPlayer(Player player, AscensionLevel level) {
+        List<PotionEffect> effects = new ArrayList<>(level.getEffects().size());
+        for (AscensionLevel.EffectData effectData : level.getEffects()) {
+            effects.add(new PotionEffect(
+                effectData.getType(),
+                effectData.getDuration(),
+                effectData.getAmplifier(),
+                false, // ambient
+                false  // show particles
+            ));
+        }
+        
+        plugin.getPotionEffectReconciler().update(player, "ascension", effects, PotionEffectReconciler.UNTIL_CLEARED);
     }
     
     /**
@@ -1,6 +1,8 @@
 package com.example.minecraftplugin.managers;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.data.AppendOnlyLog;
+import com.example.minecraftplugin.data.RankedIndex;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -13,18 +15,52 @@ import java.util.logging.Logger;
 
 /**
  * Manages raid guilds for team formation and persistent raid groups
+ *
+ * guilds.yml is a snapshot of every guild. Changes mark the guild dirty; once a
+ * second the dirty guilds are appended to guilds.log as one full record each
+ * (or a disband record), written off the main thread. Because every record is
+ * a guild's complete state, replaying the log over the snapshot is idempotent.
+ * The snapshot is rewritten and the log emptied at startup and shutdown.
+ *
+ * Guild rankings are kept sorted as raids are recorded rather than sorted on
+ * every read. Weekly scores belong to the week they were earned in; when the
+ * week changes the weekly ranking is simply emptied and each guild's score
+ * counts as zero until it earns points in the new week.
  */
 public class GuildManager {
     
+    private static final long FLUSH_INTERVAL_TICKS = 20L;
+    
+    // Log record types
+    private static final String GUILD = "GUILD";
+    private static final String DISBAND = "DISBAND";
+    
+    // Ranking orders; ties are broken by guild id so every guild has one place
+    private static final Comparator<Guild> BY_RAIDS = Comparator.comparingInt(Guild::getRaidsCompleted).reversed()
+        .thenComparing(Guild::getId);
+    private static final Comparator<Guild> BY_SCORE = Comparator.comparingInt(Guild::getTotalScore).reversed()
+        .thenComparing(Guild::getId);
+    private static final Comparator<Guild> BY_BEST_TIME = Comparator.comparingLong(Guild::getBestTime)
+        .thenComparing(Guild::getId);
+    private static final Comparator<Guild> BY_WEEKLY_SCORE = Comparator.comparingInt(Guild::getWeeklyScore).reversed()
+        .thenComparing(Guild::getId);
+    
     private final MinecraftPlugin plugin;
     private final Logger logger;
     private final File guildFile;
     private FileConfiguration guildConfig;
+    private final AppendOnlyLog guildLog;
     
     // Guild data
     private final Map<String, Guild> guilds; // guild_id -> Guild
     private final Map<UUID, String> playerGuilds; // player_id -> guild_id
+    private final Map<String, String> guildNames; // lower-case name -> guild_id
     private final Map<UUID, Set<String>> pendingInvites; // player_id -> set of guild_ids
+    private final Set<String> dirtyGuilds; // guild_ids changed since the last flush
+    
+    // Rankings
+    private final Map<GuildRanking, RankedIndex<Guild>> rankings;
+    private String currentWeek; // Week the weekly ranking holds
     
     public GuildManager(MinecraftPlugin plugin) {
         this.plugin = plugin;
@@ -32,9 +68,21 @@ public class GuildManager {
         this.guildFile = new File(plugin.getDataFolder(), "guilds.yml");
         this.guilds = new HashMap<>();
         this.playerGuilds = new HashMap<>();
+        this.guildNames = new HashMap<>();
         this.pendingInvites = new HashMap<>();
+        this.dirtyGuilds = new LinkedHashSet<>();
+        this.rankings = new EnumMap<>(GuildRanking.class);
+        this.rankings.put(GuildRanking.RAIDS, new RankedIndex<>(BY_RAIDS));
+        this.rankings.put(GuildRanking.SCORE, new RankedIndex<>(BY_SCORE));
+        this.rankings.put(GuildRanking.BEST_TIME, new RankedIndex<>(BY_BEST_TIME));
+        this.rankings.put(GuildRanking.WEEKLY, new RankedIndex<>(BY_WEEKLY_SCORE));
+        this.currentWeek = RaidLeaderboardManager.weeklyBoard(System.currentTimeMillis());
+        this.guildLog = new AppendOnlyLog(new File(plugin.getDataFolder(), "guilds.log"), "Testament-GuildLog", logger);
         
         loadGuildData();
+        replayGuildLog();
+        
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::flushDirtyGuilds, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
         
         logger.info("Guild Manager initialized with " + guilds.size() + " guilds");
     }
@@ -62,12 +110,7 @@ public class GuildManager {
                 try {
                     Guild guild = loadGuildFromConfig(guildId);
                     if (guild != null) {
-                        guilds.put(guildId, guild);
-                        
-                        // Update player guild mapping
-                        for (UUID memberId : guild.getAllMembers().keySet()) {
-                            playerGuilds.put(memberId, guildId);
-                        }
+                        indexGuild(guild);
                     }
                 } catch (Exception e) {
                     logger.warning("Failed to load guild " + guildId + ": " + e.getMessage());
@@ -125,15 +168,181 @@ public class GuildManager {
             long bestTime = guildConfig.getLong(path + ".statistics.best_time");
             
             guild.setStatistics(raidsCompleted, totalScore, bestTime);
+            guild.setWeeklyScore(guildConfig.getString(path + ".statistics.weekly_week"),
+                                 guildConfig.getInt(path + ".statistics.weekly_score"));
         }
         
         return guild;
     }
     
     /**
-     * Save guild data to file
+     * Replay changes logged since the last snapshot, then fold them into a new
+     * snapshot and empty the log
+     */
+    private void replayGuildLog() {
+        List<String[]> records = guildLog.load();
+        if (records.isEmpty()) {
+            return;
+        }
+        
+        int skipped = 0;
+        for (String[] record : records) {
+            try {
+                applyRecord(record);
+            } catch (RuntimeException e) {
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            logger.warning("Skipped " + skipped + " unreadable guild log records");
+        }
+        
+        if (writeSnapshot()) {
+            guildLog.compact(new ArrayList<>());
+        }
+        logger.info("Replayed " + records.size() + " guild log records");
+    }
+    
+    private void applyRecord(String[] record) {
+        switch (record[0]) {
+            case GUILD: {
+                // A record cut off inside the member list would still have 9 or 10 fields
+                if (record.length != 11) {
+                    throw new IllegalArgumentException("Guild record has " + record.length + " fields");
+                }
+                Guild guild = new Guild(record[1], record[2], UUID.fromString(record[3]), Long.parseLong(record[4]));
+                guild.setStatistics(Integer.parseInt(record[5]), Integer.parseInt(record[6]), Long.parseLong(record[7]));
+                guild.setWeeklyScore(record[9], Integer.parseInt(record[10]));
+                if (!record[8].isEmpty()) {
+                    for (String member : record[8].split(",")) {
+                        String[] fields = member.split(":");
+                        guild.addMember(UUID.fromString(fields[0]), GuildRole.valueOf(fields[1]), Long.parseLong(fields[2]));
+                    }
+                }
+                unindexGuild(record[1]);
+                indexGuild(guild);
+                break;
+            }
+            case DISBAND:
+                if (record.length != 2) {
+                    throw new IllegalArgumentException("Disband record has " + record.length + " fields");
+                }
+                unindexGuild(record[1]);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown record type " + record[0]);
+        }
+    }
+    
+    private String[] encodeGuild(Guild guild) {
+        StringBuilder members = new StringBuilder();
+        for (Map.Entry<UUID, GuildRole> entry : guild.getAllMembers().entrySet()) {
+            if (members.length() > 0) {
+                members.append(',');
+            }
+            members.append(entry.getKey()).append(':').append(entry.getValue().name())
+                   .append(':').append(guild.getMemberJoinTime(entry.getKey()));
+        }
+        return new String[] {GUILD, guild.getId(), guild.getName(), guild.getLeader().toString(),
+                             Long.toString(guild.getCreatedTime()), Integer.toString(guild.getRaidsCompleted()),
+                             Integer.toString(guild.getTotalScore()), Long.toString(guild.getBestTime()), members.toString(),
+                             guild.getWeeklyWeek() != null ? guild.getWeeklyWeek() : "", Integer.toString(guild.getWeeklyScore())};
+    }
+    
+    /**
+     * Add a guild and its members and name to the lookup maps
+     */
+    private void indexGuild(Guild guild) {
+        guilds.put(guild.getId(), guild);
+        guildNames.put(guild.getName().toLowerCase(Locale.ROOT), guild.getId());
+        for (UUID memberId : guild.getAllMembers().keySet()) {
+            playerGuilds.put(memberId, guild.getId());
+        }
+        addToRankings(guild);
+    }
+    
+    private void unindexGuild(String guildId) {
+        Guild guild = guilds.remove(guildId);
+        if (guild == null) {
+            return;
+        }
+        guildNames.remove(guild.getName().toLowerCase(Locale.ROOT));
+        removeFromRankings(guild);
+        for (UUID memberId : guild.getAllMembers().keySet()) {
+            playerGuilds.remove(memberId, guildId);
+        }
+    }
+    
+    private void addToRankings(Guild guild) {
+        rankings.get(GuildRanking.RAIDS).add(guild);
+        rankings.get(GuildRanking.SCORE).add(guild);
+        if (guild.getBestTime() != Long.MAX_VALUE) {
+            rankings.get(GuildRanking.BEST_TIME).add(guild);
+        }
+        if (guild.getWeeklyScore() > 0 && checkWeek().equals(guild.getWeeklyWeek())) {
+            rankings.get(GuildRanking.WEEKLY).add(guild);
+        }
+    }
+    
+    private void removeFromRankings(Guild guild) {
+        for (RankedIndex<Guild> ranking : rankings.values()) {
+            ranking.remove(guild);
+        }
+    }
+    
+    /**
+     * Start a new weekly ranking if the week has changed, and return the week
+     */
+    private String checkWeek() {
+        String week = RaidLeaderboardManager.weeklyBoard(System.currentTimeMillis());
+        if (!week.equals(currentWeek)) {
+            currentWeek = week;
+            rankings.get(GuildRanking.WEEKLY).clear();
+        }
+        return currentWeek;
+    }
+    
+    /**
+     * Queue a guild to be written at the next flush
+     */
+    private void markDirty(Guild guild) {
+        dirtyGuilds.add(guild.getId());
+    }
+    
+    /**
+     * Append the current state of every changed guild to the log
+     */
+    private void flushDirtyGuilds() {
+        if (dirtyGuilds.isEmpty()) {
+            return;
+        }
+        
+        for (String guildId : dirtyGuilds) {
+            Guild guild = guilds.get(guildId);
+            if (guild != null) {
+                guildLog.append(encodeGuild(guild));
+            } else {
+                guildLog.append(DISBAND, guildId);
+            }
+        }
+        dirtyGuilds.clear();
+    }
+    
+    /**
+     * Save guild data to file. Pending changes are logged first, so the log
+     * stays valid to replay over the new snapshot.
      */
     public void saveGuildData() {
+        flushDirtyGuilds();
+        writeSnapshot();
+    }
+    
+    /**
+     * Write every guild to guilds.yml
+     */
+    private boolean writeSnapshot() {
+        // A fresh configuration, so disbanded guilds do not linger in the file
+        guildConfig = new YamlConfiguration();
         for (Map.Entry<String, Guild> entry : guilds.entrySet()) {
             saveGuildToConfig(entry.getKey(), entry.getValue());
         }
@@ -141,8 +350,10 @@ public class GuildManager {
         try {
             guildConfig.save(guildFile);
             logger.info("Saved guild data for " + guilds.size() + " guilds");
+            return true;
         } catch (IOException e) {
             logger.severe("Could not save guild data: " + e.getMessage());
+            return false;
         }
     }
     
@@ -157,7 +368,6 @@ public class GuildManager {
         guildConfig.set(path + ".created_time", guild.getCreatedTime());
         
         // Save members
-        guildConfig.set(path + ".members", null); // Clear existing
         for (Map.Entry<UUID, GuildRole> entry : guild.getAllMembers().entrySet()) {
             String memberPath = path + ".members." + entry.getKey().toString();
             guildConfig.set(memberPath + ".role", entry.getValue().name());
@@ -168,6 +378,8 @@ public class GuildManager {
         guildConfig.set(path + ".statistics.raids_completed", guild.getRaidsCompleted());
         guildConfig.set(path + ".statistics.total_score", guild.getTotalScore());
         guildConfig.set(path + ".statistics.best_time", guild.getBestTime());
+        guildConfig.set(path + ".statistics.weekly_week", guild.getWeeklyWeek());
+        guildConfig.set(path + ".statistics.weekly_score", guild.getWeeklyScore());
     }
     
     /**
@@ -182,10 +394,8 @@ public class GuildManager {
         }
         
         // Check if guild name is already taken
-        for (Guild guild : guilds.values()) {
-            if (guild.getName().equalsIgnoreCase(guildName)) {
-                return false;
-            }
+        if (guildNames.containsKey(guildName.toLowerCase(Locale.ROOT))) {
+            return false;
         }
         
         // Create guild
@@ -193,10 +403,9 @@ public class GuildManager {
         Guild guild = new Guild(guildId, guildName, leaderId, System.currentTimeMillis());
         guild.addMember(leaderId, GuildRole.LEADER, System.currentTimeMillis());
         
-        guilds.put(guildId, guild);
-        playerGuilds.put(leaderId, guildId);
+        indexGuild(guild);
         
-        saveGuildData();
+        markDirty(guild);
         
         leader.sendMessage("§a§lGuild Created! §r§aYou have created the guild '" + guildName + "'");
         
@@ -273,7 +482,7 @@ public class GuildManager {
         playerGuilds.put(playerId, guild.getId());
         playerInvites.remove(guild.getId());
         
-        saveGuildData();
+        markDirty(guild);
         
         // Notify guild members
         notifyGuildMembers(guild, "§a§l" + player.getName() + " §r§ahas joined the guild!");
@@ -335,7 +544,7 @@ public class GuildManager {
         guild.removeMember(playerId);
         playerGuilds.remove(playerId);
         
-        saveGuildData();
+        markDirty(guild);
         
         player.sendMessage("§c§lLeft Guild! §r§cYou have left '" + guild.getName() + "'");
         
@@ -347,15 +556,10 @@ public class GuildManager {
      * Disband a guild
      */
     private void disbandGuild(Guild guild) {
-        // Remove all members from mapping
-        for (UUID memberId : guild.getAllMembers().keySet()) {
-            playerGuilds.remove(memberId);
-        }
-        
-        // Remove guild
-        guilds.remove(guild.getId());
+        // Remove guild, its name and all members from the mappings
+        unindexGuild(guild.getId());
         
-        saveGuildData();
+        markDirty(guild);
         
         logger.info("Guild disbanded: " + guild.getName());
     }
@@ -364,10 +568,8 @@ public class GuildManager {
      * Get guild by name
      */
     private Guild getGuildByName(String name) {
-        return guilds.values().stream()
-            .filter(guild -> guild.getName().equalsIgnoreCase(name))
-            .findFirst()
-            .orElse(null);
+        String guildId = guildNames.get(name.toLowerCase(Locale.ROOT));
+        return guildId != null ? guilds.get(guildId) : null;
     }
     
     /**
@@ -408,8 +610,49 @@ public class GuildManager {
      * Record raid completion for guild
      */
     public void recordGuildRaidCompletion(Guild guild, int score, long completionTime) {
-        guild.addRaidCompletion(score, completionTime);
-        saveGuildData();
+        String week = checkWeek();
+        
+        // Out of the rankings while the ranked fields change
+        boolean indexed = guilds.get(guild.getId()) == guild;
+        if (indexed) {
+            removeFromRankings(guild);
+        }
+        guild.addRaidCompletion(score, completionTime, week);
+        if (indexed) {
+            addToRankings(guild);
+        }
+        markDirty(guild);
+    }
+    
+    /**
+     * One page of a guild ranking, best first. Pages start at 0.
+     */
+    public List<Guild> getRankingPage(GuildRanking ranking, int page, int pageSize) {
+        checkWeek();
+        return rankings.get(ranking).page(page * pageSize, pageSize);
+    }
+    
+    /**
+     * Number of guilds in a ranking
+     */
+    public int getRankingSize(GuildRanking ranking) {
+        checkWeek();
+        return rankings.get(ranking).size();
+    }
+    
+    /**
+     * 1-based place of a guild in a ranking, or 0 if it is not ranked
+     */
+    public int getGuildRank(GuildRanking ranking, Guild guild) {
+        checkWeek();
+        return rankings.get(ranking).rankOf(guild);
+    }
+    
+    /**
+     * A guild's score this week
+     */
+    public int getWeeklyScore(Guild guild) {
+        return checkWeek().equals(guild.getWeeklyWeek()) ? guild.getWeeklyScore() : 0;
     }
     
     /**
@@ -426,9 +669,7 @@ public class GuildManager {
         stats.put("average_guild_size", avgSize);
         
         // Most active guild
-        Guild mostActive = guilds.values().stream()
-            .max(Comparator.comparingInt(Guild::getRaidsCompleted))
-            .orElse(null);
+        Guild mostActive = rankings.get(GuildRanking.RAIDS).first();
         if (mostActive != null) {
             stats.put("most_active_guild", mostActive.getName());
             stats.put("most_raids_completed", mostActive.getRaidsCompleted());
@@ -441,7 +682,13 @@ public class GuildManager {
      * Shutdown and save data
      */
     public void shutdown() {
-        saveGuildData();
+        flushDirtyGuilds();
+        guildLog.close();
+        
+        // Everything logged is in the snapshot now
+        if (writeSnapshot()) {
+            guildLog.compact(new ArrayList<>());
+        }
         logger.info("Guild Manager shutdown complete");
     }
     
@@ -460,6 +707,8 @@ public class GuildManager {
         private int raidsCompleted;
         private int totalScore;
         private long bestTime;
+        private String weeklyWeek; // Week weeklyScore was earned in
+        private int weeklyScore;
         
         public Guild(String id, String name, UUID leader, long createdTime) {
             this.id = id;
@@ -489,9 +738,14 @@ public class GuildManager {
             }
         }
         
-        public void addRaidCompletion(int score, long completionTime) {
+        public void addRaidCompletion(int score, long completionTime, String week) {
             raidsCompleted++;
             totalScore += score;
+            if (!week.equals(weeklyWeek)) {
+                weeklyWeek = week;
+                weeklyScore = 0;
+            }
+            weeklyScore += score;
             if (completionTime < bestTime) {
                 bestTime = completionTime;
             }
@@ -509,12 +763,37 @@ public class GuildManager {
         public int getRaidsCompleted() { return raidsCompleted; }
         public int getTotalScore() { return totalScore; }
         public long getBestTime() { return bestTime; }
+        public String getWeeklyWeek() { return weeklyWeek; }
+        public int getWeeklyScore() { return weeklyScore; }
         
         public void setStatistics(int raidsCompleted, int totalScore, long bestTime) {
             this.raidsCompleted = raidsCompleted;
             this.totalScore = totalScore;
             this.bestTime = bestTime;
         }
+        
+        public void setWeeklyScore(String week, int score) {
+            this.weeklyWeek = week == null || week.isEmpty() ? null : week;
+            this.weeklyScore = score;
+        }
+    }
+    
+    /**
+     * Orders guilds can be ranked by
+     */
+    public enum GuildRanking {
+        RAIDS("Raids Completed"),
+        SCORE("Total Score"),
+        BEST_TIME("Best Time"),
+        WEEKLY("Weekly Score");
+        
+        private final String displayName;
+        
+        GuildRanking(String displayName) {
+            this.displayName = displayName;
+        }
+        
+        public String getDisplayName() { return displayName; }
     }
     
     /**
@@ -13,6 +13,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.config.ConfigSnapshot;
 
 /**
  * Manages performance optimization for the Testament System
@@ -22,15 +23,6 @@ public class PerformanceManager {
     private final MinecraftPlugin plugin;
     private final Logger logger;
     
-    // Cached configuration values
-    private double cachedChestSpawnChance;
-    private double cachedMobDropChance;
-    private int cachedChestCooldownHours;
-    private int cachedMobCooldownHours;
-    private int cachedDeathThreshold;
-    private boolean cachedEffectsEnabled;
-    private boolean cachedConflictsEnabled;
-    
     // Performance tracking
     private final Map<String, Long> operationTimes;
     private final Map<String, Integer> operationCounts;
@@ -51,89 +43,67 @@ public class PerformanceManager {
         this.playersNeedingEffectUpdates = ConcurrentHashMap.newKeySet();
         this.playersWithDivineItems = ConcurrentHashMap.newKeySet();
         
-        // Cache configuration values
-        cacheConfigurationValues();
-        
         // Start performance monitoring
         startPerformanceMonitoring();
         
-        logger.info("Performance Manager initialized with cached configuration");
+        logger.info("Performance Manager initialized");
     }
     
     /**
-     * Cache frequently accessed configuration values
+     * Current main configuration settings. Reads the published snapshot, so the
+     * values below always reflect the latest successful reload.
      */
-    public void cacheConfigurationValues() {
-        // Use ConfigManager if available, otherwise fall back to main config
-        if (plugin.getConfigManager() != null) {
-            cachedChestSpawnChance = plugin.getConfigManager().getConfigValue("config", "testament.fragments.chest_spawn_chance", 0.02, Double.class);
-            cachedMobDropChance = plugin.getConfigManager().getConfigValue("config", "testament.fragments.mob_drop_chance", 0.001, Double.class);
-            cachedChestCooldownHours = plugin.getConfigManager().getConfigValue("config", "testament.fragments.chest_cooldown_hours", 2, Integer.class);
-            cachedMobCooldownHours = plugin.getConfigManager().getConfigValue("config", "testament.fragments.mob_cooldown_hours", 1, Integer.class);
-            cachedDeathThreshold = plugin.getConfigManager().getConfigValue("config", "testament.lives_system.death_threshold", 3, Integer.class);
-            cachedEffectsEnabled = plugin.getConfigManager().getConfigValue("config", "testament.ascension.effects_enabled", true, Boolean.class);
-            cachedConflictsEnabled = plugin.getConfigManager().getConfigValue("config", "testament.conflicts.enabled", true, Boolean.class);
-        } else {
-            // Fallback to main config
-            cachedChestSpawnChance = plugin.getConfig().getDouble("testament.fragments.chest_spawn_chance", 0.02);
-            cachedMobDropChance = plugin.getConfig().getDouble("testament.fragments.mob_drop_chance", 0.001);
-            cachedChestCooldownHours = plugin.getConfig().getInt("testament.fragments.chest_cooldown_hours", 2);
-            cachedMobCooldownHours = plugin.getConfig().getInt("testament.fragments.mob_cooldown_hours", 1);
-            cachedDeathThreshold = plugin.getConfig().getInt("testament.lives_system.death_threshold", 3);
-            cachedEffectsEnabled = plugin.getConfig().getBoolean("testament.ascension.effects_enabled", true);
-            cachedConflictsEnabled = plugin.getConfig().getBoolean("testament.conflicts.enabled", true);
-        }
-        
-        logger.info("Configuration values cached for performance optimization");
+    private ConfigSnapshot.MainSettings settings() {
+        return plugin.getConfigManager().getSnapshot().main();
     }
     
     /**
      * Get cached chest spawn chance
      */
     public double getCachedChestSpawnChance() {
-        return cachedChestSpawnChance;
+        return settings().getChestSpawnChance();
     }
     
     /**
      * Get cached mob drop chance
      */
     public double getCachedMobDropChance() {
-        return cachedMobDropChance;
+        return settings().getMobDropChance();
     }
     
     /**
      * Get cached chest cooldown hours
      */
     public int getCachedChestCooldownHours() {
-        return cachedChestCooldownHours;
+        return settings().getChestCooldownHours();
     }
     
     /**
      * Get cached mob cooldown hours
      */
     public int getCachedMobCooldownHours() {
-        return cachedMobCooldownHours;
+        return settings().getMobCooldownHours();
     }
     
     /**
      * Get cached death threshold
      */
     public int getCachedDeathThreshold() {
-        return cachedDeathThreshold;
+        return settings().getDeathThreshold();
     }
     
     /**
      * Check if effects are enabled (cached)
      */
     public boolean areEffectsEnabled() {
-        return cachedEffectsEnabled;
+        return settings().isAscensionEffectsEnabled();
     }
     
     /**
      * Check if conflicts are enabled (cached)
      */
     public boolean areConflictsEnabled() {
-        return cachedConflictsEnabled;
+        return settings().isConflictsEnabled();
     }
     
     /**
@@ -267,7 +237,7 @@ public class PerformanceManager {
                 cleanupDisconnectedPlayers();
                 
                 // Log performance statistics every 5 minutes
-                if (plugin.getConfig().getBoolean("performance.logging.enabled", false)) {
+                if (settings().isPerformanceLoggingEnabled()) {
                     logPerformanceStatistics();
                 }
                 
@@ -308,6 +278,13 @@ public class PerformanceManager {
                            " - Avg: " + String.format("%.2f", avgMs) + "ms" +
                            " - Count: " + count);
             });
+        
+        // Cost of each interact/break handler
+        if (plugin.getInteractionRouter() != null) {
+            plugin.getInteractionRouter().getHandlerStatistics().entrySet().stream()
+                .limit(5)
+                .forEach(entry -> logger.info("Handler: " + entry.getKey() + " - " + entry.getValue()));
+        }
     }
     
     /**
@@ -332,6 +309,28 @@ public class PerformanceManager {
         }
         stats.put("average_operation_times_ms", avgTimes);
         
+        if (plugin.getInteractionRouter() != null) {
+            stats.put("event_handlers", plugin.getInteractionRouter().getHandlerStatistics());
+        }
+        if (plugin.getPotionEffectReconciler() != null) {
+            stats.put("potion_effects", plugin.getPotionEffectReconciler().getStatistics());
+        }
+        if (plugin.getSpatialEntityIndex() != null) {
+            stats.put("entity_index", plugin.getSpatialEntityIndex().getStatistics());
+        }
+        if (plugin.getPlayerTitleManager() != null) {
+            stats.put("chat_moderation", plugin.getPlayerTitleManager().getModerationStatistics());
+        }
+        if (plugin.getChatPrefixCache() != null) {
+            stats.put("chat_prefixes", plugin.getChatPrefixCache().getStatistics());
+        }
+        if (plugin.getCooldownManager() != null) {
+            stats.put("cooldowns", plugin.getCooldownManager().getStatistics());
+        }
+        if (plugin.getBroadcastManager() != null) {
+            stats.put("broadcasts", plugin.getBroadcastManager().getStatistics());
+        }
+        
         return stats;
     }
     
@@ -368,7 +367,7 @@ public class PerformanceManager {
         waitForAsyncTasks();
         
         // Log final statistics
-        if (plugin.getConfig().getBoolean("performance.logging.enabled", false)) {
+        if (settings().isPerformanceLoggingEnabled()) {
             logPerformanceStatistics();
         }
         
@@ -1,6 +1,7 @@
 package com.example.minecraftplugin.managers;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.data.FragmentProgress;
 import com.example.minecraftplugin.enums.GodType;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -73,6 +74,8 @@ public class PlayerDataManager {
     private PlayerData loadPlayerDataFromConfig(UUID playerId) {
         String path = "players." + playerId.toString();
         
+        long updatedAt = dataConfig.getLong(path + ".updated_at", 0);
+        String origin = dataConfig.getString(path + ".origin", "");
         int deathCount = dataConfig.getInt(path + ".death_count", 0);
         boolean isPrisonerOfVoid = dataConfig.getBoolean(path + ".prisoner_of_void", false);
         String pledgedGodString = dataConfig.getString(path + ".pledged_god", null);
@@ -82,26 +85,31 @@ public class PlayerDataManager {
             pledgedGod = GodType.fromString(pledgedGodString);
         }
         
+        FragmentProgress progress = new FragmentProgress();
+        
         // Load completed testaments
-        Set<GodType> completedTestaments = new HashSet<>();
         if (dataConfig.contains(path + ".completed_testaments")) {
             List<String> testamentStrings = dataConfig.getStringList(path + ".completed_testaments");
             for (String testamentString : testamentStrings) {
                 GodType god = GodType.fromString(testamentString);
                 if (god != null) {
-                    completedTestaments.add(god);
+                    progress.addTestament(god);
                 }
             }
         }
         
         // Load collected fragments
-        Map<GodType, Set<Integer>> collectedFragments = new HashMap<>();
         if (dataConfig.contains(path + ".fragments")) {
             for (String godString : dataConfig.getConfigurationSection(path + ".fragments").getKeys(false)) {
                 GodType god = GodType.fromString(godString);
                 if (god != null) {
-                    List<Integer> fragmentList = dataConfig.getIntegerList(path + ".fragments." + godString);
-                    collectedFragments.put(god, new HashSet<>(fragmentList));
+                    for (int fragmentNumber : dataConfig.getIntegerList(path + ".fragments." + godString)) {
+                        if (!FragmentProgress.isValidFragment(fragmentNumber)) {
+                            logger.warning("Ignoring invalid fragment " + fragmentNumber + " of " + godString + " for player " + playerId);
+                            continue;
+                        }
+                        progress.addFragment(god, fragmentNumber);
+                    }
                 }
             }
         }
@@ -110,16 +118,24 @@ public class PlayerDataManager {
         long lastChestFragmentTime = dataConfig.getLong(path + ".cooldowns.last_chest_fragment", 0);
         long lastMobFragmentTime = dataConfig.getLong(path + ".cooldowns.last_mob_fragment", 0);
         
+        // Ability cooldowns still running at the last save, as wall-clock expiry times.
+        // The older cooldowns.abilities last-use times carry no duration and are dropped.
         Map<String, Long> abilityCooldowns = new HashMap<>();
-        if (dataConfig.contains(path + ".cooldowns.abilities")) {
-            for (String abilityName : dataConfig.getConfigurationSection(path + ".cooldowns.abilities").getKeys(false)) {
-                long cooldownTime = dataConfig.getLong(path + ".cooldowns.abilities." + abilityName, 0);
-                abilityCooldowns.put(abilityName, cooldownTime);
+        if (dataConfig.contains(path + ".cooldowns.ability_expiry")) {
+            long now = System.currentTimeMillis();
+            for (String abilityName : dataConfig.getConfigurationSection(path + ".cooldowns.ability_expiry").getKeys(false)) {
+                long expiry = dataConfig.getLong(path + ".cooldowns.ability_expiry." + abilityName, 0);
+                if (expiry > now) {
+                    abilityCooldowns.put(abilityName, expiry);
+                }
             }
         }
         
-        return new PlayerData(deathCount, isPrisonerOfVoid, pledgedGod, completedTestaments, 
-                             collectedFragments, lastChestFragmentTime, lastMobFragmentTime, abilityCooldowns);
+        PlayerData data = new PlayerData(deathCount, isPrisonerOfVoid, pledgedGod, progress, 
+                             lastChestFragmentTime, lastMobFragmentTime, abilityCooldowns);
+        data.updatedAt = updatedAt;
+        data.origin = origin;
+        return data;
     }
     
     /**
@@ -144,34 +160,46 @@ public class PlayerDataManager {
     private void savePlayerDataToConfig(UUID playerId, PlayerData data) {
         String path = "players." + playerId.toString();
         
+        dataConfig.set(path + ".updated_at", data.updatedAt);
+        dataConfig.set(path + ".origin", data.origin);
         dataConfig.set(path + ".death_count", data.deathCount);
         dataConfig.set(path + ".prisoner_of_void", data.isPrisonerOfVoid);
         dataConfig.set(path + ".pledged_god", data.pledgedGod != null ? data.pledgedGod.name() : null);
         
         // Save completed testaments
         List<String> testamentStrings = new ArrayList<>();
-        for (GodType god : data.completedTestaments) {
+        for (GodType god : data.progress.getCompletedTestaments()) {
             testamentStrings.add(god.name());
         }
         dataConfig.set(path + ".completed_testaments", testamentStrings);
         
-        // Save collected fragments
+        // Save collected fragments, same layout as before they were packed
         dataConfig.set(path + ".fragments", null); // Clear existing fragments
-        for (Map.Entry<GodType, Set<Integer>> entry : data.collectedFragments.entrySet()) {
-            String godName = entry.getKey().name();
-            List<Integer> fragmentList = new ArrayList<>(entry.getValue());
-            Collections.sort(fragmentList); // Sort for consistency
-            dataConfig.set(path + ".fragments." + godName, fragmentList);
+        for (GodType god : GodType.values()) {
+            int mask = data.progress.fragmentMask(god);
+            if (mask == 0) {
+                continue;
+            }
+            List<Integer> fragmentList = new ArrayList<>(Integer.bitCount(mask));
+            for (int fragmentNumber = 1; fragmentNumber <= FragmentProgress.FRAGMENTS_PER_GOD; fragmentNumber++) {
+                if ((mask & (1 << (fragmentNumber - 1))) != 0) {
+                    fragmentList.add(fragmentNumber); // Ascending for consistency
+                }
+            }
+            dataConfig.set(path + ".fragments." + god.name(), fragmentList);
         }
         
         // Save cooldown data
         dataConfig.set(path + ".cooldowns.last_chest_fragment", data.lastChestFragmentTime);
         dataConfig.set(path + ".cooldowns.last_mob_fragment", data.lastMobFragmentTime);
         
-        // Save ability cooldowns
-        dataConfig.set(path + ".cooldowns.abilities", null); // Clear existing abilities
-        for (Map.Entry<String, Long> entry : data.abilityCooldowns.entrySet()) {
-            dataConfig.set(path + ".cooldowns.abilities." + entry.getKey(), entry.getValue());
+        // Save ability cooldowns that are still running
+        Map<String, Long> abilityCooldowns = plugin.getCooldownManager() != null
+            ? plugin.getCooldownManager().getActiveAbilityCooldowns(playerId) : data.abilityCooldowns;
+        dataConfig.set(path + ".cooldowns.abilities", null); // Pre-expiry format
+        dataConfig.set(path + ".cooldowns.ability_expiry", null); // Clear existing abilities
+        for (Map.Entry<String, Long> entry : abilityCooldowns.entrySet()) {
+            dataConfig.set(path + ".cooldowns.ability_expiry." + entry.getKey(), entry.getValue());
         }
     }
     
@@ -190,11 +218,112 @@ public class PlayerDataManager {
         }
     }
     
+    /**
+     * Record a change to a player's data: stamp it and save it. The stamp is the
+     * wall clock, but always past the previous stamp, so a change made after an
+     * import from a server whose clock runs ahead still orders after it.
+     */
+    private void markChanged(UUID playerId) {
+        PlayerData data = getOrCreatePlayerData(playerId);
+        data.updatedAt = Math.max(System.currentTimeMillis(), data.updatedAt + 1);
+        data.origin = localServerId();
+        savePlayerData(playerId);
+    }
+    
+    private String localServerId() {
+        return plugin.getCrossServerManager() != null ? plugin.getCrossServerManager().getServerId() : "";
+    }
+    
+    /**
+     * Whether a stamp orders after another: later time first, then the origin
+     * server id to break ties the same way on every server
+     */
+    private static boolean isNewer(long updatedAt, String origin, long otherUpdatedAt, String otherOrigin) {
+        if (updatedAt != otherUpdatedAt) {
+            return updatedAt > otherUpdatedAt;
+        }
+        return origin.compareTo(otherOrigin) > 0;
+    }
+    
+    /**
+     * Flush a player's data and return it in a portable form for handing the
+     * player to another server. The change stamp and the server that made the
+     * change let the receiver reject snapshots older than what it already has.
+     */
+    public Map<String, Object> exportSnapshot(UUID playerId) {
+        PlayerData data = getOrCreatePlayerData(playerId);
+        if (data.updatedAt == 0) {
+            markChanged(playerId); // Saved before stamps existed; give it one so the receiver accepts it
+        } else {
+            savePlayerData(playerId);
+        }
+        
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("updated_at", data.updatedAt);
+        snapshot.put("origin", data.origin);
+        snapshot.put("death_count", data.deathCount);
+        snapshot.put("prisoner_of_void", data.isPrisonerOfVoid);
+        snapshot.put("pledged_god", data.pledgedGod != null ? data.pledgedGod.name() : null);
+        snapshot.put("fragments", data.progress.fragmentsToJson());
+        snapshot.put("completed_testaments", data.progress.testamentsToJson());
+        snapshot.put("last_chest_fragment", data.lastChestFragmentTime);
+        snapshot.put("last_mob_fragment", data.lastMobFragmentTime);
+        snapshot.put("ability_cooldowns", plugin.getCooldownManager() != null
+            ? plugin.getCooldownManager().getActiveAbilityCooldowns(playerId) : new HashMap<>(data.abilityCooldowns));
+        return snapshot;
+    }
+    
+    /**
+     * Replace a player's data with a snapshot from another server. Snapshots no
+     * newer than the local copy are rejected so a delayed handoff cannot
+     * overwrite later changes; a local copy that was never stamped is always
+     * older. Returns true if the snapshot was applied.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean importSnapshot(UUID playerId, Map<String, Object> snapshot) {
+        Object stamp = snapshot.get("updated_at");
+        long updatedAt = stamp instanceof Number ? ((Number) stamp).longValue() : 0;
+        String origin = snapshot.get("origin") instanceof String ? (String) snapshot.get("origin") : "";
+        PlayerData current = playerDataCache.get(playerId);
+        if (current != null && current.updatedAt != 0 && !isNewer(updatedAt, origin, current.updatedAt, current.origin)) {
+            return false;
+        }
+        
+        String pledgedGodString = (String) snapshot.get("pledged_god");
+        Map<String, Long> abilityCooldowns = new HashMap<>();
+        Object cooldowns = snapshot.get("ability_cooldowns");
+        if (cooldowns instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) cooldowns).entrySet()) {
+                abilityCooldowns.put(entry.getKey(), ((Number) entry.getValue()).longValue());
+            }
+        }
+        
+        PlayerData data = new PlayerData(
+            ((Number) snapshot.get("death_count")).intValue(),
+            Boolean.TRUE.equals(snapshot.get("prisoner_of_void")),
+            pledgedGodString != null ? GodType.fromString(pledgedGodString) : null,
+            FragmentProgress.fromJson((String) snapshot.get("fragments"), (String) snapshot.get("completed_testaments")),
+            ((Number) snapshot.get("last_chest_fragment")).longValue(),
+            ((Number) snapshot.get("last_mob_fragment")).longValue(),
+            abilityCooldowns
+        );
+        data.updatedAt = updatedAt;
+        data.origin = origin;
+        playerDataCache.put(playerId, data);
+        
+        if (plugin.getCooldownManager() != null) {
+            plugin.getCooldownManager().replaceAbilityCooldowns(playerId, abilityCooldowns);
+            abilityCooldowns.clear(); // CooldownManager owns them now
+        }
+        savePlayerData(playerId);
+        return true;
+    }
+    
     /**
      * Get or create player data
      */
     private PlayerData getOrCreatePlayerData(UUID playerId) {
-        return playerDataCache.computeIfAbsent(playerId, k -> new PlayerData(0, false, null, new HashSet<>(), new HashMap<>(), 0, 0, new HashMap<>()));
+        return playerDataCache.computeIfAbsent(playerId, k -> new PlayerData(0, false, null, new FragmentProgress(), 0, 0, new HashMap<>()));
     }
     
     /**
@@ -218,7 +347,7 @@ public class PlayerDataManager {
     public void setDeathCount(UUID playerId, int count) {
         PlayerData data = getOrCreatePlayerData(playerId);
         data.deathCount = Math.max(0, count); // Ensure non-negative
-        savePlayerData(playerId);
+        markChanged(playerId);
     }
     
     /**
@@ -231,7 +360,7 @@ public class PlayerDataManager {
     public int incrementDeathCount(UUID playerId) {
         PlayerData data = getOrCreatePlayerData(playerId);
         data.deathCount++;
-        savePlayerData(playerId);
+        markChanged(playerId);
         return data.deathCount;
     }
     
@@ -256,7 +385,7 @@ public class PlayerDataManager {
     public void setPrisonerOfTheVoid(UUID playerId, boolean status) {
         PlayerData data = getOrCreatePlayerData(playerId);
         data.isPrisonerOfVoid = status;
-        savePlayerData(playerId);
+        markChanged(playerId);
     }
     
     /**
@@ -280,7 +409,7 @@ public class PlayerDataManager {
     public void setPledgedGod(UUID playerId, GodType god) {
         PlayerData data = getOrCreatePlayerData(playerId);
         data.pledgedGod = god;
-        savePlayerData(playerId);
+        markChanged(playerId);
     }
     
     /**
@@ -302,7 +431,7 @@ public class PlayerDataManager {
     }
     
     public Set<GodType> getCompletedTestaments(UUID playerId) {
-        return new HashSet<>(getOrCreatePlayerData(playerId).completedTestaments);
+        return getOrCreatePlayerData(playerId).progress.getCompletedTestaments();
     }
     
     /**
@@ -314,8 +443,9 @@ public class PlayerDataManager {
     
     public void addCompletedTestament(UUID playerId, GodType god) {
         PlayerData data = getOrCreatePlayerData(playerId);
-        data.completedTestaments.add(god);
-        savePlayerData(playerId);
+        if (data.progress.addTestament(god)) {
+            markChanged(playerId);
+        }
     }
     
     /**
@@ -326,7 +456,7 @@ public class PlayerDataManager {
     }
     
     public boolean hasCompletedTestament(UUID playerId, GodType god) {
-        return getOrCreatePlayerData(playerId).completedTestaments.contains(god);
+        return getOrCreatePlayerData(playerId).progress.hasCompletedTestament(god);
     }
     
     /**
@@ -337,8 +467,7 @@ public class PlayerDataManager {
     }
     
     public Set<Integer> getPlayerFragments(UUID playerId, GodType god) {
-        PlayerData data = getOrCreatePlayerData(playerId);
-        return new HashSet<>(data.collectedFragments.getOrDefault(god, new HashSet<>()));
+        return getOrCreatePlayerData(playerId).progress.getFragments(god);
     }
     
     /**
@@ -362,7 +491,7 @@ public class PlayerDataManager {
     public void setLastChestFragmentTime(UUID playerId, long time) {
         PlayerData data = getOrCreatePlayerData(playerId);
         data.lastChestFragmentTime = time;
-        savePlayerData(playerId);
+        markChanged(playerId);
     }
     
     /**
@@ -386,32 +515,22 @@ public class PlayerDataManager {
     public void setLastMobFragmentTime(UUID playerId, long time) {
         PlayerData data = getOrCreatePlayerData(playerId);
         data.lastMobFragmentTime = time;
-        savePlayerData(playerId);
+        markChanged(playerId);
     }
     
     /**
-     * Get ability cooldown time for a player
+     * Hand the ability cooldowns loaded from file over to the CooldownManager,
+     * which owns them from then on
      */
-    public long getAbilityCooldownTime(Player player, String abilityName) {
-        return getAbilityCooldownTime(player.getUniqueId(), abilityName);
-    }
-    
-    public long getAbilityCooldownTime(UUID playerId, String abilityName) {
-        PlayerData data = getOrCreatePlayerData(playerId);
-        return data.abilityCooldowns.getOrDefault(abilityName, 0L);
-    }
-    
-    /**
-     * Set ability cooldown time for a player
-     */
-    public void setAbilityCooldownTime(Player player, String abilityName, long time) {
-        setAbilityCooldownTime(player.getUniqueId(), abilityName, time);
-    }
-    
-    public void setAbilityCooldownTime(UUID playerId, String abilityName, long time) {
-        PlayerData data = getOrCreatePlayerData(playerId);
-        data.abilityCooldowns.put(abilityName, time);
-        savePlayerData(playerId);
+    public Map<UUID, Map<String, Long>> takeStoredAbilityCooldowns() {
+        Map<UUID, Map<String, Long>> stored = new HashMap<>();
+        for (Map.Entry<UUID, PlayerData> entry : playerDataCache.entrySet()) {
+            if (!entry.getValue().abilityCooldowns.isEmpty()) {
+                stored.put(entry.getKey(), new HashMap<>(entry.getValue().abilityCooldowns));
+                entry.getValue().abilityCooldowns.clear();
+            }
+        }
+        return stored;
     }
     
     /**
@@ -426,7 +545,7 @@ public class PlayerDataManager {
         data.lastChestFragmentTime = 0;
         data.lastMobFragmentTime = 0;
         data.abilityCooldowns.clear();
-        savePlayerData(playerId);
+        markChanged(playerId);
     }
     
     /**
@@ -437,9 +556,15 @@ public class PlayerDataManager {
     }
     
     public void addFragment(UUID playerId, GodType god, int fragmentNumber) {
+        if (!FragmentProgress.isValidFragment(fragmentNumber)) {
+            logger.warning("Ignoring invalid fragment " + fragmentNumber + " of " + god.name() + " for player " + playerId);
+            return;
+        }
+        
         PlayerData data = getOrCreatePlayerData(playerId);
-        data.collectedFragments.computeIfAbsent(god, k -> new HashSet<>()).add(fragmentNumber);
-        savePlayerData(playerId);
+        if (data.progress.addFragment(god, fragmentNumber)) {
+            markChanged(playerId);
+        }
     }
     
     /**
@@ -450,7 +575,7 @@ public class PlayerDataManager {
     }
     
     public boolean hasFragment(UUID playerId, GodType god, int fragmentNumber) {
-        return getPlayerFragments(playerId, god).contains(fragmentNumber);
+        return getOrCreatePlayerData(playerId).progress.hasFragment(god, fragmentNumber);
     }
     
     /**
@@ -461,8 +586,7 @@ public class PlayerDataManager {
     }
     
     public boolean hasAllFragments(UUID playerId, GodType god) {
-        Set<Integer> fragments = getPlayerFragments(playerId, god);
-        return fragments.size() == 7 && fragments.containsAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+        return getOrCreatePlayerData(playerId).progress.hasAllFragments(god);
     }
     
     /**
@@ -473,15 +597,18 @@ public class PlayerDataManager {
     }
     
     public int getMissingFragment(UUID playerId, GodType god) {
-        Set<Integer> fragments = getPlayerFragments(playerId, god);
-        
-        for (int i = 1; i <= 7; i++) {
-            if (!fragments.contains(i)) {
-                return i;
-            }
-        }
-        
-        return -1; // All fragments collected
+        return getOrCreatePlayerData(playerId).progress.getMissingFragment(god);
+    }
+    
+    /**
+     * Gods the player is still missing fragments for, bit i set for the god with ordinal i
+     */
+    public int getIncompleteGodMask(Player player) {
+        return getIncompleteGodMask(player.getUniqueId());
+    }
+    
+    public int getIncompleteGodMask(UUID playerId) {
+        return getOrCreatePlayerData(playerId).progress.getIncompleteGodMask();
     }
     
     /**
@@ -492,7 +619,7 @@ public class PlayerDataManager {
     }
     
     public int getTestamentCount(UUID playerId) {
-        return getOrCreatePlayerData(playerId).completedTestaments.size();
+        return getOrCreatePlayerData(playerId).progress.getTestamentCount();
     }
     
     /**
@@ -507,12 +634,14 @@ public class PlayerDataManager {
         data.deathCount = 0;
         data.isPrisonerOfVoid = false;
         data.pledgedGod = null;
-        data.completedTestaments.clear();
-        data.collectedFragments.clear();
+        data.progress.clear();
         data.lastChestFragmentTime = 0;
         data.lastMobFragmentTime = 0;
         data.abilityCooldowns.clear();
-        savePlayerData(playerId);
+        if (plugin.getCooldownManager() != null) {
+            plugin.getCooldownManager().clearAbilityCooldowns(playerId);
+        }
+        markChanged(playerId);
         
         logger.info("Reset all data for player: " + playerId);
     }
@@ -530,14 +659,10 @@ public class PlayerDataManager {
         summary.append("§7Death Count: §f").append(data.deathCount).append("\n");
         summary.append("§7Prisoner of Void: §f").append(data.isPrisonerOfVoid ? "§cYes" : "§aNo").append("\n");
         summary.append("§7Pledged God: §f").append(data.pledgedGod != null ? data.pledgedGod.getDisplayName() : "§7None");
-        summary.append("\n§7Completed Testaments: §f").append(data.completedTestaments.size()).append("/12");
+        summary.append("\n§7Completed Testaments: §f").append(data.progress.getTestamentCount()).append("/12");
         
         // Show fragment progress summary
-        int totalFragments = 0;
-        for (Set<Integer> fragments : data.collectedFragments.values()) {
-            totalFragments += fragments.size();
-        }
-        summary.append("\n§7Total Fragments: §f").append(totalFragments);
+        summary.append("\n§7Total Fragments: §f").append(data.progress.getTotalFragmentCount());
         
         return summary.toString();
     }
@@ -557,20 +682,19 @@ public class PlayerDataManager {
         int deathCount;
         boolean isPrisonerOfVoid;
         GodType pledgedGod;
-        Set<GodType> completedTestaments;
-        Map<GodType, Set<Integer>> collectedFragments;
+        final FragmentProgress progress; // Fragments and completed testaments
         long lastChestFragmentTime;
         long lastMobFragmentTime;
-        Map<String, Long> abilityCooldowns;
+        Map<String, Long> abilityCooldowns; // Wall-clock expiry, only until CooldownManager takes them
+        long updatedAt; // Stamp of the last change; orders snapshots handed between servers
+        String origin = ""; // Server that made the last change, breaks ties between equal stamps
         
-        PlayerData(int deathCount, boolean isPrisonerOfVoid, GodType pledgedGod, 
-                  Set<GodType> completedTestaments, Map<GodType, Set<Integer>> collectedFragments,
+        PlayerData(int deathCount, boolean isPrisonerOfVoid, GodType pledgedGod, FragmentProgress progress,
                   long lastChestFragmentTime, long lastMobFragmentTime, Map<String, Long> abilityCooldowns) {
             this.deathCount = deathCount;
             this.isPrisonerOfVoid = isPrisonerOfVoid;
             this.pledgedGod = pledgedGod;
-            this.completedTestaments = completedTestaments;
-            this.collectedFragments = collectedFragments;
+            this.progress = progress;
             this.lastChestFragmentTime = lastChestFragmentTime;
             this.lastMobFragmentTime = lastMobFragmentTime;
             this.abilityCooldowns = abilityCooldowns;
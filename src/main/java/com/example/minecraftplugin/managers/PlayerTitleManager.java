@@ -1,17 +1,24 @@
 package com.example.minecraftplugin.managers;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.chat.ChatKeywordMatcher;
+import com.example.minecraftplugin.chat.ToxicityTracker;
+import com.example.minecraftplugin.config.ConfigSnapshot;
 import com.example.minecraftplugin.enums.PlayerTitle;
 import com.example.minecraftplugin.enums.AscensionLevel;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages player titles and their assignment based on behavior and achievements
@@ -22,28 +29,21 @@ public class PlayerTitleManager implements Listener {
     private final PlayerDataManager playerDataManager;
     private final GodManager godManager;
     
-    // Track player titles
+    // Track player titles; read by the async chat threads
     private final Map<UUID, PlayerTitle> playerTitles;
+    private final Set<UUID> toxicTitleHolders;
     
-    // Toxicity detection patterns
-    private final Pattern[] toxicPatterns = {
-        Pattern.compile("(?i).*\\b(noob|scrub|trash|garbage|suck|terrible)\\b.*"),
-        Pattern.compile("(?i).*\\b(ez|easy|rekt|owned|destroyed)\\b.*"),
-        Pattern.compile("(?i).*\\b(kys|kill yourself)\\b.*"),
-        Pattern.compile("(?i).*\\b(hacker|cheater|exploiter)\\b.*")
-    };
-    
-    // Track toxic behavior
-    private final Map<UUID, Integer> toxicityScores;
-    private final Map<UUID, Long> lastToxicMessage;
+    // Toxicity detection, recompiled when the configuration changes
+    private volatile CompiledKeywords keywords;
+    private final ToxicityTracker toxicityTracker;
     
     public PlayerTitleManager(MinecraftPlugin plugin, PlayerDataManager playerDataManager, GodManager godManager) {
         this.plugin = plugin;
         this.playerDataManager = playerDataManager;
         this.godManager = godManager;
-        this.playerTitles = new HashMap<>();
-        this.toxicityScores = new HashMap<>();
-        this.lastToxicMessage = new HashMap<>();
+        this.playerTitles = new ConcurrentHashMap<>();
+        this.toxicTitleHolders = ConcurrentHashMap.newKeySet();
+        this.toxicityTracker = new ToxicityTracker(decayWindowMillis(moderationSettings()));
         
         // Register as event listener
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
@@ -71,6 +71,12 @@ public class PlayerTitleManager implements Listener {
     
     public void setPlayerTitle(UUID playerId, PlayerTitle title) {
         playerTitles.put(playerId, title);
+        if (title == PlayerTitle.TOXIC) {
+            toxicTitleHolders.add(playerId);
+        } else {
+            toxicTitleHolders.remove(playerId);
+        }
+        plugin.getChatPrefixCache().refresh(playerId);
         
         // Save to persistent storage (would need to extend PlayerDataManager)
         plugin.getLogger().info("Set title for " + playerId + " to " + title.name());
@@ -89,8 +95,8 @@ public class PlayerTitleManager implements Listener {
         }
         
         // Check for toxic behavior
-        int toxicScore = toxicityScores.getOrDefault(playerId, 0);
-        if (toxicScore >= 5) {
+        int toxicScore = toxicityTracker.getScore(playerId, System.currentTimeMillis());
+        if (toxicScore >= moderationSettings().getToxicThreshold()) {
             // Check death count for Fallen status
             int deathCount = playerDataManager.getDeathCount(player);
             if (deathCount >= 3) {
@@ -137,78 +143,106 @@ public class PlayerTitleManager implements Listener {
     }
     
     /**
-     * Handle chat events for toxicity detection
+     * Handle chat events for toxicity detection. Runs on the async chat threads.
      */
     @EventHandler
     public void onPlayerChat(AsyncPlayerChatEvent event) {
         Player player = event.getPlayer();
-        String message = event.getMessage().toLowerCase();
-        
-        // Check for toxic patterns
-        boolean isToxic = false;
-        for (Pattern pattern : toxicPatterns) {
-            if (pattern.matcher(message).matches()) {
-                isToxic = true;
-                break;
-            }
-        }
         
-        if (isToxic) {
+        ConfigSnapshot.ModerationSettings settings = moderationSettings();
+        if (settings.isEnabled() && getKeywordMatcher(settings).matches(event.getMessage())) {
             handleToxicBehavior(player);
         }
         
-        // Update chat format with title
-        String displayName = getDisplayNameWithTitle(player);
-        event.setFormat(displayName + "§r: " + event.getMessage());
+        // Pre-rendered on the main thread; no lookups or string building here
+        event.setFormat(plugin.getChatPrefixCache().getChatFormat(player));
     }
     
     /**
-     * Handle toxic behavior detection
+     * Handle toxic behavior detection. Scoring is thread-safe; the title update
+     * touches player data and runs on the main thread.
      */
     private void handleToxicBehavior(Player player) {
-        UUID playerId = player.getUniqueId();
-        long currentTime = System.currentTimeMillis();
-        
-        // Increment toxicity score
-        int currentScore = toxicityScores.getOrDefault(playerId, 0);
-        toxicityScores.put(playerId, currentScore + 1);
-        lastToxicMessage.put(playerId, currentTime);
+        int score = toxicityTracker.record(player.getUniqueId(), System.currentTimeMillis());
         
         // Warn player
-        if (currentScore == 0) {
+        if (score == 1) {
             player.sendMessage("§e§lWarning: §r§eToxic behavior detected. Continued toxicity may result in consequences.");
-        } else if (currentScore >= 3) {
+        } else if (score > 3) {
             player.sendMessage("§c§lFinal Warning: §r§cContinued toxic behavior will result in permanent consequences.");
         }
         
         // Update title
-        updatePlayerTitle(player);
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            if (player.isOnline()) {
+                updatePlayerTitle(player);
+            }
+        });
         
-        plugin.getLogger().info("Toxic behavior detected from " + player.getName() + " (score: " + (currentScore + 1) + ")");
+        plugin.getLogger().info("Toxic behavior detected from " + player.getName() + " (score: " + score + ")");
     }
     
     /**
-     * Decay toxicity scores over time
+     * Clear the Toxic title from players whose offences have all decayed.
+     * Only players holding the title are checked; scores decay by themselves.
      */
     public void decayToxicityScores() {
         long currentTime = System.currentTimeMillis();
-        long decayTime = 24 * 60 * 60 * 1000L; // 24 hours
+        toxicityTracker.setWindow(decayWindowMillis(moderationSettings()));
         
-        toxicityScores.entrySet().removeIf(entry -> {
-            UUID playerId = entry.getKey();
-            long lastToxic = lastToxicMessage.getOrDefault(playerId, 0L);
+        for (UUID playerId : new ArrayList<>(toxicTitleHolders)) {
+            if (toxicityTracker.getScore(playerId, currentTime) > 0) {
+                continue;
+            }
             
-            if (currentTime - lastToxic > decayTime) {
-                // Reset toxicity score
-                Player player = plugin.getServer().getPlayer(playerId);
-                if (player != null && getPlayerTitle(playerId) == PlayerTitle.TOXIC) {
-                    setPlayerTitle(player, PlayerTitle.NONE);
-                    player.sendMessage("§a§lBehavior Improved: §r§aYour toxic status has been cleared.");
-                }
-                return true;
+            Player player = plugin.getServer().getPlayer(playerId);
+            if (player != null) {
+                setPlayerTitle(player, PlayerTitle.NONE);
+                player.sendMessage("§a§lBehavior Improved: §r§aYour toxic status has been cleared.");
             }
-            return false;
-        });
+        }
+    }
+    
+    /**
+     * Forget decayed scores of players who leave
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        toxicityTracker.forgetIfDecayed(event.getPlayer().getUniqueId(), System.currentTimeMillis());
+    }
+    
+    private ConfigSnapshot.ModerationSettings moderationSettings() {
+        return plugin.getConfigManager().getSnapshot().moderation();
+    }
+    
+    private static long decayWindowMillis(ConfigSnapshot.ModerationSettings settings) {
+        return settings.getScoreDecayHours() * 60L * 60L * 1000L;
+    }
+    
+    /**
+     * Keyword matcher for the given settings, compiled once per configuration version
+     */
+    private ChatKeywordMatcher getKeywordMatcher(ConfigSnapshot.ModerationSettings settings) {
+        CompiledKeywords current = keywords;
+        if (current == null || current.keywords != settings.getKeywords()) {
+            // Concurrent chat threads may compile the same list twice; either result is correct
+            current = new CompiledKeywords(settings.getKeywords(), ChatKeywordMatcher.compile(settings.getKeywords()));
+            keywords = current;
+        }
+        return current.matcher;
+    }
+    
+    /**
+     * Get chat moderation statistics
+     */
+    public Map<String, Object> getModerationStatistics() {
+        ChatKeywordMatcher matcher = getKeywordMatcher(moderationSettings());
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("keywords", matcher.getKeywordCount());
+        stats.put("automaton_states", matcher.getStateCount());
+        stats.put("scored_players", toxicityTracker.getTrackedPlayerCount());
+        stats.put("toxic_title_holders", toxicTitleHolders.size());
+        return stats;
     }
     
     /**
@@ -227,20 +261,32 @@ public class PlayerTitleManager implements Listener {
     
     public void clearPlayerTitle(UUID playerId) {
         playerTitles.remove(playerId);
-        toxicityScores.remove(playerId);
-        lastToxicMessage.remove(playerId);
+        toxicTitleHolders.remove(playerId);
+        toxicityTracker.clear(playerId);
+        plugin.getChatPrefixCache().refresh(playerId);
         
         plugin.getLogger().info("Cleared title for " + playerId);
     }
     
     /**
-     * Start background task for toxicity score decay
+     * Start the task that clears decayed Toxic titles. Runs on the main thread,
+     * since clearing a title messages the player.
      */
     public void startDecayTask() {
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, 
+        plugin.getServer().getScheduler().runTaskTimer(plugin, 
             this::decayToxicityScores, 
             0L, 
             72000L // Run every hour (72000 ticks)
         );
     }
+    
+    private static class CompiledKeywords {
+        private final List<String> keywords;
+        private final ChatKeywordMatcher matcher;
+        
+        private CompiledKeywords(List<String> keywords, ChatKeywordMatcher matcher) {
+            this.keywords = keywords;
+            this.matcher = matcher;
+        }
+    }
 }
\ No newline at end of file
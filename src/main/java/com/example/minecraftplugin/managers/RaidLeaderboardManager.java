@@ -1,6 +1,7 @@
 package com.example.minecraftplugin.managers;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.data.TopK;
 import com.example.minecraftplugin.raids.RaidCompletionRecord;
 import com.example.minecraftplugin.raids.RaidManager;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -8,15 +9,37 @@ import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.IsoFields;
 import java.util.*;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /**
  * Manages raid completion records and leaderboards
+ *
+ * Besides the full history, each leaderboard (overall score, per raid, per tier
+ * and per week of weekly challenges) is kept as a bounded top-K that is updated
+ * as records are added. Reads within BOARD_SIZE are served from those, and
+ * NetworkLeaderboardManager publishes the boards that changed to other servers.
  */
 public class RaidLeaderboardManager {
     
+    // Leaderboard boards
+    public static final int BOARD_SIZE = 25;
+    public static final String SCORE_BOARD = "score";
+    
+    private static final Comparator<RaidCompletionRecord> BY_SCORE = Comparator
+        .comparingInt(RaidCompletionRecord::getScore).reversed()
+        .thenComparingLong(RaidCompletionRecord::getCompletionTime)
+        .thenComparing(RaidCompletionRecord::getRecordKey);
+    private static final Comparator<RaidCompletionRecord> BY_TIME = Comparator
+        .comparingLong(RaidCompletionRecord::getCompletionTime)
+        .thenComparing(Comparator.comparingInt(RaidCompletionRecord::getScore).reversed())
+        .thenComparing(RaidCompletionRecord::getRecordKey);
+    
     private final MinecraftPlugin plugin;
     private final Logger logger;
     private final File leaderboardFile;
@@ -24,14 +47,19 @@ public class RaidLeaderboardManager {
     
     // In-memory cache for performance
     private final List<RaidCompletionRecord> completionRecords;
+    private final Map<String, TopK<RaidCompletionRecord>> boards;
+    private final Set<String> changedBoards;
     
     public RaidLeaderboardManager(MinecraftPlugin plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
         this.leaderboardFile = new File(plugin.getDataFolder(), "raid_leaderboards.yml");
         this.completionRecords = new ArrayList<>();
+        this.boards = new HashMap<>();
+        this.changedBoards = new HashSet<>();
         
         loadLeaderboardData();
+        rebuildBoards();
         
         logger.info("Raid Leaderboard Manager initialized with " + completionRecords.size() + " records");
     }
@@ -116,6 +144,7 @@ public class RaidLeaderboardManager {
      */
     public void addCompletionRecord(RaidCompletionRecord record) {
         completionRecords.add(record);
+        indexRecord(record);
         saveRecordToConfig(record);
         
         logger.info("Added raid completion record: " + record.getRaidDisplayName() + 
@@ -154,13 +183,97 @@ public class RaidLeaderboardManager {
         }
     }
     
+    /**
+     * Add a record to every board it belongs on
+     */
+    private void indexRecord(RaidCompletionRecord record) {
+        for (String board : boardsFor(record)) {
+            if (boards.computeIfAbsent(board, k -> new TopK<>(BOARD_SIZE, boardOrder(k))).offer(record)) {
+                changedBoards.add(board);
+            }
+        }
+    }
+    
+    /**
+     * Rebuild every board from the full history
+     */
+    private void rebuildBoards() {
+        changedBoards.addAll(boards.keySet()); // Boards that end up empty must be republished too
+        boards.clear();
+        for (RaidCompletionRecord record : completionRecords) {
+            indexRecord(record);
+        }
+    }
+    
+    /**
+     * Boards a record is ranked on
+     */
+    public static List<String> boardsFor(RaidCompletionRecord record) {
+        List<String> keys = new ArrayList<>(4);
+        keys.add(SCORE_BOARD);
+        keys.add(raidBoard(record.getRaidId()));
+        keys.add(tierBoard(record.getTier()));
+        if (record.isWeeklyChallengeActive()) {
+            keys.add(weeklyBoard(record.getEndTime()));
+        }
+        return keys;
+    }
+    
+    public static String raidBoard(String raidId) {
+        return "raid:" + raidId;
+    }
+    
+    public static String tierBoard(RaidManager.RaidTier tier) {
+        return "tier:" + tier.name();
+    }
+    
+    /**
+     * Weekly challenge board for the ISO week containing the given time, in UTC so
+     * every server agrees on the week
+     */
+    public static String weeklyBoard(long time) {
+        ZonedDateTime date = Instant.ofEpochMilli(time).atZone(ZoneOffset.UTC);
+        return "weekly:" + date.get(IsoFields.WEEK_BASED_YEAR) + "-W" + date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+    }
+    
+    /**
+     * Ranking order of a board: score boards rank by score, the others by time
+     */
+    public static Comparator<RaidCompletionRecord> boardOrder(String board) {
+        return board.equals(SCORE_BOARD) || board.startsWith("weekly:") ? BY_SCORE : BY_TIME;
+    }
+    
+    /**
+     * Boards changed since the last call
+     */
+    public Set<String> takeChangedBoards() {
+        Set<String> changed = new HashSet<>(changedBoards);
+        changedBoards.clear();
+        return changed;
+    }
+    
+    /**
+     * Current ranking of a local board, best first
+     */
+    public List<RaidCompletionRecord> getLocalBoard(String board) {
+        TopK<RaidCompletionRecord> ranking = boards.get(board);
+        return ranking == null ? Collections.emptyList() : ranking.asList();
+    }
+    
+    public Set<String> getLocalBoardKeys() {
+        return new HashSet<>(boards.keySet());
+    }
+    
     /**
      * Get top completions for a specific raid
      */
     public List<RaidCompletionRecord> getTopCompletions(String raidId, int limit) {
+        if (limit <= BOARD_SIZE) {
+            return topOf(raidBoard(raidId), limit);
+        }
         return completionRecords.stream()
             .filter(record -> record.getRaidId().equals(raidId))
-            .sorted(Comparator.comparingLong(RaidCompletionRecord::getCompletionTime))
+            .sorted(BY_TIME)
             .limit(limit)
             .collect(Collectors.toList());
     }
@@ -169,8 +282,11 @@ public class RaidLeaderboardManager {
      * Get top completions by score
      */
     public List<RaidCompletionRecord> getTopCompletionsByScore(int limit) {
+        if (limit <= BOARD_SIZE) {
+            return topOf(SCORE_BOARD, limit);
+        }
         return completionRecords.stream()
-            .sorted(Comparator.comparingInt(RaidCompletionRecord::getScore).reversed())
+            .sorted(BY_SCORE)
             .limit(limit)
             .collect(Collectors.toList());
     }
@@ -179,13 +295,21 @@ public class RaidLeaderboardManager {
      * Get top completions for a specific tier
      */
     public List<RaidCompletionRecord> getTopCompletionsByTier(RaidManager.RaidTier tier, int limit) {
+        if (limit <= BOARD_SIZE) {
+            return topOf(tierBoard(tier), limit);
+        }
         return completionRecords.stream()
             .filter(record -> record.getTier() == tier)
-            .sorted(Comparator.comparingLong(RaidCompletionRecord::getCompletionTime))
+            .sorted(BY_TIME)
             .limit(limit)
             .collect(Collectors.toList());
     }
     
+    private List<RaidCompletionRecord> topOf(String board, int limit) {
+        List<RaidCompletionRecord> ranking = getLocalBoard(board);
+        return new ArrayList<>(ranking.subList(0, Math.min(limit, ranking.size())));
+    }
+    
     /**
      * Get completions for a specific player
      */
@@ -259,6 +383,7 @@ public class RaidLeaderboardManager {
         completionRecords.sort(Comparator.comparingLong(RaidCompletionRecord::getEndTime).reversed());
         List<RaidCompletionRecord> toRemove = completionRecords.subList(1000, completionRecords.size());
         toRemove.clear();
+        rebuildBoards();
         
         // Rebuild config file
         rebuildConfigFile();
@@ -18,6 +18,9 @@ import java.util.logging.Logger;
  */
 public class TranscendenceManager {
     
+    // Effects task period (100 ticks) plus margin, so the contribution survives a late cycle
+    private static final int TRANSCENDENCE_EFFECT_LIFETIME_TICKS = 140;
+    
     private final MinecraftPlugin plugin;
     private final Logger logger;
     private final ConvergenceManager convergenceManager;
@@ -345,21 +348,23 @@ public class TranscendenceManager {
         TranscendenceLevel level = getTranscendenceLevel(player);
         Set<String> abilities = unlockedAbilities.getOrDefault(player.getUniqueId(), new HashSet<>());
         
-        // Apply level-specific abilities
+        // Collect level-specific abilities; the reconciler only sends what changed
+        List<org.bukkit.potion.PotionEffect> effects = new ArrayList<>();
         switch (level) {
             case REALITY_SHAPER:
-                applyRealityShaperAbilities(player, abilities);
+                applyRealityShaperAbilities(abilities, effects);
                 break;
             case COSMIC_ARCHITECT:
-                applyCosmicArchitectAbilities(player, abilities);
+                applyCosmicArchitectAbilities(abilities, effects);
                 break;
             case DIMENSIONAL_SOVEREIGN:
-                applyDimensionalSovereignAbilities(player, abilities);
+                applyDimensionalSovereignAbilities(abilities, effects);
                 break;
             case UNIVERSAL_DEITY:
-                applyUniversalDeityAbilities(player, abilities);
+                applyUniversalDeityAbilities(abilities, effects);
                 break;
         }
+        plugin.getPotionEffectReconciler().update(player, "transcendence", effects, TRANSCENDENCE_EFFECT_LIFETIME_TICKS);
         
         // Update last activity
         lastTranscendenceActivity.put(player.getUniqueId(), System.currentTimeMillis());
@@ -368,18 +373,18 @@ public class TranscendenceManager {
     /**
      * Apply Reality Shaper abilities
      */
-    private void applyRealityShaperAbilities(Player player, Set<String> abilities) {
+    private void applyRealityShaperAbilities(Set<String> abilities, List<org.bukkit.potion.PotionEffect> effects) {
         if (abilities.contains("reality_manipulation")) {
             // Enhanced block manipulation
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.HASTE, 60, 4, false, false));
         }
         
         if (abilities.contains("space_folding")) {
             // Enhanced movement
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.SPEED, 60, 3, false, false));
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.JUMP_BOOST, 60, 4, false, false));
         }
     }
@@ -387,18 +392,18 @@ public class TranscendenceManager {
     /**
      * Apply Cosmic Architect abilities
      */
-    private void applyCosmicArchitectAbilities(Player player, Set<String> abilities) {
-        applyRealityShaperAbilities(player, abilities); // Inherit previous abilities
+    private void applyCosmicArchitectAbilities(Set<String> abilities, List<org.bukkit.potion.PotionEffect> effects) {
+        applyRealityShaperAbilities(abilities, effects); // Inherit previous abilities
         
         if (abilities.contains("realm_creation")) {
             // Enhanced creative abilities
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.CONDUIT_POWER, 60, 0, false, false));
         }
         
         if (abilities.contains("life_creation")) {
             // Enhanced regeneration and healing
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.REGENERATION, 60, 4, false, false));
         }
     }
@@ -406,18 +411,18 @@ public class TranscendenceManager {
     /**
      * Apply Dimensional Sovereign abilities
      */
-    private void applyDimensionalSovereignAbilities(Player player, Set<String> abilities) {
-        applyCosmicArchitectAbilities(player, abilities); // Inherit previous abilities
+    private void applyDimensionalSovereignAbilities(Set<String> abilities, List<org.bukkit.potion.PotionEffect> effects) {
+        applyCosmicArchitectAbilities(abilities, effects); // Inherit previous abilities
         
         if (abilities.contains("multiverse_travel")) {
             // Enhanced dimensional abilities
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.SLOW_FALLING, 60, 0, false, false));
         }
         
         if (abilities.contains("cosmic_governance")) {
             // Enhanced leadership abilities
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.HERO_OF_THE_VILLAGE, 60, 4, false, false));
         }
     }
@@ -425,22 +430,22 @@ public class TranscendenceManager {
     /**
      * Apply Universal Deity abilities
      */
-    private void applyUniversalDeityAbilities(Player player, Set<String> abilities) {
-        applyDimensionalSovereignAbilities(player, abilities); // Inherit previous abilities
+    private void applyUniversalDeityAbilities(Set<String> abilities, List<org.bukkit.potion.PotionEffect> effects) {
+        applyDimensionalSovereignAbilities(abilities, effects); // Inherit previous abilities
         
         if (abilities.contains("omnipotence")) {
             // Ultimate power
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.STRENGTH, 60, 9, false, false));
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.RESISTANCE, 60, 4, false, false));
         }
         
         if (abilities.contains("omniscience")) {
             // Ultimate knowledge
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.LUCK, 60, 9, false, false));
-            player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+            effects.add(new org.bukkit.potion.PotionEffect(
                 org.bukkit.potion.PotionEffectType.NIGHT_VISION, 60, 0, false, false));
         }
     }
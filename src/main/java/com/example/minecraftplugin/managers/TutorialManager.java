@@ -8,9 +8,9 @@ import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerPickupItemEvent;
-import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 
@@ -52,6 +52,8 @@ public class TutorialManager implements Listener {
         
         // Register as event listener
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getInteractionRouter().onInteract("tutorial", EnumSet.of(Action.RIGHT_CLICK_BLOCK), null,
+            (event, context) -> onBlockRightClick(context.getPlayer()));
         
         logger.info("Tutorial Manager initialized");
     }
@@ -60,7 +62,7 @@ public class TutorialManager implements Listener {
      * Check if tutorials are enabled in config
      */
     private boolean isTutorialEnabled() {
-        return plugin.getConfig().getBoolean("tutorial.enabled", true);
+        return plugin.getConfigManager().getSnapshot().main().isTutorialEnabled();
     }
     
     /**
@@ -220,16 +222,9 @@ public class TutorialManager implements Listener {
     }
     
     /**
-     * Handle altar interaction for tutorial
+     * Handle altar interaction for tutorial (routed by InteractionRouter)
      */
-    @EventHandler
-    public void onPlayerInteract(PlayerInteractEvent event) {
-        if (event.getAction() != org.bukkit.event.block.Action.RIGHT_CLICK_BLOCK) {
-            return;
-        }
-        
-        Player player = event.getPlayer();
-        
+    private void onBlockRightClick(Player player) {
         // Check if player completed a testament (this would be called from AltarListener)
         if (getCurrentStep(player) == TutorialStep.TESTAMENT_COMPLETION) {
             // This will be triggered by testament completion
@@ -4,102 +4,371 @@ import java.util.*;
 
 /**
  * Represents an active cross-server raid instance
+ *
+ * Every participating server holds a replica of the raid. Its state is split
+ * into one block per server, and a server only ever changes its own block:
+ * its players, its contribution, the objectives and nexus damage/healing it
+ * produced, and the phase and status it has reached. Every change bumps the
+ * owner's version counter.
+ *
+ * Blocks merge field by field: a player entry with a higher version wins,
+ * counters, phase and status take the maximum, and the start time takes the
+ * earliest value. Merging is therefore order-insensitive and idempotent, so
+ * replicas that have seen the same updates agree, and a replica that missed
+ * some (for example during a partition) converges once it receives the newer
+ * blocks. Raid-wide values are computed from all blocks.
+ *
+ * Local changes collect into a delta that the manager ships periodically;
+ * peers that fell behind are repaired with full blocks by comparing version
+ * vectors. Not thread-safe: used from the main thread only.
  */
 public class CrossServerRaid {
     
     private final String instanceId;
     private final CrossServerRaidDefinition definition;
     private final String initiatingServer;
+    private final String localServer;
     
-    private RaidStatus status;
-    private long startTime;
-    private int currentPhase;
-    private int objectivesCompleted;
+    // server_id -> replicated state owned by that server
+    private final Map<String, ServerState> servers;
     
-    // Player tracking across servers
-    private final Map<String, Set<UUID>> serverPlayers; // server_id -> player_ids
-    private final Map<UUID, String> playerNames;
-    private final Map<String, Integer> serverContributions;
+    // Local changes not yet shipped
+    private final Set<UUID> changedPlayers;
+    private boolean localChanged;
     
-    public CrossServerRaid(String instanceId, CrossServerRaidDefinition definition, String initiatingServer) {
+    public CrossServerRaid(String instanceId, CrossServerRaidDefinition definition, String initiatingServer, String localServer) {
         this.instanceId = instanceId;
         this.definition = definition;
         this.initiatingServer = initiatingServer;
-        this.status = RaidStatus.WAITING_FOR_PLAYERS;
-        this.startTime = 0;
-        this.currentPhase = 0;
-        this.objectivesCompleted = 0;
-        this.serverPlayers = new HashMap<>();
-        this.playerNames = new HashMap<>();
-        this.serverContributions = new HashMap<>();
+        this.localServer = localServer;
+        this.servers = new HashMap<>();
+        this.changedPlayers = new HashSet<>();
+        this.servers.put(localServer, new ServerState());
     }
     
     /**
-     * Add player to the raid
+     * Add a player on this server to the raid
      */
-    public void addPlayer(String serverId, UUID playerId, String playerName) {
-        serverPlayers.computeIfAbsent(serverId, k -> new HashSet<>()).add(playerId);
-        playerNames.put(playerId, playerName);
-        serverContributions.putIfAbsent(serverId, 0);
+    public void addLocalPlayer(UUID playerId, String playerName) {
+        setLocalPlayer(playerId, playerName, true);
     }
     
     /**
-     * Remove player from the raid
+     * Remove a player on this server from the raid
      */
-    public void removePlayer(String serverId, UUID playerId) {
-        Set<UUID> players = serverPlayers.get(serverId);
-        if (players != null) {
-            players.remove(playerId);
-            if (players.isEmpty()) {
-                serverPlayers.remove(serverId);
-                serverContributions.remove(serverId);
+    public void removeLocalPlayer(UUID playerId) {
+        PlayerEntry entry = local().players.get(playerId);
+        if (entry != null && entry.present) {
+            setLocalPlayer(playerId, entry.name, false);
+        }
+    }
+    
+    private void setLocalPlayer(UUID playerId, String playerName, boolean present) {
+        ServerState state = local();
+        state.putPlayer(playerId, new PlayerEntry(playerName, present, ++state.version));
+        changedPlayers.add(playerId);
+        localChanged = true;
+    }
+    
+    /**
+     * Add contribution earned on this server
+     */
+    public void addLocalContribution(int amount) {
+        if (amount > 0) {
+            local().contribution += amount;
+            touch();
+        }
+    }
+    
+    /**
+     * Record objectives completed on this server
+     */
+    public void addLocalObjectives(int count) {
+        if (count > 0) {
+            local().objectives += count;
+            touch();
+        }
+    }
+    
+    /**
+     * Record damage dealt to the shared nexus on this server
+     */
+    public void damageNexus(int amount) {
+        if (amount > 0) {
+            local().nexusDamage += amount;
+            touch();
+        }
+    }
+    
+    /**
+     * Record healing done to the shared nexus on this server
+     */
+    public void healNexus(int amount) {
+        if (amount > 0) {
+            local().nexusHealing += amount;
+            touch();
+        }
+    }
+    
+    /**
+     * Move the raid to a later phase; earlier phases are ignored
+     */
+    public void advancePhase(int phase) {
+        if (phase > getCurrentPhase()) {
+            local().phase = phase;
+            touch();
+        }
+    }
+    
+    /**
+     * Move the raid to a later status; statuses only ever move forward
+     */
+    public void setStatus(RaidStatus status) {
+        if (status.ordinal() > getStatus().ordinal()) {
+            local().status = status;
+            touch();
+        }
+    }
+    
+    /**
+     * Record the start time; the earliest start time any server reports wins
+     */
+    public void setStartTime(long startTime) {
+        if (getStartTime() == 0 || startTime < getStartTime()) {
+            local().startTime = startTime;
+            touch();
+        }
+    }
+    
+    private void touch() {
+        local().version++;
+        localChanged = true;
+    }
+    
+    private ServerState local() {
+        return servers.get(localServer);
+    }
+    
+    /**
+     * Local changes since the last call, or null if there are none
+     */
+    public Map<String, Object> takeDelta() {
+        if (!localChanged) {
+            return null;
+        }
+        
+        Map<String, Object> delta = encode(localServer, local(), changedPlayers);
+        changedPlayers.clear();
+        localChanged = false;
+        return delta;
+    }
+    
+    /**
+     * Full state of one server's block, for peers that are behind on it
+     */
+    public Map<String, Object> getServerState(String serverId) {
+        ServerState state = servers.get(serverId);
+        return state == null ? null : encode(serverId, state, state.players.keySet());
+    }
+    
+    /**
+     * Highest version seen for each server's block
+     */
+    public Map<String, Long> getVersionVector() {
+        Map<String, Long> versions = new HashMap<>();
+        for (Map.Entry<String, ServerState> entry : servers.entrySet()) {
+            versions.put(entry.getKey(), entry.getValue().version);
+        }
+        return versions;
+    }
+    
+    /**
+     * Merge a block received from another server. Returns true if anything changed.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean merge(Map<String, Object> block) {
+        String serverId = (String) block.get("server");
+        if (serverId == null || serverId.equals(localServer)) {
+            return false; // Only this server writes its own block
+        }
+        
+        ServerState state = servers.computeIfAbsent(serverId, k -> new ServerState());
+        long before = state.version;
+        boolean changed = false;
+        
+        Map<String, Object> players = (Map<String, Object>) block.getOrDefault("players", Collections.emptyMap());
+        for (Map.Entry<String, Object> entry : players.entrySet()) {
+            Map<String, Object> value = (Map<String, Object>) entry.getValue();
+            UUID playerId = UUID.fromString(entry.getKey());
+            long version = number(value.get("version"));
+            
+            PlayerEntry current = state.players.get(playerId);
+            if (current == null || version > current.version) {
+                state.putPlayer(playerId, new PlayerEntry((String) value.get("name"), Boolean.TRUE.equals(value.get("present")), version));
+                changed = true;
             }
         }
-        playerNames.remove(playerId);
+        
+        state.version = Math.max(state.version, number(block.get("version")));
+        state.contribution = Math.max(state.contribution, number(block.get("contribution")));
+        state.objectives = Math.max(state.objectives, number(block.get("objectives")));
+        state.nexusDamage = Math.max(state.nexusDamage, number(block.get("nexus_damage")));
+        state.nexusHealing = Math.max(state.nexusHealing, number(block.get("nexus_healing")));
+        state.phase = (int) Math.max(state.phase, number(block.get("phase")));
+        
+        RaidStatus status = RaidStatus.valueOf((String) block.getOrDefault("status", RaidStatus.WAITING_FOR_PLAYERS.name()));
+        if (status.ordinal() > state.status.ordinal()) {
+            state.status = status;
+        }
+        long startTime = number(block.get("start_time"));
+        if (startTime > 0 && (state.startTime == 0 || startTime < state.startTime)) {
+            state.startTime = startTime;
+        }
+        
+        return changed || state.version > before;
+    }
+    
+    private static Map<String, Object> encode(String serverId, ServerState state, Collection<UUID> playerIds) {
+        Map<String, Object> players = new HashMap<>();
+        for (UUID playerId : playerIds) {
+            PlayerEntry entry = state.players.get(playerId);
+            Map<String, Object> value = new HashMap<>();
+            value.put("name", entry.name);
+            value.put("present", entry.present);
+            value.put("version", entry.version);
+            players.put(playerId.toString(), value);
+        }
+        
+        Map<String, Object> block = new HashMap<>();
+        block.put("server", serverId);
+        block.put("version", state.version);
+        block.put("contribution", state.contribution);
+        block.put("objectives", state.objectives);
+        block.put("nexus_damage", state.nexusDamage);
+        block.put("nexus_healing", state.nexusHealing);
+        block.put("phase", state.phase);
+        block.put("status", state.status.name());
+        block.put("start_time", state.startTime);
+        block.put("players", players);
+        return block;
+    }
+    
+    private static long number(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
     }
     
     /**
      * Get total number of players across all servers
      */
     public int getTotalPlayers() {
-        return serverPlayers.values().stream()
-                           .mapToInt(Set::size)
-                           .sum();
+        int total = 0;
+        for (ServerState state : servers.values()) {
+            total += state.presentPlayers;
+        }
+        return total;
     }
     
     /**
      * Get number of participating servers
      */
     public int getParticipatingServers() {
-        return serverPlayers.size();
+        int count = 0;
+        for (ServerState state : servers.values()) {
+            if (state.presentPlayers > 0) {
+                count++;
+            }
+        }
+        return count;
     }
     
     /**
      * Get players on specific server
      */
     public Set<UUID> getPlayersOnServer(String serverId) {
-        return new HashSet<>(serverPlayers.getOrDefault(serverId, new HashSet<>()));
+        Set<UUID> players = new HashSet<>();
+        ServerState state = servers.get(serverId);
+        if (state != null) {
+            for (Map.Entry<UUID, PlayerEntry> entry : state.players.entrySet()) {
+                if (entry.getValue().present) {
+                    players.add(entry.getKey());
+                }
+            }
+        }
+        return players;
     }
     
     /**
      * Get all participating server IDs
      */
     public Set<String> getParticipatingServerIds() {
-        return new HashSet<>(serverPlayers.keySet());
+        Set<String> ids = new HashSet<>();
+        for (Map.Entry<String, ServerState> entry : servers.entrySet()) {
+            if (entry.getValue().presentPlayers > 0) {
+                ids.add(entry.getKey());
+            }
+        }
+        return ids;
     }
     
     /**
-     * Add contribution for server
+     * Get server contribution
      */
-    public void addServerContribution(String serverId, int contribution) {
-        serverContributions.merge(serverId, contribution, Integer::sum);
+    public long getServerContribution(String serverId) {
+        ServerState state = servers.get(serverId);
+        return state == null ? 0 : state.contribution;
     }
     
     /**
-     * Get server contribution
+     * Furthest status any server has reached
      */
-    public int getServerContribution(String serverId) {
-        return serverContributions.getOrDefault(serverId, 0);
+    public RaidStatus getStatus() {
+        RaidStatus status = RaidStatus.WAITING_FOR_PLAYERS;
+        for (ServerState state : servers.values()) {
+            if (state.status.ordinal() > status.ordinal()) {
+                status = state.status;
+            }
+        }
+        return status;
+    }
+    
+    /**
+     * Earliest start time any server reported, or 0 if not started
+     */
+    public long getStartTime() {
+        long startTime = 0;
+        for (ServerState state : servers.values()) {
+            if (state.startTime > 0 && (startTime == 0 || state.startTime < startTime)) {
+                startTime = state.startTime;
+            }
+        }
+        return startTime;
+    }
+    
+    public int getCurrentPhase() {
+        int phase = 0;
+        for (ServerState state : servers.values()) {
+            phase = Math.max(phase, state.phase);
+        }
+        return phase;
+    }
+    
+    public long getObjectivesCompleted() {
+        long objectives = 0;
+        for (ServerState state : servers.values()) {
+            objectives += state.objectives;
+        }
+        return objectives;
+    }
+    
+    /**
+     * Remaining nexus health: maximum health minus all damage plus all healing
+     */
+    public long getNexusHealth() {
+        long net = 0;
+        for (ServerState state : servers.values()) {
+            net += state.nexusHealing - state.nexusDamage;
+        }
+        return Math.max(0, Math.min(definition.getNexusHealth(), definition.getNexusHealth() + net));
     }
     
     /**
@@ -111,45 +380,41 @@ public class CrossServerRaid {
         summary.append("§6§l=== CROSS-SERVER RAID ===§r\n");
         summary.append("§7Raid: §f").append(definition.getDisplayName()).append("\n");
         summary.append("§7Instance: §f").append(instanceId).append("\n");
-        summary.append("§7Status: §f").append(status.name()).append("\n");
+        summary.append("§7Status: §f").append(getStatus().name()).append("\n");
         summary.append("§7Players: §f").append(getTotalPlayers()).append("/").append(definition.getMaxPlayers()).append("\n");
         summary.append("§7Servers: §f").append(getParticipatingServers()).append("/").append(definition.getMaxServers()).append("\n");
-        summary.append("§7Phase: §f").append(currentPhase + 1).append("\n");
-        summary.append("§7Objectives: §f").append(objectivesCompleted).append("\n");
+        summary.append("§7Phase: §f").append(getCurrentPhase() + 1).append("\n");
+        summary.append("§7Objectives: §f").append(getObjectivesCompleted()).append("\n");
+        summary.append("§7Nexus: §f").append(getNexusHealth()).append("/").append(definition.getNexusHealth()).append("\n");
         
+        long startTime = getStartTime();
         if (startTime > 0) {
             long elapsed = (System.currentTimeMillis() - startTime) / 1000;
-            long remaining = definition.getTimeLimit() - elapsed;
+            long remaining = Math.max(0, definition.getTimeLimit() - elapsed);
             summary.append("§7Time Remaining: §f").append(remaining / 60).append(":").append(String.format("%02d", remaining % 60)).append("\n");
         }
         
         summary.append("\n§e§lParticipating Servers:§r\n");
-        for (Map.Entry<String, Set<UUID>> entry : serverPlayers.entrySet()) {
-            String serverId = entry.getKey();
-            int playerCount = entry.getValue().size();
-            int contribution = serverContributions.getOrDefault(serverId, 0);
+        for (Map.Entry<String, ServerState> entry : servers.entrySet()) {
+            ServerState state = entry.getValue();
+            if (state.presentPlayers == 0) {
+                continue;
+            }
             
-            summary.append("§7• §f").append(serverId).append(" §7(").append(playerCount).append(" players, ").append(contribution).append(" contribution)\n");
+            summary.append("§7• §f").append(entry.getKey()).append(" §7(").append(state.presentPlayers).append(" players, ").append(state.contribution).append(" contribution)\n");
         }
         
         return summary.toString();
     }
     
-    // Getters and setters
+    // Getters
     public String getInstanceId() { return instanceId; }
     public CrossServerRaidDefinition getDefinition() { return definition; }
     public String getInitiatingServer() { return initiatingServer; }
-    public RaidStatus getStatus() { return status; }
-    public void setStatus(RaidStatus status) { this.status = status; }
-    public long getStartTime() { return startTime; }
-    public void setStartTime(long startTime) { this.startTime = startTime; }
-    public int getCurrentPhase() { return currentPhase; }
-    public void setCurrentPhase(int currentPhase) { this.currentPhase = currentPhase; }
-    public int getObjectivesCompleted() { return objectivesCompleted; }
-    public void setObjectivesCompleted(int objectivesCompleted) { this.objectivesCompleted = objectivesCompleted; }
+    public String getLocalServer() { return localServer; }
     
     /**
-     * Cross-server raid status
+     * Cross-server raid status, in the order a raid moves through them
      */
     public enum RaidStatus {
         WAITING_FOR_PLAYERS,
@@ -159,4 +424,45 @@ public class CrossServerRaid {
         FAILED,
         CANCELLED
     }
-}
\ No newline at end of file
+    
+    /**
+     * State owned by one server
+     */
+    private static class ServerState {
+        private final Map<UUID, PlayerEntry> players = new HashMap<>();
+        private int presentPlayers;
+        private long version;
+        private long contribution;
+        private long objectives;
+        private long nexusDamage;
+        private long nexusHealing;
+        private int phase;
+        private RaidStatus status = RaidStatus.WAITING_FOR_PLAYERS;
+        private long startTime;
+        
+        private void putPlayer(UUID playerId, PlayerEntry entry) {
+            PlayerEntry previous = players.put(playerId, entry);
+            if (previous != null && previous.present) {
+                presentPlayers--;
+            }
+            if (entry.present) {
+                presentPlayers++;
+            }
+        }
+    }
+    
+    /**
+     * A player's membership, versioned by the owning server
+     */
+    private static class PlayerEntry {
+        private final String name;
+        private final boolean present;
+        private final long version;
+        
+        private PlayerEntry(String name, boolean present, long version) {
+            this.name = name;
+            this.present = present;
+            this.version = version;
+        }
+    }
+}
@@ -19,12 +19,13 @@ public class CrossServerRaidDefinition {
     private final int maxServers;
     private final List<GodType> associatedGods;
     private final int timeLimit; // in seconds
+    private final int nexusHealth; // shared by every participating server
     private final String objective;
     
     public CrossServerRaidDefinition(String id, String displayName, String description,
                                    RaidManager.RaidTier tier, int minPlayers, int maxPlayers,
                                    int minServers, int maxServers, List<GodType> associatedGods,
-                                   int timeLimit, String objective) {
+                                   int timeLimit, int nexusHealth, String objective) {
         this.id = id;
         this.displayName = displayName;
         this.description = description;
@@ -35,6 +36,7 @@ public class CrossServerRaidDefinition {
         this.maxServers = maxServers;
         this.associatedGods = associatedGods;
         this.timeLimit = timeLimit;
+        this.nexusHealth = nexusHealth;
         this.objective = objective;
     }
     
@@ -52,6 +54,7 @@ public class CrossServerRaidDefinition {
         info.append("§7Players: §f").append(minPlayers).append("-").append(maxPlayers).append(" across all servers\n");
         info.append("§7Servers: §f").append(minServers).append("-").append(maxServers).append(" participating\n");
         info.append("§7Time Limit: §f").append(timeLimit / 60).append(" minutes\n");
+        info.append("§7Nexus Health: §f").append(nexusHealth).append("\n");
         info.append("§7Objective: §f").append(objective).append("\n");
         
         if (!associatedGods.isEmpty()) {
@@ -87,5 +90,6 @@ public class CrossServerRaidDefinition {
     public int getMaxServers() { return maxServers; }
     public List<GodType> getAssociatedGods() { return associatedGods; }
     public int getTimeLimit() { return timeLimit; }
+    public int getNexusHealth() { return nexusHealth; }
     public String getObjective() { return objective; }
 }
\ No newline at end of file
@@ -3,10 +3,14 @@ package com.example.minecraftplugin.raids;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import com.example.minecraftplugin.MinecraftPlugin;
@@ -15,9 +19,22 @@ import com.example.minecraftplugin.database.DatabaseManager;
 
 /**
  * Manages cross-server raid participation and coordination
+ *
+ * Each participating server keeps a replica of every raid (see CrossServerRaid).
+ * Local changes are broadcast as deltas once a second; every 30 seconds each
+ * server also broadcasts its version vector, and peers answer with the full
+ * blocks the sender is missing, so replicas converge after lost messages or a
+ * partition. All raid state is confined to the main thread: message handlers
+ * and scheduled tasks both run there.
  */
 public class CrossServerRaidManager {
     
+    private static final long FLUSH_INTERVAL_TICKS = 20L; // Every second
+    private static final long COORDINATION_INTERVAL_TICKS = 200L; // Every 10 seconds
+    private static final int DIGEST_EVERY_RUNS = 3; // Every 30 seconds
+    private static final long FINISHED_RETENTION_MS = 2 * 60 * 1000L;
+    private static final long FINISHED_MEMORY_MS = 30 * 60 * 1000L;
+    
     private final MinecraftPlugin plugin;
     private final Logger logger;
     private final CrossServerManager crossServerManager;
@@ -25,9 +42,18 @@ public class CrossServerRaidManager {
     private final RaidManager localRaidManager;
     
     // Cross-server raid tracking
+    private final Map<String, CrossServerRaidDefinition> raidDefinitions;
     private final Map<String, CrossServerRaid> activeCrossServerRaids;
     private final Map<UUID, String> playerRaidInvitations;
-    private final Map<String, List<String>> raidServerParticipants;
+    private final Set<String> startedLocally;
+    private final Map<String, Long> finishedRaids; // instance_id -> finish time; late messages are ignored
+    private final Map<String, String> persistedState; // instance_id -> last state written to the database
+    private int coordinationRuns;
+    
+    // Replication statistics
+    private long deltasSent;
+    private long blocksMerged;
+    private long repairsSent;
     
     public CrossServerRaidManager(MinecraftPlugin plugin, CrossServerManager crossServerManager,
                                  DatabaseManager databaseManager, RaidManager localRaidManager) {
@@ -36,9 +62,12 @@ public class CrossServerRaidManager {
         this.crossServerManager = crossServerManager;
         this.databaseManager = databaseManager;
         this.localRaidManager = localRaidManager;
+        this.raidDefinitions = new HashMap<>();
         this.activeCrossServerRaids = new HashMap<>();
         this.playerRaidInvitations = new HashMap<>();
-        this.raidServerParticipants = new HashMap<>();
+        this.startedLocally = new HashSet<>();
+        this.finishedRaids = new HashMap<>();
+        this.persistedState = new HashMap<>();
         
         initializeCrossServerRaids();
         
@@ -52,6 +81,12 @@ public class CrossServerRaidManager {
         // Register cross-server raid definitions
         registerCrossServerRaids();
         
+        // Receive replicated raid state from other servers
+        crossServerManager.registerMessageHandler("CROSS_SERVER_RAID_INVITATION", this::handleRaidInvitation);
+        crossServerManager.registerMessageHandler("CROSS_SERVER_RAID_DELTA", this::handleRaidState);
+        crossServerManager.registerMessageHandler("CROSS_SERVER_RAID_STATE", this::handleRaidState);
+        crossServerManager.registerMessageHandler("CROSS_SERVER_RAID_DIGEST", this::handleRaidDigest);
+        
         // Start raid coordination task
         startRaidCoordinationTask();
     }
@@ -70,6 +105,7 @@ public class CrossServerRaidManager {
             3, 8,   // 3-8 servers
             Arrays.asList(), // All gods
             2400, // 40 minutes
+            5000, // Nexus health
             "Defeat god manifestations across multiple dimensions"
         );
         
@@ -83,9 +119,13 @@ public class CrossServerRaidManager {
             5, 12,  // 5-12 servers
             Arrays.asList(), // All gods
             3600, // 60 minutes
+            10000, // Nexus health
             "Protect the cosmic nexus from multiversal collapse"
         );
         
+        raidDefinitions.put(multiverseRaid.getId(), multiverseRaid);
+        raidDefinitions.put(cosmicRaid.getId(), cosmicRaid);
+        
         // Register raids in database
         registerRaidInDatabase(multiverseRaid);
         registerRaidInDatabase(cosmicRaid);
@@ -100,7 +140,7 @@ public class CrossServerRaidManager {
         }
         
         String sql = """
-            INSERT INTO cross_server_raids (raid_id, name, description, tier, min_players, 
+            INSERT INTO cross_server_raids (raid_id, name, description, tier, min_players,
                                           max_players, min_servers, max_servers, time_limit, objective)
             VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             ON DUPLICATE KEY UPDATE
@@ -130,172 +170,268 @@ public class CrossServerRaidManager {
     }
     
     /**
-     * Start cross-server raid
+     * Start cross-server raid. Must be called on the main thread.
      */
     public CompletableFuture<Boolean> startCrossServerRaid(String raidId, List<org.bukkit.entity.Player> localPlayers) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Get raid definition
-                CrossServerRaidDefinition raidDef = getCrossServerRaidDefinition(raidId);
-                if (raidDef == null) {
-                    return false;
-                }
-                
-                // Create cross-server raid instance
-                String instanceId = "cross_" + UUID.randomUUID().toString();
-                CrossServerRaid raid = new CrossServerRaid(instanceId, raidDef, crossServerManager.getServerId());
-                
-                // Add local players
-                for (org.bukkit.entity.Player player : localPlayers) {
-                    raid.addPlayer(crossServerManager.getServerId(), player.getUniqueId(), player.getName());
-                }
-                
-                // Register raid in database
-                registerRaidInstance(raid);
-                
-                // Send invitations to other servers
-                sendCrossServerInvitations(raid);
-                
-                // Store active raid
-                activeCrossServerRaids.put(instanceId, raid);
-                
-                logger.info("Started cross-server raid: " + raidId + " with instance " + instanceId);
-                return true;
-                
-            } catch (Exception e) {
-                logger.severe("Failed to start cross-server raid: " + e.getMessage());
-                return false;
-            }
-        });
+        // Get raid definition
+        CrossServerRaidDefinition raidDef = getCrossServerRaidDefinition(raidId);
+        if (raidDef == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        // Create cross-server raid instance
+        String instanceId = "cross_" + UUID.randomUUID().toString();
+        String serverId = crossServerManager.getServerId();
+        CrossServerRaid raid = new CrossServerRaid(instanceId, raidDef, serverId, serverId);
+        
+        // Add local players
+        for (org.bukkit.entity.Player player : localPlayers) {
+            raid.addLocalPlayer(player.getUniqueId(), player.getName());
+        }
+        
+        // Store active raid
+        activeCrossServerRaids.put(instanceId, raid);
+        
+        // Register raid in database
+        registerRaidInstance(raid);
+        
+        // Send invitations to other servers
+        sendCrossServerInvitations(raid);
+        
+        logger.info("Started cross-server raid: " + raidId + " with instance " + instanceId);
+        return CompletableFuture.completedFuture(true);
     }
     
     /**
      * Send invitations to other servers
      */
     private void sendCrossServerInvitations(CrossServerRaid raid) {
-        Map<String, Object> invitationData = new HashMap<>();
-        invitationData.put("raid_instance_id", raid.getInstanceId());
-        invitationData.put("raid_id", raid.getDefinition().getId());
+        Map<String, Object> invitationData = createEnvelope(raid);
         invitationData.put("raid_name", raid.getDefinition().getDisplayName());
-        invitationData.put("initiating_server", crossServerManager.getServerId());
         invitationData.put("min_players_needed", raid.getDefinition().getMinPlayers() - raid.getTotalPlayers());
         invitationData.put("max_players_allowed", raid.getDefinition().getMaxPlayers());
         invitationData.put("time_limit", raid.getDefinition().getTimeLimit());
         
-        // Broadcast to all servers
-        crossServerManager.broadcastMessage("CROSS_SERVER_RAID_INVITATION", invitationData);
+        // The initiator's players travel with the invitation; the delta would repeat them
+        raid.takeDelta();
+        invitationData.put("state", raid.getServerState(crossServerManager.getServerId()));
+        
+        // Invite the least loaded live servers the raid has room for
+        List<CrossServerManager.ServerInfo> candidates = crossServerManager.getServersByLoad();
+        int invited = Math.min(candidates.size(), Math.max(0, raid.getDefinition().getMaxServers() - 1));
+        if (invited < raid.getDefinition().getMinServers() - 1) {
+            logger.warning("Only " + invited + " server(s) can take part in " + raid.getDefinition().getDisplayName()
+                + "; it needs " + (raid.getDefinition().getMinServers() - 1) + " besides this one");
+        }
+        for (int i = 0; i < invited; i++) {
+            crossServerManager.sendMessage(candidates.get(i).getServerId(), "CROSS_SERVER_RAID_INVITATION", invitationData);
+        }
+        
+        logger.info("Sent cross-server raid invitations for: " + raid.getDefinition().getDisplayName() + " to " + invited + " server(s)");
+    }
+    
+    /**
+     * Common fields of every raid message, enough to create a replica
+     */
+    private Map<String, Object> createEnvelope(CrossServerRaid raid) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("raid_instance_id", raid.getInstanceId());
+        data.put("raid_id", raid.getDefinition().getId());
+        data.put("initiating_server", raid.getInitiatingServer());
+        data.put("server_id", crossServerManager.getServerId());
+        return data;
+    }
+    
+    /**
+     * Find the replica a message refers to, creating it on first contact
+     */
+    private CrossServerRaid getOrCreateReplica(Map<String, Object> data) {
+        String instanceId = (String) data.get("raid_instance_id");
+        if (instanceId == null || finishedRaids.containsKey(instanceId)) {
+            return activeCrossServerRaids.get(instanceId);
+        }
         
-        logger.info("Sent cross-server raid invitations for: " + raid.getDefinition().getDisplayName());
+        CrossServerRaid raid = activeCrossServerRaids.get(instanceId);
+        if (raid == null) {
+            CrossServerRaidDefinition raidDef = getCrossServerRaidDefinition((String) data.get("raid_id"));
+            if (raidDef == null) {
+                return null;
+            }
+            
+            raid = new CrossServerRaid(instanceId, raidDef, (String) data.get("initiating_server"), crossServerManager.getServerId());
+            activeCrossServerRaids.put(instanceId, raid);
+        }
+        return raid;
     }
     
     /**
      * Handle cross-server raid invitation
      */
     public void handleRaidInvitation(Map<String, Object> invitationData) {
-        String raidInstanceId = (String) invitationData.get("raid_instance_id");
-        String raidId = (String) invitationData.get("raid_id");
+        CrossServerRaid raid = getOrCreateReplica(invitationData);
+        if (raid == null) {
+            return;
+        }
+        handleRaidState(invitationData);
+        
         String raidName = (String) invitationData.get("raid_name");
-        String initiatingServer = (String) invitationData.get("initiating_server");
+        String initiatingServer = raid.getInitiatingServer();
         
         // Notify eligible players
         for (org.bukkit.entity.Player player : plugin.getServer().getOnlinePlayers()) {
-            if (isPlayerEligibleForCrossServerRaid(player, raidId)) {
+            if (isPlayerEligibleForCrossServerRaid(player, raid.getDefinition().getId())) {
                 player.sendMessage("§6§l✦ CROSS-SERVER RAID INVITATION! ✦");
                 player.sendMessage("§7Raid: §f" + raidName);
                 player.sendMessage("§7Initiating Server: §f" + initiatingServer);
-                player.sendMessage("§7Use §f/raid join-cross " + raidInstanceId + "§7 to participate");
+                player.sendMessage("§7Use §f/raid join-cross " + raid.getInstanceId() + "§7 to participate");
                 
                 // Store invitation
-                playerRaidInvitations.put(player.getUniqueId(), raidInstanceId);
+                playerRaidInvitations.put(player.getUniqueId(), raid.getInstanceId());
             }
         }
     }
     
     /**
-     * Join cross-server raid
+     * Merge a delta or full block sent by another server
      */
-    public CompletableFuture<Boolean> joinCrossServerRaid(org.bukkit.entity.Player player, String raidInstanceId) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Check if player has invitation
-                if (!playerRaidInvitations.containsKey(player.getUniqueId()) ||
-                    !playerRaidInvitations.get(player.getUniqueId()).equals(raidInstanceId)) {
-                    return false;
-                }
-                
-                // Add player to cross-server raid
-                String sql = """
-                    INSERT INTO cross_server_raid_participants (raid_instance_id, server_id, player_id, player_name, joined_at)
-                    VALUES (?, ?, ?, ?, NOW())
-                    """;
-                
-                databaseManager.executeAsync(sql,
-                    raidInstanceId,
-                    crossServerManager.getServerId(),
-                    player.getUniqueId().toString(),
-                    player.getName()
-                ).join();
-                
-                // Notify player
-                player.sendMessage("§a§lJoined cross-server raid!");
-                player.sendMessage("§7You will be synchronized with players from other servers");
-                
-                // Notify other servers
-                Map<String, Object> joinData = new HashMap<>();
-                joinData.put("raid_instance_id", raidInstanceId);
-                joinData.put("server_id", crossServerManager.getServerId());
-                joinData.put("player_id", player.getUniqueId().toString());
-                joinData.put("player_name", player.getName());
-                
-                crossServerManager.broadcastMessage("CROSS_SERVER_RAID_JOIN", joinData);
-                
-                // Remove invitation
-                playerRaidInvitations.remove(player.getUniqueId());
-                
-                return true;
-                
-            } catch (Exception e) {
-                logger.severe("Failed to join cross-server raid: " + e.getMessage());
-                return false;
+    @SuppressWarnings("unchecked")
+    private void handleRaidState(Map<String, Object> data) {
+        CrossServerRaid raid = getOrCreateReplica(data);
+        Object state = data.get("state");
+        if (raid == null || !(state instanceof Map)) {
+            return;
+        }
+        
+        if (raid.merge((Map<String, Object>) state)) {
+            blocksMerged++;
+            onRaidStateChanged(raid);
+        }
+    }
+    
+    /**
+     * Answer a peer's version vector with the blocks it is behind on
+     */
+    @SuppressWarnings("unchecked")
+    private void handleRaidDigest(Map<String, Object> data) {
+        CrossServerRaid raid = getOrCreateReplica(data);
+        String peer = (String) data.get("server_id");
+        Object versions = data.get("versions");
+        if (raid == null || peer == null || !(versions instanceof Map)) {
+            return;
+        }
+        
+        Map<String, Object> peerVersions = (Map<String, Object>) versions;
+        for (Map.Entry<String, Long> entry : raid.getVersionVector().entrySet()) {
+            Object peerVersion = peerVersions.get(entry.getKey());
+            long known = peerVersion instanceof Number ? ((Number) peerVersion).longValue() : -1L;
+            if (entry.getValue() > known && !entry.getKey().equals(peer)) {
+                Map<String, Object> repair = createEnvelope(raid);
+                repair.put("state", raid.getServerState(entry.getKey()));
+                crossServerManager.sendMessage(peer, "CROSS_SERVER_RAID_STATE", repair);
+                repairsSent++;
             }
-        });
+        }
     }
     
     /**
-     * Start raid coordination task
+     * Join cross-server raid. Must be called on the main thread.
+     */
+    public CompletableFuture<Boolean> joinCrossServerRaid(org.bukkit.entity.Player player, String raidInstanceId) {
+        // Check if player has invitation
+        if (!raidInstanceId.equals(playerRaidInvitations.get(player.getUniqueId()))) {
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        CrossServerRaid raid = activeCrossServerRaids.get(raidInstanceId);
+        if (raid == null || isFinished(raid)) {
+            playerRaidInvitations.remove(player.getUniqueId());
+            return CompletableFuture.completedFuture(false);
+        }
+        if (raid.getTotalPlayers() >= raid.getDefinition().getMaxPlayers()) {
+            player.sendMessage("§cThis cross-server raid is full!");
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        // Add player to cross-server raid; the next delta tells the other servers
+        raid.addLocalPlayer(player.getUniqueId(), player.getName());
+        
+        // Notify player
+        player.sendMessage("§a§lJoined cross-server raid!");
+        player.sendMessage("§7You will be synchronized with players from other servers");
+        
+        // Remove invitation
+        playerRaidInvitations.remove(player.getUniqueId());
+        
+        return CompletableFuture.completedFuture(true);
+    }
+    
+    /**
+     * Start raid coordination and replication tasks
      */
     private void startRaidCoordinationTask() {
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            coordinateActiveRaids();
-            checkRaidReadiness();
-            syncRaidProgress();
-        }, 0L, 200L); // Every 10 seconds
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::flushDeltas, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this::coordinateActiveRaids, 0L, COORDINATION_INTERVAL_TICKS);
     }
     
     /**
-     * Coordinate active cross-server raids
+     * Broadcast local changes made since the last flush
      */
-    private void coordinateActiveRaids() {
+    private void flushDeltas() {
         for (CrossServerRaid raid : activeCrossServerRaids.values()) {
-            if (raid.getStatus() == CrossServerRaid.RaidStatus.WAITING_FOR_PLAYERS) {
-                checkRaidReadiness(raid);
-            } else if (raid.getStatus() == CrossServerRaid.RaidStatus.ACTIVE) {
-                syncRaidState(raid);
+            Map<String, Object> delta = raid.takeDelta();
+            if (delta == null) {
+                continue;
             }
+            
+            Map<String, Object> data = createEnvelope(raid);
+            data.put("state", delta);
+            crossServerManager.broadcastMessage("CROSS_SERVER_RAID_DELTA", data);
+            deltasSent++;
         }
     }
     
     /**
-     * Check if raids are ready to start
+     * Coordinate active cross-server raids
      */
-    private void checkRaidReadiness() {
-        // Implementation for checking raid readiness across servers
+    private void coordinateActiveRaids() {
+        boolean sendDigests = ++coordinationRuns % DIGEST_EVERY_RUNS == 0;
+        long now = System.currentTimeMillis();
+        
+        Iterator<CrossServerRaid> iterator = activeCrossServerRaids.values().iterator();
+        while (iterator.hasNext()) {
+            CrossServerRaid raid = iterator.next();
+            
+            if (raid.getStatus() == CrossServerRaid.RaidStatus.WAITING_FOR_PLAYERS) {
+                checkRaidReadiness(raid);
+            } else if (raid.getStatus() == CrossServerRaid.RaidStatus.ACTIVE) {
+                checkRaidFailure(raid, now);
+            }
+            
+            Long finishedAt = finishedRaids.get(raid.getInstanceId());
+            if (finishedAt != null && now - finishedAt > FINISHED_RETENTION_MS) {
+                iterator.remove();
+                startedLocally.remove(raid.getInstanceId());
+                persistedState.remove(raid.getInstanceId());
+                continue;
+            }
+            
+            syncRaidState(raid);
+            if (sendDigests) {
+                sendDigest(raid);
+            }
+        }
+        
+        finishedRaids.values().removeIf(finishedAt -> now - finishedAt > FINISHED_MEMORY_MS);
     }
     
     /**
-     * Check specific raid readiness
+     * Check specific raid readiness; only the initiating server starts a raid
      */
     private void checkRaidReadiness(CrossServerRaid raid) {
+        if (!raid.getInitiatingServer().equals(crossServerManager.getServerId())) {
+            return;
+        }
+        
         if (raid.getTotalPlayers() >= raid.getDefinition().getMinPlayers() &&
             raid.getParticipatingServers() >= raid.getDefinition().getMinServers()) {
             
@@ -304,26 +440,56 @@ public class CrossServerRaidManager {
         }
     }
     
+    /**
+     * Fail the raid when the nexus falls or time runs out. Every replica reaches
+     * the same verdict from the same merged state.
+     */
+    private void checkRaidFailure(CrossServerRaid raid, long now) {
+        boolean timedOut = raid.getStartTime() > 0 && now - raid.getStartTime() > raid.getDefinition().getTimeLimit() * 1000L;
+        if (raid.getNexusHealth() <= 0 || timedOut) {
+            raid.setStatus(CrossServerRaid.RaidStatus.FAILED);
+            onRaidStateChanged(raid);
+        }
+    }
+    
     /**
      * Start raid execution across servers
      */
     private void startRaidExecution(CrossServerRaid raid) {
-        raid.setStatus(CrossServerRaid.RaidStatus.ACTIVE);
         raid.setStartTime(System.currentTimeMillis());
-        
-        // Notify all participating servers
-        Map<String, Object> startData = new HashMap<>();
-        startData.put("raid_instance_id", raid.getInstanceId());
-        startData.put("start_time", raid.getStartTime());
-        
-        crossServerManager.broadcastMessage("CROSS_SERVER_RAID_START", startData);
-        
-        // Start local raid components
-        startLocalRaidComponents(raid);
+        raid.setStatus(CrossServerRaid.RaidStatus.ACTIVE);
+        onRaidStateChanged(raid);
         
         logger.info("Started cross-server raid execution: " + raid.getInstanceId());
     }
     
+    /**
+     * React to the merged raid status after a local or remote change
+     */
+    private void onRaidStateChanged(CrossServerRaid raid) {
+        CrossServerRaid.RaidStatus status = raid.getStatus();
+        
+        if (status == CrossServerRaid.RaidStatus.ACTIVE && startedLocally.add(raid.getInstanceId())) {
+            startLocalRaidComponents(raid);
+        } else if (isFinished(raid) && !finishedRaids.containsKey(raid.getInstanceId())) {
+            finishedRaids.put(raid.getInstanceId(), System.currentTimeMillis());
+            playerRaidInvitations.values().removeIf(raid.getInstanceId()::equals);
+            
+            for (UUID playerId : raid.getPlayersOnServer(crossServerManager.getServerId())) {
+                org.bukkit.entity.Player player = plugin.getServer().getPlayer(playerId);
+                if (player != null) {
+                    player.sendMessage("§6Cross-server raid §f" + raid.getDefinition().getDisplayName() + " §6ended: §f" + status.name());
+                }
+            }
+            
+            logger.info("Ended cross-server raid: " + raid.getInstanceId() + " status: " + status.name());
+        }
+    }
+    
+    private boolean isFinished(CrossServerRaid raid) {
+        return raid.getStatus().ordinal() >= CrossServerRaid.RaidStatus.COMPLETED.ordinal();
+    }
+    
     /**
      * Start local components of cross-server raid
      */
@@ -340,25 +506,37 @@ public class CrossServerRaidManager {
         
         if (!localPlayers.isEmpty()) {
             // Start local raid instance
-            localRaidManager.startRaid(raid.getDefinition().getId(), localPlayers, 
+            localRaidManager.startRaid(raid.getDefinition().getId(), localPlayers,
                                      localPlayers.get(0).getLocation());
         }
     }
     
     /**
-     * Sync raid progress across servers
+     * Broadcast this server's version vector so peers can send what it is missing
      */
-    private void syncRaidProgress() {
-        // Implementation for syncing raid progress
+    private void sendDigest(CrossServerRaid raid) {
+        Map<String, Object> data = createEnvelope(raid);
+        data.put("versions", raid.getVersionVector());
+        crossServerManager.broadcastMessage("CROSS_SERVER_RAID_DIGEST", data);
     }
     
     /**
-     * Sync specific raid state
+     * Sync specific raid state to the database when it has changed. Only the
+     * initiating server owns the instance row.
      */
     private void syncRaidState(CrossServerRaid raid) {
+        if (!databaseManager.isDatabaseEnabled() || !raid.getInitiatingServer().equals(crossServerManager.getServerId())) {
+            return;
+        }
+        
+        String state = raid.getStatus().name() + ":" + raid.getCurrentPhase() + ":" + raid.getObjectivesCompleted();
+        if (state.equals(persistedState.put(raid.getInstanceId(), state))) {
+            return;
+        }
+        
         // Update raid state in database
         String sql = """
-            UPDATE cross_server_raid_instances 
+            UPDATE cross_server_raid_instances
             SET status = ?, current_phase = ?, objectives_completed = ?, updated_at = NOW()
             WHERE instance_id = ?
             """;
@@ -380,7 +558,7 @@ public class CrossServerRaidManager {
         }
         
         String sql = """
-            INSERT INTO cross_server_raid_instances (instance_id, raid_id, initiating_server, 
+            INSERT INTO cross_server_raid_instances (instance_id, raid_id, initiating_server,
                                                     status, created_at, min_players, max_players)
             VALUES (?, ?, ?, ?, NOW(), ?, ?)
             """;
@@ -395,38 +573,88 @@ public class CrossServerRaidManager {
         );
     }
     
+    /**
+     * Record an objective completed by this server's players
+     */
+    public void recordObjectiveCompleted(String raidInstanceId) {
+        CrossServerRaid raid = getRunningRaid(raidInstanceId);
+        if (raid != null) {
+            raid.addLocalObjectives(1);
+        }
+    }
+    
+    /**
+     * Record contribution earned by this server's players
+     */
+    public void recordContribution(String raidInstanceId, int amount) {
+        CrossServerRaid raid = getRunningRaid(raidInstanceId);
+        if (raid != null) {
+            raid.addLocalContribution(amount);
+        }
+    }
+    
+    /**
+     * Record damage dealt to the shared nexus on this server
+     */
+    public void damageNexus(String raidInstanceId, int amount) {
+        CrossServerRaid raid = getRunningRaid(raidInstanceId);
+        if (raid != null) {
+            raid.damageNexus(amount);
+            if (raid.getNexusHealth() <= 0) {
+                raid.setStatus(CrossServerRaid.RaidStatus.FAILED);
+                onRaidStateChanged(raid);
+            }
+        }
+    }
+    
+    /**
+     * Record healing done to the shared nexus on this server
+     */
+    public void healNexus(String raidInstanceId, int amount) {
+        CrossServerRaid raid = getRunningRaid(raidInstanceId);
+        if (raid != null) {
+            raid.healNexus(amount);
+        }
+    }
+    
+    /**
+     * Move the raid to a later phase
+     */
+    public void advancePhase(String raidInstanceId, int phase) {
+        CrossServerRaid raid = getRunningRaid(raidInstanceId);
+        if (raid != null) {
+            raid.advancePhase(phase);
+        }
+    }
+    
+    /**
+     * Mark the raid completed
+     */
+    public void completeRaid(String raidInstanceId) {
+        CrossServerRaid raid = getRunningRaid(raidInstanceId);
+        if (raid != null) {
+            raid.setStatus(CrossServerRaid.RaidStatus.COMPLETED);
+            onRaidStateChanged(raid);
+        }
+    }
+    
+    private CrossServerRaid getRunningRaid(String raidInstanceId) {
+        CrossServerRaid raid = activeCrossServerRaids.get(raidInstanceId);
+        return raid != null && raid.getStatus() == CrossServerRaid.RaidStatus.ACTIVE ? raid : null;
+    }
+    
+    /**
+     * Get a cross-server raid known to this server
+     */
+    public CrossServerRaid getCrossServerRaid(String raidInstanceId) {
+        return activeCrossServerRaids.get(raidInstanceId);
+    }
+    
     /**
      * Get cross-server raid definition
      */
     private CrossServerRaidDefinition getCrossServerRaidDefinition(String raidId) {
-        // This would typically load from database or cache
-        // For now, return hardcoded definitions
-        switch (raidId) {
-            case "multiverse_convergence":
-                return new CrossServerRaidDefinition(
-                    "multiverse_convergence",
-                    "Multiverse Convergence",
-                    "Face manifestations of gods across multiple servers",
-                    RaidManager.RaidTier.CONVERGENCE,
-                    6, 24, 3, 8,
-                    Arrays.asList(),
-                    2400,
-                    "Defeat god manifestations across multiple dimensions"
-                );
-            case "cosmic_nexus":
-                return new CrossServerRaidDefinition(
-                    "cosmic_nexus",
-                    "Cosmic Nexus",
-                    "Ultimate challenge spanning the entire multiverse",
-                    RaidManager.RaidTier.CONVERGENCE,
-                    12, 48, 5, 12,
-                    Arrays.asList(),
-                    3600,
-                    "Protect the cosmic nexus from multiversal collapse"
-                );
-            default:
-                return null;
-        }
+        return raidId == null ? null : raidDefinitions.get(raidId);
     }
     
     /**
@@ -438,50 +666,52 @@ public class CrossServerRaidManager {
     }
     
     /**
-     * Get cross-server raid statistics
+     * Get cross-server raid statistics. Must be called on the main thread.
      */
     public CompletableFuture<Map<String, Object>> getCrossServerRaidStats() {
-        return CompletableFuture.supplyAsync(() -> {
-            Map<String, Object> stats = new HashMap<>();
-            
-            stats.put("active_cross_server_raids", activeCrossServerRaids.size());
-            stats.put("pending_invitations", playerRaidInvitations.size());
-            stats.put("participating_servers", crossServerManager.getRegisteredServers());
-            
-            return stats;
-        });
+        Map<String, Object> stats = new HashMap<>();
+        
+        long running = activeCrossServerRaids.values().stream().filter(raid -> !isFinished(raid)).count();
+        stats.put("active_cross_server_raids", running);
+        stats.put("pending_invitations", playerRaidInvitations.size());
+        stats.put("participating_servers", crossServerManager.getRegisteredServers());
+        stats.put("deltas_sent", deltasSent);
+        stats.put("blocks_merged", blocksMerged);
+        stats.put("repairs_sent", repairsSent);
+        
+        return CompletableFuture.completedFuture(stats);
     }
     
     /**
      * Shutdown cross-server raid manager
      */
     public void shutdown() {
-        // End all active cross-server raids
+        // Leave running raids; the other servers carry on without this one
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
         for (CrossServerRaid raid : activeCrossServerRaids.values()) {
-            endCrossServerRaid(raid.getInstanceId(), "SERVER_SHUTDOWN");
+            for (UUID playerId : raid.getPlayersOnServer(crossServerManager.getServerId())) {
+                raid.removeLocalPlayer(playerId);
+            }
+            
+            Map<String, Object> delta = raid.takeDelta();
+            if (delta != null) {
+                Map<String, Object> data = createEnvelope(raid);
+                data.put("state", delta);
+                pending.add(crossServerManager.broadcastMessage("CROSS_SERVER_RAID_DELTA", data));
+            }
+        }
+        
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.warning("Could not notify other servers of leaving cross-server raids: " + e.getMessage());
         }
         
         activeCrossServerRaids.clear();
         playerRaidInvitations.clear();
-        raidServerParticipants.clear();
+        startedLocally.clear();
+        finishedRaids.clear();
         
         logger.info("Cross-Server Raid Manager shutdown complete");
     }
-    
-    /**
-     * End cross-server raid
-     */
-    private void endCrossServerRaid(String instanceId, String reason) {
-        CrossServerRaid raid = activeCrossServerRaids.remove(instanceId);
-        if (raid != null) {
-            // Notify all servers
-            Map<String, Object> endData = new HashMap<>();
-            endData.put("raid_instance_id", instanceId);
-            endData.put("reason", reason);
-            
-            crossServerManager.broadcastMessage("CROSS_SERVER_RAID_END", endData);
-            
-            logger.info("Ended cross-server raid: " + instanceId + " reason: " + reason);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -50,6 +50,13 @@ public class RaidCompletionRecord {
     public boolean isWeeklyChallengeActive() { return weeklyChallengeActive; }
     public String getWeeklyChallengeType() { return weeklyChallengeType; }
     
+    /**
+     * Identity of this record across servers
+     */
+    public String getRecordKey() {
+        return raidId + ":" + endTime + ":" + (playerIds.isEmpty() ? "" : playerIds.get(0));
+    }
+    
     /**
      * Get formatted completion time
      */
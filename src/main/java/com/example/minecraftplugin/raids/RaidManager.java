@@ -19,12 +19,15 @@ import com.example.minecraftplugin.MinecraftPlugin;
 import com.example.minecraftplugin.enums.GodType;
 import com.example.minecraftplugin.managers.GuildManager;
 import com.example.minecraftplugin.managers.RaidLeaderboardManager;
+import com.example.minecraftplugin.world.SpatialEntityIndex;
 
 /**
  * Manages custom raids for both non-converged and converged players
  */
 public class RaidManager implements Listener {
     
+    private static final double DRAGON_SEARCH_RADIUS = 256; // Blocks around the raid, loaded chunks only
+    
     private final MinecraftPlugin plugin;
     private final Logger logger;
     private final RaidLeaderboardManager leaderboardManager;
@@ -386,21 +389,30 @@ public class RaidManager implements Listener {
      * Start enhanced Ender Dragon combat
      */
     private void startEnhancedDragonCombat(List<Player> players, Location location, RaidScalingCalculator.RaidScaling scaling) {
-        // Find or spawn Ender Dragon
-        org.bukkit.entity.EnderDragon dragon = null;
+        // Find or spawn Ender Dragon without scanning the world's entities
+        SpatialEntityIndex entityIndex = plugin.getSpatialEntityIndex();
+        String bossId = "enhanced_ender_dragon:" + location.getWorld().getUID();
+        org.bukkit.entity.EnderDragon dragon = entityIndex.getBoss(bossId, org.bukkit.entity.EnderDragon.class);
+        
+        // Fall back to the world's own dragon fight, if it has one
+        if (dragon == null && location.getWorld().getEnderDragonBattle() != null) {
+            dragon = location.getWorld().getEnderDragonBattle().getEnderDragon();
+        }
         
-        // Look for existing dragon
-        for (org.bukkit.entity.Entity entity : location.getWorld().getEntities()) {
-            if (entity instanceof org.bukkit.entity.EnderDragon) {
-                dragon = (org.bukkit.entity.EnderDragon) entity;
-                break;
-            }
+        // Not tracked since a restart, or outside the End: look in the loaded chunks nearby
+        if (dragon == null) {
+            org.bukkit.entity.EnderDragon[] found = new org.bukkit.entity.EnderDragon[1];
+            entityIndex.forEachInBox(location, DRAGON_SEARCH_RADIUS, location.getWorld().getMaxHeight(), DRAGON_SEARCH_RADIUS,
+                org.bukkit.entity.EnderDragon.class, candidate -> found[0] == null && !candidate.isDead(),
+                candidate -> found[0] = candidate);
+            dragon = found[0];
         }
         
         // Spawn dragon if none exists
         if (dragon == null) {
             dragon = location.getWorld().spawn(location.clone().add(0, 50, 0), org.bukkit.entity.EnderDragon.class);
         }
+        entityIndex.trackBoss(bossId, dragon);
         
         // Start enhanced combat
         if (plugin.getEnderDragonCombatManager() != null) {
@@ -413,7 +425,7 @@ public class RaidManager implements Listener {
      * Check if Divine Council raid bonus is active
      */
     private boolean checkCouncilRaidBonus() {
-        if (!plugin.getConfig().getBoolean("divine_council.enabled", false)) {
+        if (!plugin.getConfigManager().getSnapshot().main().isDivineCouncilEnabled()) {
             return false;
         }
         
@@ -0,0 +1,468 @@
+package com.example.minecraftplugin.transcendence;
+
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Logger;
+
+/**
+ * Undo journal for one player's reality manipulations.
+ *
+ * Each manipulation is stored as one operation: block positions packed into longs
+ * and the replaced block states as indexes into a shared palette, so a realm of
+ * 150k blocks costs ~1.8MB instead of 150k Location and BlockData objects.
+ * Once more than the in-memory limit is held, the oldest operations are written
+ * to a spill file and read back only if they are undone. When the total limit is
+ * exceeded the oldest operations are forgotten and become permanent. Once
+ * forgotten or undone operations make up most of the spill file, or the palette
+ * has doubled since it was last rebuilt, the file is rewritten with only the
+ * live operations and the palette is rebuilt from the states still referenced.
+ *
+ * All methods must be called on the main thread; file I/O runs on the shared
+ * journal executor, which is single threaded so reads always follow their writes.
+ */
+class RealityEditJournal {
+
+    // 12 bytes per entry on disk: packed position + palette index
+    private static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    // Below these sizes waste is cheap enough to keep
+    private static final long COMPACT_MIN_SPILL_BYTES = 1 << 20;
+    private static final int COMPACT_MIN_PALETTE = 1024;
+
+    private final UUID playerId;
+    private final File spillFile;
+    private final int maxEntries;
+    private final int memoryEntries;
+    private final ExecutorService io;
+    private final Logger logger;
+
+    private final List<BlockData> palette;
+    private final Map<BlockData, Integer> paletteIndex;
+    private final Deque<Operation> operations; // Oldest first
+
+    private int totalEntries;
+    private int inMemoryEntries;
+    private long spillLength;
+    private long liveSpillBytes; // Bytes of the spill file owned by operations still held
+    private int compactedPaletteSize;
+
+    RealityEditJournal(UUID playerId, File spillFile, int maxEntries, int memoryEntries,
+                       ExecutorService io, Logger logger) {
+        this.playerId = playerId;
+        this.spillFile = spillFile;
+        this.maxEntries = maxEntries;
+        this.memoryEntries = memoryEntries;
+        this.io = io;
+        this.logger = logger;
+        this.palette = new ArrayList<>();
+        this.paletteIndex = new HashMap<>();
+        this.operations = new ArrayDeque<>();
+    }
+
+    /**
+     * Start recording a new operation
+     */
+    Recorder begin(String label, World world) {
+        return new Recorder(label, world.getUID());
+    }
+
+    /**
+     * Remove the most recent operations (newest first) and load their recorded states.
+     * The future completes on the journal executor once spilled entries are read back.
+     */
+    CompletableFuture<List<UndoSet>> takeLatest(int count) {
+        List<Operation> taken = new ArrayList<>();
+        while (taken.size() < count && !operations.isEmpty()) {
+            Operation operation = operations.pollLast();
+            forget(operation);
+            taken.add(operation);
+        }
+
+        // Snapshot the palette so the async read never sees it mid-update
+        List<BlockData> states = new ArrayList<>(palette);
+        List<CompletableFuture<UndoSet>> loads = new ArrayList<>(taken.size());
+        for (Operation operation : taken) {
+            if (operation.isInMemory()) {
+                loads.add(CompletableFuture.completedFuture(
+                    new UndoSet(operation.label, operation.worldId, operation.positions, operation.states, operation.size, states)));
+            } else {
+                loads.add(CompletableFuture.supplyAsync(() -> readSpilled(operation, states), io));
+            }
+        }
+
+        // Both are queued behind the reads above, which use the old offsets and palette
+        if (operations.isEmpty()) {
+            deleteSpillFile();
+        } else {
+            compactIfWasteful();
+        }
+
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<UndoSet> result = new ArrayList<>(loads.size());
+            for (CompletableFuture<UndoSet> load : loads) {
+                result.add(load.join());
+            }
+            return result;
+        });
+    }
+
+    int getOperationCount() {
+        return operations.size();
+    }
+
+    int getEntryCount() {
+        return totalEntries;
+    }
+
+    /**
+     * Forget every operation and delete the spill file
+     */
+    void discard() {
+        operations.clear();
+        palette.clear();
+        paletteIndex.clear();
+        totalEntries = 0;
+        inMemoryEntries = 0;
+        compactedPaletteSize = 0;
+        deleteSpillFile();
+    }
+
+    private void deleteSpillFile() {
+        if (spillLength > 0) {
+            spillLength = 0;
+            liveSpillBytes = 0;
+            io.execute(() -> {
+                if (spillFile.exists() && !spillFile.delete()) {
+                    logger.warning("Could not delete reality journal spill file " + spillFile.getName());
+                }
+            });
+        }
+    }
+
+    private int paletteId(BlockData state) {
+        Integer id = paletteIndex.get(state);
+        if (id == null) {
+            id = palette.size();
+            palette.add(state);
+            paletteIndex.put(state, id);
+        }
+        return id;
+    }
+
+    /**
+     * Add a finished operation, then enforce the memory and total limits.
+     * Returns false if the operation alone exceeds the journal size.
+     */
+    private boolean append(Operation operation) {
+        if (operation.size == 0) {
+            return true;
+        }
+        if (operation.size > maxEntries) {
+            return false;
+        }
+
+        operations.addLast(operation);
+        totalEntries += operation.size;
+        inMemoryEntries += operation.size;
+
+        while (totalEntries > maxEntries) {
+            forget(operations.pollFirst());
+        }
+
+        // Spill oldest first; the newest operation is the most likely to be undone
+        Iterator<Operation> iterator = operations.iterator();
+        while (inMemoryEntries > memoryEntries && iterator.hasNext()) {
+            Operation candidate = iterator.next();
+            if (candidate.isInMemory() && candidate != operation) {
+                spill(candidate);
+            }
+        }
+
+        compactIfWasteful();
+        return true;
+    }
+
+    /**
+     * Update the counters for an operation leaving the journal
+     */
+    private void forget(Operation operation) {
+        totalEntries -= operation.size;
+        if (operation.isInMemory()) {
+            inMemoryEntries -= operation.size;
+        } else {
+            liveSpillBytes -= (long) operation.size * ENTRY_BYTES;
+        }
+    }
+
+    private void compactIfWasteful() {
+        boolean spillWasteful = spillLength >= COMPACT_MIN_SPILL_BYTES && liveSpillBytes * 2 < spillLength;
+        boolean paletteWasteful = palette.size() >= COMPACT_MIN_PALETTE && palette.size() >= compactedPaletteSize * 2;
+        if (spillWasteful || paletteWasteful) {
+            compact();
+        }
+    }
+
+    /**
+     * Rebuild the palette from the states still referenced and rewrite the spill
+     * file with only the held operations, renumbered to the new palette
+     */
+    private void compact() {
+        int[] remap = new int[palette.size()];
+        Arrays.fill(remap, -1);
+        List<BlockData> kept = new ArrayList<>();
+
+        List<Operation> spilled = new ArrayList<>();
+        long[] oldOffsets = new long[operations.size()];
+        long newLength = 0;
+        for (Operation operation : operations) {
+            if (operation.isInMemory()) {
+                for (int i = 0; i < operation.size; i++) {
+                    operation.states[i] = keepState(operation.states[i], remap, kept);
+                }
+            } else {
+                for (int i = 0; i < operation.paletteIds.length; i++) {
+                    operation.paletteIds[i] = keepState(operation.paletteIds[i], remap, kept);
+                }
+                oldOffsets[spilled.size()] = operation.spillOffset;
+                spilled.add(operation);
+                operation.spillOffset = newLength;
+                newLength += (long) operation.size * ENTRY_BYTES;
+            }
+        }
+
+        palette.clear();
+        palette.addAll(kept);
+        paletteIndex.clear();
+        for (int i = 0; i < kept.size(); i++) {
+            paletteIndex.put(kept.get(i), i);
+        }
+        compactedPaletteSize = kept.size();
+
+        if (spilled.isEmpty()) {
+            deleteSpillFile();
+            return;
+        }
+
+        int[] sizes = new int[spilled.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = spilled.get(i).size;
+        }
+        spillLength = newLength;
+        liveSpillBytes = newLength;
+
+        io.execute(() -> rewriteSpillFile(oldOffsets, sizes, remap));
+    }
+
+    private int keepState(int oldId, int[] remap, List<BlockData> kept) {
+        if (remap[oldId] < 0) {
+            remap[oldId] = kept.size();
+            kept.add(palette.get(oldId));
+        }
+        return remap[oldId];
+    }
+
+    /**
+     * Copy the listed entries into a fresh spill file in order, translating their
+     * palette ids, and replace the old file with it
+     */
+    private void rewriteSpillFile(long[] oldOffsets, int[] sizes, int[] remap) {
+        File compacted = new File(spillFile.getPath() + ".compact");
+        try (RandomAccessFile source = new RandomAccessFile(spillFile, "r");
+             RandomAccessFile target = new RandomAccessFile(compacted, "rw")) {
+            target.setLength(0);
+            for (int i = 0; i < sizes.length; i++) {
+                byte[] bytes = new byte[sizes[i] * ENTRY_BYTES];
+                source.seek(oldOffsets[i]);
+                source.readFully(bytes);
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                for (int entry = 0; entry < sizes[i]; entry++) {
+                    int position = entry * ENTRY_BYTES + Long.BYTES;
+                    buffer.putInt(position, remap[buffer.getInt(position)]);
+                }
+                target.write(bytes);
+            }
+        } catch (IOException e) {
+            logger.warning("Could not compact reality journal for " + playerId + ": " + e.getMessage());
+            return;
+        }
+
+        try {
+            Files.move(compacted.toPath(), spillFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warning("Could not replace reality journal spill file for " + playerId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Hand the operation's arrays to the I/O thread and drop them from memory
+     */
+    private void spill(Operation operation) {
+        long[] positions = operation.positions;
+        int[] states = operation.states;
+        int size = operation.size;
+        long offset = spillLength;
+
+        BitSet used = new BitSet(palette.size());
+        for (int i = 0; i < size; i++) {
+            used.set(states[i]);
+        }
+
+        operation.spillOffset = offset;
+        operation.paletteIds = used.stream().toArray();
+        operation.positions = null;
+        operation.states = null;
+        spillLength += (long) size * ENTRY_BYTES;
+        liveSpillBytes += (long) size * ENTRY_BYTES;
+        inMemoryEntries -= size;
+
+        io.execute(() -> {
+            ByteBuffer buffer = ByteBuffer.allocate(size * ENTRY_BYTES);
+            for (int i = 0; i < size; i++) {
+                buffer.putLong(positions[i]);
+                buffer.putInt(states[i]);
+            }
+            try (RandomAccessFile file = new RandomAccessFile(spillFile, "rw")) {
+                file.seek(offset);
+                file.write(buffer.array());
+            } catch (IOException e) {
+                logger.warning("Could not spill reality journal for " + playerId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private UndoSet readSpilled(Operation operation, List<BlockData> states) {
+        long[] positions = new long[operation.size];
+        int[] stateIds = new int[operation.size];
+
+        try (RandomAccessFile file = new RandomAccessFile(spillFile, "r")) {
+            file.seek(operation.spillOffset);
+            byte[] bytes = new byte[operation.size * ENTRY_BYTES];
+            file.readFully(bytes);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            for (int i = 0; i < operation.size; i++) {
+                positions[i] = buffer.getLong();
+                stateIds[i] = buffer.getInt();
+            }
+        } catch (IOException e) {
+            logger.warning("Could not read reality journal for " + playerId + ": " + e.getMessage());
+            return new UndoSet(operation.label, operation.worldId, positions, stateIds, 0, states);
+        }
+
+        return new UndoSet(operation.label, operation.worldId, positions, stateIds, operation.size, states);
+    }
+
+    /**
+     * Pack a block position the same way the server does: 26 bits X, 26 bits Z, 12 bits Y
+     */
+    static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    static int unpackY(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+
+    /**
+     * Collects the replaced states of one manipulation. States join the palette
+     * only on commit, so a compaction never renumbers an open recorder.
+     */
+    class Recorder {
+        private final String label;
+        private final UUID worldId;
+        private long[] positions = new long[16];
+        private BlockData[] originals = new BlockData[16];
+        private int size;
+
+        private Recorder(String label, UUID worldId) {
+            this.label = label;
+            this.worldId = worldId;
+        }
+
+        Recorder add(int x, int y, int z, BlockData original) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                originals = Arrays.copyOf(originals, size * 2);
+            }
+            positions[size] = pack(x, y, z);
+            originals[size] = original;
+            size++;
+            return this;
+        }
+
+        /**
+         * Add the operation to the journal; false if it was too large to keep
+         */
+        boolean commit() {
+            int[] states = new int[size];
+            for (int i = 0; i < size; i++) {
+                states[i] = paletteId(originals[i]);
+            }
+            return append(new Operation(label, worldId, Arrays.copyOf(positions, size), states));
+        }
+    }
+
+    private static class Operation {
+        private final String label;
+        private final UUID worldId;
+        private final int size;
+        private long[] positions; // null once spilled
+        private int[] states;
+        private long spillOffset;
+        private int[] paletteIds; // Distinct states of a spilled operation
+
+        private Operation(String label, UUID worldId, long[] positions, int[] states) {
+            this.label = label;
+            this.worldId = worldId;
+            this.positions = positions;
+            this.states = states;
+            this.size = positions.length;
+        }
+
+        private boolean isInMemory() {
+            return positions != null;
+        }
+    }
+
+    /**
+     * The recorded states of one operation, ready to be restored
+     */
+    static class UndoSet {
+        final String label;
+        final UUID worldId;
+        final long[] positions;
+        final int[] stateIds;
+        final int size;
+        private final List<BlockData> palette;
+
+        private UndoSet(String label, UUID worldId, long[] positions, int[] stateIds, int size, List<BlockData> palette) {
+            this.label = label;
+            this.worldId = worldId;
+            this.positions = positions;
+            this.stateIds = stateIds;
+            this.size = size;
+            this.palette = palette;
+        }
+
+        BlockData getState(int index) {
+            return palette.get(stateIds[index]);
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package com.example.minecraftplugin.transcendence;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.config.ConfigSnapshot;
 import com.example.minecraftplugin.enums.TranscendenceLevel;
+import com.example.minecraftplugin.world.BlockEditBatch;
+import com.example.minecraftplugin.world.BlockPlacementEngine;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.io.File;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 /**
@@ -27,8 +36,11 @@ public class TranscendenceAbilityManager {
     private final Map<UUID, Set<String>> activeAbilities;
     private final Map<UUID, Map<String, Long>> abilityCooldowns;
     
-    // Reality manipulation tracking
-    private final Map<UUID, List<Location>> manipulatedBlocks;
+    // Reality manipulation undo journals
+    private final Map<UUID, RealityEditJournal> journals;
+    private final Map<UUID, BukkitTask> journalExpiryTasks;
+    private final ExecutorService journalIo;
+    private final File journalFolder;
     private final Map<UUID, Integer> realityPoints;
     
     public TranscendenceAbilityManager(MinecraftPlugin plugin) {
@@ -36,8 +48,25 @@ public class TranscendenceAbilityManager {
         this.logger = plugin.getLogger();
         this.activeAbilities = new HashMap<>();
         this.abilityCooldowns = new HashMap<>();
-        this.manipulatedBlocks = new HashMap<>();
+        this.journals = new HashMap<>();
+        this.journalExpiryTasks = new HashMap<>();
         this.realityPoints = new HashMap<>();
+        this.journalIo = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Testament-RealityJournal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        // Journals do not survive restarts, so spill files from a previous run are stale
+        this.journalFolder = new File(plugin.getDataFolder(), "reality_journals");
+        File[] staleFiles = journalFolder.listFiles();
+        if (staleFiles != null) {
+            for (File file : staleFiles) {
+                file.delete();
+            }
+        } else {
+            journalFolder.mkdirs();
+        }
         
         logger.info("Transcendence Ability Manager initialized");
     }
@@ -92,8 +121,9 @@ public class TranscendenceAbilityManager {
         }
         
         // Perform transmutation
+        BlockData original = block.getBlockData();
         block.setType(newMaterial);
-        trackManipulatedBlock(player, target);
+        recordManipulation(player, "transmutation", block, original);
         
         // Visual effects
         target.getWorld().spawnParticle(Particle.ENCHANT, target, 20, 0.5, 0.5, 0.5, 0.2);
@@ -127,8 +157,9 @@ public class TranscendenceAbilityManager {
         }
         
         // Create the block
+        BlockData original = block.getBlockData();
         block.setType(createMaterial);
-        trackManipulatedBlock(player, target);
+        recordManipulation(player, "creation", block, original);
         
         // Visual effects
         target.getWorld().spawnParticle(Particle.TOTEM_OF_UNDYING, target, 30, 0.8, 0.8, 0.8, 0.3);
@@ -164,12 +195,13 @@ public class TranscendenceAbilityManager {
             return false;
         }
         
-        // Store original material for potential restoration
+        // Store original state for potential restoration
         Material originalMaterial = block.getType();
+        BlockData original = block.getBlockData();
         
         // Destroy the block
         block.setType(Material.AIR);
-        trackManipulatedBlock(player, target);
+        recordManipulation(player, "destruction", block, original);
         
         // Visual effects
         target.getWorld().spawnParticle(Particle.SQUID_INK, target, 25, 0.6, 0.6, 0.6, 0.2);
@@ -258,51 +290,74 @@ public class TranscendenceAbilityManager {
     private void createPocketRealm(Player player, Location center, String realmName, int size) {
         // Create a structured realm with different zones
         int halfSize = size / 2;
+        int cx = center.getBlockX();
+        int cy = center.getBlockY();
+        int cz = center.getBlockZ();
+        
+        BlockData floor = Material.OBSIDIAN.createBlockData();
+        BlockData ceiling = Material.BARRIER.createBlockData();
+        BlockData wall = Material.CRYING_OBSIDIAN.createBlockData();
+        BlockData beacon = Material.BEACON.createBlockData();
+        BlockData air = Material.AIR.createBlockData();
+        
+        int side = halfSize * 2 + 1;
+        BlockEditBatch batch = new BlockEditBatch(side * side * 16 + 1);
         
         for (int x = -halfSize; x <= halfSize; x++) {
             for (int z = -halfSize; z <= halfSize; z++) {
                 for (int y = -5; y <= 10; y++) {
-                    Location blockLoc = center.clone().add(x, y, z);
-                    Block block = blockLoc.getBlock();
+                    BlockData data;
                     
                     // Create realm structure
                     if (y == -5) {
                         // Floor
-                        block.setType(Material.OBSIDIAN);
+                        data = floor;
                     } else if (y == 10) {
                         // Ceiling
-                        block.setType(Material.BARRIER);
+                        data = ceiling;
                     } else if (Math.abs(x) == halfSize || Math.abs(z) == halfSize) {
                         // Walls
-                        if (y <= 5) {
-                            block.setType(Material.CRYING_OBSIDIAN);
-                        } else {
-                            block.setType(Material.AIR);
-                        }
+                        data = y <= 5 ? wall : air;
+                    } else if (y == 1 && x == 0 && z == 0) {
+                        // Central beacon
+                        data = beacon;
                     } else {
                         // Interior
-                        if (y <= 0) {
-                            block.setType(Material.AIR);
-                        } else if (y == 1 && x == 0 && z == 0) {
-                            // Central beacon
-                            block.setType(Material.BEACON);
-                        } else {
-                            block.setType(Material.AIR);
-                        }
+                        data = air;
                     }
                     
-                    trackManipulatedBlock(player, blockLoc);
+                    batch.set(cx + x, cy + y, cz + z, data);
                 }
             }
         }
         
         // Add portal entrance
-        Location portalLoc = center.clone().add(0, 1, halfSize);
-        portalLoc.getBlock().setType(Material.NETHER_PORTAL);
+        batch.set(cx, cy + 1, cz + halfSize, Material.NETHER_PORTAL);
         
-        // Visual effects
-        center.getWorld().spawnParticle(Particle.PORTAL, center, 100, size/2, 5, size/2, 0.5);
-        center.getWorld().spawnParticle(Particle.END_ROD, center, 50, size/4, 3, size/4, 0.3);
+        // Blocks are placed over several ticks; journal the replaced blocks and finish the effects once the realm stands
+        UUID playerId = player.getUniqueId();
+        batch.recordOriginals();
+        BlockPlacementEngine.PlacementJob job = plugin.getBlockPlacementEngine()
+            .submit(center.getWorld(), batch, "realm '" + realmName + "'");
+        job.getCompletion().thenRun(() -> {
+            RealityEditJournal journal = getJournal(playerId, false);
+            if (journal != null) {
+                RealityEditJournal.Recorder recorder = journal.begin("realm '" + realmName + "'", center.getWorld());
+                batch.forEachOriginal(recorder::add);
+                if (!recorder.commit()) {
+                    logger.warning("Realm '" + realmName + "' is too large for the undo journal and cannot be undone");
+                }
+            }
+            
+            // Visual effects
+            center.getWorld().spawnParticle(Particle.PORTAL, center, 100, size/2, 5, size/2, 0.5);
+            center.getWorld().spawnParticle(Particle.END_ROD, center, 50, size/4, 3, size/4, 0.3);
+            
+            Player owner = plugin.getServer().getPlayer(playerId);
+            if (owner != null) {
+                owner.sendMessage("§d§lRealm '" + realmName + "' has fully materialized!");
+            }
+        });
         
         logger.info(player.getName() + " created realm '" + realmName + "' of size " + size);
     }
@@ -534,11 +589,137 @@ public class TranscendenceAbilityManager {
     }
     
     /**
-     * Track manipulated blocks for restoration
+     * Journal a single manipulated block so it can be undone
+     */
+    private void recordManipulation(Player player, String label, Block block, BlockData original) {
+        getJournal(player.getUniqueId(), true)
+            .begin(label, block.getWorld())
+            .add(block.getX(), block.getY(), block.getZ(), original)
+            .commit();
+    }
+    
+    /**
+     * Get a player's undo journal. Only online players get a new journal, so edits
+     * finishing after logout do not outlive the expiry.
+     */
+    private RealityEditJournal getJournal(UUID playerId, boolean create) {
+        RealityEditJournal journal = journals.get(playerId);
+        if (journal == null && (create || plugin.getServer().getPlayer(playerId) != null)) {
+            ConfigSnapshot.TranscendenceSettings settings = plugin.getConfigManager().getSnapshot().transcendence();
+            journal = new RealityEditJournal(playerId, new File(journalFolder, playerId + ".journal"),
+                settings.getJournalMaxEntries(), settings.getJournalMemoryEntries(), journalIo, logger);
+            journals.put(playerId, journal);
+        }
+        return journal;
+    }
+    
+    /**
+     * Undo the player's most recent manipulation, or all of them.
+     * Blocks are restored through the placement engine, newest edits first.
      */
-    private void trackManipulatedBlock(Player player, Location location) {
-        manipulatedBlocks.computeIfAbsent(player.getUniqueId(), k -> new ArrayList<>())
-                         .add(location.clone());
+    public boolean undoManipulations(Player player, boolean all) {
+        UUID playerId = player.getUniqueId();
+        RealityEditJournal journal = journals.get(playerId);
+        if (journal == null || journal.getOperationCount() == 0) {
+            player.sendMessage("§d§lReality Undo: §r§cYou have no manipulations to undo");
+            return false;
+        }
+        
+        int count = all ? journal.getOperationCount() : 1;
+        journal.takeLatest(count).whenComplete((undoSets, error) -> {
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (error != null) {
+                    logger.warning("Failed to load reality journal for " + playerId + ": " + error.getMessage());
+                    return;
+                }
+                restore(playerId, undoSets);
+            });
+        });
+        
+        player.sendMessage("§d§lReality Undo: §r§dUnraveling " + count + " manipulation" + (count == 1 ? "" : "s") + "...");
+        return true;
+    }
+    
+    /**
+     * Queue restoration of journaled blocks, one batch per world.
+     * Each operation is replayed backwards so a block edited twice ends at its first original state.
+     */
+    private void restore(UUID playerId, List<RealityEditJournal.UndoSet> undoSets) {
+        Map<UUID, BlockEditBatch> batches = new LinkedHashMap<>();
+        List<String> labels = new ArrayList<>();
+        for (RealityEditJournal.UndoSet undoSet : undoSets) {
+            BlockEditBatch batch = batches.computeIfAbsent(undoSet.worldId, k -> new BlockEditBatch(undoSet.size));
+            for (int i = undoSet.size - 1; i >= 0; i--) {
+                long packed = undoSet.positions[i];
+                batch.set(RealityEditJournal.unpackX(packed), RealityEditJournal.unpackY(packed),
+                    RealityEditJournal.unpackZ(packed), undoSet.getState(i));
+            }
+            labels.add(undoSet.label);
+        }
+        
+        for (Map.Entry<UUID, BlockEditBatch> entry : batches.entrySet()) {
+            World world = plugin.getServer().getWorld(entry.getKey());
+            if (world == null) {
+                continue; // World was unloaded; nothing to restore into
+            }
+            
+            plugin.getBlockPlacementEngine().submit(world, entry.getValue(), "undo of " + String.join(", ", labels))
+                .getCompletion().thenAccept(restored -> {
+                    Player owner = plugin.getServer().getPlayer(playerId);
+                    if (owner != null) {
+                        owner.sendMessage("§d§lReality Undo: §r§dRestored " + restored + " blocks in " + world.getName());
+                    }
+                });
+        }
+    }
+    
+    /**
+     * Get the number of manipulations the player can still undo
+     */
+    public int getUndoableManipulations(Player player) {
+        RealityEditJournal journal = journals.get(player.getUniqueId());
+        return journal != null ? journal.getOperationCount() : 0;
+    }
+    
+    /**
+     * Schedule the player's journal to expire after the configured grace period
+     */
+    public void handlePlayerQuit(UUID playerId) {
+        if (!journals.containsKey(playerId)) {
+            return;
+        }
+        
+        int expirySeconds = plugin.getConfigManager().getSnapshot().transcendence().getJournalLogoutExpirySeconds();
+        if (expirySeconds == 0) {
+            expireJournal(playerId);
+            return;
+        }
+        
+        BukkitTask previous = journalExpiryTasks.put(playerId,
+            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                journalExpiryTasks.remove(playerId);
+                expireJournal(playerId);
+            }, expirySeconds * 20L));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+    
+    /**
+     * Keep the journal of a player who reconnected within the grace period
+     */
+    public void handlePlayerJoin(UUID playerId) {
+        BukkitTask expiry = journalExpiryTasks.remove(playerId);
+        if (expiry != null) {
+            expiry.cancel();
+        }
+    }
+    
+    private void expireJournal(UUID playerId) {
+        RealityEditJournal journal = journals.remove(playerId);
+        if (journal != null) {
+            journal.discard();
+        }
     }
     
     /**
@@ -718,7 +899,25 @@ public class TranscendenceAbilityManager {
     public void cleanupPlayer(UUID playerId) {
         activeAbilities.remove(playerId);
         abilityCooldowns.remove(playerId);
-        manipulatedBlocks.remove(playerId);
         realityPoints.remove(playerId);
+        handlePlayerJoin(playerId); // Cancel any pending expiry
+        expireJournal(playerId);
+    }
+    
+    /**
+     * Discard all journals and stop the journal I/O thread
+     */
+    public void shutdown() {
+        for (BukkitTask task : journalExpiryTasks.values()) {
+            task.cancel();
+        }
+        journalExpiryTasks.clear();
+        
+        for (RealityEditJournal journal : journals.values()) {
+            journal.discard();
+        }
+        journals.clear();
+        
+        journalIo.shutdown();
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.example.minecraftplugin.world;
 
 import com.example.minecraftplugin.MinecraftPlugin;
+import com.example.minecraftplugin.config.ConfigSnapshot;
 import com.example.minecraftplugin.enums.GodType;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
@@ -55,10 +56,11 @@ public class AltarGenerator implements Listener {
      * Load configuration values
      */
     private void loadConfiguration() {
-        enableNaturalGeneration = plugin.getConfig().getBoolean("testament.altars.natural_generation.enabled", true);
-        baseSpawnChance = plugin.getConfig().getDouble("testament.altars.natural_generation.base_spawn_chance", 0.001); // 0.1%
-        minDistanceBetweenAltars = plugin.getConfig().getInt("testament.altars.natural_generation.min_distance", 500);
-        maxAltarsPerChunk = plugin.getConfig().getInt("testament.altars.natural_generation.max_per_chunk", 1);
+        ConfigSnapshot.AltarSettings settings = plugin.getConfigManager().getSnapshot().altars();
+        enableNaturalGeneration = settings.isNaturalGenerationEnabled();
+        baseSpawnChance = settings.getBaseSpawnChance(); // 0.1% by default
+        minDistanceBetweenAltars = settings.getMinDistance();
+        maxAltarsPerChunk = settings.getMaxPerChunk();
         
         logger.info("Altar Generation Config - Enabled: " + enableNaturalGeneration + 
                    ", Spawn Chance: " + (baseSpawnChance * 100) + "%, Min Distance: " + minDistanceBetweenAltars);
@@ -324,22 +326,24 @@ public class AltarGenerator implements Listener {
             return false;
         }
         
-        // Generate the altar structure
-        boolean success = altar.generateAt(location);
+        // Queue the altar structure
+        BlockPlacementEngine.PlacementJob job = altar.generateAt(location, plugin.getBlockPlacementEngine());
         
-        if (success) {
-            // Record the altar location
+        if (job != null) {
+            // Record the altar location now so nearby chunks don't queue an overlapping altar
             String locationKey = getLocationKey(location);
             generatedAltarLocations.add(locationKey);
             
-            // Broadcast altar generation
-            plugin.getBroadcastManager().broadcastAltarGeneration(location, godType, true);
-            
-            // Schedule post-generation effects
-            schedulePostGenerationEffects(location, godType);
+            job.getCompletion().thenRun(() -> {
+                // Broadcast altar generation
+                plugin.getBroadcastManager().broadcastAltarGeneration(location, godType, true);
+                
+                // Schedule post-generation effects
+                schedulePostGenerationEffects(location, godType);
+            });
         }
         
-        return success;
+        return job != null;
     }
     
     /**
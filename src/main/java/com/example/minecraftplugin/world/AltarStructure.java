@@ -6,6 +6,7 @@ import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -303,16 +304,17 @@ public class AltarStructure {
     }
     
     /**
-     * Generate the altar structure at the given location
+     * Generate the altar structure at the given location.
+     * Blocks are queued on the placement engine; returns null if nothing could be queued.
      */
-    public boolean generateAt(Location centerLocation) {
+    public BlockPlacementEngine.PlacementJob generateAt(Location centerLocation, BlockPlacementEngine placementEngine) {
         if (pattern == null) {
-            return false;
+            return null;
         }
         
         World world = centerLocation.getWorld();
         if (world == null) {
-            return false;
+            return null;
         }
         
         // Find the center position in the pattern
@@ -320,76 +322,71 @@ public class AltarStructure {
         int centerZ = depth / 2;
         int centerX = width / 2;
         
-        // Generate each block in the pattern
+        // Collect each block in the pattern
+        BlockEditBatch batch = new BlockEditBatch(width * height * depth);
         for (int y = 0; y < height; y++) {
             for (int z = 0; z < depth; z++) {
                 for (int x = 0; x < width; x++) {
                     Material material = pattern[y][z][x];
                     
-                    // Calculate world position relative to center
-                    int worldX = centerLocation.getBlockX() + (x - centerX);
-                    int worldY = centerLocation.getBlockY() + (y - centerY);
-                    int worldZ = centerLocation.getBlockZ() + (z - centerZ);
-                    
-                    Block block = world.getBlockAt(worldX, worldY, worldZ);
-                    
                     // Place the block
                     if (material != Material.AIR) {
-                        block.setType(material);
+                        // Calculate world position relative to center
+                        int worldX = centerLocation.getBlockX() + (x - centerX);
+                        int worldY = centerLocation.getBlockY() + (y - centerY);
+                        int worldZ = centerLocation.getBlockZ() + (z - centerZ);
                         
-                        // Special handling for certain blocks
-                        handleSpecialBlocks(block, material);
+                        batch.set(worldX, worldY, worldZ, createBlockData(material));
                     }
                 }
             }
         }
         
+        BlockPlacementEngine.PlacementJob job = placementEngine.submit(world, batch, godType.getDisplayName() + " altar");
+        
         // Add fire to netherrack blocks for Banishment God
         if (godType == GodType.BANISHMENT) {
-            addFireToNetherrack(centerLocation);
+            Location fireCenter = centerLocation.clone();
+            job.getCompletion().thenRun(() -> addFireToNetherrack(fireCenter));
         }
         
-        return true;
+        return job;
     }
     
     /**
-     * Handle special block placement requirements
+     * Create block data with any special placement requirements applied
      */
-    private void handleSpecialBlocks(Block block, Material material) {
+    private BlockData createBlockData(Material material) {
+        BlockData blockData = material.createBlockData();
+        
         switch (material) {
             case WITHER_SKELETON_SKULL:
                 // Set skull direction
-                if (block.getBlockData() instanceof org.bukkit.block.data.Directional) {
-                    org.bukkit.block.data.Directional directional = (org.bukkit.block.data.Directional) block.getBlockData();
-                    directional.setFacing(BlockFace.UP);
-                    block.setBlockData(directional);
+                if (blockData instanceof org.bukkit.block.data.Directional) {
+                    ((org.bukkit.block.data.Directional) blockData).setFacing(BlockFace.UP);
                 }
                 break;
             case END_PORTAL_FRAME:
                 // Set portal frame with eye
-                if (block.getBlockData() instanceof org.bukkit.block.data.type.EndPortalFrame) {
-                    org.bukkit.block.data.type.EndPortalFrame frame = (org.bukkit.block.data.type.EndPortalFrame) block.getBlockData();
-                    frame.setEye(true);
-                    block.setBlockData(frame);
+                if (blockData instanceof org.bukkit.block.data.type.EndPortalFrame) {
+                    ((org.bukkit.block.data.type.EndPortalFrame) blockData).setEye(true);
                 }
                 break;
             case LIGHTNING_ROD:
                 // Set lightning rod direction
-                if (block.getBlockData() instanceof org.bukkit.block.data.type.LightningRod) {
-                    org.bukkit.block.data.type.LightningRod rod = (org.bukkit.block.data.type.LightningRod) block.getBlockData();
-                    rod.setFacing(BlockFace.UP);
-                    block.setBlockData(rod);
+                if (blockData instanceof org.bukkit.block.data.type.LightningRod) {
+                    ((org.bukkit.block.data.type.LightningRod) blockData).setFacing(BlockFace.UP);
                 }
                 break;
             case ANVIL:
                 // Set anvil direction
-                if (block.getBlockData() instanceof org.bukkit.block.data.Directional) {
-                    org.bukkit.block.data.Directional directional = (org.bukkit.block.data.Directional) block.getBlockData();
-                    directional.setFacing(BlockFace.NORTH);
-                    block.setBlockData(directional);
+                if (blockData instanceof org.bukkit.block.data.Directional) {
+                    ((org.bukkit.block.data.Directional) blockData).setFacing(BlockFace.NORTH);
                 }
                 break;
         }
+        
+        return blockData;
     }
     
     /**
@@ -0,0 +1,124 @@
+package com.example.minecraftplugin.world;
+
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+
+import java.util.Arrays;
+
+/**
+ * A set of block changes to apply through the BlockPlacementEngine.
+ * Edits are stored in flat arrays rather than one object per block, since
+ * realms can easily contain a few hundred thousand edits.
+ */
+public class BlockEditBatch {
+
+    private int[] xs;
+    private int[] ys;
+    private int[] zs;
+    private BlockData[] data;
+    private BlockData[] originals; // Only allocated when recording
+    private int size;
+
+    public BlockEditBatch() {
+        this(64);
+    }
+
+    public BlockEditBatch(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.zs = new int[capacity];
+        this.data = new BlockData[capacity];
+    }
+
+    /**
+     * Queue a block change
+     */
+    public BlockEditBatch set(int x, int y, int z, BlockData blockData) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+            data = Arrays.copyOf(data, capacity);
+            if (originals != null) {
+                originals = Arrays.copyOf(originals, capacity);
+            }
+        }
+        xs[size] = x;
+        ys[size] = y;
+        zs[size] = z;
+        data[size] = blockData;
+        size++;
+        return this;
+    }
+
+    /**
+     * Queue a block change using the material's default block data
+     */
+    public BlockEditBatch set(int x, int y, int z, Material material) {
+        return set(x, y, z, material.createBlockData());
+    }
+
+    /**
+     * Capture each block's previous state as the edit is applied, so the batch
+     * can be journaled and undone later. Must be enabled before submitting.
+     */
+    public BlockEditBatch recordOriginals() {
+        if (originals == null) {
+            originals = new BlockData[xs.length];
+        }
+        return this;
+    }
+
+    public boolean isRecordingOriginals() {
+        return originals != null;
+    }
+
+    /**
+     * Visit every applied edit with the block state it replaced, in submission order
+     */
+    public void forEachOriginal(OriginalVisitor visitor) {
+        if (originals == null) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (originals[i] != null) {
+                visitor.visit(xs[i], ys[i], zs[i], originals[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    int getX(int index) {
+        return xs[index];
+    }
+
+    int getY(int index) {
+        return ys[index];
+    }
+
+    int getZ(int index) {
+        return zs[index];
+    }
+
+    BlockData getData(int index) {
+        return data[index];
+    }
+
+    void setOriginal(int index, BlockData original) {
+        originals[index] = original;
+    }
+
+    @FunctionalInterface
+    public interface OriginalVisitor {
+        void visit(int x, int y, int z, BlockData original);
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.minecraftplugin.world;
+
+import com.example.minecraftplugin.MinecraftPlugin;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+/**
+ * Applies large block edit sets without stalling the server.
+ *
+ * Each submitted batch is sorted by chunk and section so consecutive edits hit the
+ * same chunk, its chunks are loaded asynchronously and held with a plugin ticket,
+ * and the edits are then applied with physics suppressed under a per-tick time
+ * budget shared by all pending jobs.
+ */
+public class BlockPlacementEngine {
+
+    // Check the clock every this many edits rather than after each one
+    private static final int BUDGET_CHECK_INTERVAL = 32;
+
+    private final MinecraftPlugin plugin;
+    private final Logger logger;
+
+    // Only touched on the main thread
+    private final List<PlacementJob> jobs;
+    private BukkitTask tickTask;
+
+    public BlockPlacementEngine(MinecraftPlugin plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.jobs = new LinkedList<>();
+
+        logger.info("Block Placement Engine initialized");
+    }
+
+    /**
+     * Queue a batch of edits. Must be called from the main thread.
+     * The returned job's completion future finishes on the main thread once every
+     * edit has been applied.
+     */
+    public PlacementJob submit(World world, BlockEditBatch batch, String description) {
+        PlacementJob job = new PlacementJob(world, batch, description);
+
+        if (batch.isEmpty()) {
+            job.completion.complete(0);
+            return job;
+        }
+
+        jobs.add(job);
+        loadChunks(job);
+        ensureTicking();
+        return job;
+    }
+
+    /**
+     * Load every chunk the job touches without blocking, then mark it ready
+     */
+    private void loadChunks(PlacementJob job) {
+        List<CompletableFuture<Chunk>> loads = new ArrayList<>(job.chunkKeys.length);
+        for (long chunkKey : job.chunkKeys) {
+            loads.add(job.world.getChunkAtAsync(chunkX(chunkKey), chunkZ(chunkKey)));
+        }
+
+        CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (error != null) {
+                    logger.warning("Could not preload chunks for " + job.description + ", placing synchronously: " + error.getMessage());
+                } else {
+                    for (CompletableFuture<Chunk> load : loads) {
+                        Chunk chunk = load.join();
+                        chunk.addPluginChunkTicket(plugin);
+                        job.ticketedChunks.add(chunk);
+                    }
+                }
+                job.ready = true;
+            });
+        });
+    }
+
+    private void ensureTicking() {
+        if (tickTask == null) {
+            tickTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Apply as many edits as fit in this tick's budget
+     */
+    private void tick() {
+        long budgetNanos = plugin.getConfigManager().getSnapshot().performance().getBlockPlacementBudgetNanos();
+        long deadline = System.nanoTime() + budgetNanos;
+
+        Iterator<PlacementJob> iterator = jobs.iterator();
+        while (iterator.hasNext()) {
+            PlacementJob job = iterator.next();
+            if (!job.ready) {
+                continue;
+            }
+
+            if (!job.applyUntil(deadline)) {
+                return; // Budget used up, continue next tick
+            }
+
+            iterator.remove();
+            finish(job);
+        }
+
+        if (jobs.isEmpty()) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    private void finish(PlacementJob job) {
+        releaseTickets(job);
+
+        long elapsedMs = (System.nanoTime() - job.submittedAt) / 1_000_000;
+        if (plugin.getPerformanceManager() != null) {
+            plugin.getPerformanceManager().recordOperation("block_placement", System.nanoTime() - job.submittedAt);
+        }
+        if (job.batch.size() >= 1000) {
+            logger.info("Placed " + job.batch.size() + " blocks for " + job.description + " in " + elapsedMs + "ms");
+        }
+
+        job.completion.complete(job.batch.size());
+    }
+
+    private void releaseTickets(PlacementJob job) {
+        for (Chunk chunk : job.ticketedChunks) {
+            chunk.removePluginChunkTicket(plugin);
+        }
+        job.ticketedChunks.clear();
+    }
+
+    /**
+     * Number of jobs waiting or in progress
+     */
+    public int getPendingJobCount() {
+        return jobs.size();
+    }
+
+    /**
+     * Apply all pending edits synchronously so no structure is left half-built.
+     * The jobs' completions are cancelled rather than completed, so callbacks that
+     * would schedule work on the disabled plugin never run.
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+
+        for (PlacementJob job : jobs) {
+            job.applyUntil(Long.MAX_VALUE);
+            releaseTickets(job);
+            job.completion.cancel(false);
+        }
+        jobs.clear();
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int chunkX(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    private static int chunkZ(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    /**
+     * A queued batch of edits and its progress
+     */
+    public static class PlacementJob {
+        private final World world;
+        private final BlockEditBatch batch;
+        private final String description;
+        private final int[] order;
+        private final long[] chunkKeys;
+        private final List<Chunk> ticketedChunks;
+        private final CompletableFuture<Integer> completion;
+        private final long submittedAt;
+        private final boolean recordOriginals;
+        private int cursor;
+        private boolean ready;
+
+        private PlacementJob(World world, BlockEditBatch batch, String description) {
+            this.world = world;
+            this.batch = batch;
+            this.description = description;
+            this.ticketedChunks = new ArrayList<>();
+            this.completion = new CompletableFuture<>();
+            this.submittedAt = System.nanoTime();
+            this.recordOriginals = batch.isRecordingOriginals();
+            this.order = sortByChunk(batch);
+
+            Set<Long> chunks = new LinkedHashSet<>();
+            for (int index : order) {
+                chunks.add(chunkKey(batch.getX(index) >> 4, batch.getZ(index) >> 4));
+            }
+            this.chunkKeys = chunks.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        /**
+         * Order edits by chunk, then section, then position inside the section
+         */
+        private static int[] sortByChunk(BlockEditBatch batch) {
+            int size = batch.size();
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                int x = batch.getX(i);
+                int y = batch.getY(i);
+                int z = batch.getZ(i);
+                // 21 bits chunk X | 21 bits chunk Z | 12 bits Y | 4 bits local Z | 4 bits local X
+                keys[i] = (((long) (x >> 4) & 0x1FFFFF) << 41)
+                        | (((long) (z >> 4) & 0x1FFFFF) << 20)
+                        | (((long) (y + 2048) & 0xFFF) << 8)
+                        | ((z & 0xF) << 4)
+                        | (x & 0xF);
+            }
+
+            // Replace each key by its rank among the distinct keys, then sort rank and
+            // index packed into one long so equal positions keep submission order
+            long[] distinct = keys.clone();
+            Arrays.sort(distinct);
+            int distinctCount = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinctCount == 0 || distinct[i] != distinct[distinctCount - 1]) {
+                    distinct[distinctCount++] = distinct[i];
+                }
+            }
+
+            long[] packed = new long[size];
+            for (int i = 0; i < size; i++) {
+                long rank = Arrays.binarySearch(distinct, 0, distinctCount, keys[i]);
+                packed[i] = (rank << 32) | i;
+            }
+            Arrays.sort(packed);
+
+            int[] sorted = new int[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = (int) packed[i];
+            }
+            return sorted;
+        }
+
+        /**
+         * Apply edits until the deadline. Returns true once the job is complete.
+         */
+        private boolean applyUntil(long deadline) {
+            while (cursor < order.length) {
+                int index = order[cursor++];
+                Block block = world.getBlockAt(batch.getX(index), batch.getY(index), batch.getZ(index));
+                if (recordOriginals) {
+                    batch.setOriginal(index, block.getBlockData());
+                }
+                block.setBlockData(batch.getData(index), false);
+
+                if (cursor % BUDGET_CHECK_INTERVAL == 0 && System.nanoTime() >= deadline) {
+                    return cursor >= order.length;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Fraction of edits applied so far, from 0.0 to 1.0
+         */
+        public double getProgress() {
+            return order.length == 0 ? 1.0 : (double) cursor / order.length;
+        }
+
+        public int getTotalEdits() {
+            return order.length;
+        }
+
+        public boolean isDone() {
+            return completion.isDone();
+        }
+
+        /**
+         * Completes with the number of blocks placed, or is cancelled if the plugin
+         * shuts down before the job finishes
+         */
+        public CompletableFuture<Integer> getCompletion() {
+            return completion;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.minecraftplugin.world;
+
+import com.example.minecraftplugin.MinecraftPlugin;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.Vector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Shared area queries over living entities for abilities and raid encounters.
+ *
+ * Living entities are cached per chunk for the current tick: the first query that
+ * touches a chunk in a tick reads its entities once, and every later query in the
+ * same tick reuses that array. Queries visit matching entities through a callback
+ * and return how many matched, so callers never build intermediate lists.
+ * Positions are tested against the entity's location, not its hitbox.
+ *
+ * Raid bosses are tracked by ID so encounters can find their boss again without
+ * scanning the world's entities.
+ *
+ * All methods must be called on the main thread.
+ */
+public class SpatialEntityIndex {
+
+    private static final LivingEntity[] NO_ENTITIES = new LivingEntity[0];
+
+    private final MinecraftPlugin plugin;
+    private final Logger logger;
+
+    // Cleared whenever the server tick moves on
+    private final Map<UUID, Map<Long, LivingEntity[]>> cells; // World -> chunk key -> entities
+    private long cachedTick = -1;
+
+    private final Map<String, UUID> bosses;
+
+    private long queries;
+    private long cellLoads;
+    private long cellHits;
+
+    public SpatialEntityIndex(MinecraftPlugin plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.cells = new HashMap<>();
+        this.bosses = new HashMap<>();
+
+        logger.info("Spatial Entity Index initialized");
+    }
+
+    /**
+     * Visit entities of the given type inside the box center ± (rx, ry, rz), the same
+     * area getNearbyEntities covers. Returns the number of entities visited.
+     */
+    public <T extends LivingEntity> int forEachInBox(Location center, double rx, double ry, double rz,
+                                                     Class<T> type, Predicate<? super T> filter, Consumer<? super T> action) {
+        double minX = center.getX() - rx;
+        double minY = center.getY() - ry;
+        double minZ = center.getZ() - rz;
+        double maxX = center.getX() + rx;
+        double maxY = center.getY() + ry;
+        double maxZ = center.getZ() + rz;
+
+        queries++;
+        int matched = 0;
+        World world = center.getWorld();
+        for (int cx = chunkCoord(minX); cx <= chunkCoord(maxX); cx++) {
+            for (int cz = chunkCoord(minZ); cz <= chunkCoord(maxZ); cz++) {
+                for (LivingEntity entity : getCell(world, cx, cz)) {
+                    Location location = entity.getLocation();
+                    if (location.getX() < minX || location.getX() > maxX
+                        || location.getY() < minY || location.getY() > maxY
+                        || location.getZ() < minZ || location.getZ() > maxZ) {
+                        continue;
+                    }
+                    if (visit(entity, type, filter, action)) {
+                        matched++;
+                    }
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Visit entities of the given type within radius blocks of the center
+     */
+    public <T extends LivingEntity> int forEachInRadius(Location center, double radius,
+                                                        Class<T> type, Predicate<? super T> filter, Consumer<? super T> action) {
+        double radiusSquared = radius * radius;
+        return forEachInBox(center, radius, radius, radius, type,
+            entity -> entity.getLocation().distanceSquared(center) <= radiusSquared
+                && (filter == null || filter.test(entity)),
+            action);
+    }
+
+    /**
+     * Visit entities of the given type within range of the apex and no more than
+     * halfAngleDegrees away from the direction
+     */
+    public <T extends LivingEntity> int forEachInCone(Location apex, Vector direction, double range, double halfAngleDegrees,
+                                                      Class<T> type, Predicate<? super T> filter, Consumer<? super T> action) {
+        Vector axis = direction.clone().normalize();
+        double cosHalfAngle = Math.cos(Math.toRadians(halfAngleDegrees));
+        double rangeSquared = range * range;
+        double apexX = apex.getX();
+        double apexY = apex.getY();
+        double apexZ = apex.getZ();
+
+        return forEachInBox(apex, range, range, range, type, entity -> {
+            Location location = entity.getLocation();
+            double dx = location.getX() - apexX;
+            double dy = location.getY() - apexY;
+            double dz = location.getZ() - apexZ;
+            double distanceSquared = dx * dx + dy * dy + dz * dz;
+            if (distanceSquared > rangeSquared) {
+                return false;
+            }
+            // Entities on the apex count as inside the cone
+            if (distanceSquared > 0) {
+                double dot = dx * axis.getX() + dy * axis.getY() + dz * axis.getZ();
+                if (dot < cosHalfAngle * Math.sqrt(distanceSquared)) {
+                    return false;
+                }
+            }
+            return filter == null || filter.test(entity);
+        }, action);
+    }
+
+    private static <T extends LivingEntity> boolean visit(LivingEntity entity, Class<T> type,
+                                                          Predicate<? super T> filter, Consumer<? super T> action) {
+        // Entities cached earlier this tick may have died or been removed since
+        if (!type.isInstance(entity) || !entity.isValid()) {
+            return false;
+        }
+
+        T typed = type.cast(entity);
+        if (filter != null && !filter.test(typed)) {
+            return false;
+        }
+
+        action.accept(typed);
+        return true;
+    }
+
+    /**
+     * Living entities in a loaded chunk, read at most once per tick
+     */
+    private LivingEntity[] getCell(World world, int chunkX, int chunkZ) {
+        long tick = plugin.getServer().getCurrentTick();
+        if (tick != cachedTick) {
+            cells.clear();
+            cachedTick = tick;
+        }
+
+        Map<Long, LivingEntity[]> worldCells = cells.computeIfAbsent(world.getUID(), k -> new HashMap<>());
+        long key = chunkKey(chunkX, chunkZ);
+        LivingEntity[] cell = worldCells.get(key);
+        if (cell != null) {
+            cellHits++;
+            return cell;
+        }
+
+        cell = world.isChunkLoaded(chunkX, chunkZ) ? livingEntities(world.getChunkAt(chunkX, chunkZ)) : NO_ENTITIES;
+        worldCells.put(key, cell);
+        cellLoads++;
+        return cell;
+    }
+
+    private static LivingEntity[] livingEntities(Chunk chunk) {
+        Entity[] entities = chunk.getEntities();
+        int count = 0;
+        for (Entity entity : entities) {
+            if (entity instanceof LivingEntity) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return NO_ENTITIES;
+        }
+
+        LivingEntity[] living = new LivingEntity[count];
+        int index = 0;
+        for (Entity entity : entities) {
+            if (entity instanceof LivingEntity) {
+                living[index++] = (LivingEntity) entity;
+            }
+        }
+        return living;
+    }
+
+    private static int chunkCoord(double blockCoord) {
+        return (int) Math.floor(blockCoord) >> 4;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Remember a raid boss under an ID, replacing any previous boss with that ID
+     */
+    public void trackBoss(String bossId, LivingEntity boss) {
+        bosses.put(bossId, boss.getUniqueId());
+    }
+
+    /**
+     * Get a tracked boss if it is still alive and of the expected type, or null.
+     * Dead or removed bosses are forgotten.
+     */
+    public <T extends LivingEntity> T getBoss(String bossId, Class<T> type) {
+        UUID entityId = bosses.get(bossId);
+        if (entityId == null) {
+            return null;
+        }
+
+        Entity entity = plugin.getServer().getEntity(entityId);
+        if (entity == null || !entity.isValid() || !type.isInstance(entity)) {
+            bosses.remove(bossId);
+            return null;
+        }
+        return type.cast(entity);
+    }
+
+    public void untrackBoss(String bossId) {
+        bosses.remove(bossId);
+    }
+
+    /**
+     * Get index statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queries", queries);
+        stats.put("cell_loads", cellLoads);
+        stats.put("cell_hits", cellHits);
+        stats.put("tracked_bosses", bosses.size());
+        return stats;
+    }
+}